@@ -0,0 +1,94 @@
+package lib;
+
+import lib.parser.SQLiteSimpleParser;
+import org.antlr.v4.runtime.tree.ParseTree;
+import org.antlr.v4.runtime.tree.TerminalNode;
+import org.antlr.v4.runtime.tree.Trees;
+
+import java.util.Collection;
+
+/**
+ * Comando preparado: a árvore sintática de um SELECT, INSERT, UPDATE ou
+ * DELETE, com parâmetros "?" no lugar dos valores.
+ *
+ * O comando passa pelo ANTLR uma vez, em UserQueryParser.prepare (ou no
+ * PREPARE); cada execução só visita a árvore guardada com os valores do
+ * momento. A árvore não muda depois do parse, então um mesmo comando
+ * pode ser executado por várias threads. Os dois caminhos guardam a
+ * mesma forma de árvore (prepared_body).
+ *
+ * @author SQL Parser Team
+ * @version 1.1
+ */
+public final class PreparedQuery {
+
+    private final String sql;
+    private final SQLiteSimpleParser.Prepared_bodyContext statement;
+
+    // Posição (índice do token) de cada "?", na ordem do texto
+    private final int[] parameters;
+
+    PreparedQuery(String sql, SQLiteSimpleParser.Prepared_bodyContext statement) {
+        this.sql = sql;
+        this.statement = statement;
+
+        Collection<ParseTree> marks = Trees.findAllTokenNodes(statement, SQLiteSimpleParser.PARAM);
+        this.parameters = marks.stream()
+                .mapToInt(mark -> ((TerminalNode) mark).getSymbol().getTokenIndex())
+                .sorted()
+                .toArray();
+    }
+
+    /**
+     * Retorna o texto do comando preparado.
+     */
+    public String getSql() {
+        return sql;
+    }
+
+    /**
+     * Retorna o número de parâmetros "?" do comando.
+     */
+    public int parameterCount() {
+        return parameters.length;
+    }
+
+    /**
+     * Retorna true se o comando preparado é um INSERT.
+     */
+    public boolean isInsert() {
+        return statement.insert_stmt() != null;
+    }
+
+    SQLiteSimpleParser.Prepared_bodyContext statement() {
+        return statement;
+    }
+
+    /**
+     * Associa os valores aos parâmetros, na ordem do texto.
+     *
+     * @param values Um valor por "?" (Integer, Double ou String)
+     * @return Visitor que lê cada "?" do valor correspondente
+     */
+    SQLVisitor bind(UserQuery engine, Object... values) {
+        if (values.length != parameters.length) {
+            throw new IllegalArgumentException("Invalid: esperados " + parameters.length
+                    + " parâmetros, recebidos " + values.length);
+        }
+
+        for (int i = 0; i < values.length; i++) {
+            Object value = values[i];
+            if (!(value instanceof Integer || value instanceof Double || value instanceof String)) {
+                throw new IllegalArgumentException("Invalid: parâmetro " + (i + 1)
+                        + " deve ser inteiro, decimal ou texto");
+            }
+        }
+
+        return new SQLVisitor(engine, parameters, values.clone());
+    }
+
+    @Override
+    public String toString() {
+        return sql;
+    }
+}
@@ -0,0 +1,265 @@
+package lib;
+
+import lib.storage.TableView;
+
+import java.util.*;
+import java.util.function.IntFunction;
+
+/**
+ * Resultado tabular de um SELECT: colunas com tipo e linhas com os
+ * valores já tipados (Integer para INT, String para TEXT).
+ *
+ * Usado pelo SQLServer para enviar as linhas em frames binários sem
+ * passar por texto. toString() devolve o formato textual de sempre
+ * (o mesmo de uma List de Map), usado por UserQueryParser.execute.
+ *
+ * Um resultado projetado de slots é preguiçoso: guarda só os slots e a
+ * visão da consulta, e cada linha é lida da visão quando o cursor chega
+ * nela. Assim o servidor envia as primeiras linhas sem montar as outras.
+ *
+ * @author SQL Parser Team
+ * @version 1.1
+ */
+public class QueryResult {
+
+    /**
+     * Tipo de uma coluna.
+     */
+    public enum ColumnType {
+        INT,
+        TEXT
+    }
+
+    private final String[] columns;
+    private final ColumnType[] types;
+    private final int rowCount;
+
+    // Linhas já materializadas, ou null enquanto só há o cursor
+    private List<Object[]> rows;
+    private final Iterator<Object[]> source;
+
+    // Texto de um GROUP BY (mantém o formato antigo do mapa de grupos)
+    private final String text;
+
+    /**
+     * Construtor.
+     *
+     * @param columns Nomes das colunas
+     * @param types Tipo de cada coluna
+     * @param rows Linhas, com um valor por coluna
+     */
+    public QueryResult(String[] columns, ColumnType[] types, List<Object[]> rows) {
+        this(columns, types, rows, null, rows.size(), null);
+    }
+
+    private QueryResult(String[] columns, ColumnType[] types, List<Object[]> rows,
+                        Iterator<Object[]> source, int rowCount, String text) {
+        if (columns.length != types.length) {
+            throw new IllegalArgumentException("Invalid: " + columns.length + " colunas e " + types.length + " tipos");
+        }
+        this.columns = columns;
+        this.types = types;
+        this.rows = rows;
+        this.source = source;
+        this.rowCount = rowCount;
+        this.text = text;
+    }
+
+    // ================================================================
+    // CONSTRUÇÃO
+    // ================================================================
+
+    /**
+     * Projeta as colunas pedidas no SELECT. Como UserQuery.select,
+     * colunas desconhecidas são ignoradas e "count" devolve uma linha
+     * com o total.
+     *
+     * As linhas não são lidas aqui: o cursor lê cada slot da visão
+     * quando chega nele.
+     *
+     * @param columns "*", "count" ou nomes separados por vírgula
+     * @param slots Slots do resultado, na ordem de saída
+     * @param view Visão da consulta
+     * @return Resultado projetado
+     */
+    public static QueryResult project(String columns, int[] slots, TableView view) {
+        if (columns.equalsIgnoreCase("count")) {
+            List<Object[]> rows = new ArrayList<>(1);
+            rows.add(new Object[] {slots.length});
+            return new QueryResult(new String[] {"count"}, new ColumnType[] {ColumnType.INT}, rows);
+        }
+
+        String[] requested = columns.equals("*")
+                ? new String[] {"id", "name", "age", "city"}
+                : columns.split(",");
+
+        List<String> names = new ArrayList<>();
+        for (String column : requested) {
+            column = column.trim().toLowerCase();
+            if (typeOf(column) != null && !names.contains(column)) {
+                names.add(column);
+            }
+        }
+
+        String[] projected = names.toArray(new String[0]);
+        ColumnType[] types = new ColumnType[projected.length];
+        List<IntFunction<Object>> readers = new ArrayList<>(projected.length);
+
+        for (int i = 0; i < projected.length; i++) {
+            types[i] = typeOf(projected[i]);
+            readers.add(reader(projected[i], view));
+        }
+
+        return new QueryResult(projected, types, null,
+                new SlotCursor(slots, view, readers), slots.length, null);
+    }
+
+    /**
+     * Resultado de um GROUP BY: uma linha (chave, número de registros)
+     * por grupo.
+     *
+     * @param column Coluna do agrupamento
+     * @param groups Registros por chave
+     * @return Resultado agrupado
+     */
+    public static QueryResult grouped(String column, Map<String, List<Users>> groups) {
+        List<Object[]> rows = new ArrayList<>(groups.size());
+        groups.forEach((key, users) -> rows.add(new Object[] {key, users.size()}));
+
+        return new QueryResult(
+                new String[] {column.toLowerCase(), "count"},
+                new ColumnType[] {ColumnType.TEXT, ColumnType.INT},
+                rows, null, rows.size(),
+                groups.toString());
+    }
+
+    /**
+     * Tipo de uma coluna da tabela users.
+     *
+     * @param column Nome da coluna (minúsculo)
+     * @return Tipo, ou null se a coluna não existe
+     */
+    public static ColumnType typeOf(String column) {
+        return switch (column) {
+            case "id", "age" -> ColumnType.INT;
+            case "name", "city" -> ColumnType.TEXT;
+            default -> null;
+        };
+    }
+
+    private static IntFunction<Object> reader(String column, TableView view) {
+        return switch (column) {
+            case "id" -> view::getId;
+            case "name" -> view::getName;
+            case "age" -> view::getAge;
+            default -> view::getCity;
+        };
+    }
+
+    // ================================================================
+    // LEITURA
+    // ================================================================
+
+    public int columnCount() {
+        return columns.length;
+    }
+
+    public String columnName(int column) {
+        return columns[column];
+    }
+
+    public ColumnType columnType(int column) {
+        return types[column];
+    }
+
+    public int rowCount() {
+        return rowCount;
+    }
+
+    /**
+     * Retorna as linhas (um valor por coluna, na ordem das colunas).
+     * Num resultado preguiçoso, lê as linhas que o cursor ainda não leu.
+     */
+    public List<Object[]> rows() {
+        if (rows == null) {
+            rows = new ArrayList<>(rowCount);
+            source.forEachRemaining(rows::add);
+        }
+        return rows;
+    }
+
+    /**
+     * Retorna um cursor sobre as linhas, lidas uma a uma. Num resultado
+     * preguiçoso o cursor é único: só pode ser percorrido uma vez.
+     */
+    public Iterator<Object[]> cursor() {
+        return rows != null ? rows.iterator() : source;
+    }
+
+    /**
+     * Formato textual: [{coluna=valor, ...}, ...]
+     */
+    @Override
+    public String toString() {
+        if (text != null) {
+            return text;
+        }
+
+        List<Object[]> rows = rows();
+        StringBuilder sb = new StringBuilder("[");
+        for (int r = 0; r < rows.size(); r++) {
+            if (r > 0) sb.append(", ");
+
+            sb.append('{');
+            Object[] row = rows.get(r);
+            for (int c = 0; c < columns.length; c++) {
+                if (c > 0) sb.append(", ");
+                sb.append(columns[c]).append('=').append(row[c]);
+            }
+            sb.append('}');
+        }
+        return sb.append(']').toString();
+    }
+
+    /**
+     * Lê as linhas dos slots na visão da consulta, uma por vez.
+     */
+    private static final class SlotCursor implements Iterator<Object[]> {
+        private final int[] slots;
+        private final TableView view;
+        private final List<IntFunction<Object>> readers;
+        private final long generation;
+        private int position;
+
+        SlotCursor(int[] slots, TableView view, List<IntFunction<Object>> readers) {
+            this.slots = slots;
+            this.view = view;
+            this.readers = readers;
+            this.generation = view.generation();
+        }
+
+        @Override
+        public boolean hasNext() {
+            return position < slots.length;
+        }
+
+        @Override
+        public Object[] next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+
+            // Só o storage atual (leitura dentro de uma transação) é compactado
+            if (view.generation() != generation) {
+                throw new IllegalStateException("Invalid: tabela compactada durante a leitura do cursor");
+            }
+
+            int slot = slots[position++];
+            Object[] row = new Object[readers.size()];
+            for (int i = 0; i < row.length; i++) {
+                row[i] = readers.get(i).apply(slot);
+            }
+            return row;
+        }
+    }
+}
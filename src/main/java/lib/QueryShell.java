@@ -173,6 +173,14 @@ public class QueryShell {
         System.out.println("  UPDATE users SET age=26 WHERE id=1");
         System.out.println("  DELETE FROM users WHERE id=31");
         System.out.println();
+        System.out.println("  BEGIN      - Abre uma transação");
+        System.out.println("  COMMIT     - Confirma a transação aberta");
+        System.out.println("  ROLLBACK   - Desfaz a transação aberta");
+        System.out.println();
+        System.out.println("  PREPARE ins AS INSERT INTO users VALUES (?, ?, ?)");
+        System.out.println("  EXECUTE ins ('Nome', 25, 'Cidade')");
+        System.out.println("  DEALLOCATE ins");
+        System.out.println();
         System.out.println(" COMANDOS ESPECIAIS:");
         System.out.println("  help     - Mostra esta ajuda");
         System.out.println("  info     - Informações do banco de dados");
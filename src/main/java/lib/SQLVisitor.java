@@ -2,6 +2,9 @@ package lib;
 
 import lib.parser.SQLiteSimpleBaseVisitor;
 import lib.parser.SQLiteSimpleParser;
+import lib.planner.AccessPath;
+import lib.planner.QueryPlanner;
+import lib.storage.TableView;
 import org.antlr.v4.runtime.tree.ParseTree;
 
 import java.util.*;
@@ -11,13 +14,28 @@ import java.util.stream.Collectors;
 /**
  * Visitor que converte a árvore sintática do ANTLR4 em chamadas para UserQuery.
  * Mantém a compatibilidade com a implementação existente.
+ *
+ * Num comando preparado, cada parâmetro "?" é lido dos valores
+ * associados em PreparedQuery.bind, pela posição do token.
  */
 public class SQLVisitor extends SQLiteSimpleBaseVisitor<Object> {
 
     private UserQuery engine;
+    private final QueryPlanner planner;
+
+    // Parâmetros de um comando preparado: índice do token de cada "?" e valor
+    private final int[] parameters;
+    private final Object[] values;
 
     public SQLVisitor(UserQuery engine) {
+        this(engine, new int[0], new Object[0]);
+    }
+
+    SQLVisitor(UserQuery engine, int[] parameters, Object[] values) {
         this.engine = engine;
+        this.planner = new QueryPlanner(engine.getCostModel());
+        this.parameters = parameters;
+        this.values = values;
     }
 
     // ============================================================
@@ -45,6 +63,9 @@ public class SQLVisitor extends SQLiteSimpleBaseVisitor<Object> {
         if (ctx.delete_stmt() != null) {
             return visit(ctx.delete_stmt());
         }
+        if (ctx.transaction_stmt() != null) {
+            return visit(ctx.transaction_stmt());
+        }
         return "ERRO: Statement não reconhecido";
     }
 
@@ -60,31 +81,33 @@ public class SQLVisitor extends SQLiteSimpleBaseVisitor<Object> {
         // Obter colunas a selecionar
         String columns = extractColumns(ctx.result_column());
         
-        // Executar FROM
-        List<Users> result = engine.from();
+        // Planejar WHERE (índices quando possível) e executar FROM
+        AccessPath path = ctx.where_clause() != null
+                ? planner.optimize(buildAccessPath(ctx.where_clause().expr()))
+                : planner.scanAll();
         
-        // Aplicar WHERE se existir
-        if (ctx.where_clause() != null) {
-            Predicate<Users> predicate = buildPredicate(ctx.where_clause().expr());
-            result = engine.from(predicate);
-        }
+        // Uma visão por consulta: todas as etapas leem o mesmo estado
+        TableView view = engine.readView();
         
         // Aplicar GROUP BY se existir
         if (ctx.group_by_clause() != null) {
             String groupColumn = ctx.group_by_clause().column_name().getText();
-            Map<String, List<Users>> grouped = engine.groupBy(groupColumn, result);
-            return grouped.toString();
+            Map<String, List<Users>> grouped = engine.groupBy(groupColumn, engine.fetch(path, view));
+            return QueryResult.grouped(groupColumn, grouped);
         }
         
+        // Só os slots: as linhas são lidas da visão quando enviadas
+        int[] slots = engine.slots(path, view);
+        
         // Aplicar ORDER BY se existir
         if (ctx.order_by_clause() != null) {
             String orderColumn = ctx.order_by_clause().column_name().getText();
             String direction = ctx.order_by_clause().K_DESC() != null ? "desc" : "asc";
-            result = engine.orderBy(orderColumn, direction, result);
+            slots = engine.orderSlots(slots, orderColumn, direction, view);
         }
         
-        // Executar SELECT
-        return engine.select(columns, result).toString();
+        // Executar SELECT (linhas tipadas; o texto só é montado se pedido)
+        return QueryResult.project(columns, slots, view);
     }
 
     /**
@@ -152,11 +175,11 @@ public class SQLVisitor extends SQLiteSimpleBaseVisitor<Object> {
             values.put(column, value);
         }
         
-        // Construir predicado WHERE
-        Predicate<Users> predicate = buildPredicate(ctx.where_clause().expr());
+        // Planejar WHERE
+        AccessPath path = planner.optimize(buildAccessPath(ctx.where_clause().expr()));
         
         // Executar UPDATE
-        int updated = engine.update(values, predicate);
+        int updated = engine.update(values, path);
         
         return updated + " updated";
     }
@@ -170,11 +193,11 @@ public class SQLVisitor extends SQLiteSimpleBaseVisitor<Object> {
         // Validar que DELETE só pode usar 'id' no WHERE
         validateDeleteCondition(ctx.where_clause().expr());
         
-        // Construir predicado WHERE
-        Predicate<Users> predicate = buildPredicate(ctx.where_clause().expr());
+        // Planejar WHERE
+        AccessPath path = planner.optimize(buildAccessPath(ctx.where_clause().expr()));
         
         // Executar DELETE
-        int deleted = engine.delete(predicate);
+        int deleted = engine.delete(path);
         
         return deleted + " removed";
     }
@@ -231,6 +254,28 @@ public class SQLVisitor extends SQLiteSimpleBaseVisitor<Object> {
         throw new RuntimeException("Invalid: DELETE only supports simple id comparison");
     }
 
+    // ============================================================
+    // TRANSACTIONS
+    // ============================================================
+
+    @Override
+    public Object visitBeginStmt(SQLiteSimpleParser.BeginStmtContext ctx) {
+        engine.begin();
+        return "Transaction started";
+    }
+
+    @Override
+    public Object visitCommitStmt(SQLiteSimpleParser.CommitStmtContext ctx) {
+        engine.commit();
+        return "Committed";
+    }
+
+    @Override
+    public Object visitRollbackStmt(SQLiteSimpleParser.RollbackStmtContext ctx) {
+        engine.rollback();
+        return "Rolled back";
+    }
+
     // ============================================================
     // PREDICATES (WHERE CONDITIONS)
     // ============================================================
@@ -251,7 +296,79 @@ public class SQLVisitor extends SQLiteSimpleBaseVisitor<Object> {
     }
 
     /**
-     * Constrói um Predicate a partir de uma expressão WHERE.
+     * Constrói o caminho de acesso (plano) de uma expressão WHERE.
+     * Condições simples viram seeks/ranges de índice quando possível;
+     * AND/OR são combinados pelo QueryPlanner.
+     */
+    private AccessPath buildAccessPath(SQLiteSimpleParser.ExprContext ctx) {
+        if (ctx == null) {
+            throw new RuntimeException("Invalid: WHERE clause requires a condition");
+        }
+        
+        // EQUALS: field = value
+        if (ctx instanceof SQLiteSimpleParser.EqualsExprContext) {
+            SQLiteSimpleParser.EqualsExprContext eqCtx = 
+                (SQLiteSimpleParser.EqualsExprContext) ctx;
+            
+            Predicate<Users> predicate = buildPredicate(ctx);
+            
+            String field = eqCtx.column_name().getText();
+            Object value = extractValue(eqCtx.literal_value());
+            
+            return planner.equality(field, value, predicate);
+        }
+        
+        // BETWEEN: field BETWEEN min AND max
+        if (ctx instanceof SQLiteSimpleParser.BetweenExprContext) {
+            SQLiteSimpleParser.BetweenExprContext betweenCtx = 
+                (SQLiteSimpleParser.BetweenExprContext) ctx;
+            
+            Predicate<Users> predicate = buildPredicate(ctx);
+            
+            String field = betweenCtx.column_name().getText();
+            int min = extractIntValue(betweenCtx.literal_value(0));
+            int max = extractIntValue(betweenCtx.literal_value(1));
+            
+            return planner.range(field, min, max, predicate);
+        }
+        
+        // AND: expr AND expr
+        if (ctx instanceof SQLiteSimpleParser.AndExprContext) {
+            SQLiteSimpleParser.AndExprContext andCtx = 
+                (SQLiteSimpleParser.AndExprContext) ctx;
+            
+            AccessPath left = buildAccessPath(andCtx.expr(0));
+            AccessPath right = buildAccessPath(andCtx.expr(1));
+            
+            return planner.and(left, right);
+        }
+        
+        // OR: expr OR expr
+        if (ctx instanceof SQLiteSimpleParser.OrExprContext) {
+            SQLiteSimpleParser.OrExprContext orCtx = 
+                (SQLiteSimpleParser.OrExprContext) ctx;
+            
+            AccessPath left = buildAccessPath(orCtx.expr(0));
+            AccessPath right = buildAccessPath(orCtx.expr(1));
+            
+            return planner.or(left, right);
+        }
+        
+        // PAREN: (expr)
+        if (ctx instanceof SQLiteSimpleParser.ParenExprContext) {
+            SQLiteSimpleParser.ParenExprContext parenCtx = 
+                (SQLiteSimpleParser.ParenExprContext) ctx;
+            
+            return buildAccessPath(parenCtx.expr());
+        }
+        
+        // LIKE e demais condições: sem índice
+        return planner.scan(buildPredicate(ctx));
+    }
+
+    /**
+     * Constrói um Predicate a partir de uma condição simples do WHERE
+     * (=, LIKE, BETWEEN). Valida campos e tipos dos valores.
      */
     private Predicate<Users> buildPredicate(SQLiteSimpleParser.ExprContext ctx) {
         if (ctx == null) {
@@ -323,36 +440,6 @@ public class SQLVisitor extends SQLiteSimpleBaseVisitor<Object> {
             return engine.between(field, min, max);
         }
         
-        // AND: expr AND expr
-        if (ctx instanceof SQLiteSimpleParser.AndExprContext) {
-            SQLiteSimpleParser.AndExprContext andCtx = 
-                (SQLiteSimpleParser.AndExprContext) ctx;
-            
-            Predicate<Users> left = buildPredicate(andCtx.expr(0));
-            Predicate<Users> right = buildPredicate(andCtx.expr(1));
-            
-            return left.and(right);
-        }
-        
-        // OR: expr OR expr
-        if (ctx instanceof SQLiteSimpleParser.OrExprContext) {
-            SQLiteSimpleParser.OrExprContext orCtx = 
-                (SQLiteSimpleParser.OrExprContext) ctx;
-            
-            Predicate<Users> left = buildPredicate(orCtx.expr(0));
-            Predicate<Users> right = buildPredicate(orCtx.expr(1));
-            
-            return left.or(right);
-        }
-        
-        // PAREN: (expr)
-        if (ctx instanceof SQLiteSimpleParser.ParenExprContext) {
-            SQLiteSimpleParser.ParenExprContext parenCtx = 
-                (SQLiteSimpleParser.ParenExprContext) ctx;
-            
-            return buildPredicate(parenCtx.expr());
-        }
-        
         // Default: sempre true (não deveria chegar aqui)
         return user -> true;
     }
@@ -361,10 +448,26 @@ public class SQLVisitor extends SQLiteSimpleBaseVisitor<Object> {
     // HELPER METHODS
     // ============================================================
 
+    /**
+     * Valor de um literal (valores do EXECUTE).
+     */
+    Object literal(SQLiteSimpleParser.Literal_valueContext ctx) {
+        return extractValue(ctx);
+    }
+
     /**
      * Extrai valor de um literal (String ou Integer).
      */
     private Object extractValue(SQLiteSimpleParser.Literal_valueContext ctx) {
+        // Parâmetro de comando preparado
+        if (ctx.PARAM() != null) {
+            int position = Arrays.binarySearch(parameters, ctx.PARAM().getSymbol().getTokenIndex());
+            if (position < 0) {
+                throw new RuntimeException("Invalid: parâmetro '?' só pode ser usado em PREPARE");
+            }
+            return values[position];
+        }
+        
         String text = ctx.getText();
         
         // String literal (entre aspas simples)
@@ -1,10 +1,28 @@
 package lib;
 
 import lib.index.IndexManager;
+import lib.index.SlotBitmap;
 import lib.persistence.PersistenceManager;
 import lib.persistence.CheckpointManager;
+import lib.planner.AccessPath;
+import lib.planner.CostModel;
+import lib.planner.FullScan;
+import lib.storage.ColumnarStorage;
+import lib.storage.Compaction;
+import lib.storage.TableStorage;
+import lib.storage.TableView;
 import java.io.IOException;
+import java.nio.file.Paths;
 import java.util.*;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.IntFunction;
+import java.util.function.IntSupplier;
+import java.util.function.IntUnaryOperator;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
 
@@ -16,15 +34,36 @@ import java.util.stream.Collectors;
  * - Write-Ahead Log (WAL) para durabilidade
  * - Recovery automático após crashes
  * - Checkpoint inteligente
+ * - Armazenamento colunar plugável (TableStorage)
  *
  * Garantias ACID completas.
  *
+ * Concorrência (MVCC): INSERT/UPDATE/DELETE são serializados por um
+ * lock de escrita e confirmados ao fim de cada comando, criando novas
+ * versões dos registros. Consultas leem a última visão confirmada do
+ * storage, sem lock: não esperam as escritas nem enxergam um comando
+ * pela metade. As versões que nenhuma leitura nova enxerga são
+ * descartadas em background (vacuum).
+ *
+ * Transações: begin() segura o lock de escrita até commit() ou
+ * rollback(), e as escritas só são publicadas no commit. Um comando
+ * que altera vários registros fora de uma transação abre uma
+ * transação implícita. No WAL, a transação grava BEGIN, os registros
+ * sem esperar o disco e um único COMMIT com fsync. Cada escrita anota
+ * no buffer de undo o slot que criou e o que encerrou; o rollback
+ * percorre o buffer de trás para frente. As entradas de índice das
+ * versões desfeitas ficam como versões mortas até o vacuum.
+ *
+ * Durabilidade: o comando acrescenta ao WAL com o lock de escrita, mas
+ * espera o fsync depois de soltá-lo, então escritores concorrentes
+ * dividem o fsync (ver write e enableGroupCommit).
+ *
  * @author SQL Parser Team
- * @version 3.0
+ * @version 3.8
  */
 public class UserQuery {
 
-    private List<Users> database;
+    private final TableStorage storage;
     private IndexManager indexManager;
     private PersistenceManager persistenceManager;
     private CheckpointManager checkpointManager;
@@ -32,6 +71,19 @@ public class UserQuery {
     private int nextId;
     private boolean persistenceEnabled;
 
+    // Escritas serializadas (um comando ou transação por vez)
+    private final ReentrantLock writeLock = new ReentrantLock();
+
+    // Transação aberta (explícita ou implícita); só com o lock de escrita
+    private Transaction transaction;
+
+    // LSN do WAL que o comando atual espera, depois de soltar o lock (0 se nenhum)
+    private long awaitLsn;
+
+    // Vacuum: compacta as versões encerradas fora do comando que as criou
+    private final ThreadPoolExecutor vacuum;
+    private final AtomicBoolean vacuumScheduled = new AtomicBoolean(false);
+
     /**
      * Construtor padrão com persistência habilitada.
      */
@@ -55,8 +107,42 @@ public class UserQuery {
      * @param dataDirectory Diretório para arquivos de dados
      */
     public UserQuery(boolean enablePersistence, String dataDirectory) {
-        this.database = new ArrayList<>();
+        this(enablePersistence, dataDirectory, new ColumnarStorage());
+    }
+
+    /**
+     * Construtor com armazenamento customizado.
+     *
+     * @param enablePersistence Se true, habilita persistência em disco
+     * @param dataDirectory Diretório para arquivos de dados
+     * @param storage Armazenamento da tabela (vazio)
+     */
+    public UserQuery(boolean enablePersistence, String dataDirectory, TableStorage storage) {
+        this(enablePersistence, dataDirectory, storage, false);
+    }
+
+    /**
+     * Construtor com opção de índices paginados em disco.
+     * Com diskIndexes, os índices de id e age ficam em arquivos ao lado
+     * do users.db e são reaproveitados no restart quando o último
+     * checkpoint os deixou consistentes. Requer persistência habilitada.
+     *
+     * @param enablePersistence Se true, habilita persistência em disco
+     * @param dataDirectory Diretório para arquivos de dados
+     * @param storage Armazenamento da tabela (vazio)
+     * @param diskIndexes Se true, usa B+Trees em disco para id e age
+     */
+    public UserQuery(boolean enablePersistence, String dataDirectory, TableStorage storage,
+                     boolean diskIndexes) {
+        this.storage = storage;
         this.persistenceEnabled = enablePersistence;
+        this.vacuum = new ThreadPoolExecutor(1, 1, 30, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), task -> {
+            Thread thread = new Thread(task, "vacuum");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.vacuum.allowCoreThreadTimeOut(true);
+        List<Users> initialData = new ArrayList<>();
 
         // Inicializar persistência
         if (persistenceEnabled) {
@@ -69,7 +155,7 @@ public class UserQuery {
                 this.checkpointManager = new CheckpointManager();
 
                 // Carregar dados e replay do WAL
-                int recoveredOps = persistenceManager.initialize(this.database);
+                int recoveredOps = persistenceManager.initialize(storage);
 
                 if (recoveredOps > 0) {
                     System.out.println("✓ Recovery: " + recoveredOps + " operações restauradas");
@@ -81,45 +167,177 @@ public class UserQuery {
                 this.persistenceEnabled = false;
 
                 // Fallback: carregar dados padrão
-                this.database = UsersDatabase.getAllUsers();
+                storage.clear();
+                initialData = UsersDatabase.getAllUsers();
             }
         } else {
             // Modo in-memory: carregar dados padrão
-            this.database = UsersDatabase.getAllUsers();
+            initialData = UsersDatabase.getAllUsers();
+        }
+
+        // Carregar dados padrão no armazenamento (modo in-memory)
+        for (Users u : initialData) {
+            storage.insert(u.getId(), u.getName(), u.getAge(), u.getCity());
         }
 
         // Calcular próximo ID
-        this.nextId = database.stream()
-                .mapToInt(Users::getId)
-                .max()
-                .orElse(0) + 1;
+        int maxId = 0;
+        for (int slot = 0; slot < storage.capacity(); slot++) {
+            if (storage.isLive(slot))
+                maxId = Math.max(maxId, storage.getId(slot));
+        }
+        this.nextId = maxId + 1;
 
-        // Construir índices
-        this.indexManager = new IndexManager();
-        this.indexManager.rebuildAll(this.database);
+        // Descartar tombstones deixados pelo replay do WAL (confirma a carga)
+        storage.compact();
 
-        System.out.println("✓ Database inicializado: " + database.size() + " registros");
+        // Construir (ou reabrir) índices
+        this.indexManager = createIndexManager(dataDirectory, persistenceEnabled && diskIndexes);
+        this.indexManager.initialize();
+
+        System.out.println("✓ Database inicializado: " + storage.size() + " registros");
         System.out.println("✓ Índices construídos");
         System.out.println();
     }
 
+    private IndexManager createIndexManager(String dataDirectory, boolean diskIndexes) {
+        if (diskIndexes) {
+            try {
+                return new IndexManager(storage, Paths.get(dataDirectory), "users");
+            } catch (IOException e) {
+                System.err.println("⚠ Erro ao abrir índices em disco: " + e.getMessage());
+                System.err.println("⚠ Continuando com índices em memória");
+            }
+        }
+        return new IndexManager(storage);
+    }
+
     // ================================================================
     // FROM - Seleção de registros
     // ================================================================
 
     public List<Users> from(Predicate<Users> condition) {
+        TableView view = readView();
+
         if (condition == null)
-            return new ArrayList<>(database);
+            return view.toList();
+
+        // Apenas os registros aceitos são materializados
+        List<Users> result = new ArrayList<>();
 
-        return database.stream()
-                .filter(condition)
-                .collect(Collectors.toList());
+        for (int slot : matchingSlots(condition, view))
+            result.add(view.materialize(slot));
+
+        return result;
     }
 
     public List<Users> from() {
         return from(null);
     }
 
+    /**
+     * Executa um caminho de acesso produzido pelo QueryPlanner.
+     * Os registros são obtidos diretamente dos slots retornados
+     * pelo plano, sem varrer a tabela quando há índice.
+     *
+     * @param path Caminho de acesso
+     * @return Registros encontrados
+     */
+    public List<Users> fetch(AccessPath path) {
+        return fetch(path, readView());
+    }
+
+    /**
+     * Executa um caminho de acesso sobre uma visão já aberta. Várias
+     * etapas de uma mesma consulta leem a mesma visão.
+     *
+     * @param path Caminho de acesso
+     * @param view Visão obtida em readView()
+     * @return Registros encontrados
+     */
+    public List<Users> fetch(AccessPath path, TableView view) {
+        int[] slots = execute(path, view);
+        List<Users> result = new ArrayList<>(slots.length);
+
+        for (int slot : slots)
+            result.add(view.materialize(slot));
+
+        return result;
+    }
+
+    /**
+     * Executa um caminho de acesso e devolve só os slots visíveis, sem
+     * materializar os registros. Cursores leem as linhas da visão à
+     * medida que as enviam.
+     *
+     * @param path Caminho de acesso
+     * @param view Visão obtida em readView()
+     * @return Slots encontrados, em ordem crescente
+     */
+    public int[] slots(AccessPath path, TableView view) {
+        return execute(path, view);
+    }
+
+    /**
+     * Retorna a última visão confirmada da tabela. A visão não muda:
+     * escritas posteriores só aparecem em uma nova chamada.
+     *
+     * Dentro de uma transação, a thread dona dela lê o estado atual do
+     * storage, com as próprias escritas ainda não confirmadas.
+     *
+     * @return Visão de leitura
+     */
+    public TableView readView() {
+        if (writeLock.isHeldByCurrentThread() && transaction != null)
+            return storage;
+
+        return storage.readView();
+    }
+
+    /**
+     * Executa um plano e devolve os slots visíveis na leitura.
+     *
+     * Os índices são lidos sob o latch compartilhado do IndexManager
+     * (em paralelo com outras leituras e escritas), sem o lock de
+     * escrita. O latch não é esperado: se uma reconstrução ou sync o
+     * segura, ou se os índices são de outra geração de slots (o vacuum
+     * compactou depois que a visão foi aberta), o plano vira uma
+     * varredura da própria visão.
+     */
+    private int[] execute(AccessPath path, TableView view) {
+        if (path.usesIndex()) {
+            Lock latch = indexManager.readLatch();
+            if (latch.tryLock()) {
+                try {
+                    if (indexManager.generation() == view.generation()) {
+                        return visibleSlots(path.execute(indexManager, view), view);
+                    }
+                } finally {
+                    latch.unlock();
+                }
+            }
+            path = new FullScan(path.predicate());
+        }
+
+        return visibleSlots(path.execute(indexManager, view), view);
+    }
+
+    /**
+     * Descarta os slots que a leitura não enxerga (versões ainda no
+     * índice que foram removidas, substituídas ou criadas depois).
+     */
+    private static int[] visibleSlots(SlotBitmap slots, TableView view) {
+        int[] all = slots.toArray();
+        int count = 0;
+
+        for (int slot : all) {
+            if (view.isLive(slot))
+                all[count++] = slot;
+        }
+
+        return count == all.length ? all : Arrays.copyOf(all, count);
+    }
+
     // ================================================================
     // SELECT - Projeção de colunas
     // ================================================================
@@ -161,11 +379,26 @@ public class UserQuery {
     // ================================================================
 
     public List<Users> orderBy(String column, String order, List<Users> result) {
+        return orderBy(column, order, result, readView());
+    }
+
+    /**
+     * Ordena o resultado de uma consulta lida na visão informada.
+     *
+     * @param column Coluna
+     * @param order asc ou desc
+     * @param result Registros lidos da visão
+     * @param view Visão da consulta
+     * @return Registros ordenados
+     */
+    public List<Users> orderBy(String column, String order, List<Users> result, TableView view) {
 
         // OTIMIZAÇÃO: Se ordenar por age e resultado completo, usar índice
-        if (column.equalsIgnoreCase("age") && result.size() == database.size()) {
-            boolean ascending = !order.equalsIgnoreCase("desc");
-            return indexManager.getAllOrderedByAge(ascending);
+        if (column.equalsIgnoreCase("age") && result.size() == view.size()) {
+            List<Users> ordered = orderedByAge(!order.equalsIgnoreCase("desc"), view);
+
+            if (ordered != null)
+                return ordered;
         }
 
         Comparator<Users> comparator = switch (column.toLowerCase()) {
@@ -185,6 +418,118 @@ public class UserQuery {
         return result.stream().sorted(comparator).toList();
     }
 
+    /**
+     * Registros da visão na ordem do índice de age.
+     *
+     * @return Lista ordenada, ou null se o índice é de outra geração
+     */
+    private List<Users> orderedByAge(boolean ascending, TableView view) {
+        int[] slots = orderedAgeSlots(ascending, view);
+
+        if (slots == null)
+            return null;
+
+        List<Users> result = new ArrayList<>(slots.length);
+
+        for (int slot : slots)
+            result.add(view.materialize(slot));
+
+        return result;
+    }
+
+    /**
+     * Slots visíveis na ordem do índice de age.
+     *
+     * @return Slots ordenados, ou null se o índice é de outra geração
+     *         ou está ocupado por uma reconstrução
+     */
+    private int[] orderedAgeSlots(boolean ascending, TableView view) {
+        int[] slots;
+
+        Lock latch = indexManager.readLatch();
+        if (!latch.tryLock())
+            return null;
+
+        try {
+            if (indexManager.generation() != view.generation())
+                return null;
+
+            slots = indexManager.orderedAgeSlots(ascending);
+        } finally {
+            latch.unlock();
+        }
+
+        int count = 0;
+
+        for (int slot : slots) {
+            if (view.isLive(slot))
+                slots[count++] = slot;
+        }
+
+        return Arrays.copyOf(slots, count);
+    }
+
+    /**
+     * Ordena os slots de um resultado pela coluna, com o mesmo critério
+     * de orderBy (estável; coluna desconhecida mantém a ordem), sem
+     * materializar os registros.
+     *
+     * @param slots Slots lidos da visão
+     * @param column Coluna
+     * @param order asc ou desc
+     * @param view Visão da consulta
+     * @return Slots ordenados
+     */
+    public int[] orderSlots(int[] slots, String column, String order, TableView view) {
+        boolean ascending = !order.equalsIgnoreCase("desc");
+
+        if (column.equalsIgnoreCase("age") && slots.length == view.size()) {
+            int[] ordered = orderedAgeSlots(ascending, view);
+
+            if (ordered != null)
+                return ordered;
+        }
+
+        return switch (column.toLowerCase()) {
+            case "id" -> sortByInt(slots, view::getId, ascending);
+            case "age" -> sortByInt(slots, view::getAge, ascending);
+            case "name" -> sortByText(slots, view::getName, ascending);
+            case "city" -> sortByText(slots, view::getCity, ascending);
+            default -> slots;
+        };
+    }
+
+    /**
+     * Ordena pares (chave, posição) codificados em long: a posição
+     * desempata, então a ordenação é estável. Na ordem decrescente a
+     * chave é invertida (~key), sem inverter os empates.
+     */
+    private static int[] sortByInt(int[] slots, IntUnaryOperator key, boolean ascending) {
+        long[] entries = new long[slots.length];
+
+        for (int i = 0; i < slots.length; i++) {
+            int value = key.applyAsInt(slots[i]);
+            entries[i] = ((long) (ascending ? value : ~value) << 32) | i;
+        }
+
+        Arrays.sort(entries);
+
+        int[] sorted = new int[slots.length];
+        for (int i = 0; i < entries.length; i++)
+            sorted[i] = slots[(int) entries[i]];
+
+        return sorted;
+    }
+
+    private static int[] sortByText(int[] slots, IntFunction<String> key, boolean ascending) {
+        Comparator<Integer> comparator = Comparator.comparing(slot -> key.apply(slot));
+
+        Integer[] boxed = Arrays.stream(slots).boxed().toArray(Integer[]::new);
+        Arrays.sort(boxed, ascending ? comparator : comparator.reversed());
+
+        return Arrays.stream(boxed).mapToInt(Integer::intValue).toArray();
+    }
+
     // ================================================================
     // GROUP BY - Agrupamento
     // ================================================================
@@ -207,13 +552,21 @@ public class UserQuery {
     // ================================================================
 
     public int insert(String name, int age, String city) {
+        return write(() -> {
+            int[] id = new int[1];
+            runStatement(1, () -> id[0] = insertRow(name, age, city));
+            return id[0];
+        });
+    }
+
+    private int insertRow(String name, int age, String city) {
         int id = nextId++;
         Users newUser = new Users(id, name, age, city);
 
         // 1. LOG NO WAL PRIMEIRO (durabilidade)
         if (persistenceEnabled) {
             try {
-                persistenceManager.logInsert(newUser);
+                awaitLsn = Math.max(awaitLsn, persistenceManager.appendInsert(newUser));
                 checkpointManager.recordOperation();
             } catch (IOException e) {
                 System.err.println("⚠ Erro ao persistir INSERT: " + e.getMessage());
@@ -222,11 +575,9 @@ public class UserQuery {
         }
 
         // 2. Executar em memória
-        database.add(newUser);
-        indexManager.insertUser(newUser);
-
-        // 3. Checkpoint se necessário
-        checkpointIfNeeded();
+        int slot = storage.insert(id, name, age, city);
+        indexManager.insertRow(slot, newUser);
+        recordUndo(-1, slot);
 
         return id;
     }
@@ -236,30 +587,75 @@ public class UserQuery {
     // ================================================================
 
     public int delete(Predicate<Users> condition) {
-        List<Users> toDelete = database.stream()
-                .filter(condition)
-                .toList();
+        return write(() -> {
+            List<Integer> toDelete = matchingSlots(condition, storage);
 
-        for (Users user : toDelete) {
-            // 1. LOG NO WAL PRIMEIRO
-            if (persistenceEnabled) {
-                try {
-                    persistenceManager.logDelete(user.getId());
-                    checkpointManager.recordOperation();
-                } catch (IOException e) {
-                    System.err.println("⚠ Erro ao persistir DELETE: " + e.getMessage());
+            runStatement(toDelete.size(), () -> {
+                for (int slot : toDelete) {
+                    deleteSlot(slot);
                 }
-            }
+            });
 
-            // 2. Executar em memória
-            database.remove(user);
-            indexManager.removeUser(user);
-        }
+            return toDelete.size();
+        });
+    }
 
-        // 3. Checkpoint se necessário
-        checkpointIfNeeded();
+    /**
+     * Remove os registros selecionados por um caminho de acesso.
+     *
+     * @param path Caminho de acesso do WHERE
+     * @return Número de registros removidos
+     */
+    public int delete(AccessPath path) {
+        return write(() -> {
+            int[] toDelete = execute(path, storage);
+
+            runStatement(toDelete.length, () -> {
+                for (int slot : toDelete) {
+                    deleteSlot(slot);
+                }
+            });
 
-        return toDelete.size();
+            return toDelete.length;
+        });
+    }
+
+    /**
+     * Remove um registro pelo ID usando o localizador do storage (O(1)).
+     *
+     * @param id ID do usuário
+     * @return Número de registros removidos (0 ou 1)
+     */
+    public int deleteById(int id) {
+        return write(() -> {
+            int slot = storage.findSlot(id);
+
+            if (slot < 0)
+                return 0;
+
+            runStatement(1, () -> deleteSlot(slot));
+
+            return 1;
+        });
+    }
+
+    private void deleteSlot(int slot) {
+        Users user = storage.materialize(slot);
+
+        // 1. LOG NO WAL PRIMEIRO
+        if (persistenceEnabled) {
+            try {
+                awaitLsn = Math.max(awaitLsn, persistenceManager.appendDelete(user.getId()));
+                checkpointManager.recordOperation();
+            } catch (IOException e) {
+                System.err.println("⚠ Erro ao persistir DELETE: " + e.getMessage());
+            }
+        }
+
+        // 2. Executar em memória (a entrada no índice fica para as
+        //    leituras já abertas, até o vacuum)
+        storage.delete(slot);
+        recordUndo(slot, -1);
     }
 
     // ================================================================
@@ -267,51 +663,115 @@ public class UserQuery {
     // ================================================================
 
     public int update(Map<String, Object> values, Predicate<Users> condition) {
+        return write(() -> {
+            List<Integer> toUpdate = matchingSlots(condition, storage);
 
-        int count = 0;
-
-        for (Users u : database) {
+            runStatement(toUpdate.size(), () -> {
+                for (int slot : toUpdate) {
+                    updateSlot(slot, values);
+                }
+            });
 
-            if (!condition.test(u))
-                continue;
+            return toUpdate.size();
+        });
+    }
 
-            // Salvar estado antigo
-            Users oldUser = new Users(u.getId(), u.getName(), u.getAge(), u.getCity());
+    /**
+     * Atualiza os registros selecionados por um caminho de acesso.
+     *
+     * @param values Mapa coluna → novo valor
+     * @param path Caminho de acesso do WHERE
+     * @return Número de registros atualizados
+     */
+    public int update(Map<String, Object> values, AccessPath path) {
+        return write(() -> {
+            int[] toUpdate = execute(path, storage);
 
-            // Aplicar mudanças
-            for (var e : values.entrySet()) {
-                switch (e.getKey().toLowerCase()) {
-                    case "name" -> u.setName((String) e.getValue());
-                    case "age" -> u.setAge((Integer) e.getValue());
-                    case "city" -> u.setCity((String) e.getValue());
+            runStatement(toUpdate.length, () -> {
+                for (int slot : toUpdate) {
+                    updateSlot(slot, values);
                 }
+            });
+
+            return toUpdate.length;
+        });
+    }
+
+    /**
+     * Atualiza um registro pelo ID usando o localizador do storage (O(1)).
+     *
+     * @param values Mapa coluna → novo valor
+     * @param id ID do usuário
+     * @return Número de registros atualizados (0 ou 1)
+     */
+    public int updateById(Map<String, Object> values, int id) {
+        return write(() -> {
+            int slot = storage.findSlot(id);
+
+            if (slot < 0)
+                return 0;
+
+            runStatement(1, () -> updateSlot(slot, values));
+
+            return 1;
+        });
+    }
+
+    private void updateSlot(int slot, Map<String, Object> values) {
+        // Novos valores a partir da versão atual
+        Users u = storage.materialize(slot);
+
+        for (var e : values.entrySet()) {
+            switch (e.getKey().toLowerCase()) {
+                case "name" -> u.setName((String) e.getValue());
+                case "age" -> u.setAge((Integer) e.getValue());
+                case "city" -> u.setCity((String) e.getValue());
             }
+        }
 
-            // 1. LOG NO WAL
-            if (persistenceEnabled) {
-                try {
-                    persistenceManager.logUpdate(u.getId(), values);
-                    checkpointManager.recordOperation();
-                } catch (IOException ex) {
-                    System.err.println("⚠ Erro ao persistir UPDATE: " + ex.getMessage());
-                }
+        // 1. LOG NO WAL
+        if (persistenceEnabled) {
+            try {
+                awaitLsn = Math.max(awaitLsn, persistenceManager.appendUpdate(u.getId(), values));
+                checkpointManager.recordOperation();
+            } catch (IOException ex) {
+                System.err.println("⚠ Erro ao persistir UPDATE: " + ex.getMessage());
             }
+        }
 
-            // 2. Atualizar índices
-            indexManager.updateUser(oldUser, u);
+        // 2. Nova versão; a anterior continua no índice até o vacuum
+        int version = storage.update(slot, u.getName(), u.getAge(), u.getCity());
+        indexManager.insertRow(version, u);
+        recordUndo(slot, version);
+    }
 
-            count++;
-        }
+    /**
+     * Retorna os slots dos registros que satisfazem a condição.
+     * Usa um único objeto Users reaproveitado para testar cada slot.
+     */
+    private List<Integer> matchingSlots(Predicate<Users> condition, TableView view) {
+        List<Integer> slots = new ArrayList<>();
+        Users cursor = new Users(0, null, 0, null);
 
-        // 3. Checkpoint se necessário
-        checkpointIfNeeded();
+        for (int slot = 0; slot < view.capacity(); slot++) {
+            if (!view.isLive(slot))
+                continue;
+
+            view.load(slot, cursor);
+
+            if (condition.test(cursor))
+                slots.add(slot);
+        }
 
-        return count;
+        return slots;
     }
 
     // ================================================================
-    // PREDICATES - Condições de busca (COM ÍNDICES)
+    // PREDICATES - Condições de busca
     // ================================================================
+    //
+    // Predicados simples, avaliados registro a registro. O uso de
+    // índices fica a cargo do QueryPlanner (ver fetch(AccessPath)).
 
     public Predicate<Users> like(String field, String pattern) {
         return u -> switch (field.toLowerCase()) {
@@ -323,10 +783,7 @@ public class UserQuery {
 
     public Predicate<Users> between(String field, int min, int max) {
         if (field.equalsIgnoreCase("age")) {
-            Set<Users> indexResult = new HashSet<>(
-                    indexManager.searchByAgeRange(min, max)
-            );
-            return user -> indexResult.contains(user);
+            return user -> user.getAge() >= min && user.getAge() <= max;
         }
 
         return user -> false;
@@ -337,33 +794,17 @@ public class UserQuery {
             case "id" -> {
                 try {
                     int id = Integer.parseInt(value);
-                    Set<Users> indexResult = new HashSet<>(
-                            indexManager.searchById(id)
-                    );
-                    yield user -> indexResult.contains(user);
+                    yield user -> user.getId() == id;
                 } catch (NumberFormatException e) {
                     yield user -> false;
                 }
             }
-            case "name" -> {
-                Set<Users> indexResult = new HashSet<>(
-                        indexManager.searchByName(value)
-                );
-                yield user -> indexResult.contains(user);
-            }
-            case "city" -> {
-                Set<Users> indexResult = new HashSet<>(
-                        indexManager.searchByCity(value)
-                );
-                yield user -> indexResult.contains(user);
-            }
+            case "name" -> user -> value.equals(user.getName());
+            case "city" -> user -> value.equals(user.getCity());
             case "age" -> {
                 try {
                     int age = Integer.parseInt(value);
-                    Set<Users> indexResult = new HashSet<>(
-                            indexManager.searchByAge(age)
-                    );
-                    yield user -> indexResult.contains(user);
+                    yield user -> user.getAge() == age;
                 } catch (NumberFormatException e) {
                     yield user -> false;
                 }
@@ -374,44 +815,345 @@ public class UserQuery {
 
     public Predicate<Users> equals(String field, int value) {
         return switch (field.toLowerCase()) {
-            case "id" -> {
-                Set<Users> indexResult = new HashSet<>(
-                        indexManager.searchById(value)
-                );
-                yield user -> indexResult.contains(user);
-            }
-            case "age" -> {
-                Set<Users> indexResult = new HashSet<>(
-                        indexManager.searchByAge(value)
-                );
-                yield user -> indexResult.contains(user);
-            }
+            case "id" -> user -> user.getId() == value;
+            case "age" -> user -> user.getAge() == value;
             default -> user -> false;
         };
     }
 
+    // ================================================================
+    // TRANSAÇÕES - BEGIN / COMMIT / ROLLBACK
+    // ================================================================
+
+    /**
+     * Inicia uma transação explícita. A thread que chamou segura o lock
+     * de escrita até commit() ou rollback(): escritas de outras threads
+     * esperam, leituras continuam na última visão confirmada.
+     */
+    public void begin() {
+        writeLock.lock();
+
+        if (transaction != null) {
+            writeLock.unlock();
+            throw new IllegalStateException("Invalid: transação já aberta");
+        }
+
+        beginTransaction();
+    }
+
+    /**
+     * Confirma a transação aberta por esta thread: um único flush do
+     * WAL e a publicação das escritas para as novas leituras.
+     */
+    public void commit() {
+        checkTransactionOwner();
+
+        long lsn;
+        try {
+            commitTransaction();
+        } finally {
+            lsn = takeAwaitLsn();
+            writeLock.unlock();
+        }
+        awaitDurable(lsn);
+    }
+
+    /**
+     * Desfaz as escritas da transação aberta por esta thread.
+     * Os ids já atribuídos por INSERT não são reaproveitados.
+     */
+    public void rollback() {
+        checkTransactionOwner();
+
+        try {
+            rollbackTransaction();
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Verifica se esta thread tem uma transação aberta.
+     */
+    public boolean inTransaction() {
+        return writeLock.isHeldByCurrentThread() && transaction != null;
+    }
+
+    /**
+     * Executa um comando de escrita com o lock de escrita e, depois de
+     * soltá-lo, espera o WAL do comando chegar ao disco.
+     *
+     * O lock sai antes do fsync (early lock release): o próximo escritor
+     * acrescenta ao WAL enquanto este espera, e os dois são cobertos pelo
+     * mesmo fsync (ou pelo lote do group commit). Leituras podem ver o
+     * comando antes do fsync, mas quem o executou só recebe a resposta
+     * depois; como o WAL é sequencial, qualquer escrita que dependa dele
+     * fica depois no log e não é durável sem ele.
+     *
+     * @param statement Comando; devolve o número de registros (ou o id)
+     * @return Valor devolvido pelo comando
+     */
+    private int write(IntSupplier statement) {
+        int result;
+        long lsn;
+
+        writeLock.lock();
+        try {
+            result = statement.getAsInt();
+        } finally {
+            lsn = takeAwaitLsn();
+            writeLock.unlock();
+        }
+
+        awaitDurable(lsn);
+        return result;
+    }
+
+    private long takeAwaitLsn() {
+        long lsn = awaitLsn;
+        awaitLsn = 0;
+        return lsn;
+    }
+
+    private void awaitDurable(long lsn) {
+        if (lsn > 0) {
+            try {
+                persistenceManager.awaitDurable(lsn);
+            } catch (IOException e) {
+                System.err.println("⚠ Erro ao sincronizar WAL: " + e.getMessage());
+            }
+        }
+    }
+
+    private void checkTransactionOwner() {
+        if (!inTransaction())
+            throw new IllegalStateException("Invalid: nenhuma transação aberta");
+    }
+
+    /**
+     * Executa um comando de escrita (com o lock de escrita). Fora de uma
+     * transação, um comando que altera mais de um registro roda numa
+     * transação implícita; um comando de um registro grava direto.
+     *
+     * Um erro no meio do comando desfaz a transação inteira: parte dos
+     * registros já está no WAL e não há como confirmar só o resto.
+     *
+     * @param rows Registros que o comando vai alterar
+     * @param action Escritas do comando
+     */
+    private void runStatement(int rows, Runnable action) {
+        boolean implicit = transaction == null && rows > 1;
+
+        if (implicit)
+            beginTransaction();
+
+        try {
+            action.run();
+        } catch (RuntimeException e) {
+            if (transaction == null)
+                throw e;
+
+            rollbackTransaction();
+
+            if (implicit)
+                throw e;
+
+            writeLock.unlock();  // Lock segurado pelo BEGIN
+            throw new IllegalStateException("Invalid: transação desfeita - " + e.getMessage(), e);
+        }
+
+        if (implicit)
+            commitTransaction();
+        else if (transaction == null)
+            finishWrite();
+    }
+
+    private void beginTransaction() {
+        transaction = new Transaction();
+
+        if (persistenceEnabled) {
+            try {
+                persistenceManager.beginTransaction();
+            } catch (IOException e) {
+                System.err.println("⚠ Erro ao persistir BEGIN: " + e.getMessage());
+            }
+        }
+    }
+
+    private void commitTransaction() {
+        transaction = null;
+
+        // 1. COMMIT no WAL (um fsync para a transação inteira, esperado
+        //    depois de soltar o lock de escrita)
+        if (persistenceEnabled && persistenceManager.isInTransaction()) {
+            try {
+                awaitLsn = persistenceManager.appendCommit();
+            } catch (IOException e) {
+                System.err.println("⚠ Erro ao persistir COMMIT: " + e.getMessage());
+            }
+        }
+
+        // 2. Publicar, vacuum e checkpoint se necessário
+        finishWrite();
+    }
+
+    private void rollbackTransaction() {
+        Transaction undone = transaction;
+        transaction = null;
+
+        // Da última escrita para a primeira
+        for (int i = undone.size - 2; i >= 0; i -= 2) {
+            int ended = undone.undo[i];
+            int created = undone.undo[i + 1];
+
+            if (created >= 0)
+                storage.delete(created);
+            if (ended >= 0)
+                storage.restore(ended);
+        }
+
+        if (persistenceEnabled && persistenceManager.isInTransaction()) {
+            try {
+                persistenceManager.rollbackTransaction();
+            } catch (IOException e) {
+                System.err.println("⚠ Erro ao persistir ROLLBACK: " + e.getMessage());
+            }
+        }
+
+        finishWrite();
+    }
+
+    /**
+     * Anota uma escrita no buffer de undo da transação aberta.
+     *
+     * @param ended Slot da versão encerrada (-1 se nenhuma)
+     * @param created Slot da versão criada (-1 se nenhuma)
+     */
+    private void recordUndo(int ended, int created) {
+        if (transaction != null)
+            transaction.record(ended, created);
+    }
+
+    /**
+     * Buffer de undo: pares (slot encerrado, slot criado) na ordem das
+     * escritas. INSERT cria, DELETE encerra, UPDATE faz os dois.
+     */
+    private static final class Transaction {
+        int[] undo = new int[16];
+        int size;
+
+        void record(int ended, int created) {
+            if (size + 2 > undo.length)
+                undo = Arrays.copyOf(undo, undo.length * 2);
+
+            undo[size++] = ended;
+            undo[size++] = created;
+        }
+    }
+
+    // ================================================================
+    // VACUUM - Reaproveitamento de versões encerradas
+    // ================================================================
+
+    /**
+     * Fim de um comando de escrita (com o lock de escrita): confirma as
+     * alterações para as novas leituras e agenda vacuum e checkpoint.
+     */
+    private void finishWrite() {
+        storage.commit();
+        vacuumIfNeeded();
+        checkpointIfNeeded();
+    }
+
+    /**
+     * Agenda o vacuum quando há muitas versões encerradas (DELETE e
+     * versões antigas de UPDATE). O custo é amortizado: só ocorre após
+     * uma fração fixa de escritas, e fora do comando que o disparou.
+     */
+    private void vacuumIfNeeded() {
+        if (storage.needsCompaction() && !vacuum.isShutdown()
+                && vacuumScheduled.compareAndSet(false, true)) {
+            vacuum.execute(this::vacuum);
+        }
+    }
+
+    /**
+     * Compacta o storage (thread do vacuum) em duas fases, para não parar
+     * as escritas: com o lock de escrita só se captura a visão publicada
+     * e, no fim, se instalam as colunas e os índices novos. A montagem
+     * das colunas compactadas e dos índices sobre elas roda sem lock.
+     * Leituras abertas antes continuam com os arrays antigos, liberados
+     * pelo GC quando a última delas termina.
+     */
+    private void vacuum() {
+        Compaction compaction;
+
+        writeLock.lock();
+        try {
+            vacuumScheduled.set(false);
+
+            if (!storage.needsCompaction())
+                return;
+
+            compaction = storage.beginCompaction();
+        } finally {
+            writeLock.unlock();
+        }
+
+        compaction.build();
+
+        IndexManager.IndexSet indexes;
+        try {
+            indexes = indexManager.build(compaction.view());
+        } catch (IOException | RuntimeException e) {
+            System.err.println("⚠ Vacuum: erro ao montar os índices (" + e.getMessage() + ")");
+            return;
+        }
+
+        writeLock.lock();
+        try {
+            if (storage.finishCompaction(compaction)) {
+                try {
+                    indexManager.install(indexes, compaction.appendedSlots());
+                } catch (RuntimeException e) {
+                    // Os slots já mudaram: reconstrói como antes
+                    System.err.println("⚠ Vacuum: erro ao instalar os índices (" + e.getMessage() + ")");
+                    indexManager.discard(indexes);
+                    indexManager.rebuildAll();
+                }
+                return;
+            }
+        } finally {
+            writeLock.unlock();
+        }
+
+        // Um compact() no meio do caminho já renumerou os slots
+        indexManager.discard(indexes);
+    }
+
     // ================================================================
     // CHECKPOINT - Gerenciamento
     // ================================================================
 
     /**
-     * Verifica se checkpoint é necessário e executa.
+     * Verifica se checkpoint é necessário e o inicia em background.
+     * A operação que dispara o checkpoint paga só a captura do snapshot
+     * (copy-on-write); a gravação roda em outra thread. Com índices em
+     * disco, o stamp e a gravação dos arquivos também ficam para essa
+     * thread, depois do snapshot (ver IndexManager.checkpointSync); o
+     * checkpoint não compacta, isso fica para o vacuum.
      */
     private void checkpointIfNeeded() {
         if (!persistenceEnabled) {
             return;
         }
 
-        try {
-            long walSize = persistenceManager.getOperationsSinceCheckpoint() * 100; // Estimativa
+        long walSize = persistenceManager.getOperationsSinceCheckpoint() * 100; // Estimativa
 
-            if (checkpointManager.shouldCheckpoint(walSize)) {
-                System.out.println("⏳ Executando checkpoint automático...");
-                checkpointManager.executeCheckpoint(database, persistenceManager);
-                System.out.println("✓ Checkpoint concluído");
-            }
-        } catch (IOException e) {
-            System.err.println("⚠ Erro no checkpoint: " + e.getMessage());
+        if (checkpointManager.shouldCheckpoint(walSize)) {
+            System.out.println("⏳ Iniciando checkpoint em background...");
+            checkpointManager.executeCheckpointAsync(storage, persistenceManager,
+                    indexManager.checkpointSync());
         }
     }
 
@@ -425,14 +1167,48 @@ public class UserQuery {
             return false;
         }
 
+        writeLock.lock();
         try {
+            if (transaction != null) {
+                System.err.println("⚠ Checkpoint recusado: transação aberta");
+                return false;
+            }
+
             System.out.println("⏳ Forçando checkpoint...");
-            checkpointManager.forceCheckpoint(database, persistenceManager);
+            compactForDiskIndexes();
+            checkpointManager.forceCheckpoint(storage.toList(), persistenceManager);
+            syncIndexes();
             System.out.println("✓ Checkpoint forçado concluído");
             return true;
         } catch (IOException e) {
             System.err.println("⚠ Erro ao forçar checkpoint: " + e.getMessage());
             return false;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Com índices em disco, o snapshot precisa ter a mesma ordem dos
+     * slots para que os arquivos valham no restart. Se há slots
+     * removidos, compacta antes do checkpoint.
+     */
+    private void compactForDiskIndexes() {
+        if (indexManager.hasDiskIndexes() && storage.deletedCount() > 0) {
+            storage.compact();
+            indexManager.rebuildAll();
+        }
+    }
+
+    /**
+     * Grava os índices em disco após o snapshot.
+     * Uma falha aqui só custa a reconstrução no próximo restart.
+     */
+    private void syncIndexes() {
+        try {
+            indexManager.sync();
+        } catch (IOException e) {
+            System.err.println("⚠ Erro ao gravar índices em disco: " + e.getMessage());
         }
     }
 
@@ -445,21 +1221,35 @@ public class UserQuery {
      * Executa checkpoint final e fecha recursos.
      */
     public void shutdown() {
+        vacuum.shutdown();
+
         if (!persistenceEnabled) {
             return;
         }
 
+        writeLock.lock();
         try {
+            if (transaction != null) {
+                System.out.println("⚠ Transação aberta desfeita no shutdown");
+                rollbackTransaction();
+                writeLock.unlock();  // Lock segurado pelo BEGIN
+            }
+
             System.out.println("\n╔════════════════════════════════════════════════╗");
             System.out.println("║         Encerrando Sistema de Persistência     ║");
             System.out.println("╚════════════════════════════════════════════════╝");
 
-            persistenceManager.shutdown(database);
+            compactForDiskIndexes();
+            persistenceManager.shutdown(storage.toList());
+            syncIndexes();
+            indexManager.close();
 
             System.out.println("✓ Shutdown concluído com sucesso");
 
         } catch (IOException e) {
             System.err.println("⚠ Erro ao encerrar: " + e.getMessage());
+        } finally {
+            writeLock.unlock();
         }
     }
 
@@ -474,6 +1264,21 @@ public class UserQuery {
         return indexManager.getStats();
     }
 
+    /**
+     * Retorna o modelo de custo baseado nas estatísticas dos índices.
+     * Usado pelo planner para escolher o caminho de acesso.
+     */
+    public CostModel getCostModel() {
+        return new CostModel(indexManager);
+    }
+
+    /**
+     * Retorna estatísticas do armazenamento.
+     */
+    public String getStorageStats() {
+        return storage.getStats();
+    }
+
     /**
      * Retorna estatísticas de persistência.
      */
@@ -500,6 +1305,7 @@ public class UserQuery {
     public String getAllStats() {
         StringBuilder sb = new StringBuilder();
 
+        sb.append(getStorageStats()).append("\n\n");
         sb.append(getIndexStats()).append("\n");
 
         if (persistenceEnabled) {
@@ -514,14 +1320,23 @@ public class UserQuery {
      * Reconstrói todos os índices.
      */
     public void rebuildIndexes() {
-        indexManager.rebuildAll(database);
+        writeLock.lock();
+        try {
+            // Os índices perderiam as versões que um rollback restaura
+            if (transaction != null)
+                throw new IllegalStateException("Invalid: reconstrução de índices dentro de uma transação");
+
+            indexManager.rebuildAll();
+        } finally {
+            writeLock.unlock();
+        }
     }
 
     /**
      * Retorna o número total de registros.
      */
     public int size() {
-        return database.size();
+        return readView().size();
     }
 
     /**
@@ -531,11 +1346,31 @@ public class UserQuery {
         return persistenceEnabled;
     }
 
+    /**
+     * Liga o group commit do WAL: os comandos que esperam o disco ao
+     * mesmo tempo dividem um fsync. Sem persistência, não faz nada.
+     *
+     * @param maxBatchSize Registros que disparam o fsync imediatamente
+     * @param maxWaitMicros Espera máxima de um comando pelo lote
+     */
+    public void enableGroupCommit(int maxBatchSize, long maxWaitMicros) {
+        if (persistenceEnabled) {
+            persistenceManager.enableGroupCommit(maxBatchSize, maxWaitMicros);
+        }
+    }
+
+    /**
+     * Retorna o número de fsyncs do WAL (0 sem persistência).
+     */
+    public long getWalSyncCount() {
+        return persistenceEnabled ? persistenceManager.getSyncCount() : 0;
+    }
+
     /**
      * Retorna cópia da lista de usuários.
      * Para debug/testes apenas.
      */
     public List<Users> getAllUsers() {
-        return new ArrayList<>(database);
+        return readView().toList();
     }
 }
\ No newline at end of file
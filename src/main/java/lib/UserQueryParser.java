@@ -3,23 +3,50 @@ package lib;
 import lib.parser.SQLiteSimpleLexer;
 import lib.parser.SQLiteSimpleParser;
 import org.antlr.v4.runtime.*;
-import org.antlr.v4.runtime.tree.*;
+import org.antlr.v4.runtime.misc.Interval;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
 
 /**
  * Parser de queries SQL usando ANTLR4.
  * Substitui o parser manual anterior mantendo a mesma interface.
  *
+ * Comandos repetidos podem ser preparados uma vez (prepare, ou PREPARE
+ * nome AS ... em SQL) e executados com novos valores nos parâmetros "?"
+ * sem passar de novo pelo ANTLR. Os comandos preparados por PREPARE
+ * pertencem a este parser (uma sessão; uma conexão no SQLServer).
+ *
+ * Um lote de INSERTs (executeBatch) é validado inteiro antes de
+ * executar o primeiro comando e roda numa só transação.
+ *
  * @author SQL Parser Team
- * @version 3.0
+ * @version 3.5
  */
 public class UserQueryParser {
 
-    private UserQuery engine;
+    private final UserQuery engine;
+
+    // Comandos preparados por PREPARE, pelo nome (minúsculo)
+    private final Map<String, PreparedQuery> prepared = new HashMap<>();
 
     public UserQueryParser() {
         engine = new UserQuery();
     }
 
+    /**
+     * Construtor sobre uma engine existente. Vários parsers podem
+     * compartilhar a mesma engine (um por conexão no SQLServer).
+     *
+     * @param engine Engine onde os comandos são executados
+     */
+    public UserQueryParser(UserQuery engine) {
+        this.engine = engine;
+    }
+
     /**
      * Executa uma query SQL usando o parser ANTLR4.
      *
@@ -27,117 +54,346 @@ public class UserQueryParser {
      * @return Resultado da execução ou mensagem de erro prefixada com "Invalid"
      */
     public String execute(String sql) {
+        return executeResult(sql).toString();
+    }
+
+    /**
+     * Executa uma query SQL sem converter as linhas em texto.
+     *
+     * @param sql Comando SQL a executar
+     * @return QueryResult para SELECT; para os demais comandos, a mensagem
+     *         de status ou de erro (prefixada com "Invalid")
+     */
+    public Object executeResult(String sql) {
         try {
             // Validar entrada vazia
             if (sql == null || sql.trim().isEmpty()) {
                 return "Invalid: Empty query";
             }
 
-            // Criar lexer a partir da string SQL
-            SQLiteSimpleLexer lexer = new SQLiteSimpleLexer(CharStreams.fromString(sql));
+            return run(parse(sql, SQLiteSimpleParser::parse).sql_stmt());
 
-            // Criar stream de tokens
-            CommonTokenStream tokens = new CommonTokenStream(lexer);
+        } catch (RuntimeException e) {
+            return error(e);
 
-            // Criar parser
-            SQLiteSimpleParser parser = new SQLiteSimpleParser(tokens);
+        } catch (Exception e) {
+            // Outros erros inesperados
+            String msg = e.getMessage();
+            return "Invalid: " + (msg != null ? msg : "Unexpected error");
+        }
+    }
 
-            // Remover error listeners padrão
-            parser.removeErrorListeners();
+    /**
+     * Executa um comando já analisado.
+     */
+    private Object run(SQLiteSimpleParser.Sql_stmtContext statement) {
+        // Comandos preparados
+        if (statement.prepare_stmt() != null) {
+            return prepare(statement.prepare_stmt());
+        }
+        if (statement.execute_stmt() != null) {
+            return executePrepared(statement.execute_stmt());
+        }
+        if (statement.deallocate_stmt() != null) {
+            return deallocate(statement.deallocate_stmt());
+        }
 
-            // Flag para capturar erro de sintaxe
-            final boolean[] hasError = {false};
-            final String[] errorMessage = {null};
+        return normalize(new SQLVisitor(engine).visit(statement));
+    }
 
-            // Adicionar custom error listener
-            parser.addErrorListener(new BaseErrorListener() {
-                @Override
-                public void syntaxError(Recognizer<?, ?> recognizer, Object offendingSymbol,
-                                        int line, int charPositionInLine,
-                                        String msg, RecognitionException e) {
-                    hasError[0] = true;
-                    errorMessage[0] = msg;
-                }
-            });
+    // ================================================================
+    // LOTE DE INSERTS
+    // ================================================================
+
+    /**
+     * Executa um lote de INSERTs numa transação: um flush do WAL para o
+     * lote inteiro. Um EXECUTE de um INSERT preparado vale como INSERT.
+     *
+     * Todos os comandos passam pelo parse (e cada EXECUTE é resolvido
+     * para o seu comando preparado) antes de o primeiro executar: um
+     * comando que não é INSERT recusa o lote sem alterar nada.
+     *
+     * Fora de uma transação, um erro desfaz o lote inteiro. Dentro de
+     * uma transação aberta, os INSERTs entram nela; se um deles falha,
+     * os anteriores continuam na transação (a mensagem de erro diz
+     * quantos) e o cliente decide entre COMMIT e ROLLBACK.
+     *
+     * @param statements INSERTs ou EXECUTEs de INSERTs preparados
+     * @return "Inserted N rows" ou a mensagem de erro (prefixada com "Invalid")
+     */
+    public Object executeBatch(List<String> statements) {
+        List<SQLiteSimpleParser.Sql_stmtContext> batch = new ArrayList<>(statements.size());
 
-            // Parse da query (ponto de entrada da gramática)
-            ParseTree tree = parser.parse();
+        for (int i = 0; i < statements.size(); i++) {
+            try {
+                SQLiteSimpleParser.Sql_stmtContext statement =
+                        parse(statements.get(i), SQLiteSimpleParser::parse).sql_stmt();
 
-            // Se houve erro de sintaxe, retornar
-            if (hasError[0]) {
-                return "Invalid: SQL syntax error" +
-                        (errorMessage[0] != null ? " - " + errorMessage[0] : "");
+                if (!isInsert(statement)) {
+                    return "Invalid: batch statement " + (i + 1) + " is not an INSERT";
+                }
+                batch.add(statement);
+            } catch (RuntimeException e) {
+                return "Invalid: batch statement " + (i + 1) + " - " + error(e);
             }
+        }
 
-            // Criar visitor e executar
-            SQLVisitor visitor = new SQLVisitor(engine);
-            Object result = visitor.visit(tree);
+        boolean implicit = !engine.inTransaction();
+        if (implicit) {
+            engine.begin();
+        }
 
-            // Processar resultado do visitor
-            if (result != null) {
-                String resultStr = result.toString();
+        for (int i = 0; i < batch.size(); i++) {
+            Object result;
+            try {
+                result = run(batch.get(i));
+            } catch (RuntimeException e) {
+                result = error(e);
+            }
 
-                // Normalizar mensagens de erro
-                // Converter qualquer variação para "Invalid:"
-                if (resultStr.startsWith("ERRO:")) {
-                    return "Invalid:" + resultStr.substring(5);
-                }
+            if (!result.toString().startsWith("Inserted")) {
+                String message = "Invalid: batch statement " + (i + 1) + " - " + result;
 
-                if (resultStr.startsWith("Comando inválido:") ||
-                        resultStr.startsWith("Comando invalido:")) {
-                    return "Invalid:" + resultStr.substring(resultStr.indexOf(":"));
+                if (implicit) {
+                    if (engine.inTransaction()) engine.rollback();
+                } else if (engine.inTransaction() && i > 0) {
+                    message += " (statements 1-" + i + " remain applied in the open transaction)";
                 }
+                return message;
+            }
+        }
 
-                // Se já começa com "Invalid", garantir formato consistente
-                if (resultStr.startsWith("Invalid")) {
-                    // Garantir que tem : depois de Invalid
-                    if (resultStr.length() > 7 && resultStr.charAt(7) != ':') {
-                        return "Invalid: " + resultStr.substring(7).trim();
-                    }
-                    return resultStr;
-                }
+        if (implicit) {
+            engine.commit();
+        }
+        return "Inserted " + batch.size() + " rows";
+    }
 
-                // Resultado normal (sucesso)
-                return resultStr;
-            }
+    private boolean isInsert(SQLiteSimpleParser.Sql_stmtContext statement) {
+        if (statement.insert_stmt() != null) {
+            return true;
+        }
+        return statement.execute_stmt() != null
+                && lookup(statement.execute_stmt().statement_name().getText()).isInsert();
+    }
 
-            // Retornar OK se não há resultado
-            return "OK";
+    // ================================================================
+    // COMANDOS PREPARADOS
+    // ================================================================
+
+    /**
+     * Prepara um comando: faz o parse uma vez e guarda a árvore.
+     *
+     * @param sql SELECT, INSERT, UPDATE ou DELETE, com "?" nos valores
+     * @return Comando preparado, para executeResult(PreparedQuery, ...)
+     * @throws IllegalArgumentException Se o comando é inválido ou não
+     *         pode ser preparado (erro de sintaxe para outros comandos)
+     */
+    public PreparedQuery prepare(String sql) {
+        if (sql == null || sql.trim().isEmpty()) {
+            throw new IllegalArgumentException("Invalid: Empty query");
+        }
 
+        // Mesma regra do corpo de PREPARE nome AS ...
+        try {
+            return new PreparedQuery(sql, parse(sql, SQLiteSimpleParser::prepared_body));
         } catch (RuntimeException e) {
-            // Erro de sintaxe ou validação
-            String msg = e.getMessage();
+            throw new IllegalArgumentException(e.getMessage());
+        }
+    }
+
+    /**
+     * Executa um comando preparado com os valores dos parâmetros.
+     *
+     * @param query Comando preparado
+     * @param values Um valor por "?", na ordem do texto (Integer, Double ou String)
+     * @return Mesmo retorno de executeResult(String)
+     */
+    public Object executeResult(PreparedQuery query, Object... values) {
+        try {
+            return normalize(query.bind(engine, values).visit(query.statement()));
+        } catch (RuntimeException e) {
+            return error(e);
+        }
+    }
+
+    /**
+     * Executa um comando preparado e converte o resultado em texto.
+     */
+    public String execute(PreparedQuery query, Object... values) {
+        return executeResult(query, values).toString();
+    }
+
+    private Object prepare(SQLiteSimpleParser.Prepare_stmtContext ctx) {
+        String name = ctx.statement_name().getText().toLowerCase();
+        SQLiteSimpleParser.Prepared_bodyContext body = ctx.prepared_body();
+
+        String sql = body.start.getInputStream()
+                .getText(Interval.of(body.start.getStartIndex(), body.stop.getStopIndex()));
+
+        PreparedQuery query = new PreparedQuery(sql, body);
+        prepared.put(name, query);
+
+        return "Prepared " + name + " (" + query.parameterCount() + " parameters)";
+    }
+
+    private Object executePrepared(SQLiteSimpleParser.Execute_stmtContext ctx) {
+        PreparedQuery query = lookup(ctx.statement_name().getText());
+
+        // Os valores do EXECUTE são literais, sem "?"
+        List<SQLiteSimpleParser.Literal_valueContext> literals = ctx.literal_value();
+        SQLVisitor literalsVisitor = new SQLVisitor(engine);
+        Object[] values = new Object[literals.size()];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = literalsVisitor.literal(literals.get(i));
+        }
+
+        return executeResult(query, values);
+    }
+
+    private Object deallocate(SQLiteSimpleParser.Deallocate_stmtContext ctx) {
+        String name = ctx.statement_name().getText().toLowerCase();
+        lookup(name);
+        prepared.remove(name);
+        return "Deallocated " + name;
+    }
+
+    private PreparedQuery lookup(String name) {
+        PreparedQuery query = prepared.get(name.toLowerCase());
+        if (query == null) {
+            throw new IllegalArgumentException("Invalid: comando preparado '" + name + "' não existe");
+        }
+        return query;
+    }
+
+    // ================================================================
+    // PARSE E RESULTADO
+    // ================================================================
+
+    /**
+     * Faz o parse de um comando a partir de uma regra da gramática. O
+     * texto inteiro precisa ser consumido pela regra.
+     *
+     * @param rule Regra de entrada (parse, prepared_body)
+     * @throws IllegalArgumentException Em erro de sintaxe
+     */
+    private <T extends ParserRuleContext> T parse(String sql, Function<SQLiteSimpleParser, T> rule) {
+        // Criar lexer a partir da string SQL
+        SQLiteSimpleLexer lexer = new SQLiteSimpleLexer(CharStreams.fromString(sql));
+
+        // Criar stream de tokens
+        CommonTokenStream tokens = new CommonTokenStream(lexer);
+
+        // Criar parser
+        SQLiteSimpleParser parser = new SQLiteSimpleParser(tokens);
+
+        // Remover error listeners padrão
+        parser.removeErrorListeners();
 
-            if (msg == null) {
-                return "Invalid: Runtime error";
+        // Flag para capturar erro de sintaxe
+        final boolean[] hasError = {false};
+        final String[] errorMessage = {null};
+
+        // Adicionar custom error listener
+        parser.addErrorListener(new BaseErrorListener() {
+            @Override
+            public void syntaxError(Recognizer<?, ?> recognizer, Object offendingSymbol,
+                                    int line, int charPositionInLine,
+                                    String msg, RecognitionException e) {
+                hasError[0] = true;
+                errorMessage[0] = msg;
             }
+        });
+
+        // Parse da query (ponto de entrada da gramática)
+        T tree = rule.apply(parser);
+
+        // Sobra de texto depois da regra
+        if (!hasError[0] && parser.getCurrentToken().getType() != Token.EOF) {
+            hasError[0] = true;
+            errorMessage[0] = "extraneous input '" + parser.getCurrentToken().getText() + "'";
+        }
+
+        // Se houve erro de sintaxe, interromper
+        if (hasError[0]) {
+            throw new IllegalArgumentException("Invalid: SQL syntax error" +
+                    (errorMessage[0] != null ? " - " + errorMessage[0] : ""));
+        }
+        return tree;
+    }
+
+    /**
+     * Normaliza o resultado do visitor: QueryResult como está, mensagens
+     * de erro com o prefixo "Invalid:".
+     */
+    private static Object normalize(Object result) {
+        if (result instanceof QueryResult) {
+            return result;
+        }
+
+        // Processar resultado do visitor
+        if (result != null) {
+            String resultStr = result.toString();
 
-            // Normalizar mensagens de erro para "Invalid:"
-            if (msg.startsWith("ERRO:")) {
-                return "Invalid:" + msg.substring(5);
+            // Normalizar mensagens de erro
+            // Converter qualquer variação para "Invalid:"
+            if (resultStr.startsWith("ERRO:")) {
+                return "Invalid:" + resultStr.substring(5);
             }
 
-            if (msg.startsWith("Comando inválido:") ||
-                    msg.startsWith("Comando invalido:")) {
-                return "Invalid:" + msg.substring(msg.indexOf(":"));
+            if (resultStr.startsWith("Comando inválido:") ||
+                    resultStr.startsWith("Comando invalido:")) {
+                return "Invalid:" + resultStr.substring(resultStr.indexOf(":"));
             }
 
-            if (msg.startsWith("Invalid")) {
-                // Já começa com Invalid, garantir formato
-                if (msg.length() > 7 && msg.charAt(7) != ':') {
-                    return "Invalid: " + msg.substring(7).trim();
+            // Se já começa com "Invalid", garantir formato consistente
+            if (resultStr.startsWith("Invalid")) {
+                // Garantir que tem : depois de Invalid
+                if (resultStr.length() > 7 && resultStr.charAt(7) != ':') {
+                    return "Invalid: " + resultStr.substring(7).trim();
                 }
-                return msg;
+                return resultStr;
             }
 
-            // Adicionar prefixo Invalid a outras mensagens
-            return "Invalid: " + msg;
+            // Resultado normal (sucesso)
+            return resultStr;
+        }
 
-        } catch (Exception e) {
-            // Outros erros inesperados
-            String msg = e.getMessage();
-            return "Invalid: " + (msg != null ? msg : "Unexpected error");
+        // Retornar OK se não há resultado
+        return "OK";
+    }
+
+    /**
+     * Converte a exceção de um comando na mensagem de erro "Invalid:".
+     */
+    private static String error(RuntimeException e) {
+        // Erro de sintaxe ou validação
+        String msg = e.getMessage();
+
+        if (msg == null) {
+            return "Invalid: Runtime error";
         }
+
+        // Normalizar mensagens de erro para "Invalid:"
+        if (msg.startsWith("ERRO:")) {
+            return "Invalid:" + msg.substring(5);
+        }
+
+        if (msg.startsWith("Comando inválido:") ||
+                msg.startsWith("Comando invalido:")) {
+            return "Invalid:" + msg.substring(msg.indexOf(":"));
+        }
+
+        if (msg.startsWith("Invalid")) {
+            // Já começa com Invalid, garantir formato
+            if (msg.length() > 7 && msg.charAt(7) != ':') {
+                return "Invalid: " + msg.substring(7).trim();
+            }
+            return msg;
+        }
+
+        // Adicionar prefixo Invalid a outras mensagens
+        return "Invalid: " + msg;
     }
 
     /**
@@ -1,6 +1,7 @@
 package lib.index;
 
 import java.util.*;
+import java.util.function.BiConsumer;
 import java.util.function.Function;
 
 /**
@@ -78,15 +79,73 @@ public class BTreeIndex<K extends Comparable<K>, V> implements Index<K, V> {
     
     @Override
     public List<V> search(K key) {
-        List<V> result = index.get(key);
-        
-        if (result == null) {
-            return new ArrayList<>();
+        return cursor(key).toList();
+    }
+    
+    @Override
+    public IndexCursor<V> cursor(K key) {
+        return IndexCursor.over(index.get(key));
+    }
+    
+    // ================================================================
+    // CURSORES POR INTERVALO (SEM CÓPIA)
+    // ================================================================
+    
+    /**
+     * Percorre registros com chave em [minKey, maxKey] (inclusivo),
+     * em ordem crescente de chave.
+     * 
+     * @param minKey Chave mínima
+     * @param maxKey Chave máxima
+     * @return Cursor somente leitura
+     */
+    public IndexCursor<V> rangeCursor(K minKey, K maxKey) {
+        if (minKey.compareTo(maxKey) > 0) {
+            return IndexCursor.empty();
         }
         
-        return new ArrayList<>(result);
+        // subMap retorna view do TreeMap no intervalo
+        return IndexCursor.concat(index.subMap(minKey, true, maxKey, true).values().iterator());
     }
     
+    /**
+     * Percorre registros com chave maior que o valor especificado.
+     * 
+     * @param key Valor mínimo (exclusivo)
+     * @return Cursor somente leitura
+     */
+    public IndexCursor<V> greaterThanCursor(K key) {
+        return IndexCursor.concat(index.tailMap(key, false).values().iterator());
+    }
+    
+    /**
+     * Percorre registros com chave menor que o valor especificado.
+     * 
+     * @param key Valor máximo (exclusivo)
+     * @return Cursor somente leitura
+     */
+    public IndexCursor<V> lessThanCursor(K key) {
+        return IndexCursor.concat(index.headMap(key, false).values().iterator());
+    }
+    
+    /**
+     * Percorre todos os registros ordenados pela chave.
+     * 
+     * @param ascending true para crescente, false para decrescente
+     * @return Cursor somente leitura
+     */
+    public IndexCursor<V> orderedCursor(boolean ascending) {
+        Collection<List<V>> values = ascending 
+                ? index.values() 
+                : index.descendingMap().values();
+        
+        return IndexCursor.concat(values.iterator());
+    }
+    
+    // ================================================================
+    // BUSCAS COM CÓPIA (CONVENIÊNCIA)
+    // ================================================================
+    
     /**
      * Busca por intervalo [minKey, maxKey] (inclusivo).
      * 
@@ -95,14 +154,7 @@ public class BTreeIndex<K extends Comparable<K>, V> implements Index<K, V> {
      * @return Lista de registros no intervalo
      */
     public List<V> searchRange(K minKey, K maxKey) {
-        List<V> result = new ArrayList<>();
-        
-        // subMap retorna view do TreeMap no intervalo
-        for (List<V> values : index.subMap(minKey, true, maxKey, true).values()) {
-            result.addAll(values);
-        }
-        
-        return result;
+        return rangeCursor(minKey, maxKey).toList();
     }
     
     /**
@@ -112,13 +164,7 @@ public class BTreeIndex<K extends Comparable<K>, V> implements Index<K, V> {
      * @return Lista de registros
      */
     public List<V> searchGreaterThan(K key) {
-        List<V> result = new ArrayList<>();
-        
-        for (List<V> values : index.tailMap(key, false).values()) {
-            result.addAll(values);
-        }
-        
-        return result;
+        return greaterThanCursor(key).toList();
     }
     
     /**
@@ -128,13 +174,7 @@ public class BTreeIndex<K extends Comparable<K>, V> implements Index<K, V> {
      * @return Lista de registros
      */
     public List<V> searchLessThan(K key) {
-        List<V> result = new ArrayList<>();
-        
-        for (List<V> values : index.headMap(key, false).values()) {
-            result.addAll(values);
-        }
-        
-        return result;
+        return lessThanCursor(key).toList();
     }
     
     /**
@@ -144,13 +184,7 @@ public class BTreeIndex<K extends Comparable<K>, V> implements Index<K, V> {
      * @return Lista ordenada de registros
      */
     public List<V> getAllOrdered() {
-        List<V> result = new ArrayList<>();
-        
-        for (List<V> values : index.values()) {
-            result.addAll(values);
-        }
-        
-        return result;
+        return orderedCursor(true).toList();
     }
     
     /**
@@ -160,13 +194,7 @@ public class BTreeIndex<K extends Comparable<K>, V> implements Index<K, V> {
      * @return Lista ordenada de registros (decrescente)
      */
     public List<V> getAllOrderedDesc() {
-        List<V> result = new ArrayList<>();
-        
-        for (List<V> values : index.descendingMap().values()) {
-            result.addAll(values);
-        }
-        
-        return result;
+        return orderedCursor(false).toList();
     }
     
     @Override
@@ -212,6 +240,18 @@ public class BTreeIndex<K extends Comparable<K>, V> implements Index<K, V> {
         return index.isEmpty() ? null : index.lastKey();
     }
     
+    /**
+     * Percorre as chaves em ordem crescente com o número de
+     * registros de cada uma. Usado para montar histogramas.
+     *
+     * @param action Recebe (chave, número de registros)
+     */
+    public void forEachKey(BiConsumer<K, Integer> action) {
+        for (Map.Entry<K, List<V>> entry : index.entrySet()) {
+            action.accept(entry.getKey(), entry.getValue().size());
+        }
+    }
+    
     /**
      * Retorna estatísticas do índice.
      * 
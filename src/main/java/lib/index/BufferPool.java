@@ -0,0 +1,247 @@
+package lib.index;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.zip.CRC32;
+
+/**
+ * Buffer pool de páginas de tamanho fixo sobre um arquivo.
+ *
+ * Mantém em memória até {@code capacity} páginas, despejando a menos
+ * usada recentemente (LRU). Páginas modificadas só vão para o disco
+ * quando despejadas ou em flush().
+ *
+ * Os 4 primeiros bytes de cada página guardam o CRC32 do restante.
+ * O checksum é gravado na escrita e conferido na leitura; uma página
+ * corrompida gera IOException.
+ *
+ * A capacidade mínima garante que as páginas do caminho atual da
+ * árvore nunca são despejadas no meio de uma operação.
+ *
+ * @author SQL Parser Team
+ * @version 1.0
+ */
+public class BufferPool implements AutoCloseable {
+
+    public static final int PAGE_SIZE = 4096;
+
+    // Offset do checksum no início de cada página
+    static final int CHECKSUM_OFFSET = 0;
+
+    private static final int MIN_CAPACITY = 32;
+
+    /**
+     * Página carregada no pool.
+     */
+    public static final class Page {
+        final int id;
+        final ByteBuffer data;
+        boolean dirty;
+
+        Page(int id, ByteBuffer data) {
+            this.id = id;
+            this.data = data;
+        }
+
+        public int getId() {
+            return id;
+        }
+    }
+
+    private final FileChannel channel;
+    private final int capacity;
+
+    // id da página → página (ordem de acesso = LRU)
+    private final LinkedHashMap<Integer, Page> pages;
+
+    private int pageCount;
+
+    // Estatísticas
+    private long hits = 0;
+    private long misses = 0;
+    private long writes = 0;
+
+    /**
+     * Abre (ou cria) o arquivo de páginas.
+     *
+     * @param file Caminho do arquivo
+     * @param capacity Número máximo de páginas em memória
+     * @throws IOException Se erro ao abrir o arquivo
+     */
+    public BufferPool(Path file, int capacity) throws IOException {
+        this.channel = FileChannel.open(file,
+                StandardOpenOption.CREATE,
+                StandardOpenOption.READ,
+                StandardOpenOption.WRITE);
+        this.capacity = Math.max(MIN_CAPACITY, capacity);
+        this.pages = new LinkedHashMap<>(16, 0.75f, true);
+        this.pageCount = (int) (channel.size() / PAGE_SIZE);
+    }
+
+    /**
+     * Retorna a página, lendo do disco se não estiver no pool.
+     *
+     * @param id Número da página
+     * @return Página
+     * @throws IOException Se erro de leitura ou checksum inválido
+     */
+    public Page get(int id) throws IOException {
+        Page page = pages.get(id);
+
+        if (page != null) {
+            hits++;
+            return page;
+        }
+
+        misses++;
+
+        if (id < 0 || id >= pageCount) {
+            throw new IOException("Invalid: página " + id + " fora do arquivo");
+        }
+
+        ByteBuffer data = ByteBuffer.allocate(PAGE_SIZE);
+        long position = (long) id * PAGE_SIZE;
+
+        while (data.hasRemaining()) {
+            if (channel.read(data, position + data.position()) < 0) {
+                throw new IOException("Invalid: página " + id + " incompleta");
+            }
+        }
+
+        if (data.getInt(CHECKSUM_OFFSET) != checksum(data)) {
+            throw new IOException("Invalid: checksum da página " + id);
+        }
+
+        page = new Page(id, data);
+        pages.put(id, page);
+        evictIfNeeded();
+        return page;
+    }
+
+    /**
+     * Aloca uma nova página (zerada) no fim do arquivo.
+     *
+     * @return Página alocada, já marcada como modificada
+     * @throws IOException Se erro ao despejar outra página
+     */
+    public Page allocate() throws IOException {
+        Page page = new Page(pageCount++, ByteBuffer.allocate(PAGE_SIZE));
+        page.dirty = true;
+        pages.put(page.id, page);
+        evictIfNeeded();
+        return page;
+    }
+
+    /**
+     * Marca a página como modificada.
+     */
+    public void markDirty(Page page) {
+        page.dirty = true;
+    }
+
+    /**
+     * Grava uma página imediatamente (usado para a página de metadados).
+     *
+     * @param page Página
+     * @param sync Se true, força a gravação em disco
+     * @throws IOException Se erro de escrita
+     */
+    public void writeThrough(Page page, boolean sync) throws IOException {
+        write(page);
+
+        if (sync) {
+            channel.force(false);
+        }
+    }
+
+    /**
+     * Grava todas as páginas modificadas e força a escrita em disco.
+     *
+     * @throws IOException Se erro de escrita
+     */
+    public void flush() throws IOException {
+        for (Page page : pages.values()) {
+            if (page.dirty) {
+                write(page);
+            }
+        }
+
+        channel.force(false);
+    }
+
+    /**
+     * Descarta todas as páginas e esvazia o arquivo.
+     *
+     * @throws IOException Se erro ao truncar
+     */
+    public void truncate() throws IOException {
+        pages.clear();
+        channel.truncate(0);
+        pageCount = 0;
+    }
+
+    public int getPageCount() {
+        return pageCount;
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    /**
+     * Retorna estatísticas do pool.
+     *
+     * @return String com estatísticas
+     */
+    public String getStats() {
+        return String.format("%d páginas, pool %d/%d, hits %d, misses %d, escritas %d",
+                pageCount, pages.size(), capacity, hits, misses, writes);
+    }
+
+    // ================================================================
+    // AUXILIARES
+    // ================================================================
+
+    private void evictIfNeeded() throws IOException {
+        Iterator<Map.Entry<Integer, Page>> it = pages.entrySet().iterator();
+
+        while (pages.size() > capacity && it.hasNext()) {
+            Page eldest = it.next().getValue();
+
+            if (eldest.dirty) {
+                write(eldest);
+            }
+
+            it.remove();
+        }
+    }
+
+    private void write(Page page) throws IOException {
+        ByteBuffer data = page.data;
+        data.putInt(CHECKSUM_OFFSET, checksum(data));
+
+        ByteBuffer view = data.duplicate();
+        view.clear();
+        long position = (long) page.id * PAGE_SIZE;
+
+        while (view.hasRemaining()) {
+            channel.write(view, position + view.position());
+        }
+
+        page.dirty = false;
+        writes++;
+    }
+
+    private static int checksum(ByteBuffer data) {
+        CRC32 crc = new CRC32();
+        crc.update(data.array(), CHECKSUM_OFFSET + 4, PAGE_SIZE - CHECKSUM_OFFSET - 4);
+        return (int) crc.getValue();
+    }
+}
@@ -0,0 +1,146 @@
+package lib.index;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Índice bitmap para várias threads.
+ *
+ * Cada chave aponta para os seus slots em um SlotBitmap, guardado em um
+ * ConcurrentHashMap (ideal para colunas de baixa cardinalidade). Cada bitmap
+ * só é lido ou alterado dentro do compartimento do mapa que guarda a
+ * sua chave (compute), que serve de lock por chave: escritas em
+ * cidades diferentes rodam em paralelo. Como o bitmap continua mudando,
+ * buscas devolvem uma cópia tirada sob esse lock.
+ *
+ * @param <K> Tipo da chave
+ *
+ * @author SQL Parser Team
+ * @version 1.1
+ */
+public class ConcurrentBitmapIndex<K> implements Index<K, Integer> {
+
+    // Chave → slots
+    private final ConcurrentHashMap<K, SlotBitmap> index;
+
+    // Função para extrair a chave de um slot
+    private final Function<Integer, K> keyExtractor;
+
+    // Nome do índice (para debug)
+    private final String indexName;
+
+    /**
+     * Construtor com extrator de chave e nome.
+     *
+     * @param keyExtractor Função que extrai a chave de um slot
+     * @param indexName Nome do índice (para debug)
+     */
+    public ConcurrentBitmapIndex(Function<Integer, K> keyExtractor, String indexName) {
+        this.index = new ConcurrentHashMap<>();
+        this.keyExtractor = keyExtractor;
+        this.indexName = indexName;
+    }
+
+    @Override
+    public void insert(K key, Integer slot) {
+        index.compute(key, (k, slots) -> {
+            SlotBitmap result = slots == null ? new SlotBitmap() : slots;
+            result.add(slot);
+            return result;
+        });
+    }
+
+    @Override
+    public boolean remove(K key, Integer slot) {
+        boolean[] removed = {false};
+
+        index.computeIfPresent(key, (k, slots) -> {
+            removed[0] = slots.remove(slot);
+            return slots.isEmpty() ? null : slots;
+        });
+
+        return removed[0];
+    }
+
+    @Override
+    public List<Integer> search(K key) {
+        return cursor(key).toList();
+    }
+
+    @Override
+    public IndexCursor<Integer> cursor(K key) {
+        return IndexCursor.over(bitmap(key).iterator());
+    }
+
+    /**
+     * Retorna uma cópia do bitmap de slots da chave.
+     *
+     * @param key Valor da chave
+     * @return Slots da chave (vazio se a chave não existe)
+     */
+    public SlotBitmap bitmap(K key) {
+        SlotBitmap[] copy = {null};
+
+        index.computeIfPresent(key, (k, slots) -> {
+            copy[0] = slots.copy();
+            return slots;
+        });
+
+        return copy[0] == null ? new SlotBitmap() : copy[0];
+    }
+
+    @Override
+    public void rebuild(List<Integer> data) {
+        clear();
+
+        for (Integer slot : data) {
+            insert(keyExtractor.apply(slot), slot);
+        }
+    }
+
+    @Override
+    public void clear() {
+        index.clear();
+    }
+
+    @Override
+    public int size() {
+        return index.size();
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return index.isEmpty();
+    }
+
+    /**
+     * Retorna todas as chaves presentes no índice.
+     *
+     * @return Set de chaves
+     */
+    public Set<K> keys() {
+        return new HashSet<>(index.keySet());
+    }
+
+    /**
+     * Retorna estatísticas do índice.
+     *
+     * @return String com estatísticas
+     */
+    public String getStats() {
+        long totalRecords = 0;
+
+        for (K key : index.keySet()) {
+            totalRecords += bitmap(key).cardinality();
+        }
+
+        return String.format("%s: %d chaves, %d registros (bitmap)",
+                indexName, size(), totalRecords);
+    }
+
+    @Override
+    public String toString() {
+        return getStats();
+    }
+}
@@ -0,0 +1,150 @@
+package lib.index;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Índice hash de slots para várias threads.
+ *
+ * Mesma função do HashIndex, sobre um ConcurrentHashMap: escritas em
+ * chaves diferentes não disputam lock (cada compartimento do mapa tem o
+ * seu), e buscas não bloqueiam. Os slots de cada chave ficam em um
+ * int[] imutável, trocado inteiro a cada alteração (copy-on-write);
+ * um cursor percorre o array que existia quando foi aberto.
+ *
+ * Feito para colunas com poucos slots por chave (id, name): o custo de
+ * uma alteração é proporcional aos slots da chave.
+ *
+ * @param <K> Tipo da chave
+ *
+ * @author SQL Parser Team
+ * @version 1.0
+ */
+public class ConcurrentHashIndex<K> implements Index<K, Integer> {
+
+    private static final int[] NONE = new int[0];
+
+    // Chave → slots (na ordem de inserção)
+    private final ConcurrentHashMap<K, int[]> index;
+
+    // Função para extrair a chave de um slot
+    private final Function<Integer, K> keyExtractor;
+
+    // Nome do índice (para debug)
+    private final String indexName;
+
+    /**
+     * Construtor com extrator de chave e nome.
+     *
+     * @param keyExtractor Função que extrai a chave de um slot
+     * @param indexName Nome do índice (para debug)
+     */
+    public ConcurrentHashIndex(Function<Integer, K> keyExtractor, String indexName) {
+        this.index = new ConcurrentHashMap<>();
+        this.keyExtractor = keyExtractor;
+        this.indexName = indexName;
+    }
+
+    @Override
+    public void insert(K key, Integer slot) {
+        index.merge(key, new int[]{slot}, (slots, added) -> {
+            int[] result = Arrays.copyOf(slots, slots.length + 1);
+            result[slots.length] = added[0];
+            return result;
+        });
+    }
+
+    @Override
+    public boolean remove(K key, Integer slot) {
+        boolean[] removed = {false};
+
+        index.computeIfPresent(key, (k, slots) -> {
+            for (int i = 0; i < slots.length; i++) {
+                if (slots[i] == slot) {
+                    removed[0] = true;
+                    if (slots.length == 1) {
+                        return null;  // Última entrada: remove a chave
+                    }
+
+                    int[] result = new int[slots.length - 1];
+                    System.arraycopy(slots, 0, result, 0, i);
+                    System.arraycopy(slots, i + 1, result, i, slots.length - i - 1);
+                    return result;
+                }
+            }
+            return slots;
+        });
+
+        return removed[0];
+    }
+
+    @Override
+    public List<Integer> search(K key) {
+        return cursor(key).toList();
+    }
+
+    @Override
+    public IndexCursor<Integer> cursor(K key) {
+        int[] slots = index.getOrDefault(key, NONE);
+        return IndexCursor.over(Arrays.stream(slots).iterator());
+    }
+
+    @Override
+    public void rebuild(List<Integer> data) {
+        // Agrupa antes: inserir um a um copiaria o array da chave a cada slot
+        Map<K, List<Integer>> groups = new HashMap<>();
+
+        for (Integer slot : data) {
+            groups.computeIfAbsent(keyExtractor.apply(slot), k -> new ArrayList<>()).add(slot);
+        }
+
+        clear();
+
+        groups.forEach((key, slots) ->
+                index.put(key, slots.stream().mapToInt(Integer::intValue).toArray()));
+    }
+
+    @Override
+    public void clear() {
+        index.clear();
+    }
+
+    @Override
+    public int size() {
+        return index.size();
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return index.isEmpty();
+    }
+
+    /**
+     * Retorna todas as chaves presentes no índice.
+     *
+     * @return Set de chaves
+     */
+    public Set<K> keys() {
+        return new HashSet<>(index.keySet());
+    }
+
+    /**
+     * Retorna estatísticas do índice.
+     *
+     * @return String com estatísticas
+     */
+    public String getStats() {
+        long totalRecords = index.values().stream()
+                .mapToLong(slots -> slots.length)
+                .sum();
+
+        return String.format("%s: %d chaves, %d registros",
+                indexName, size(), totalRecords);
+    }
+
+    @Override
+    public String toString() {
+        return getStats();
+    }
+}
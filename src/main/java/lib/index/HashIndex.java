@@ -78,14 +78,13 @@ public class HashIndex<K, V> implements Index<K, V> {
     
     @Override
     public List<V> search(K key) {
-        List<V> result = index.get(key);
-        
-        // Retornar cópia para evitar modificações externas
-        if (result == null) {
-            return new ArrayList<>();
-        }
-        
-        return new ArrayList<>(result);
+        // Cópia para evitar modificações externas
+        return cursor(key).toList();
+    }
+    
+    @Override
+    public IndexCursor<V> cursor(K key) {
+        return IndexCursor.over(index.get(key));
     }
     
     @Override
@@ -0,0 +1,183 @@
+package lib.index;
+
+/**
+ * Histograma equi-depth sobre chaves inteiras de um índice ordenado.
+ *
+ * Cada bucket cobre um intervalo [lower, upper] de chaves e contém
+ * aproximadamente o mesmo número de registros. Uma chave nunca é
+ * dividida entre buckets, então chaves muito frequentes formam um
+ * bucket próprio.
+ *
+ * Usado pelo planner para estimar a seletividade de:
+ *   - WHERE age = x
+ *   - WHERE age BETWEEN a AND b
+ *
+ * @author SQL Parser Team
+ * @version 1.0
+ */
+public class Histogram {
+
+    // Limites de cada bucket (inclusivos)
+    private final int[] lower;
+    private final int[] upper;
+
+    // Registros e chaves distintas por bucket
+    private final long[] rows;
+    private final int[] distinct;
+
+    private final int bucketCount;
+    private final long totalRows;
+
+    private Histogram(int[] lower, int[] upper, long[] rows, int[] distinct,
+                      int bucketCount, long totalRows) {
+        this.lower = lower;
+        this.upper = upper;
+        this.rows = rows;
+        this.distinct = distinct;
+        this.bucketCount = bucketCount;
+        this.totalRows = totalRows;
+    }
+
+    /**
+     * Constrói o histograma a partir das chaves em ordem crescente.
+     *
+     * @param keys Chaves distintas, ordenadas
+     * @param counts Número de registros de cada chave
+     * @param keyCount Número de chaves válidas nos arrays
+     * @param maxBuckets Número máximo de buckets
+     * @return Histograma construído
+     */
+    public static Histogram build(int[] keys, int[] counts, int keyCount, int maxBuckets) {
+        long total = 0;
+        for (int i = 0; i < keyCount; i++) {
+            total += counts[i];
+        }
+
+        int capacity = Math.max(1, Math.min(maxBuckets, keyCount));
+        int[] lower = new int[capacity];
+        int[] upper = new int[capacity];
+        long[] rows = new long[capacity];
+        int[] distinct = new int[capacity];
+
+        // Profundidade alvo recalculada a cada bucket com o que resta
+        long remaining = total;
+        int b = 0;
+        double depth = (double) remaining / capacity;
+
+        for (int i = 0; i < keyCount; i++) {
+            // Chave frequente começa um bucket próprio
+            if (counts[i] >= depth && distinct[b] > 0 && b < capacity - 1) {
+                remaining -= rows[b];
+                b++;
+                depth = (double) remaining / (capacity - b);
+            }
+
+            if (distinct[b] == 0) {
+                lower[b] = keys[i];
+            }
+
+            upper[b] = keys[i];
+            rows[b] += counts[i];
+            distinct[b]++;
+
+            if (rows[b] >= depth && b < capacity - 1 && i < keyCount - 1) {
+                remaining -= rows[b];
+                b++;
+                depth = (double) remaining / (capacity - b);
+            }
+        }
+
+        int used = keyCount == 0 ? 0 : b + 1;
+        return new Histogram(lower, upper, rows, distinct, used, total);
+    }
+
+    /**
+     * Estima quantos registros têm chave igual a key.
+     * Assume distribuição uniforme entre as chaves distintas do bucket.
+     *
+     * @param key Chave buscada
+     * @return Número estimado de registros
+     */
+    public double estimateEquality(int key) {
+        int b = findBucket(key);
+
+        if (b < 0) {
+            return 0;
+        }
+
+        return (double) rows[b] / distinct[b];
+    }
+
+    /**
+     * Estima quantos registros têm chave em [min, max].
+     * Buckets parcialmente cobertos contribuem proporcionalmente
+     * à fração do intervalo de chaves sobreposta.
+     *
+     * @param min Limite inferior (inclusivo)
+     * @param max Limite superior (inclusivo)
+     * @return Número estimado de registros
+     */
+    public double estimateRange(int min, int max) {
+        if (min > max) {
+            return 0;
+        }
+
+        double estimate = 0;
+
+        for (int b = 0; b < bucketCount; b++) {
+            if (upper[b] < min || lower[b] > max) {
+                continue;
+            }
+
+            long from = Math.max(lower[b], min);
+            long to = Math.min(upper[b], max);
+            double width = (double) upper[b] - lower[b] + 1;
+
+            estimate += rows[b] * ((to - from + 1) / width);
+        }
+
+        return estimate;
+    }
+
+    /**
+     * Retorna o número de buckets em uso.
+     *
+     * @return Número de buckets
+     */
+    public int getBucketCount() {
+        return bucketCount;
+    }
+
+    /**
+     * Retorna o total de registros cobertos pelo histograma.
+     *
+     * @return Total de registros
+     */
+    public long getTotalRows() {
+        return totalRows;
+    }
+
+    private int findBucket(int key) {
+        int lo = 0;
+        int hi = bucketCount - 1;
+
+        while (lo <= hi) {
+            int mid = (lo + hi) >>> 1;
+
+            if (key < lower[mid]) {
+                hi = mid - 1;
+            } else if (key > upper[mid]) {
+                lo = mid + 1;
+            } else {
+                return mid;
+            }
+        }
+
+        return -1;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("Histogram: %d buckets, %d registros", bucketCount, totalRows);
+    }
+}
@@ -41,6 +41,15 @@ public interface Index<K, V> {
      */
     List<V> search(K key);
     
+    /**
+     * Percorre os registros da chave exata sem copiá-los.
+     * search() é equivalente a cursor(key).toList().
+     * 
+     * @param key Valor da chave
+     * @return Cursor somente leitura
+     */
+    IndexCursor<V> cursor(K key);
+    
     /**
      * Reconstrói o índice a partir de uma lista de dados.
      * Útil após múltiplas operações ou para inicialização.
@@ -0,0 +1,102 @@
+package lib.index;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * Cursor somente leitura sobre os registros encontrados em um índice.
+ *
+ * Percorre as entradas diretamente nas estruturas do índice, sem
+ * copiá-las para uma nova lista. remove() não é suportado.
+ *
+ * O cursor é válido até a próxima modificação do índice; alterar o
+ * índice durante a iteração gera ConcurrentModificationException.
+ * Para manter o resultado, use toList().
+ *
+ * Exemplo:
+ *   IndexCursor<Integer> cursor = ageIndex.rangeCursor(25, 35);
+ *   while (cursor.hasNext()) {
+ *       int slot = cursor.next();
+ *   }
+ *
+ * @param <V> Tipo do valor (registro ou slot)
+ *
+ * @author SQL Parser Team
+ * @version 1.0
+ */
+public interface IndexCursor<V> extends Iterator<V> {
+
+    /**
+     * Copia os registros restantes para uma nova lista.
+     *
+     * @return Lista com os registros
+     */
+    default List<V> toList() {
+        List<V> result = new ArrayList<>();
+        forEachRemaining(result::add);
+        return result;
+    }
+
+    /**
+     * Cursor sem registros.
+     */
+    static <V> IndexCursor<V> empty() {
+        return over(Collections.emptyIterator());
+    }
+
+    /**
+     * Cursor sobre uma lista do índice (sem cópia).
+     */
+    static <V> IndexCursor<V> over(List<V> values) {
+        return values == null ? empty() : over(values.iterator());
+    }
+
+    /**
+     * Cursor sobre um iterador existente.
+     */
+    static <V> IndexCursor<V> over(Iterator<V> iterator) {
+        return new IndexCursor<>() {
+            @Override
+            public boolean hasNext() {
+                return iterator.hasNext();
+            }
+
+            @Override
+            public V next() {
+                return iterator.next();
+            }
+        };
+    }
+
+    /**
+     * Cursor que percorre várias listas em sequência (ex: chaves
+     * consecutivas de um intervalo na B-Tree).
+     */
+    static <V> IndexCursor<V> concat(Iterator<List<V>> lists) {
+        return new IndexCursor<>() {
+            private Iterator<V> current = Collections.emptyIterator();
+
+            @Override
+            public boolean hasNext() {
+                while (!current.hasNext()) {
+                    if (!lists.hasNext()) {
+                        return false;
+                    }
+                    current = lists.next().iterator();
+                }
+                return true;
+            }
+
+            @Override
+            public V next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                return current.next();
+            }
+        };
+    }
+}
@@ -1,7 +1,21 @@
 package lib.index;
 
 import lib.Users;
+import lib.storage.StorageSnapshot;
+import lib.storage.TableStorage;
+import lib.storage.TableView;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
 import java.util.*;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.zip.CRC32C;
 
 /**
  * Gerenciador central de todos os índices.
@@ -9,99 +23,588 @@ import java.util.*;
  * Mantém índices para diferentes campos da tabela Users:
  * - Hash Index para id (igualdade)
  * - Hash Index para name (igualdade)
- * - B-Tree Index para age (intervalos e ordenação)
- * - Hash Index para city (igualdade)
+ * - B+Tree de chaves int (IntBTreeIndex) para age (intervalos e ordenação)
+ * - Bitmap Index para city (igualdade, baixa cardinalidade)
  * 
  * Responsabilidades:
  * - Criar e manter índices
- * - Sincronizar índices com operações de INSERT/UPDATE/DELETE
+ * - Indexar as versões criadas por INSERT/UPDATE (as encerradas saem
+ *   no conjunto novo montado pelo vacuum)
  * - Escolher melhor índice para cada query
  * 
+ * Os índices armazenam slots do TableStorage em vez de objetos Users.
+ * Os registros só são materializados quando uma busca é devolvida.
+ * 
+ * Opcionalmente, os índices de id e age podem ser B+Trees paginadas
+ * em disco (users.id.idx, users.age.idx). Nesse modo, initialize()
+ * reaproveita os arquivos gravados no último checkpoint em vez de
+ * reconstruí-los, desde que correspondam aos dados carregados.
+ * 
+ * Concorrência: os índices de hash e bitmap são estruturas concorrentes
+ * (ConcurrentHashIndex, ConcurrentBitmapIndex), então várias threads
+ * buscam e mantêm esses índices em paralelo. A B+Tree de age em memória
+ * fica atrás de um latch próprio: buscas em paralelo, inserções
+ * exclusivas (uma descida O(log n) nos arrays do nó). Buscas e
+ * manutenção seguram a parte compartilhada de um latch; só reconstrução
+ * e limpeza usam a parte exclusiva. Quem executa um plano do QueryPlanner
+ * segura o latch compartilhado (readLatch()) durante a execução, para que
+ * a geração conferida continue valendo; como o latch é pedido com
+ * tryLock, uma reconstrução em curso manda a consulta para a varredura
+ * em vez de bloqueá-la. As B+Trees em disco compartilham
+ * o buffer pool entre páginas e não aceitam acessos simultâneos: cada uma
+ * tem seu próprio latch exclusivo. Os contadores são LongAdder.
+ * 
+ * Os slots se referem à geração do storage informada por generation().
+ * Depois de uma compactação, o vacuum monta um conjunto novo de índices
+ * sobre a visão compactada sem latch (build) e install() só troca os
+ * conjuntos, com o latch exclusivo por um instante.
+ * 
  * @author SQL Parser Team
- * @version 2.0
+ * @version 3.5
  */
 public class IndexManager {
     
-    // Índices por campo
-    private final HashIndex<Integer, Users> idIndex;
-    private final HashIndex<String, Users> nameIndex;
-    private final BTreeIndex<Integer, Users> ageIndex;
-    private final HashIndex<String, Users> cityIndex;
+    // Armazenamento indexado
+    private final TableStorage storage;
+    
+    // Conjunto atual (trocado por install com o latch exclusivo)
+    private IndexSet indexes;
+    
+    // Índices por campo (chave → slot), copiados do conjunto atual
+    private Index<Integer, Integer> idIndex;
+    private ConcurrentHashIndex<String> nameIndex;
+    private OrderedIntIndex ageIndex;
+    private ConcurrentBitmapIndex<String> cityIndex;
+    
+    // Índices em disco (null no modo em memória)
+    private static final int DISK_POOL_PAGES = 256;
+    private static final int STAMP_BATCH = 1024;      // Triplos por update do CRC
+    private final Path idFile;
+    private final Path ageFile;
+    private PagedBTreeIndex diskIdIndex;
+    private PagedBTreeIndex diskAgeIndex;
+    
+    // Compartilhado: buscas e manutenção; exclusivo: reconstrução
+    private final ReentrantReadWriteLock latch = new ReentrantReadWriteLock();
+    
+    // B+Tree de age em memória: buscas em paralelo, inserções exclusivas
+    private final ReentrantReadWriteLock btreeLatch = new ReentrantReadWriteLock();
+    
+    // Geração do storage em que os slots indexados foram numerados
+    private volatile long generation;
+    
+    // Abaixo disso, reconstruir os índices em paralelo não compensa
+    private static final int PARALLEL_REBUILD_ROWS = 10_000;
+    
+    // Estatísticas do otimizador (recalculadas quando ficam desatualizadas)
+    private static final int HISTOGRAM_BUCKETS = 32;
+    private static final int ANALYZE_MIN_CHANGES = 64;
+    private volatile Map<String, IndexStatistics> statistics = Map.of();
+    private final LongAdder changesSinceAnalyze = new LongAdder();
     
     // Estatísticas
-    private long totalSearches = 0;
-    private long indexHits = 0;
-    private long indexMisses = 0;
+    private final LongAdder totalSearches = new LongAdder();
+    private final LongAdder indexHits = new LongAdder();
+    private final LongAdder indexMisses = new LongAdder();
     
     /**
-     * Construtor padrão.
-     * Cria todos os índices vazios.
+     * Construtor.
+     * Cria todos os índices vazios sobre o armazenamento informado.
+     * 
+     * @param storage Armazenamento da tabela
      */
-    public IndexManager() {
-        this.idIndex = new HashIndex<>(Users::getId, "IdIndex");
-        this.nameIndex = new HashIndex<>(Users::getName, "NameIndex");
-        this.ageIndex = new BTreeIndex<>(Users::getAge, "AgeIndex");
-        this.cityIndex = new HashIndex<>(Users::getCity, "CityIndex");
+    public IndexManager(TableStorage storage) {
+        this.storage = storage;
+        this.idFile = null;
+        this.ageFile = null;
+        use(new IndexSet(storage));
     }
     
     /**
-     * Reconstrói todos os índices a partir dos dados atuais.
+     * Construtor com índices de id e age paginados em disco.
+     * Os arquivos ficam em {@code <dataDir>/<dbName>.id.idx} e
+     * {@code <dataDir>/<dbName>.age.idx}.
      * 
-     * @param data Lista completa de usuários
+     * @param storage Armazenamento da tabela
+     * @param dataDir Diretório de dados
+     * @param dbName Nome do banco
+     * @throws IOException Se erro ao abrir os arquivos
      */
-    public void rebuildAll(List<Users> data) {
-        idIndex.rebuild(data);
-        nameIndex.rebuild(data);
-        ageIndex.rebuild(data);
-        cityIndex.rebuild(data);
+    public IndexManager(TableStorage storage, Path dataDir, String dbName) throws IOException {
+        this.storage = storage;
+        this.idFile = dataDir.resolve(dbName + ".id.idx");
+        this.ageFile = dataDir.resolve(dbName + ".age.idx");
+        use(new IndexSet(storage, idFile, ageFile));
     }
     
     /**
-     * Adiciona um usuário a todos os índices.
-     * Deve ser chamado após INSERT.
+     * Passa a usar um conjunto de índices.
+     */
+    private void use(IndexSet set) {
+        indexes = set;
+        idIndex = set.idIndex;
+        nameIndex = set.nameIndex;
+        ageIndex = set.ageIndex;
+        cityIndex = set.cityIndex;
+        diskIdIndex = set.diskIdIndex;
+        diskAgeIndex = set.diskAgeIndex;
+    }
+    
+    /**
+     * Prepara os índices após a carga dos dados.
+     * Índices em disco cujo stamp bate com os dados atuais são
+     * reaproveitados; os demais são reconstruídos.
+     */
+    public void initialize() {
+        if (!hasDiskIndexes()) {
+            rebuildAll();
+            return;
+        }
+        
+        latch.writeLock().lock();
+        try {
+            List<Integer> slots = liveSlots();
+            long stamp = layoutStamp();
+            int reused = 0;
+            List<Runnable> rebuilds = new ArrayList<>();
+            
+            for (PagedBTreeIndex index : List.of(diskIdIndex, diskAgeIndex)) {
+                if (index.open(stamp)) {
+                    reused++;
+                } else {
+                    rebuilds.add(() -> index.rebuild(slots));
+                }
+            }
+            
+            rebuilds.add(() -> nameIndex.rebuild(slots));
+            rebuilds.add(() -> cityIndex.rebuild(slots));
+            rebuild(rebuilds, slots.size());
+            statistics = Map.of();
+            generation = storage.generation();
+            
+            if (reused > 0) {
+                System.out.println("✓ Índices em disco reaproveitados: " + reused);
+            }
+        } finally {
+            latch.writeLock().unlock();
+        }
+    }
+    
+    /**
+     * Grava os índices em disco e os marca como consistentes com
+     * os dados atuais. Deve ser chamado após um checkpoint.
+     * 
+     * @throws IOException Se erro de escrita
+     */
+    public void sync() throws IOException {
+        if (!hasDiskIndexes()) {
+            return;
+        }
+        
+        latch.writeLock().lock();
+        try {
+            long stamp = layoutStamp();
+            diskIdIndex.sync(stamp);
+            diskAgeIndex.sync(stamp);
+        } finally {
+            latch.writeLock().unlock();
+        }
+    }
+    
+    /**
+     * Prepara a gravação dos índices em disco para depois de um
+     * checkpoint em background. Deve ser chamado pela thread que escreve,
+     * junto com a captura do snapshot: guarda o conjunto atual e o
+     * contador de alterações de cada B+Tree.
+     * 
+     * A ação devolvida roda na thread do checkpointer, depois que o
+     * snapshot está em disco. O stamp é calculado sobre o snapshot, sem
+     * latch, e cada arquivo só é gravado se o índice continua igual ao
+     * da captura. Um snapshot com versões encerradas não vale para os
+     * arquivos (a carga renumera os slots) e fica para o próximo.
+     * 
+     * @return Ação que grava os índices para o snapshot gravado
+     */
+    public Consumer<StorageSnapshot> checkpointSync() {
+        if (!hasDiskIndexes()) {
+            return snapshot -> { };
+        }
+        
+        IndexSet captured = shared(() -> indexes);
+        long capturedGeneration = generation;
+        int idMod = read(captured.diskIdIndex, captured.diskIdIndex::modCount);
+        int ageMod = read(captured.diskAgeIndex, captured.diskAgeIndex::modCount);
+        
+        return snapshot -> {
+            if (snapshot.capacity() != snapshot.size() || snapshot.generation() != capturedGeneration) {
+                return;
+            }
+            
+            long stamp = layoutStamp(snapshot);
+            
+            shared(() -> {
+                if (indexes != captured) {
+                    return;     // O vacuum trocou o conjunto
+                }
+                
+                try {
+                    syncIfUnchanged(captured.diskIdIndex, idMod, stamp);
+                    syncIfUnchanged(captured.diskAgeIndex, ageMod, stamp);
+                } catch (IOException e) {
+                    System.err.println("⚠ Erro ao gravar índices em disco: " + e.getMessage());
+                }
+            });
+        };
+    }
+    
+    private static void syncIfUnchanged(PagedBTreeIndex index, int expectedModCount, long stamp) throws IOException {
+        synchronized (index) {
+            if (index.modCount() == expectedModCount) {
+                index.sync(stamp);
+            }
+        }
+    }
+    
+    /**
+     * Fecha os arquivos dos índices em disco.
      * 
-     * @param user Usuário a adicionar
+     * @throws IOException Se erro ao fechar
      */
-    public void insertUser(Users user) {
-        idIndex.insert(user.getId(), user);
-        nameIndex.insert(user.getName(), user);
-        ageIndex.insert(user.getAge(), user);
-        cityIndex.insert(user.getCity(), user);
+    public void close() throws IOException {
+        if (!hasDiskIndexes()) {
+            return;
+        }
+        
+        latch.writeLock().lock();
+        try {
+            diskIdIndex.close();
+        } finally {
+            try {
+                diskAgeIndex.close();
+            } finally {
+                latch.writeLock().unlock();
+            }
+        }
     }
     
     /**
-     * Remove um usuário de todos os índices.
-     * Deve ser chamado antes de DELETE.
+     * Verifica se os índices de id e age estão em disco.
      * 
-     * @param user Usuário a remover
+     * @return true se paginados em disco
      */
-    public void removeUser(Users user) {
-        idIndex.remove(user.getId(), user);
-        nameIndex.remove(user.getName(), user);
-        ageIndex.remove(user.getAge(), user);
-        cityIndex.remove(user.getCity(), user);
+    public boolean hasDiskIndexes() {
+        return idFile != null;
     }
     
     /**
-     * Atualiza um usuário nos índices.
-     * Remove do antigo, insere no novo.
+     * Calcula o stamp dos dados indexados em disco (ver layoutStamp(TableView)).
      * 
-     * @param oldUser Usuário antes da atualização
-     * @param newUser Usuário depois da atualização
+     * @return Stamp dos dados atuais
      */
-    public void updateUser(Users oldUser, Users newUser) {
-        removeUser(oldUser);
-        insertUser(newUser);
+    public long layoutStamp() {
+        return layoutStamp(storage);
     }
     
     /**
-     * Limpa todos os índices.
+     * Calcula o stamp de uma visão dos dados: o CRC32C dos triplos
+     * (slot, id, age) dos registros vivos nos 32 bits baixos e o número
+     * de registros nos altos. Se o arquivo foi gravado com outro stamp,
+     * os slots ou as chaves mudaram desde o sync.
+     * 
+     * @param view Storage ou snapshot
+     * @return Stamp da visão
      */
-    public void clearAll() {
-        idIndex.clear();
-        nameIndex.clear();
-        ageIndex.clear();
-        cityIndex.clear();
+    public static long layoutStamp(TableView view) {
+        CRC32C crc = new CRC32C();
+        ByteBuffer triples = ByteBuffer.allocate(STAMP_BATCH * 12);
+        
+        for (int slot = 0; slot < view.capacity(); slot++) {
+            if (view.isLive(slot)) {
+                triples.putInt(slot).putInt(view.getId(slot)).putInt(view.getAge(slot));
+                
+                if (!triples.hasRemaining()) {
+                    crc.update(triples.flip());
+                    triples.clear();
+                }
+            }
+        }
+        crc.update(triples.flip());
+        
+        return ((long) view.size() << 32) | crc.getValue();
+    }
+    
+    /**
+     * Reconstrói todos os índices a partir dos dados atuais do storage.
+     */
+    public void rebuildAll() {
+        latch.writeLock().lock();
+        try {
+            List<Integer> slots = liveSlots();
+            
+            rebuild(List.of(
+                    () -> idIndex.rebuild(slots),
+                    () -> nameIndex.rebuild(slots),
+                    () -> ageIndex.rebuild(slots),
+                    () -> cityIndex.rebuild(slots)), slots.size());
+            
+            statistics = Map.of();
+            generation = storage.generation();
+        } finally {
+            latch.writeLock().unlock();
+        }
+    }
+    
+    /**
+     * Geração do storage em que os slots dos índices foram numerados.
+     * Uma visão de outra geração não pode usar os slots dos índices.
+     * 
+     * @return Geração da última reconstrução
+     */
+    public long generation() {
+        return generation;
+    }
+    
+    /**
+     * Latch compartilhado dos índices. Enquanto seguro, nenhuma
+     * reconstrução acontece: a geração e os slots devolvidos pelas
+     * buscas continuam correspondendo. Buscas e escritas de outras
+     * threads continuam em paralelo.
+     * 
+     * @return Parte compartilhada do latch
+     */
+    public Lock readLatch() {
+        return latch.readLock();
+    }
+    
+    // ================================================================
+    // TROCA DE CONJUNTO (VACUUM)
+    // ================================================================
+    
+    /**
+     * Monta um conjunto novo de índices sobre uma visão compactada, sem
+     * latch: buscas e escritas continuam usando o conjunto atual. No
+     * modo em disco, as B+Trees são gravadas em arquivos temporários
+     * ao lado dos atuais.
+     * 
+     * @param view Visão na numeração de slots da nova geração
+     * @return Conjunto a instalar (install) ou descartar (discard)
+     * @throws IOException Se erro ao criar os arquivos temporários
+     */
+    public IndexSet build(TableView view) throws IOException {
+        IndexSet next = hasDiskIndexes()
+                ? new IndexSet(view, temporary(idFile), temporary(ageFile))
+                : new IndexSet(view);
+        List<Integer> slots = liveSlots(view);
+        
+        try {
+            rebuild(List.of(
+                    () -> next.idIndex.rebuild(slots),
+                    () -> next.nameIndex.rebuild(slots),
+                    () -> next.ageIndex.rebuild(slots),
+                    () -> next.cityIndex.rebuild(slots)), slots.size());
+        } catch (RuntimeException e) {
+            discard(next);
+            throw e;
+        }
+        
+        return next;
+    }
+    
+    /**
+     * Instala um conjunto montado por build() depois que o storage
+     * instalou a compactação correspondente. Deve ser chamado pela
+     * thread que escreve: os registros criados durante a montagem são
+     * indexados antes da troca, e o latch exclusivo só cobre a troca
+     * das referências (e, em disco, a renomeação dos arquivos).
+     * 
+     * @param next Conjunto montado sobre a visão compactada
+     * @param appendedSlots Slots acrescentados pela instalação da compactação
+     */
+    public void install(IndexSet next, int[] appendedSlots) {
+        next.keys = storage;
+        
+        for (int slot : appendedSlots) {
+            next.idIndex.insert(storage.getId(slot), slot);
+            next.nameIndex.insert(storage.getName(slot), slot);
+            next.ageIndex.insert(storage.getAge(slot), slot);
+            next.cityIndex.insert(storage.getCity(slot), slot);
+        }
+        
+        IndexSet previous;
+        
+        latch.writeLock().lock();
+        try {
+            previous = indexes;
+            use(next);
+            statistics = Map.of();
+            generation = storage.generation();
+            
+            if (hasDiskIndexes()) {
+                // O canal aberto continua valendo depois da renomeação
+                replace(temporary(idFile), idFile);
+                replace(temporary(ageFile), ageFile);
+            }
+        } finally {
+            latch.writeLock().unlock();
+        }
+        
+        previous.close();
+    }
+    
+    /**
+     * Descarta um conjunto montado que não será instalado (a compactação
+     * foi invalidada), apagando os arquivos temporários.
+     * 
+     * @param next Conjunto montado por build()
+     */
+    public void discard(IndexSet next) {
+        next.close();
+        
+        if (hasDiskIndexes()) {
+            try {
+                Files.deleteIfExists(temporary(idFile));
+                Files.deleteIfExists(temporary(ageFile));
+            } catch (IOException e) {
+                System.err.println("⚠ Erro ao apagar índices temporários: " + e.getMessage());
+            }
+        }
+    }
+    
+    private static Path temporary(Path file) {
+        return file.resolveSibling(file.getFileName() + ".tmp");
+    }
+    
+    /**
+     * Põe o arquivo montado no lugar do atual. Uma falha só custa a
+     * reconstrução no próximo restart: o arquivo antigo não bate com
+     * os dados.
+     */
+    private static void replace(Path source, Path target) {
+        try {
+            Files.move(source, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            System.err.println("⚠ Erro ao substituir " + target.getFileName() + ": " + e.getMessage());
+        }
+    }
+    
+    /**
+     * Executa uma operação com o latch compartilhado.
+     */
+    private <T> T shared(Supplier<T> action) {
+        latch.readLock().lock();
+        try {
+            return action.get();
+        } finally {
+            latch.readLock().unlock();
+        }
+    }
+    
+    private void shared(Runnable action) {
+        latch.readLock().lock();
+        try {
+            action.run();
+        } finally {
+            latch.readLock().unlock();
+        }
+    }
+    
+    /**
+     * Executa uma leitura em um índice que não aceita acessos simultâneos
+     * a escritas: a B+Tree de age em memória usa a parte compartilhada do
+     * seu latch (leituras em paralelo) e a B+Tree em disco, o monitor do
+     * índice, já que o buffer pool muda até numa leitura. Estruturas
+     * concorrentes dispensam lock.
+     */
+    private <T> T read(Index<?, ?> index, Supplier<T> action) {
+        if (index instanceof PagedBTreeIndex) {
+            synchronized (index) {
+                return action.get();
+            }
+        }
+        
+        if (index instanceof IntBTreeIndex) {
+            btreeLatch.readLock().lock();
+            try {
+                return action.get();
+            } finally {
+                btreeLatch.readLock().unlock();
+            }
+        }
+        
+        return action.get();
+    }
+    
+    /**
+     * Executa uma alteração em um índice, com acesso exclusivo se ele
+     * não for concorrente (ver read).
+     */
+    private void write(Index<?, ?> index, Runnable action) {
+        if (index instanceof PagedBTreeIndex) {
+            synchronized (index) {
+                action.run();
+            }
+            return;
+        }
+        
+        if (index instanceof IntBTreeIndex) {
+            btreeLatch.writeLock().lock();
+            try {
+                action.run();
+            } finally {
+                btreeLatch.writeLock().unlock();
+            }
+            return;
+        }
+        
+        action.run();
+    }
+    
+    /**
+     * Executa as reconstruções. Cada índice tem sua própria estrutura e
+     * só lê o storage, então com muitos registros elas rodam em paralelo.
+     * 
+     * @param rebuilds Reconstruções a executar
+     * @param rows Número de registros indexados
+     */
+    private void rebuild(List<Runnable> rebuilds, int rows) {
+        if (rows < PARALLEL_REBUILD_ROWS) {
+            rebuilds.forEach(Runnable::run);
+        } else {
+            rebuilds.parallelStream().forEach(Runnable::run);
+        }
+    }
+    
+    private List<Integer> liveSlots() {
+        return liveSlots(storage);
+    }
+    
+    private static List<Integer> liveSlots(TableView view) {
+        List<Integer> slots = new ArrayList<>(view.size());
+        
+        for (int slot = 0; slot < view.capacity(); slot++) {
+            if (view.isLive(slot)) {
+                slots.add(slot);
+            }
+        }
+        
+        return slots;
+    }
+    
+    /**
+     * Adiciona um registro a todos os índices.
+     * Deve ser chamado após INSERT.
+     * 
+     * @param slot Slot do registro
+     * @param user Valores do registro
+     */
+    public void insertRow(int slot, Users user) {
+        shared(() -> {
+            write(idIndex, () -> idIndex.insert(user.getId(), slot));
+            nameIndex.insert(user.getName(), slot);
+            write(ageIndex, () -> ageIndex.insert(user.getAge(), slot));
+            cityIndex.insert(user.getCity(), slot);
+            changesSinceAnalyze.increment();
+        });
     }
     
     // ================================================================
@@ -115,15 +618,9 @@ public class IndexManager {
      * @return Lista de usuários (geralmente 1)
      */
     public List<Users> searchById(int id) {
-        totalSearches++;
-        List<Users> result = idIndex.search(id);
-        
-        if (!result.isEmpty()) {
-            indexHits++;
-        } else {
-            indexMisses++;
-        }
-        
+        totalSearches.increment();
+        List<Users> result = shared(() -> read(idIndex, () -> materialize(idIndex.cursor(id))));
+        countHit(!result.isEmpty());
         return result;
     }
     
@@ -134,15 +631,9 @@ public class IndexManager {
      * @return Lista de usuários com esse nome
      */
     public List<Users> searchByName(String name) {
-        totalSearches++;
-        List<Users> result = nameIndex.search(name);
-        
-        if (!result.isEmpty()) {
-            indexHits++;
-        } else {
-            indexMisses++;
-        }
-        
+        totalSearches.increment();
+        List<Users> result = shared(() -> materialize(nameIndex.cursor(name)));
+        countHit(!result.isEmpty());
         return result;
     }
     
@@ -153,67 +644,222 @@ public class IndexManager {
      * @return Lista de usuários com essa idade
      */
     public List<Users> searchByAge(int age) {
-        totalSearches++;
-        List<Users> result = ageIndex.search(age);
+        totalSearches.increment();
+        List<Users> result = shared(() -> read(ageIndex, () -> materialize(ageIndex.cursor(age))));
+        countHit(!result.isEmpty());
+        return result;
+    }
+    
+    /**
+     * Busca usuários por cidade (usa hash index).
+     * 
+     * @param city Nome da cidade
+     * @return Lista de usuários dessa cidade
+     */
+    public List<Users> searchByCity(String city) {
+        totalSearches.increment();
+        List<Users> result = shared(() -> materialize(cityIndex.cursor(city)));
+        countHit(!result.isEmpty());
+        return result;
+    }
+    
+    // ================================================================
+    // BUSCAS POR SLOT (USADAS PELO PLANNER)
+    // ================================================================
+    
+    /**
+     * Busca slots por igualdade em uma coluna indexada.
+     * 
+     * @param column Coluna (id, name, age, city)
+     * @param key Valor (Integer para id/age, String para name/city)
+     * @return Slots encontrados (para city, uma cópia do bitmap do índice)
+     */
+    public SlotBitmap seekSlots(String column, Object key) {
+        totalSearches.increment();
         
-        if (!result.isEmpty()) {
-            indexHits++;
-        } else {
-            indexMisses++;
+        // Índice bitmap: a cópia já sai ordenada
+        if (column.equalsIgnoreCase("city")) {
+            SlotBitmap slots = shared(() -> cityIndex.bitmap((String) key));
+            countHit(!slots.isEmpty());
+            return slots;
         }
         
-        return result;
+        return shared(() -> switch (column.toLowerCase()) {
+            case "id" -> read(idIndex, () -> toBitmap(idIndex.cursor((Integer) key)));
+            case "name" -> toBitmap(nameIndex.cursor((String) key));
+            case "age" -> read(ageIndex, () -> toBitmap(ageIndex.cursor((Integer) key)));
+            default -> throw new IllegalArgumentException("Coluna sem índice: " + column);
+        });
     }
     
     /**
-     * Busca usuários por intervalo de idade (usa b-tree index).
+     * Busca slots por intervalo em uma coluna com índice B-Tree.
      * 
-     * @param minAge Idade mínima
-     * @param maxAge Idade máxima
-     * @return Lista de usuários no intervalo
+     * @param column Coluna (age)
+     * @param min Limite inferior (inclusivo)
+     * @param max Limite superior (inclusivo)
+     * @return Slots encontrados
      */
-    public List<Users> searchByAgeRange(int minAge, int maxAge) {
-        totalSearches++;
-        List<Users> result = ageIndex.searchRange(minAge, maxAge);
-        
-        if (!result.isEmpty()) {
-            indexHits++;
-        } else {
-            indexMisses++;
+    public SlotBitmap rangeSlots(String column, int min, int max) {
+        if (!column.equalsIgnoreCase("age")) {
+            throw new IllegalArgumentException("Coluna sem índice ordenado: " + column);
         }
         
+        totalSearches.increment();
+        
+        // Percorre as entradas do índice sem boxing
+        SlotBitmap result = shared(() -> read(ageIndex, () -> {
+            SlotBitmap slots = new SlotBitmap();
+            ageIndex.forEachInRange(min, max, slots::add);
+            return slots;
+        }));
+        
+        countHit(!result.isEmpty());
         return result;
     }
     
+    private SlotBitmap toBitmap(IndexCursor<Integer> slots) {
+        int[] sorted = new int[8];
+        int n = 0;
+        
+        while (slots.hasNext()) {
+            if (n == sorted.length) {
+                sorted = Arrays.copyOf(sorted, n * 2);
+            }
+            sorted[n++] = slots.next();
+        }
+        
+        countHit(n > 0);
+        
+        Arrays.sort(sorted, 0, n);
+        return SlotBitmap.of(n == sorted.length ? sorted : Arrays.copyOf(sorted, n));
+    }
+    
+    private void countHit(boolean found) {
+        if (found) {
+            indexHits.increment();
+        } else {
+            indexMisses.increment();
+        }
+    }
+    
     /**
-     * Busca usuários por cidade (usa hash index).
+     * Retorna os slots indexados ordenados por idade, sem materializar.
+     * Inclui versões que podem não ser visíveis na leitura.
      * 
-     * @param city Nome da cidade
-     * @return Lista de usuários dessa cidade
+     * @param ascending true para ASC, false para DESC
+     * @return Slots na ordem do índice
      */
-    public List<Users> searchByCity(String city) {
-        totalSearches++;
-        List<Users> result = cityIndex.search(city);
+    public int[] orderedAgeSlots(boolean ascending) {
+        return shared(() -> read(ageIndex, () -> {
+            IndexCursor<Integer> slots = ageIndex.orderedCursor(ascending);
+            int[] result = new int[8];
+            int n = 0;
+            
+            while (slots.hasNext()) {
+                if (n == result.length) {
+                    result = Arrays.copyOf(result, n * 2);
+                }
+                result[n++] = slots.next();
+            }
+            
+            return Arrays.copyOf(result, n);
+        }));
+    }
+    
+    /**
+     * Converte slots retornados por um índice em objetos Users.
+     * Versões encerradas (ainda no índice até a compactação) são puladas.
+     * 
+     * @param slots Slots do storage
+     * @return Lista de usuários
+     */
+    private List<Users> materialize(IndexCursor<Integer> slots) {
+        List<Users> result = new ArrayList<>();
         
-        if (!result.isEmpty()) {
-            indexHits++;
-        } else {
-            indexMisses++;
+        while (slots.hasNext()) {
+            int slot = slots.next();
+            
+            if (storage.isLive(slot)) {
+                result.add(storage.materialize(slot));
+            }
         }
         
         return result;
     }
     
+    // ================================================================
+    // ESTATÍSTICAS DO OTIMIZADOR
+    // ================================================================
+    
     /**
-     * Retorna todos os usuários ordenados por idade (usa b-tree index).
+     * Retorna as estatísticas de uma coluna indexada.
      * 
-     * @param ascending true para ASC, false para DESC
-     * @return Lista ordenada
+     * As estatísticas são calculadas sob demanda e reaproveitadas até
+     * que o número de alterações desde o último cálculo passe de 10%
+     * da tabela (mínimo de ANALYZE_MIN_CHANGES).
+     * 
+     * @param column Coluna (id, name, age, city)
+     * @return Estatísticas da coluna
      */
-    public List<Users> getAllOrderedByAge(boolean ascending) {
-        return ascending ? 
-            ageIndex.getAllOrdered() : 
-            ageIndex.getAllOrderedDesc();
+    public IndexStatistics getStatistics(String column) {
+        long threshold = Math.max(ANALYZE_MIN_CHANGES, storage.size() / 10);
+        Map<String, IndexStatistics> current = statistics;
+        
+        if (current.isEmpty() || changesSinceAnalyze.sum() > threshold) {
+            analyze();
+            current = statistics;
+        }
+        
+        IndexStatistics stats = current.get(column.toLowerCase());
+        
+        if (stats == null) {
+            throw new IllegalArgumentException("Coluna sem índice: " + column);
+        }
+        
+        return stats;
+    }
+    
+    /**
+     * Recalcula as estatísticas de todos os índices.
+     * Cardinalidade e chaves distintas vêm direto dos índices;
+     * o índice ordenado de age também gera um histograma equi-depth.
+     * O conjunto novo substitui o anterior de uma vez: leitores nunca
+     * veem estatísticas pela metade.
+     */
+    public void analyze() {
+        long rows = storage.size();
+        changesSinceAnalyze.reset();
+        
+        Map<String, IndexStatistics> result = new LinkedHashMap<>();
+        
+        shared(() -> {
+            result.put("id", new IndexStatistics("id", rows,
+                    read(idIndex, idIndex::size), null));
+            result.put("name", new IndexStatistics("name", rows, nameIndex.size(), null));
+            result.put("age", read(ageIndex, () -> new IndexStatistics("age", rows,
+                    ageIndex.size(), buildAgeHistogram())));
+            result.put("city", new IndexStatistics("city", rows, cityIndex.size(), null));
+        });
+        
+        statistics = Collections.unmodifiableMap(result);
+    }
+    
+    private Histogram buildAgeHistogram() {
+        // Chaves podem surgir durante a leitura: limita ao tamanho inicial
+        int[] keys = new int[ageIndex.size()];
+        int[] counts = new int[keys.length];
+        int[] n = {0};
+        
+        ageIndex.forEachKey((age, count) -> {
+            if (n[0] < keys.length) {
+                keys[n[0]] = age;
+                counts[n[0]] = count;
+                n[0]++;
+            }
+        });
+        
+        return Histogram.build(keys, counts, n[0], HISTOGRAM_BUCKETS);
     }
     
     // ================================================================
@@ -232,18 +878,33 @@ public class IndexManager {
         sb.append("╚════════════════════════════════════════════════╝\n\n");
         
         sb.append("Índices:\n");
-        sb.append("  - ").append(idIndex.getStats()).append("\n");
-        sb.append("  - ").append(nameIndex.getStats()).append("\n");
-        sb.append("  - ").append(ageIndex.getStats()).append("\n");
-        sb.append("  - ").append(cityIndex.getStats()).append("\n\n");
+        shared(() -> {
+            sb.append("  - ").append(read(idIndex, idIndex::toString)).append("\n");
+            sb.append("  - ").append(nameIndex.getStats()).append("\n");
+            sb.append("  - ").append(read(ageIndex, ageIndex::getStats)).append("\n");
+            sb.append("  - ").append(cityIndex.getStats()).append("\n\n");
+        });
+        
+        Map<String, IndexStatistics> current = statistics;
+        
+        if (!current.isEmpty()) {
+            sb.append("Otimizador:\n");
+            for (IndexStatistics stats : current.values()) {
+                sb.append("  - ").append(stats).append("\n");
+            }
+            sb.append("\n");
+        }
         
         sb.append("Buscas:\n");
-        sb.append("  - Total: ").append(totalSearches).append("\n");
-        sb.append("  - Hits: ").append(indexHits).append("\n");
-        sb.append("  - Misses: ").append(indexMisses).append("\n");
+        long searches = totalSearches.sum();
+        long hits = indexHits.sum();
+        
+        sb.append("  - Total: ").append(searches).append("\n");
+        sb.append("  - Hits: ").append(hits).append("\n");
+        sb.append("  - Misses: ").append(indexMisses.sum()).append("\n");
         
-        if (totalSearches > 0) {
-            double hitRate = (indexHits * 100.0) / totalSearches;
+        if (searches > 0) {
+            double hitRate = (hits * 100.0) / searches;
             sb.append("  - Hit Rate: ").append(String.format("%.1f%%", hitRate)).append("\n");
         }
         
@@ -254,24 +915,76 @@ public class IndexManager {
      * Reseta estatísticas de busca.
      */
     public void resetStats() {
-        totalSearches = 0;
-        indexHits = 0;
-        indexMisses = 0;
+        totalSearches.reset();
+        indexHits.reset();
+        indexMisses.reset();
     }
     
+    // ================================================================
+    // CONJUNTO DE ÍNDICES
+    // ================================================================
+    
     /**
-     * Verifica se índices estão consistentes.
-     * 
-     * @return true se todos têm o mesmo número de registros
+     * Os quatro índices de uma geração de slots. As reconstruções
+     * extraem as chaves de keys: a visão compactada enquanto o vacuum
+     * monta o conjunto, o storage depois de instalado.
      */
-    public boolean isConsistent() {
-        int idCount = idIndex.size();
-        int nameCount = nameIndex.size();
-        int ageCount = ageIndex.size();
-        int cityCount = cityIndex.size();
+    public static final class IndexSet {
+        
+        private volatile TableView keys;
+        private final Index<Integer, Integer> idIndex;
+        private final ConcurrentHashIndex<String> nameIndex;
+        private final OrderedIntIndex ageIndex;
+        private final ConcurrentBitmapIndex<String> cityIndex;
+        private final PagedBTreeIndex diskIdIndex;
+        private final PagedBTreeIndex diskAgeIndex;
+        
+        private IndexSet(TableView keys) {
+            this.keys = keys;
+            this.idIndex = new ConcurrentHashIndex<>(slot -> this.keys.getId(slot), "IdIndex");
+            this.nameIndex = new ConcurrentHashIndex<>(slot -> this.keys.getName(slot), "NameIndex");
+            this.ageIndex = new IntBTreeIndex(slot -> this.keys.getAge(slot), "AgeIndex");
+            this.cityIndex = new ConcurrentBitmapIndex<>(slot -> this.keys.getCity(slot), "CityIndex");
+            this.diskIdIndex = null;
+            this.diskAgeIndex = null;
+        }
         
-        // Todos devem ter o mesmo número de chaves (ou próximo, dependendo de duplicatas)
-        // Esta é uma verificação simplificada
-        return idCount > 0 && nameCount > 0 && ageCount > 0 && cityCount > 0;
+        private IndexSet(TableView keys, Path idFile, Path ageFile) throws IOException {
+            this.keys = keys;
+            this.diskIdIndex = new PagedBTreeIndex(idFile,
+                    slot -> this.keys.getId(slot), "IdIndex", DISK_POOL_PAGES);
+            
+            try {
+                this.diskAgeIndex = new PagedBTreeIndex(ageFile,
+                        slot -> this.keys.getAge(slot), "AgeIndex", DISK_POOL_PAGES);
+            } catch (IOException e) {
+                diskIdIndex.close();
+                throw e;
+            }
+            
+            this.idIndex = diskIdIndex;
+            this.nameIndex = new ConcurrentHashIndex<>(slot -> this.keys.getName(slot), "NameIndex");
+            this.ageIndex = diskAgeIndex;
+            this.cityIndex = new ConcurrentBitmapIndex<>(slot -> this.keys.getCity(slot), "CityIndex");
+        }
+        
+        /**
+         * Fecha os arquivos das B+Trees em disco, se houver.
+         */
+        private void close() {
+            for (PagedBTreeIndex index : new PagedBTreeIndex[] {diskIdIndex, diskAgeIndex}) {
+                if (index == null) {
+                    continue;
+                }
+                
+                try {
+                    synchronized (index) {
+                        index.close();
+                    }
+                } catch (IOException e) {
+                    System.err.println("⚠ Erro ao fechar índice: " + e.getMessage());
+                }
+            }
+        }
     }
 }
@@ -0,0 +1,89 @@
+package lib.index;
+
+/**
+ * Estatísticas de um índice, usadas pelo modelo de custo do planner.
+ *
+ * - rowCount: número de registros indexados (cardinalidade)
+ * - distinctKeys: número de chaves distintas
+ * - histogram: histograma equi-depth (apenas índices B-Tree)
+ *
+ * Sem histograma, a estimativa de igualdade assume distribuição
+ * uniforme: rowCount / distinctKeys.
+ *
+ * @author SQL Parser Team
+ * @version 1.0
+ */
+public class IndexStatistics {
+
+    // Seletividade assumida para intervalos sem histograma
+    private static final double DEFAULT_RANGE_SELECTIVITY = 0.3;
+
+    private final String column;
+    private final long rowCount;
+    private final int distinctKeys;
+    private final Histogram histogram;
+
+    public IndexStatistics(String column, long rowCount, int distinctKeys, Histogram histogram) {
+        this.column = column;
+        this.rowCount = rowCount;
+        this.distinctKeys = distinctKeys;
+        this.histogram = histogram;
+    }
+
+    /**
+     * Estima quantos registros têm a chave informada.
+     *
+     * @param key Chave buscada
+     * @return Número estimado de registros
+     */
+    public double estimateEquality(Object key) {
+        if (histogram != null && key instanceof Integer) {
+            return histogram.estimateEquality((Integer) key);
+        }
+
+        if (distinctKeys == 0) {
+            return 0;
+        }
+
+        return (double) rowCount / distinctKeys;
+    }
+
+    /**
+     * Estima quantos registros têm chave em [min, max].
+     *
+     * @param min Limite inferior (inclusivo)
+     * @param max Limite superior (inclusivo)
+     * @return Número estimado de registros
+     */
+    public double estimateRange(int min, int max) {
+        if (histogram != null) {
+            return histogram.estimateRange(min, max);
+        }
+
+        return min > max ? 0 : rowCount * DEFAULT_RANGE_SELECTIVITY;
+    }
+
+    public String getColumn() {
+        return column;
+    }
+
+    public long getRowCount() {
+        return rowCount;
+    }
+
+    public int getDistinctKeys() {
+        return distinctKeys;
+    }
+
+    public Histogram getHistogram() {
+        return histogram;
+    }
+
+    @Override
+    public String toString() {
+        String text = String.format("%s: %d registros, %d chaves distintas",
+                column, rowCount, distinctKeys);
+
+        return histogram == null ? text : text + ", " + histogram.getBucketCount() + " buckets";
+    }
+}
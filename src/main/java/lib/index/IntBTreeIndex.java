@@ -0,0 +1,855 @@
+package lib.index;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.function.BiConsumer;
+import java.util.function.IntConsumer;
+import java.util.function.IntUnaryOperator;
+
+/**
+ * Índice B+Tree especializado para chaves int e valores int (slots).
+ *
+ * Diferente do BTreeIndex (TreeMap com uma lista por chave), cada nó
+ * guarda até ORDER entradas em arrays primitivos, e as folhas são
+ * encadeadas. Buscas por intervalo e iteração ordenada percorrem
+ * arrays contíguos, folha a folha, sem objetos por chave.
+ *
+ * Chaves repetidas (ex: várias pessoas com a mesma idade) são
+ * ordenadas pelo par (chave, slot), que é único.
+ *
+ * Estrutura:
+ *   Inner:  [sep0 | sep1 | ...]  → filhos (sep_i = menor entrada do filho i+1)
+ *   Leaf:   [(k,slot) (k,slot) ...] ⇄ próxima folha
+ *
+ * @author SQL Parser Team
+ * @version 1.0
+ */
+public class IntBTreeIndex implements OrderedIntIndex {
+
+    // Máximo de entradas por nó
+    static final int ORDER = 64;
+
+    // Mínimo de entradas por nó (exceto raiz)
+    private static final int MIN_FILL = ORDER / 2;
+
+    // Ocupação das folhas na carga em lote (deixa espaço para inserts)
+    private static final int BULK_FILL = ORDER * 3 / 4;
+
+    // Função que extrai a chave de um slot
+    private final IntUnaryOperator keyExtractor;
+
+    // Nome do índice (para debug)
+    private final String indexName;
+
+    private Node root;
+    private Leaf head;
+    private Leaf tail;
+
+    private int entryCount;
+    private int keyCount;
+
+    // Modificações (invalida cursores abertos)
+    private int modCount;
+
+    // Separador gerado pelo último split (usado na subida da recursão)
+    private int splitKey;
+    private int splitValue;
+
+    /**
+     * Construtor com extrator de chave e nome.
+     *
+     * @param keyExtractor Função que extrai a chave de um slot
+     * @param indexName Nome do índice (para debug)
+     */
+    public IntBTreeIndex(IntUnaryOperator keyExtractor, String indexName) {
+        this.keyExtractor = keyExtractor;
+        this.indexName = indexName;
+        clear();
+    }
+
+    // ================================================================
+    // NÓS
+    // ================================================================
+
+    private abstract static class Node {
+        // Um slot extra para o overflow antes do split
+        final int[] keys = new int[ORDER + 1];
+        final int[] values = new int[ORDER + 1];
+        int size;
+    }
+
+    private static final class Leaf extends Node {
+        Leaf prev;
+        Leaf next;
+    }
+
+    private static final class Inner extends Node {
+        final Node[] children = new Node[ORDER + 2];
+    }
+
+    private static int compare(int k1, int v1, int k2, int v2) {
+        return k1 != k2 ? Integer.compare(k1, k2) : Integer.compare(v1, v2);
+    }
+
+    /**
+     * Primeira posição da folha com entrada >= (key, value).
+     */
+    private static int lowerBound(Node node, int key, int value) {
+        int lo = 0;
+        int hi = node.size;
+
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+
+            if (compare(node.keys[mid], node.values[mid], key, value) < 0) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+
+        return lo;
+    }
+
+    /**
+     * Filho do nó interno que contém (key, value).
+     */
+    private static int childIndex(Inner inner, int key, int value) {
+        int lo = 0;
+        int hi = inner.size;
+
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+
+            if (compare(inner.keys[mid], inner.values[mid], key, value) <= 0) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+
+        return lo;
+    }
+
+    private Leaf findLeaf(int key, int value) {
+        Node node = root;
+
+        while (node instanceof Inner inner) {
+            node = inner.children[childIndex(inner, key, value)];
+        }
+
+        return (Leaf) node;
+    }
+
+    // ================================================================
+    // INSERT
+    // ================================================================
+
+    @Override
+    public void insert(Integer key, Integer slot) {
+        insert((int) key, (int) slot);
+    }
+
+    /**
+     * Insere o par (chave, slot). Pares repetidos são ignorados.
+     *
+     * @param key Chave
+     * @param slot Slot do registro
+     */
+    @Override
+    public void insert(int key, int slot) {
+        if (contains(key, slot)) {
+            return;
+        }
+
+        boolean newKey = !containsKey(key);
+        Node right = insert(root, key, slot);
+
+        if (right != null) {
+            Inner newRoot = new Inner();
+            newRoot.keys[0] = splitKey;
+            newRoot.values[0] = splitValue;
+            newRoot.children[0] = root;
+            newRoot.children[1] = right;
+            newRoot.size = 1;
+            root = newRoot;
+        }
+
+        entryCount++;
+        if (newKey) {
+            keyCount++;
+        }
+        modCount++;
+    }
+
+    /**
+     * Insere recursivamente. Retorna o novo nó à direita se houve split
+     * (com o separador em splitKey/splitValue), ou null.
+     */
+    private Node insert(Node node, int key, int value) {
+        if (node instanceof Leaf leaf) {
+            int pos = lowerBound(leaf, key, value);
+            insertAt(leaf, pos, key, value);
+
+            return leaf.size > ORDER ? splitLeaf(leaf) : null;
+        }
+
+        Inner inner = (Inner) node;
+        int i = childIndex(inner, key, value);
+        Node right = insert(inner.children[i], key, value);
+
+        if (right == null) {
+            return null;
+        }
+
+        insertAt(inner, i, splitKey, splitValue);
+        System.arraycopy(inner.children, i + 1, inner.children, i + 2, inner.size - i - 1);
+        inner.children[i + 1] = right;
+
+        return inner.size > ORDER ? splitInner(inner) : null;
+    }
+
+    private static void insertAt(Node node, int pos, int key, int value) {
+        System.arraycopy(node.keys, pos, node.keys, pos + 1, node.size - pos);
+        System.arraycopy(node.values, pos, node.values, pos + 1, node.size - pos);
+        node.keys[pos] = key;
+        node.values[pos] = value;
+        node.size++;
+    }
+
+    private Leaf splitLeaf(Leaf leaf) {
+        int mid = leaf.size / 2;
+        Leaf right = new Leaf();
+
+        right.size = leaf.size - mid;
+        System.arraycopy(leaf.keys, mid, right.keys, 0, right.size);
+        System.arraycopy(leaf.values, mid, right.values, 0, right.size);
+        leaf.size = mid;
+
+        right.next = leaf.next;
+        right.prev = leaf;
+        if (leaf.next != null) {
+            leaf.next.prev = right;
+        } else {
+            tail = right;
+        }
+        leaf.next = right;
+
+        splitKey = right.keys[0];
+        splitValue = right.values[0];
+        return right;
+    }
+
+    private Inner splitInner(Inner inner) {
+        int mid = inner.size / 2;
+        Inner right = new Inner();
+
+        // O separador do meio sobe para o pai
+        splitKey = inner.keys[mid];
+        splitValue = inner.values[mid];
+
+        right.size = inner.size - mid - 1;
+        System.arraycopy(inner.keys, mid + 1, right.keys, 0, right.size);
+        System.arraycopy(inner.values, mid + 1, right.values, 0, right.size);
+        System.arraycopy(inner.children, mid + 1, right.children, 0, right.size + 1);
+        Arrays.fill(inner.children, mid + 1, inner.size + 1, null);
+        inner.size = mid;
+
+        return right;
+    }
+
+    // ================================================================
+    // REMOVE
+    // ================================================================
+
+    @Override
+    public boolean remove(Integer key, Integer slot) {
+        return remove((int) key, (int) slot);
+    }
+
+    /**
+     * Remove o par (chave, slot).
+     *
+     * @param key Chave
+     * @param slot Slot do registro
+     * @return true se removeu
+     */
+    @Override
+    public boolean remove(int key, int slot) {
+        if (!remove(root, key, slot)) {
+            return false;
+        }
+
+        // Raiz interna sem separadores: desce um nível
+        if (root instanceof Inner inner && inner.size == 0) {
+            root = inner.children[0];
+        }
+
+        entryCount--;
+        if (!containsKey(key)) {
+            keyCount--;
+        }
+        modCount++;
+        return true;
+    }
+
+    private boolean remove(Node node, int key, int value) {
+        if (node instanceof Leaf leaf) {
+            int pos = lowerBound(leaf, key, value);
+
+            if (pos >= leaf.size || leaf.keys[pos] != key || leaf.values[pos] != value) {
+                return false;
+            }
+
+            removeAt(leaf, pos);
+            return true;
+        }
+
+        Inner inner = (Inner) node;
+        int i = childIndex(inner, key, value);
+        Node child = inner.children[i];
+
+        if (!remove(child, key, value)) {
+            return false;
+        }
+
+        if (child.size < MIN_FILL) {
+            rebalance(inner, i);
+        }
+
+        return true;
+    }
+
+    private static void removeAt(Node node, int pos) {
+        System.arraycopy(node.keys, pos + 1, node.keys, pos, node.size - pos - 1);
+        System.arraycopy(node.values, pos + 1, node.values, pos, node.size - pos - 1);
+        node.size--;
+    }
+
+    /**
+     * Corrige o filho i do nó interno após underflow:
+     * empresta de um irmão com sobra ou funde com um irmão.
+     */
+    private void rebalance(Inner parent, int i) {
+        Node child = parent.children[i];
+        Node left = i > 0 ? parent.children[i - 1] : null;
+        Node right = i < parent.size ? parent.children[i + 1] : null;
+
+        if (child instanceof Leaf leaf) {
+            if (left != null && left.size > MIN_FILL) {
+                insertAt(leaf, 0, left.keys[left.size - 1], left.values[left.size - 1]);
+                left.size--;
+                setSeparator(parent, i - 1, leaf.keys[0], leaf.values[0]);
+            } else if (right != null && right.size > MIN_FILL) {
+                insertAt(leaf, leaf.size, right.keys[0], right.values[0]);
+                removeAt(right, 0);
+                setSeparator(parent, i, right.keys[0], right.values[0]);
+            } else if (left != null) {
+                appendEntries(left, leaf);
+                unlink(leaf);
+                removeChild(parent, i);
+            } else if (right != null) {
+                appendEntries(leaf, right);
+                unlink((Leaf) right);
+                removeChild(parent, i + 1);
+            }
+            return;
+        }
+
+        Inner inner = (Inner) child;
+
+        if (left != null && left.size > MIN_FILL) {
+            Inner from = (Inner) left;
+            System.arraycopy(inner.children, 0, inner.children, 1, inner.size + 1);
+            insertAt(inner, 0, parent.keys[i - 1], parent.values[i - 1]);
+            inner.children[0] = from.children[from.size];
+            from.children[from.size] = null;
+            setSeparator(parent, i - 1, from.keys[from.size - 1], from.values[from.size - 1]);
+            from.size--;
+        } else if (right != null && right.size > MIN_FILL) {
+            Inner from = (Inner) right;
+            insertAt(inner, inner.size, parent.keys[i], parent.values[i]);
+            inner.children[inner.size] = from.children[0];
+            setSeparator(parent, i, from.keys[0], from.values[0]);
+            System.arraycopy(from.children, 1, from.children, 0, from.size);
+            from.children[from.size] = null;
+            removeAt(from, 0);
+        } else if (left != null) {
+            mergeInner((Inner) left, parent.keys[i - 1], parent.values[i - 1], inner);
+            removeChild(parent, i);
+        } else if (right != null) {
+            mergeInner(inner, parent.keys[i], parent.values[i], (Inner) right);
+            removeChild(parent, i + 1);
+        }
+    }
+
+    private static void setSeparator(Inner parent, int pos, int key, int value) {
+        parent.keys[pos] = key;
+        parent.values[pos] = value;
+    }
+
+    private static void appendEntries(Node target, Node source) {
+        System.arraycopy(source.keys, 0, target.keys, target.size, source.size);
+        System.arraycopy(source.values, 0, target.values, target.size, source.size);
+        target.size += source.size;
+    }
+
+    private static void mergeInner(Inner target, int sepKey, int sepValue, Inner source) {
+        insertAt(target, target.size, sepKey, sepValue);
+        System.arraycopy(source.children, 0, target.children, target.size, source.size + 1);
+        appendEntries(target, source);
+    }
+
+    /**
+     * Remove o filho na posição pos e o separador à sua esquerda.
+     */
+    private static void removeChild(Inner parent, int pos) {
+        removeAt(parent, pos - 1);
+        System.arraycopy(parent.children, pos + 1, parent.children, pos, parent.size - pos + 1);
+        parent.children[parent.size + 1] = null;
+    }
+
+    private void unlink(Leaf leaf) {
+        if (leaf.prev != null) {
+            leaf.prev.next = leaf.next;
+        } else {
+            head = leaf.next;
+        }
+
+        if (leaf.next != null) {
+            leaf.next.prev = leaf.prev;
+        } else {
+            tail = leaf.prev;
+        }
+    }
+
+    // ================================================================
+    // BUSCAS
+    // ================================================================
+
+    /**
+     * Verifica se o par (chave, slot) está no índice.
+     */
+    public boolean contains(int key, int slot) {
+        Leaf leaf = findLeaf(key, slot);
+        int pos = lowerBound(leaf, key, slot);
+        return pos < leaf.size && leaf.keys[pos] == key && leaf.values[pos] == slot;
+    }
+
+    /**
+     * Verifica se existe algum registro com a chave.
+     */
+    public boolean containsKey(int key) {
+        RangeCursor cursor = new RangeCursor(key, key);
+        return cursor.hasNext();
+    }
+
+    @Override
+    public List<Integer> search(Integer key) {
+        return cursor(key).toList();
+    }
+
+    @Override
+    public IndexCursor<Integer> cursor(Integer key) {
+        return new RangeCursor(key, key);
+    }
+
+    /**
+     * Percorre os slots com chave em [min, max], em ordem de chave.
+     *
+     * @param min Chave mínima (inclusiva)
+     * @param max Chave máxima (inclusiva)
+     * @return Cursor somente leitura
+     */
+    @Override
+    public IndexCursor<Integer> rangeCursor(int min, int max) {
+        return new RangeCursor(min, max);
+    }
+
+    /**
+     * Percorre os slots com chave em [min, max] sem boxing.
+     *
+     * @param min Chave mínima (inclusiva)
+     * @param max Chave máxima (inclusiva)
+     * @param action Ação executada para cada slot
+     */
+    @Override
+    public void forEachInRange(int min, int max, IntConsumer action) {
+        if (min > max) {
+            return;
+        }
+
+        Leaf leaf = findLeaf(min, Integer.MIN_VALUE);
+        int pos = lowerBound(leaf, min, Integer.MIN_VALUE);
+
+        while (leaf != null) {
+            for (; pos < leaf.size; pos++) {
+                if (leaf.keys[pos] > max) {
+                    return;
+                }
+                action.accept(leaf.values[pos]);
+            }
+            leaf = leaf.next;
+            pos = 0;
+        }
+    }
+
+    /**
+     * Busca por intervalo [min, max] (inclusivo).
+     *
+     * @param min Chave mínima
+     * @param max Chave máxima
+     * @return Lista de slots no intervalo
+     */
+    public List<Integer> searchRange(int min, int max) {
+        return rangeCursor(min, max).toList();
+    }
+
+    /**
+     * Percorre todos os slots ordenados pela chave.
+     *
+     * @param ascending true para crescente, false para decrescente
+     * @return Cursor somente leitura
+     */
+    @Override
+    public IndexCursor<Integer> orderedCursor(boolean ascending) {
+        return ascending
+                ? new RangeCursor(Integer.MIN_VALUE, Integer.MAX_VALUE)
+                : new DescendingCursor();
+    }
+
+    /**
+     * Retorna todos os slots em ordem crescente de chave.
+     *
+     * @return Lista ordenada de slots
+     */
+    public List<Integer> getAllOrdered() {
+        return orderedCursor(true).toList();
+    }
+
+    /**
+     * Retorna todos os slots em ordem decrescente de chave.
+     *
+     * @return Lista ordenada de slots (decrescente)
+     */
+    public List<Integer> getAllOrderedDesc() {
+        return orderedCursor(false).toList();
+    }
+
+    /**
+     * Percorre as chaves em ordem crescente com o número de
+     * registros de cada uma. Usado para montar histogramas.
+     *
+     * @param action Recebe (chave, número de registros)
+     */
+    @Override
+    public void forEachKey(BiConsumer<Integer, Integer> action) {
+        boolean started = false;
+        int current = 0;
+        int count = 0;
+
+        for (Leaf leaf = head; leaf != null; leaf = leaf.next) {
+            for (int i = 0; i < leaf.size; i++) {
+                if (started && leaf.keys[i] == current) {
+                    count++;
+                    continue;
+                }
+                if (started) {
+                    action.accept(current, count);
+                }
+                started = true;
+                current = leaf.keys[i];
+                count = 1;
+            }
+        }
+
+        if (started) {
+            action.accept(current, count);
+        }
+    }
+
+    /**
+     * Cursor crescente limitado por [min, max].
+     */
+    private final class RangeCursor implements IndexCursor<Integer> {
+
+        private final int max;
+        private final int expectedModCount = modCount;
+        private Leaf leaf;
+        private int pos;
+
+        RangeCursor(int min, int max) {
+            this.max = max;
+
+            if (min <= max) {
+                this.leaf = findLeaf(min, Integer.MIN_VALUE);
+                this.pos = lowerBound(leaf, min, Integer.MIN_VALUE);
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (expectedModCount != modCount) {
+                throw new ConcurrentModificationException();
+            }
+
+            while (leaf != null && pos >= leaf.size) {
+                leaf = leaf.next;
+                pos = 0;
+            }
+
+            return leaf != null && leaf.keys[pos] <= max;
+        }
+
+        @Override
+        public Integer next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            return leaf.values[pos++];
+        }
+    }
+
+    /**
+     * Cursor decrescente sobre todas as entradas (folhas de trás para frente).
+     */
+    private final class DescendingCursor implements IndexCursor<Integer> {
+
+        private final int expectedModCount = modCount;
+        private Leaf leaf = tail;
+        private int pos = tail.size - 1;
+
+        @Override
+        public boolean hasNext() {
+            if (expectedModCount != modCount) {
+                throw new ConcurrentModificationException();
+            }
+
+            while (leaf != null && pos < 0) {
+                leaf = leaf.prev;
+                pos = leaf == null ? -1 : leaf.size - 1;
+            }
+
+            return leaf != null;
+        }
+
+        @Override
+        public Integer next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            return leaf.values[pos--];
+        }
+    }
+
+    // ================================================================
+    // CARGA EM LOTE
+    // ================================================================
+
+    /**
+     * Reconstrói a árvore de baixo para cima a partir dos slots:
+     * ordena os pares (chave, slot), preenche as folhas em sequência
+     * e monta os níveis internos sobre elas.
+     *
+     * @param data Slots a indexar
+     */
+    @Override
+    public void rebuild(List<Integer> data) {
+        long[] pairs = new long[data.size()];
+        int n = 0;
+
+        for (int slot : data) {
+            pairs[n++] = ((long) keyExtractor.applyAsInt(slot) << 32) | (slot & 0xFFFFFFFFL);
+        }
+
+        Arrays.sort(pairs);
+        bulkLoad(pairs);
+    }
+
+    private void bulkLoad(long[] pairs) {
+        clear();
+
+        if (pairs.length == 0) {
+            return;
+        }
+
+        // Folhas
+        int leafCount = (pairs.length + BULK_FILL - 1) / BULK_FILL;
+        List<Node> level = new ArrayList<>(leafCount);
+        Leaf previous = null;
+        int offset = 0;
+
+        for (int l = 0; l < leafCount; l++) {
+            int count = share(pairs.length, leafCount, l);
+            Leaf leaf = new Leaf();
+
+            for (int i = 0; i < count; i++) {
+                long pair = pairs[offset++];
+                leaf.keys[i] = (int) (pair >> 32);
+                leaf.values[i] = (int) pair;
+
+                if (entryCount == 0 || leaf.keys[i] != lastKey(leaf, i, previous)) {
+                    keyCount++;
+                }
+                entryCount++;
+            }
+            leaf.size = count;
+
+            leaf.prev = previous;
+            if (previous != null) {
+                previous.next = leaf;
+            }
+            previous = leaf;
+            level.add(leaf);
+        }
+
+        head = (Leaf) level.get(0);
+        tail = previous;
+
+        // Níveis internos
+        while (level.size() > 1) {
+            int parentCount = (level.size() + BULK_FILL) / (BULK_FILL + 1);
+            List<Node> parents = new ArrayList<>(parentCount);
+            int child = 0;
+
+            for (int p = 0; p < parentCount; p++) {
+                int count = share(level.size(), parentCount, p);
+                Inner inner = new Inner();
+
+                for (int c = 0; c < count; c++) {
+                    Node node = level.get(child++);
+                    inner.children[c] = node;
+
+                    if (c > 0) {
+                        Leaf first = firstLeaf(node);
+                        inner.keys[c - 1] = first.keys[0];
+                        inner.values[c - 1] = first.values[0];
+                    }
+                }
+                inner.size = count - 1;
+                parents.add(inner);
+            }
+
+            level = parents;
+        }
+
+        root = level.get(0);
+        modCount++;
+    }
+
+    private static int share(int total, int parts, int index) {
+        return total / parts + (index < total % parts ? 1 : 0);
+    }
+
+    private static int lastKey(Leaf leaf, int i, Leaf previous) {
+        return i > 0 ? leaf.keys[i - 1] : previous.keys[previous.size - 1];
+    }
+
+    private static Leaf firstLeaf(Node node) {
+        while (node instanceof Inner inner) {
+            node = inner.children[0];
+        }
+        return (Leaf) node;
+    }
+
+    // ================================================================
+    // TAMANHO E ESTATÍSTICAS
+    // ================================================================
+
+    @Override
+    public void clear() {
+        Leaf leaf = new Leaf();
+        root = leaf;
+        head = leaf;
+        tail = leaf;
+        entryCount = 0;
+        keyCount = 0;
+        modCount++;
+    }
+
+    /**
+     * Retorna o número de chaves distintas.
+     */
+    @Override
+    public int size() {
+        return keyCount;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return entryCount == 0;
+    }
+
+    /**
+     * Retorna o número de pares (chave, slot).
+     *
+     * @return Número de registros indexados
+     */
+    @Override
+    public int entryCount() {
+        return entryCount;
+    }
+
+    /**
+     * Retorna a menor chave no índice.
+     *
+     * @return Menor chave ou null se vazio
+     */
+    public Integer getMinKey() {
+        Leaf leaf = head;
+        while (leaf != null && leaf.size == 0) {
+            leaf = leaf.next;
+        }
+        return leaf == null ? null : leaf.keys[0];
+    }
+
+    /**
+     * Retorna a maior chave no índice.
+     *
+     * @return Maior chave ou null se vazio
+     */
+    public Integer getMaxKey() {
+        Leaf leaf = tail;
+        while (leaf != null && leaf.size == 0) {
+            leaf = leaf.prev;
+        }
+        return leaf == null ? null : leaf.keys[leaf.size - 1];
+    }
+
+    /**
+     * Retorna a altura da árvore (1 = apenas a raiz folha).
+     *
+     * @return Altura
+     */
+    public int height() {
+        int height = 1;
+        for (Node node = root; node instanceof Inner inner; node = inner.children[0]) {
+            height++;
+        }
+        return height;
+    }
+
+    /**
+     * Retorna estatísticas do índice.
+     *
+     * @return String com estatísticas
+     */
+    @Override
+    public String getStats() {
+        int leaves = 0;
+        for (Leaf leaf = head; leaf != null; leaf = leaf.next) {
+            leaves++;
+        }
+
+        return String.format("%s: %d chaves, %d registros, range[%s, %s], B+Tree altura %d, %d folhas",
+                indexName, size(), entryCount, getMinKey(), getMaxKey(), height(), leaves);
+    }
+
+    @Override
+    public String toString() {
+        return getStats();
+    }
+}
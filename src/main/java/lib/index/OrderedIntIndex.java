@@ -0,0 +1,61 @@
+package lib.index;
+
+import java.util.function.BiConsumer;
+import java.util.function.IntConsumer;
+
+/**
+ * Índice ordenado de chaves int para slots.
+ *
+ * Implementado em memória (IntBTreeIndex) e em disco (PagedBTreeIndex).
+ * O IndexManager usa apenas esta interface, então a escolha entre
+ * as duas implementações não afeta o planner.
+ *
+ * @author SQL Parser Team
+ * @version 1.2
+ */
+public interface OrderedIntIndex extends Index<Integer, Integer> {
+    
+    /**
+     * Insere o par (chave, slot) sem boxing.
+     */
+    void insert(int key, int slot);
+    
+    /**
+     * Remove o par (chave, slot) sem boxing.
+     * 
+     * @return true se removeu
+     */
+    boolean remove(int key, int slot);
+    
+    /**
+     * Percorre os slots com chave em [min, max], em ordem de chave.
+     */
+    IndexCursor<Integer> rangeCursor(int min, int max);
+    
+    /**
+     * Percorre os slots com chave em [min, max] sem boxing.
+     */
+    void forEachInRange(int min, int max, IntConsumer action);
+    
+    /**
+     * Percorre todos os slots ordenados pela chave.
+     * 
+     * @param ascending true para crescente, false para decrescente
+     */
+    IndexCursor<Integer> orderedCursor(boolean ascending);
+    
+    /**
+     * Percorre as chaves em ordem crescente com o número de registros de cada uma.
+     */
+    void forEachKey(BiConsumer<Integer, Integer> action);
+    
+    /**
+     * Retorna o número de pares (chave, slot).
+     */
+    int entryCount();
+    
+    /**
+     * Retorna estatísticas do índice.
+     */
+    String getStats();
+}
@@ -0,0 +1,912 @@
+package lib.index;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.function.BiConsumer;
+import java.util.function.IntConsumer;
+import java.util.function.IntUnaryOperator;
+
+/**
+ * Índice B+Tree paginado em disco, para chaves int e slots.
+ *
+ * O arquivo é dividido em páginas de 4 KB acessadas por um BufferPool
+ * (LRU, checksum CRC32 por página). Assim o índice sobrevive a um
+ * restart: se o arquivo foi sincronizado no último checkpoint e o
+ * carimbo (stamp) bate com os dados carregados, basta abri-lo.
+ *
+ * Layout:
+ *   Página 0 (meta): magic, versão, raiz, registros, chaves, stamp, limpo
+ *   Folha:   [crc|tipo|n|próx|ant] [(chave,slot) ...]
+ *   Interna: [crc|tipo|n|-|-] [filho0] [(chave,slot,filho) ...]
+ *
+ * Enquanto o arquivo tem alterações não sincronizadas, a meta é
+ * marcada como "suja"; um crash nesse intervalo faz o índice ser
+ * reconstruído na próxima abertura.
+ *
+ * Remoções não rebalanceiam as páginas: folhas esvaziadas continuam
+ * encadeadas e são recuperadas na próxima reconstrução (compactação).
+ *
+ * @author SQL Parser Team
+ * @version 1.1
+ */
+public class PagedBTreeIndex implements OrderedIntIndex, AutoCloseable {
+
+    private static final int MAGIC = 0x53424958;  // "SBIX"
+    private static final int VERSION = 1;
+
+    // Página de metadados
+    private static final int META_PAGE = 0;
+    private static final int META_MAGIC = 4;
+    private static final int META_VERSION = 8;
+    private static final int META_ROOT = 12;
+    private static final int META_ENTRIES = 16;
+    private static final int META_KEYS = 20;
+    private static final int META_STAMP = 24;
+    private static final int META_CLEAN = 32;
+
+    // Cabeçalho das páginas de nó
+    private static final byte LEAF = 1;
+    private static final byte INNER = 2;
+    private static final int NODE_TYPE = 4;
+    private static final int NODE_COUNT = 8;
+    private static final int NODE_NEXT = 12;
+    private static final int NODE_PREV = 16;
+    private static final int NODE_HEADER = 20;
+
+    // Folha: (chave, slot) = 8 bytes por entrada
+    static final int LEAF_MAX = (BufferPool.PAGE_SIZE - NODE_HEADER) / 8;
+
+    // Interna: filho0 + (chave, slot, filho) = 12 bytes por entrada
+    static final int INNER_MAX = (BufferPool.PAGE_SIZE - NODE_HEADER - 4) / 12;
+
+    // Ocupação na carga em lote (deixa espaço para inserts)
+    private static final int LEAF_BULK = LEAF_MAX * 3 / 4;
+    private static final int INNER_BULK = INNER_MAX * 3 / 4;
+
+    private static final int NONE = -1;
+
+    private final BufferPool pool;
+    private final IntUnaryOperator keyExtractor;
+    private final String indexName;
+
+    private int root;
+    private int entryCount;
+    private int keyCount;
+    private boolean clean;
+    private int modCount;
+
+    // Separador gerado pelo último split
+    private int splitKey;
+    private int splitSlot;
+    private int splitPage;
+
+    /**
+     * Abre (ou cria) o arquivo do índice.
+     * O conteúdo só é usado se open() confirmar o stamp;
+     * caso contrário o chamador deve reconstruí-lo com rebuild().
+     *
+     * @param file Arquivo do índice
+     * @param keyExtractor Função que extrai a chave de um slot
+     * @param indexName Nome do índice (para debug)
+     * @param poolPages Número de páginas mantidas em memória
+     * @throws IOException Se erro ao abrir o arquivo
+     */
+    public PagedBTreeIndex(Path file, IntUnaryOperator keyExtractor,
+                           String indexName, int poolPages) throws IOException {
+        this.pool = new BufferPool(file, poolPages);
+        this.keyExtractor = keyExtractor;
+        this.indexName = indexName;
+        this.root = NONE;
+    }
+
+    // ================================================================
+    // ABERTURA E SINCRONIZAÇÃO
+    // ================================================================
+
+    /**
+     * Tenta reaproveitar o arquivo existente.
+     *
+     * @param expectedStamp Stamp dos dados atualmente carregados
+     * @return true se o arquivo está íntegro, limpo e com o mesmo stamp
+     */
+    public boolean open(long expectedStamp) {
+        if (pool.getPageCount() == 0) {
+            return false;
+        }
+
+        try {
+            ByteBuffer meta = pool.get(META_PAGE).data;
+
+            if (meta.getInt(META_MAGIC) != MAGIC
+                    || meta.getInt(META_VERSION) != VERSION
+                    || meta.get(META_CLEAN) != 1
+                    || meta.getLong(META_STAMP) != expectedStamp) {
+                return false;
+            }
+
+            root = meta.getInt(META_ROOT);
+            entryCount = meta.getInt(META_ENTRIES);
+            keyCount = meta.getInt(META_KEYS);
+
+            // Confere a raiz (checksum) antes de aceitar o arquivo
+            pool.get(root);
+
+            clean = true;
+            modCount++;
+            return true;
+
+        } catch (IOException e) {
+            System.err.println("⚠ " + indexName + ": arquivo inválido (" + e.getMessage() + ")");
+            root = NONE;
+            return false;
+        }
+    }
+
+    /**
+     * Grava todas as páginas e marca o arquivo como limpo para o stamp
+     * informado. Deve ser chamado logo após o snapshot (checkpoint).
+     *
+     * @param stamp Stamp dos dados do snapshot
+     * @throws IOException Se erro de escrita
+     */
+    public void sync(long stamp) throws IOException {
+        ensureInitialized();
+        pool.flush();
+        writeMeta(true, stamp);
+        clean = true;
+    }
+
+    @Override
+    public void close() throws IOException {
+        pool.close();
+    }
+
+    /**
+     * Indica se o arquivo está sincronizado com o último stamp.
+     */
+    public boolean isClean() {
+        return clean;
+    }
+
+    /**
+     * Contador de alterações: muda a cada inserção, remoção, carga ou
+     * abertura. Usado para saber se o índice ainda é o de um snapshot.
+     */
+    int modCount() {
+        return modCount;
+    }
+
+    // ================================================================
+    // INSERT
+    // ================================================================
+
+    @Override
+    public void insert(Integer key, Integer slot) {
+        insert((int) key, (int) slot);
+    }
+
+    @Override
+    public void insert(int key, int slot) {
+        try {
+            ensureInitialized();
+
+            if (contains(key, slot)) {
+                return;
+            }
+
+            boolean newKey = !containsKey(key);
+            markUnclean();
+
+            if (insert(root, key, slot)) {
+                BufferPool.Page newRoot = newNode(INNER);
+                ByteBuffer b = newRoot.data;
+                b.putInt(NODE_HEADER, root);
+                putInnerEntry(b, 0, splitKey, splitSlot, splitPage);
+                b.putInt(NODE_COUNT, 1);
+                root = newRoot.getId();
+            }
+
+            entryCount++;
+            if (newKey) {
+                keyCount++;
+            }
+            modCount++;
+
+        } catch (IOException e) {
+            throw failure(e);
+        }
+    }
+
+    /**
+     * Insere recursivamente. Retorna true se a página dividiu
+     * (separador em splitKey/splitSlot/splitPage).
+     */
+    private boolean insert(int pageId, int key, int slot) throws IOException {
+        BufferPool.Page page = pool.get(pageId);
+        ByteBuffer b = page.data;
+        int count = b.getInt(NODE_COUNT);
+
+        if (b.get(NODE_TYPE) == LEAF) {
+            if (count < LEAF_MAX) {
+                leafInsert(page, key, slot);
+                return false;
+            }
+
+            BufferPool.Page right = splitLeaf(page);
+            leafInsert(compare(key, slot, splitKey, splitSlot) < 0 ? page : right, key, slot);
+            return true;
+        }
+
+        int i = childIndex(b, key, slot);
+        if (!insert(childAt(b, i), key, slot)) {
+            return false;
+        }
+
+        int newKey = splitKey;
+        int newSlot = splitSlot;
+        int newChild = splitPage;
+
+        if (count < INNER_MAX) {
+            innerInsert(page, i, newKey, newSlot, newChild);
+            return false;
+        }
+
+        // Divide a página interna e insere o separador na metade certa
+        int mid = count / 2;
+        BufferPool.Page right = splitInner(page, mid);
+        int pushedKey = splitKey;
+        int pushedSlot = splitSlot;
+        int rightId = splitPage;
+
+        if (i <= mid) {
+            innerInsert(page, i, newKey, newSlot, newChild);
+        } else {
+            innerInsert(right, i - mid - 1, newKey, newSlot, newChild);
+        }
+
+        splitKey = pushedKey;
+        splitSlot = pushedSlot;
+        splitPage = rightId;
+        return true;
+    }
+
+    private void leafInsert(BufferPool.Page page, int key, int slot) {
+        ByteBuffer b = page.data;
+        int count = b.getInt(NODE_COUNT);
+        int pos = lowerBound(b, key, slot);
+        int offset = leafOffset(pos);
+
+        System.arraycopy(b.array(), offset, b.array(), offset + 8, (count - pos) * 8);
+        b.putInt(offset, key);
+        b.putInt(offset + 4, slot);
+        b.putInt(NODE_COUNT, count + 1);
+        pool.markDirty(page);
+    }
+
+    private void innerInsert(BufferPool.Page page, int pos, int key, int slot, int child) {
+        ByteBuffer b = page.data;
+        int count = b.getInt(NODE_COUNT);
+        int offset = innerOffset(pos);
+
+        System.arraycopy(b.array(), offset, b.array(), offset + 12, (count - pos) * 12);
+        putInnerEntry(b, pos, key, slot, child);
+        b.putInt(NODE_COUNT, count + 1);
+        pool.markDirty(page);
+    }
+
+    private BufferPool.Page splitLeaf(BufferPool.Page page) throws IOException {
+        ByteBuffer b = page.data;
+        int count = b.getInt(NODE_COUNT);
+        int mid = count / 2;
+
+        BufferPool.Page right = newNode(LEAF);
+        ByteBuffer r = right.data;
+
+        System.arraycopy(b.array(), leafOffset(mid), r.array(), leafOffset(0), (count - mid) * 8);
+        r.putInt(NODE_COUNT, count - mid);
+        b.putInt(NODE_COUNT, mid);
+
+        // Encadeamento: page ⇄ right ⇄ antigo próximo
+        int next = b.getInt(NODE_NEXT);
+        r.putInt(NODE_NEXT, next);
+        r.putInt(NODE_PREV, page.getId());
+        b.putInt(NODE_NEXT, right.getId());
+
+        if (next != NONE) {
+            BufferPool.Page nextPage = pool.get(next);
+            nextPage.data.putInt(NODE_PREV, right.getId());
+            pool.markDirty(nextPage);
+        }
+
+        pool.markDirty(page);
+
+        splitKey = r.getInt(leafOffset(0));
+        splitSlot = r.getInt(leafOffset(0) + 4);
+        splitPage = right.getId();
+        return right;
+    }
+
+    private BufferPool.Page splitInner(BufferPool.Page page, int mid) throws IOException {
+        ByteBuffer b = page.data;
+        int count = b.getInt(NODE_COUNT);
+
+        BufferPool.Page right = newNode(INNER);
+        ByteBuffer r = right.data;
+
+        // O separador do meio sobe para o pai
+        splitKey = b.getInt(innerOffset(mid));
+        splitSlot = b.getInt(innerOffset(mid) + 4);
+        splitPage = right.getId();
+
+        r.putInt(NODE_HEADER, childAt(b, mid + 1));
+        System.arraycopy(b.array(), innerOffset(mid + 1), r.array(), innerOffset(0),
+                (count - mid - 1) * 12);
+        r.putInt(NODE_COUNT, count - mid - 1);
+        b.putInt(NODE_COUNT, mid);
+
+        pool.markDirty(page);
+        return right;
+    }
+
+    // ================================================================
+    // REMOVE
+    // ================================================================
+
+    @Override
+    public boolean remove(Integer key, Integer slot) {
+        return remove((int) key, (int) slot);
+    }
+
+    @Override
+    public boolean remove(int key, int slot) {
+        try {
+            ensureInitialized();
+
+            BufferPool.Page page = findLeaf(key, slot);
+            ByteBuffer b = page.data;
+            int count = b.getInt(NODE_COUNT);
+            int pos = lowerBound(b, key, slot);
+
+            if (pos >= count || leafKey(b, pos) != key || leafSlot(b, pos) != slot) {
+                return false;
+            }
+
+            markUnclean();
+
+            int offset = leafOffset(pos);
+            System.arraycopy(b.array(), offset + 8, b.array(), offset, (count - pos - 1) * 8);
+            b.putInt(NODE_COUNT, count - 1);
+            pool.markDirty(page);
+
+            entryCount--;
+            modCount++;
+            if (!containsKey(key)) {
+                keyCount--;
+            }
+            return true;
+
+        } catch (IOException e) {
+            throw failure(e);
+        }
+    }
+
+    // ================================================================
+    // BUSCAS
+    // ================================================================
+
+    /**
+     * Verifica se o par (chave, slot) está no índice.
+     */
+    public boolean contains(int key, int slot) {
+        try {
+            ByteBuffer b = findLeaf(key, slot).data;
+            int pos = lowerBound(b, key, slot);
+            return pos < b.getInt(NODE_COUNT) && leafKey(b, pos) == key && leafSlot(b, pos) == slot;
+        } catch (IOException e) {
+            throw failure(e);
+        }
+    }
+
+    /**
+     * Verifica se existe algum registro com a chave.
+     */
+    public boolean containsKey(int key) {
+        return new RangeCursor(key, key).hasNext();
+    }
+
+    @Override
+    public List<Integer> search(Integer key) {
+        return cursor(key).toList();
+    }
+
+    @Override
+    public IndexCursor<Integer> cursor(Integer key) {
+        return new RangeCursor(key, key);
+    }
+
+    @Override
+    public IndexCursor<Integer> rangeCursor(int min, int max) {
+        return new RangeCursor(min, max);
+    }
+
+    @Override
+    public void forEachInRange(int min, int max, IntConsumer action) {
+        RangeCursor cursor = new RangeCursor(min, max);
+        while (cursor.hasNext()) {
+            action.accept(cursor.nextSlot());
+        }
+    }
+
+    @Override
+    public IndexCursor<Integer> orderedCursor(boolean ascending) {
+        return ascending
+                ? new RangeCursor(Integer.MIN_VALUE, Integer.MAX_VALUE)
+                : new DescendingCursor();
+    }
+
+    @Override
+    public void forEachKey(BiConsumer<Integer, Integer> action) {
+        try {
+            ensureInitialized();
+
+            boolean started = false;
+            int current = 0;
+            int count = 0;
+
+            for (int id = edgeLeaf(true); id != NONE; ) {
+                ByteBuffer b = pool.get(id).data;
+                int size = b.getInt(NODE_COUNT);
+
+                for (int i = 0; i < size; i++) {
+                    int key = leafKey(b, i);
+                    if (started && key == current) {
+                        count++;
+                        continue;
+                    }
+                    if (started) {
+                        action.accept(current, count);
+                    }
+                    started = true;
+                    current = key;
+                    count = 1;
+                }
+
+                id = b.getInt(NODE_NEXT);
+            }
+
+            if (started) {
+                action.accept(current, count);
+            }
+
+        } catch (IOException e) {
+            throw failure(e);
+        }
+    }
+
+    /**
+     * Cursor crescente limitado por [min, max], folha a folha.
+     */
+    private final class RangeCursor implements IndexCursor<Integer> {
+
+        private final int max;
+        private final int expectedModCount;
+        private int leaf = NONE;
+        private int pos;
+
+        RangeCursor(int min, int max) {
+            this.max = max;
+
+            try {
+                ensureInitialized();
+
+                if (min <= max) {
+                    BufferPool.Page page = findLeaf(min, Integer.MIN_VALUE);
+                    this.leaf = page.getId();
+                    this.pos = lowerBound(page.data, min, Integer.MIN_VALUE);
+                }
+            } catch (IOException e) {
+                throw failure(e);
+            }
+
+            this.expectedModCount = modCount;
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (expectedModCount != modCount) {
+                throw new ConcurrentModificationException();
+            }
+
+            try {
+                while (leaf != NONE) {
+                    ByteBuffer b = pool.get(leaf).data;
+
+                    if (pos < b.getInt(NODE_COUNT)) {
+                        return leafKey(b, pos) <= max;
+                    }
+
+                    leaf = b.getInt(NODE_NEXT);
+                    pos = 0;
+                }
+                return false;
+
+            } catch (IOException e) {
+                throw failure(e);
+            }
+        }
+
+        int nextSlot() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+
+            try {
+                return leafSlot(pool.get(leaf).data, pos++);
+            } catch (IOException e) {
+                throw failure(e);
+            }
+        }
+
+        @Override
+        public Integer next() {
+            return nextSlot();
+        }
+    }
+
+    /**
+     * Cursor decrescente sobre todas as entradas.
+     */
+    private final class DescendingCursor implements IndexCursor<Integer> {
+
+        private final int expectedModCount;
+        private int leaf;
+        private int pos;
+
+        DescendingCursor() {
+            try {
+                ensureInitialized();
+                this.leaf = edgeLeaf(false);
+                this.pos = pool.get(leaf).data.getInt(NODE_COUNT) - 1;
+            } catch (IOException e) {
+                throw failure(e);
+            }
+
+            this.expectedModCount = modCount;
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (expectedModCount != modCount) {
+                throw new ConcurrentModificationException();
+            }
+
+            try {
+                while (leaf != NONE && pos < 0) {
+                    leaf = pool.get(leaf).data.getInt(NODE_PREV);
+                    pos = leaf == NONE ? -1 : pool.get(leaf).data.getInt(NODE_COUNT) - 1;
+                }
+                return leaf != NONE;
+
+            } catch (IOException e) {
+                throw failure(e);
+            }
+        }
+
+        @Override
+        public Integer next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+
+            try {
+                return leafSlot(pool.get(leaf).data, pos--);
+            } catch (IOException e) {
+                throw failure(e);
+            }
+        }
+    }
+
+    // ================================================================
+    // CARGA EM LOTE
+    // ================================================================
+
+    /**
+     * Reescreve o arquivo a partir dos slots: ordena os pares
+     * (chave, slot), grava as folhas em sequência e monta os
+     * níveis internos sobre elas.
+     *
+     * @param data Slots a indexar
+     */
+    @Override
+    public void rebuild(List<Integer> data) {
+        long[] pairs = new long[data.size()];
+        int n = 0;
+
+        for (int slot : data) {
+            pairs[n++] = ((long) keyExtractor.applyAsInt(slot) << 32) | (slot & 0xFFFFFFFFL);
+        }
+
+        Arrays.sort(pairs);
+
+        try {
+            bulkLoad(pairs);
+        } catch (IOException e) {
+            throw failure(e);
+        }
+    }
+
+    private void bulkLoad(long[] pairs) throws IOException {
+        reset();
+
+        int leafCount = Math.max(1, (pairs.length + LEAF_BULK - 1) / LEAF_BULK);
+        List<int[]> level = new ArrayList<>(leafCount);  // {página, menor chave, menor slot}
+        BufferPool.Page previous = null;
+        int offset = 0;
+
+        for (int l = 0; l < leafCount; l++) {
+            int count = share(pairs.length, leafCount, l);
+            BufferPool.Page leaf = newNode(LEAF);
+            ByteBuffer b = leaf.data;
+
+            for (int i = 0; i < count; i++) {
+                long pair = pairs[offset];
+                int key = (int) (pair >> 32);
+
+                b.putInt(leafOffset(i), key);
+                b.putInt(leafOffset(i) + 4, (int) pair);
+
+                if (offset == 0 || key != (int) (pairs[offset - 1] >> 32)) {
+                    keyCount++;
+                }
+                offset++;
+            }
+            b.putInt(NODE_COUNT, count);
+
+            if (previous != null) {
+                previous.data.putInt(NODE_NEXT, leaf.getId());
+                b.putInt(NODE_PREV, previous.getId());
+                pool.markDirty(previous);
+            }
+            previous = leaf;
+
+            level.add(new int[]{leaf.getId(), b.getInt(leafOffset(0)), b.getInt(leafOffset(0) + 4)});
+        }
+
+        while (level.size() > 1) {
+            int parentCount = (level.size() + INNER_BULK) / (INNER_BULK + 1);
+            List<int[]> parents = new ArrayList<>(parentCount);
+            int child = 0;
+
+            for (int p = 0; p < parentCount; p++) {
+                int count = share(level.size(), parentCount, p);
+                BufferPool.Page inner = newNode(INNER);
+                ByteBuffer b = inner.data;
+                int[] first = level.get(child);
+
+                b.putInt(NODE_HEADER, first[0]);
+                for (int c = 1; c < count; c++) {
+                    int[] node = level.get(child + c);
+                    putInnerEntry(b, c - 1, node[1], node[2], node[0]);
+                }
+                b.putInt(NODE_COUNT, count - 1);
+                child += count;
+
+                parents.add(new int[]{inner.getId(), first[1], first[2]});
+            }
+
+            level = parents;
+        }
+
+        root = level.get(0)[0];
+        entryCount = pairs.length;
+        modCount++;
+        writeMeta(false, 0);
+    }
+
+    private static int share(int total, int parts, int index) {
+        return total / parts + (index < total % parts ? 1 : 0);
+    }
+
+    @Override
+    public void clear() {
+        try {
+            reset();
+            newNode(LEAF);
+            root = 1;
+            writeMeta(false, 0);
+        } catch (IOException e) {
+            throw failure(e);
+        }
+    }
+
+    /**
+     * Esvazia o arquivo e reserva a página de metadados.
+     */
+    private void reset() throws IOException {
+        pool.truncate();
+        pool.allocate();
+        entryCount = 0;
+        keyCount = 0;
+        clean = false;
+        modCount++;
+    }
+
+    // ================================================================
+    // TAMANHO E ESTATÍSTICAS
+    // ================================================================
+
+    @Override
+    public int size() {
+        return keyCount;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return entryCount == 0;
+    }
+
+    @Override
+    public int entryCount() {
+        return entryCount;
+    }
+
+    @Override
+    public String getStats() {
+        return String.format("%s: %d chaves, %d registros, B+Tree em disco (%s)",
+                indexName, size(), entryCount, pool.getStats());
+    }
+
+    @Override
+    public String toString() {
+        return getStats();
+    }
+
+    // ================================================================
+    // AUXILIARES
+    // ================================================================
+
+    private void ensureInitialized() throws IOException {
+        if (root == NONE) {
+            clear();
+        }
+    }
+
+    /**
+     * Antes da primeira alteração após um sync, grava a meta como suja.
+     */
+    private void markUnclean() throws IOException {
+        if (clean) {
+            clean = false;
+            writeMeta(false, 0);
+        }
+    }
+
+    private void writeMeta(boolean isClean, long stamp) throws IOException {
+        BufferPool.Page page = pool.get(META_PAGE);
+        ByteBuffer meta = page.data;
+
+        meta.putInt(META_MAGIC, MAGIC);
+        meta.putInt(META_VERSION, VERSION);
+        meta.putInt(META_ROOT, root);
+        meta.putInt(META_ENTRIES, entryCount);
+        meta.putInt(META_KEYS, keyCount);
+        meta.putLong(META_STAMP, stamp);
+        meta.put(META_CLEAN, (byte) (isClean ? 1 : 0));
+
+        pool.writeThrough(page, true);
+    }
+
+    private BufferPool.Page newNode(byte type) throws IOException {
+        BufferPool.Page page = pool.allocate();
+        ByteBuffer b = page.data;
+        b.put(NODE_TYPE, type);
+        b.putInt(NODE_COUNT, 0);
+        b.putInt(NODE_NEXT, NONE);
+        b.putInt(NODE_PREV, NONE);
+        return page;
+    }
+
+    private BufferPool.Page findLeaf(int key, int slot) throws IOException {
+        BufferPool.Page page = pool.get(root);
+
+        while (page.data.get(NODE_TYPE) == INNER) {
+            page = pool.get(childAt(page.data, childIndex(page.data, key, slot)));
+        }
+
+        return page;
+    }
+
+    /**
+     * Folha mais à esquerda (first = true) ou mais à direita.
+     */
+    private int edgeLeaf(boolean first) throws IOException {
+        int id = root;
+        ByteBuffer b = pool.get(id).data;
+
+        while (b.get(NODE_TYPE) == INNER) {
+            id = childAt(b, first ? 0 : b.getInt(NODE_COUNT));
+            b = pool.get(id).data;
+        }
+
+        return id;
+    }
+
+    private static int compare(int k1, int s1, int k2, int s2) {
+        return k1 != k2 ? Integer.compare(k1, k2) : Integer.compare(s1, s2);
+    }
+
+    private static int lowerBound(ByteBuffer b, int key, int slot) {
+        int lo = 0;
+        int hi = b.getInt(NODE_COUNT);
+
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+
+            if (compare(leafKey(b, mid), leafSlot(b, mid), key, slot) < 0) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+
+        return lo;
+    }
+
+    private static int childIndex(ByteBuffer b, int key, int slot) {
+        int lo = 0;
+        int hi = b.getInt(NODE_COUNT);
+
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            int offset = innerOffset(mid);
+
+            if (compare(b.getInt(offset), b.getInt(offset + 4), key, slot) <= 0) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+
+        return lo;
+    }
+
+    private static int leafOffset(int i) {
+        return NODE_HEADER + i * 8;
+    }
+
+    private static int leafKey(ByteBuffer b, int i) {
+        return b.getInt(leafOffset(i));
+    }
+
+    private static int leafSlot(ByteBuffer b, int i) {
+        return b.getInt(leafOffset(i) + 4);
+    }
+
+    /**
+     * Offset do separador i (o filho i+1 vem logo após o par).
+     */
+    private static int innerOffset(int i) {
+        return NODE_HEADER + 4 + i * 12;
+    }
+
+    private static int childAt(ByteBuffer b, int i) {
+        return b.getInt(NODE_HEADER + i * 12);
+    }
+
+    private static void putInnerEntry(ByteBuffer b, int i, int key, int slot, int child) {
+        int offset = innerOffset(i);
+        b.putInt(offset, key);
+        b.putInt(offset + 4, slot);
+        b.putInt(offset + 8, child);
+    }
+
+    private RuntimeException failure(IOException e) {
+        return new RuntimeException("Erro de I/O no índice " + indexName + ": " + e.getMessage(), e);
+    }
+}
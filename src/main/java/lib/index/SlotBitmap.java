@@ -0,0 +1,695 @@
+package lib.index;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+import java.util.function.IntConsumer;
+
+/**
+ * Conjunto compactado de slots no estilo Roaring Bitmap.
+ *
+ * O slot (int não negativo) é dividido em duas metades de 16 bits:
+ * - parte alta: escolhe o container (um por bloco de 65536 slots)
+ * - parte baixa: posição dentro do container
+ *
+ * Cada container usa a representação mais compacta:
+ * - ArrayContainer: char[] ordenado, para até 4096 valores
+ * - BitmapContainer: long[1024] (8 KB), para blocos densos
+ *
+ * AND/OR são feitos container a container, sem criar objetos por slot.
+ * A iteração é sempre em ordem crescente de slot.
+ *
+ * @author SQL Parser Team
+ * @version 1.0
+ */
+public class SlotBitmap {
+
+    // Limite de valores de um ArrayContainer antes de virar bitmap
+    static final int ARRAY_MAX = 4096;
+
+    // Partes altas (ordenadas) e containers correspondentes
+    private char[] keys;
+    private Container[] containers;
+    private int size;
+
+    public SlotBitmap() {
+        this.keys = new char[4];
+        this.containers = new Container[4];
+        this.size = 0;
+    }
+
+    /**
+     * Cria um bitmap a partir de slots em ordem crescente.
+     *
+     * @param sortedSlots Slots ordenados
+     * @return Novo bitmap
+     */
+    public static SlotBitmap of(int[] sortedSlots) {
+        SlotBitmap bitmap = new SlotBitmap();
+        for (int slot : sortedSlots) {
+            bitmap.add(slot);
+        }
+        return bitmap;
+    }
+
+    // ================================================================
+    // OPERAÇÕES POR SLOT
+    // ================================================================
+
+    /**
+     * Adiciona um slot ao conjunto.
+     *
+     * @param slot Slot (não negativo)
+     */
+    public void add(int slot) {
+        char high = (char) (slot >>> 16);
+        int i = indexOf(high);
+
+        if (i >= 0) {
+            containers[i] = containers[i].add((char) slot);
+        } else {
+            insertContainer(-i - 1, high, new ArrayContainer().add((char) slot));
+        }
+    }
+
+    /**
+     * Remove um slot do conjunto.
+     *
+     * @param slot Slot
+     * @return true se o slot estava presente
+     */
+    public boolean remove(int slot) {
+        int i = indexOf((char) (slot >>> 16));
+
+        if (i < 0 || !containers[i].contains((char) slot)) {
+            return false;
+        }
+
+        containers[i] = containers[i].remove((char) slot);
+
+        if (containers[i].cardinality() == 0) {
+            removeContainer(i);
+        }
+
+        return true;
+    }
+
+    /**
+     * Verifica se o slot está no conjunto.
+     *
+     * @param slot Slot
+     * @return true se presente
+     */
+    public boolean contains(int slot) {
+        int i = indexOf((char) (slot >>> 16));
+        return i >= 0 && containers[i].contains((char) slot);
+    }
+
+    /**
+     * Retorna o número de slots no conjunto.
+     *
+     * @return Cardinalidade
+     */
+    public int cardinality() {
+        int total = 0;
+        for (int i = 0; i < size; i++) {
+            total += containers[i].cardinality();
+        }
+        return total;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    // ================================================================
+    // OPERAÇÕES DE CONJUNTO
+    // ================================================================
+
+    /**
+     * Interseção com outro bitmap. Nenhum dos dois é modificado.
+     *
+     * @param other Outro bitmap
+     * @return Novo bitmap com os slots presentes em ambos
+     */
+    public SlotBitmap and(SlotBitmap other) {
+        SlotBitmap result = new SlotBitmap();
+        int i = 0, j = 0;
+
+        while (i < size && j < other.size) {
+            if (keys[i] < other.keys[j]) {
+                i++;
+            } else if (keys[i] > other.keys[j]) {
+                j++;
+            } else {
+                Container c = containers[i].and(other.containers[j]);
+                if (c.cardinality() > 0) {
+                    result.appendContainer(keys[i], c);
+                }
+                i++;
+                j++;
+            }
+        }
+
+        return result;
+    }
+
+    /**
+     * União com outro bitmap. Nenhum dos dois é modificado.
+     *
+     * @param other Outro bitmap
+     * @return Novo bitmap com os slots presentes em qualquer um
+     */
+    public SlotBitmap or(SlotBitmap other) {
+        SlotBitmap result = new SlotBitmap();
+        int i = 0, j = 0;
+
+        while (i < size && j < other.size) {
+            if (keys[i] < other.keys[j]) {
+                result.appendContainer(keys[i], containers[i].copy());
+                i++;
+            } else if (keys[i] > other.keys[j]) {
+                result.appendContainer(other.keys[j], other.containers[j].copy());
+                j++;
+            } else {
+                result.appendContainer(keys[i], containers[i].or(other.containers[j]));
+                i++;
+                j++;
+            }
+        }
+        for (; i < size; i++) {
+            result.appendContainer(keys[i], containers[i].copy());
+        }
+        for (; j < other.size; j++) {
+            result.appendContainer(other.keys[j], other.containers[j].copy());
+        }
+
+        return result;
+    }
+
+    /**
+     * Cria uma cópia independente do bitmap.
+     *
+     * @return Novo bitmap com os mesmos slots
+     */
+    public SlotBitmap copy() {
+        SlotBitmap result = new SlotBitmap();
+        for (int i = 0; i < size; i++) {
+            result.appendContainer(keys[i], containers[i].copy());
+        }
+        return result;
+    }
+
+    // ================================================================
+    // ITERAÇÃO
+    // ================================================================
+
+    /**
+     * Percorre os slots em ordem crescente.
+     *
+     * @param action Ação executada para cada slot
+     */
+    public void forEach(IntConsumer action) {
+        for (int i = 0; i < size; i++) {
+            containers[i].forEach(keys[i] << 16, action);
+        }
+    }
+
+    /**
+     * Iterador sobre os slots em ordem crescente, sem cópia.
+     * Válido até a próxima modificação do bitmap.
+     *
+     * @return Iterador de slots
+     */
+    public PrimitiveIterator.OfInt iterator() {
+        return new PrimitiveIterator.OfInt() {
+            private int index = 0;
+            private PrimitiveIterator.OfInt current = size > 0
+                    ? containers[0].iterator(keys[0] << 16)
+                    : null;
+
+            @Override
+            public boolean hasNext() {
+                while (current != null && !current.hasNext()) {
+                    index++;
+                    current = index < size ? containers[index].iterator(keys[index] << 16) : null;
+                }
+                return current != null;
+            }
+
+            @Override
+            public int nextInt() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                return current.nextInt();
+            }
+        };
+    }
+
+    /**
+     * Retorna os slots em ordem crescente.
+     *
+     * @return Array de slots
+     */
+    public int[] toArray() {
+        int[] result = new int[cardinality()];
+        int offset = 0;
+
+        for (int i = 0; i < size; i++) {
+            offset = containers[i].fill(result, offset, keys[i] << 16);
+        }
+
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("SlotBitmap: %d slots, %d containers", cardinality(), size);
+    }
+
+    // ================================================================
+    // AUXILIARES
+    // ================================================================
+
+    private int indexOf(char high) {
+        // Caminho rápido: inserções em ordem crescente caem no último container
+        if (size > 0 && keys[size - 1] == high) {
+            return size - 1;
+        }
+
+        int lo = 0;
+        int hi = size - 1;
+
+        while (lo <= hi) {
+            int mid = (lo + hi) >>> 1;
+
+            if (keys[mid] < high) {
+                lo = mid + 1;
+            } else if (keys[mid] > high) {
+                hi = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+
+        return -(lo + 1);
+    }
+
+    private void insertContainer(int pos, char high, Container container) {
+        if (size == keys.length) {
+            keys = Arrays.copyOf(keys, size * 2);
+            containers = Arrays.copyOf(containers, size * 2);
+        }
+
+        System.arraycopy(keys, pos, keys, pos + 1, size - pos);
+        System.arraycopy(containers, pos, containers, pos + 1, size - pos);
+
+        keys[pos] = high;
+        containers[pos] = container;
+        size++;
+    }
+
+    private void appendContainer(char high, Container container) {
+        insertContainer(size, high, container);
+    }
+
+    private void removeContainer(int pos) {
+        System.arraycopy(keys, pos + 1, keys, pos, size - pos - 1);
+        System.arraycopy(containers, pos + 1, containers, pos, size - pos - 1);
+        containers[--size] = null;
+    }
+
+    // ================================================================
+    // CONTAINERS
+    // ================================================================
+
+    /**
+     * Container de até 65536 valores (parte baixa do slot).
+     * Operações que mudam a representação retornam o novo container.
+     */
+    abstract static class Container {
+
+        abstract Container add(char value);
+
+        abstract Container remove(char value);
+
+        abstract boolean contains(char value);
+
+        abstract int cardinality();
+
+        abstract Container and(Container other);
+
+        abstract Container or(Container other);
+
+        abstract Container copy();
+
+        abstract void forEach(int base, IntConsumer action);
+
+        abstract PrimitiveIterator.OfInt iterator(int base);
+
+        abstract int fill(int[] out, int offset, int base);
+    }
+
+    /**
+     * Container esparso: valores ordenados em char[].
+     */
+    static final class ArrayContainer extends Container {
+
+        private char[] values;
+        private int cardinality;
+
+        ArrayContainer() {
+            this(new char[4], 0);
+        }
+
+        ArrayContainer(char[] values, int cardinality) {
+            this.values = values;
+            this.cardinality = cardinality;
+        }
+
+        @Override
+        Container add(char value) {
+            // Caminho rápido: inserção em ordem crescente
+            int pos = cardinality > 0 && values[cardinality - 1] < value
+                    ? -(cardinality + 1)
+                    : Arrays.binarySearch(values, 0, cardinality, value);
+
+            if (pos >= 0) {
+                return this;
+            }
+
+            if (cardinality == ARRAY_MAX) {
+                return toBitmap().add(value);
+            }
+
+            pos = -pos - 1;
+
+            if (cardinality == values.length) {
+                values = Arrays.copyOf(values, Math.min(ARRAY_MAX, Math.max(4, cardinality * 2)));
+            }
+
+            System.arraycopy(values, pos, values, pos + 1, cardinality - pos);
+            values[pos] = value;
+            cardinality++;
+            return this;
+        }
+
+        @Override
+        Container remove(char value) {
+            int pos = Arrays.binarySearch(values, 0, cardinality, value);
+
+            if (pos >= 0) {
+                System.arraycopy(values, pos + 1, values, pos, cardinality - pos - 1);
+                cardinality--;
+            }
+
+            return this;
+        }
+
+        @Override
+        boolean contains(char value) {
+            return Arrays.binarySearch(values, 0, cardinality, value) >= 0;
+        }
+
+        @Override
+        int cardinality() {
+            return cardinality;
+        }
+
+        @Override
+        Container and(Container other) {
+            char[] result = new char[cardinality];
+            int n = 0;
+
+            if (other instanceof ArrayContainer array) {
+                int i = 0, j = 0;
+                while (i < cardinality && j < array.cardinality) {
+                    if (values[i] < array.values[j]) {
+                        i++;
+                    } else if (values[i] > array.values[j]) {
+                        j++;
+                    } else {
+                        result[n++] = values[i];
+                        i++;
+                        j++;
+                    }
+                }
+            } else {
+                for (int i = 0; i < cardinality; i++) {
+                    if (other.contains(values[i])) {
+                        result[n++] = values[i];
+                    }
+                }
+            }
+
+            return new ArrayContainer(result, n);
+        }
+
+        @Override
+        Container or(Container other) {
+            if (other instanceof BitmapContainer) {
+                return other.or(this);
+            }
+
+            ArrayContainer array = (ArrayContainer) other;
+
+            if (cardinality + array.cardinality > ARRAY_MAX) {
+                return toBitmap().or(array);
+            }
+
+            char[] result = new char[cardinality + array.cardinality];
+            int i = 0, j = 0, n = 0;
+
+            while (i < cardinality && j < array.cardinality) {
+                if (values[i] < array.values[j]) {
+                    result[n++] = values[i++];
+                } else if (values[i] > array.values[j]) {
+                    result[n++] = array.values[j++];
+                } else {
+                    result[n++] = values[i];
+                    i++;
+                    j++;
+                }
+            }
+            while (i < cardinality) {
+                result[n++] = values[i++];
+            }
+            while (j < array.cardinality) {
+                result[n++] = array.values[j++];
+            }
+
+            return new ArrayContainer(result, n);
+        }
+
+        @Override
+        Container copy() {
+            return new ArrayContainer(Arrays.copyOf(values, Math.max(1, cardinality)), cardinality);
+        }
+
+        @Override
+        void forEach(int base, IntConsumer action) {
+            for (int i = 0; i < cardinality; i++) {
+                action.accept(base | values[i]);
+            }
+        }
+
+        @Override
+        PrimitiveIterator.OfInt iterator(int base) {
+            return new PrimitiveIterator.OfInt() {
+                private int pos = 0;
+
+                @Override
+                public boolean hasNext() {
+                    return pos < cardinality;
+                }
+
+                @Override
+                public int nextInt() {
+                    return base | values[pos++];
+                }
+            };
+        }
+
+        @Override
+        int fill(int[] out, int offset, int base) {
+            for (int i = 0; i < cardinality; i++) {
+                out[offset++] = base | values[i];
+            }
+            return offset;
+        }
+
+        BitmapContainer toBitmap() {
+            BitmapContainer bitmap = new BitmapContainer();
+            for (int i = 0; i < cardinality; i++) {
+                bitmap.add(values[i]);
+            }
+            return bitmap;
+        }
+    }
+
+    /**
+     * Container denso: um bit por valor em long[1024].
+     */
+    static final class BitmapContainer extends Container {
+
+        private final long[] words;
+        private int cardinality;
+
+        BitmapContainer() {
+            this(new long[1024], 0);
+        }
+
+        BitmapContainer(long[] words, int cardinality) {
+            this.words = words;
+            this.cardinality = cardinality;
+        }
+
+        @Override
+        Container add(char value) {
+            long mask = 1L << value;
+            int w = value >>> 6;
+
+            if ((words[w] & mask) == 0) {
+                words[w] |= mask;
+                cardinality++;
+            }
+
+            return this;
+        }
+
+        @Override
+        Container remove(char value) {
+            long mask = 1L << value;
+            int w = value >>> 6;
+
+            if ((words[w] & mask) != 0) {
+                words[w] &= ~mask;
+                cardinality--;
+            }
+
+            return cardinality <= ARRAY_MAX ? toArrayContainer() : this;
+        }
+
+        @Override
+        boolean contains(char value) {
+            return (words[value >>> 6] & (1L << value)) != 0;
+        }
+
+        @Override
+        int cardinality() {
+            return cardinality;
+        }
+
+        @Override
+        Container and(Container other) {
+            if (other instanceof ArrayContainer) {
+                return other.and(this);
+            }
+
+            long[] otherWords = ((BitmapContainer) other).words;
+            long[] result = new long[1024];
+            int count = 0;
+
+            for (int i = 0; i < 1024; i++) {
+                result[i] = words[i] & otherWords[i];
+                count += Long.bitCount(result[i]);
+            }
+
+            BitmapContainer bitmap = new BitmapContainer(result, count);
+            return count <= ARRAY_MAX ? bitmap.toArrayContainer() : bitmap;
+        }
+
+        @Override
+        Container or(Container other) {
+            BitmapContainer result = (BitmapContainer) copy();
+
+            if (other instanceof ArrayContainer array) {
+                for (int i = 0; i < array.cardinality; i++) {
+                    result.add(array.values[i]);
+                }
+                return result;
+            }
+
+            long[] otherWords = ((BitmapContainer) other).words;
+            int count = 0;
+
+            for (int i = 0; i < 1024; i++) {
+                result.words[i] |= otherWords[i];
+                count += Long.bitCount(result.words[i]);
+            }
+
+            result.cardinality = count;
+            return result;
+        }
+
+        @Override
+        Container copy() {
+            return new BitmapContainer(words.clone(), cardinality);
+        }
+
+        @Override
+        void forEach(int base, IntConsumer action) {
+            for (int i = 0; i < 1024; i++) {
+                long word = words[i];
+                while (word != 0) {
+                    action.accept(base | (i << 6) | Long.numberOfTrailingZeros(word));
+                    word &= word - 1;
+                }
+            }
+        }
+
+        @Override
+        PrimitiveIterator.OfInt iterator(int base) {
+            return new PrimitiveIterator.OfInt() {
+                private int w = 0;
+                private long word = words[0];
+
+                @Override
+                public boolean hasNext() {
+                    while (word == 0 && w < 1023) {
+                        word = words[++w];
+                    }
+                    return word != 0;
+                }
+
+                @Override
+                public int nextInt() {
+                    if (!hasNext()) {
+                        throw new NoSuchElementException();
+                    }
+                    int value = base | (w << 6) | Long.numberOfTrailingZeros(word);
+                    word &= word - 1;
+                    return value;
+                }
+            };
+        }
+
+        @Override
+        int fill(int[] out, int offset, int base) {
+            for (int i = 0; i < 1024; i++) {
+                long word = words[i];
+                while (word != 0) {
+                    out[offset++] = base | (i << 6) | Long.numberOfTrailingZeros(word);
+                    word &= word - 1;
+                }
+            }
+            return offset;
+        }
+
+        ArrayContainer toArrayContainer() {
+            char[] values = new char[Math.max(1, cardinality)];
+            int n = 0;
+
+            for (int i = 0; i < 1024; i++) {
+                long word = words[i];
+                while (word != 0) {
+                    values[n++] = (char) ((i << 6) | Long.numberOfTrailingZeros(word));
+                    word &= word - 1;
+                }
+            }
+
+            return new ArrayContainer(values, n);
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package lib.network;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Monta um frame do protocolo em um buffer que cresce conforme
+ * necessário. O tamanho do frame é preenchido em finish().
+ *
+ * @author SQL Parser Team
+ * @version 1.0
+ */
+class FrameBuffer {
+
+    private ByteBuffer buffer;
+
+    FrameBuffer(byte type) {
+        this(type, 256);
+    }
+
+    FrameBuffer(byte type, int capacity) {
+        this.buffer = ByteBuffer.allocate(Math.max(capacity, Protocol.HEADER_SIZE));
+        buffer.putInt(0);  // Tamanho, preenchido em finish()
+        buffer.put(type);
+    }
+
+    FrameBuffer putByte(byte value) {
+        ensure(1);
+        buffer.put(value);
+        return this;
+    }
+
+    FrameBuffer putShort(int value) {
+        ensure(2);
+        buffer.putShort((short) value);
+        return this;
+    }
+
+    FrameBuffer putInt(int value) {
+        ensure(4);
+        buffer.putInt(value);
+        return this;
+    }
+
+    /**
+     * Sobrescreve um int já escrito (ex.: contagem conhecida só no fim).
+     */
+    FrameBuffer putInt(int offset, int value) {
+        buffer.putInt(offset, value);
+        return this;
+    }
+
+    FrameBuffer putString(String text) {
+        byte[] bytes = text.getBytes(StandardCharsets.UTF_8);
+        ensure(4 + bytes.length);
+        buffer.putInt(bytes.length);
+        buffer.put(bytes);
+        return this;
+    }
+
+    /**
+     * Bytes escritos até agora, incluindo o cabeçalho.
+     */
+    int size() {
+        return buffer.position();
+    }
+
+    /**
+     * Preenche o tamanho e devolve o frame pronto para envio.
+     */
+    ByteBuffer finish() {
+        if (buffer.position() - 4 > Protocol.MAX_FRAME) {
+            throw new IllegalStateException("Invalid: frame maior que " + Protocol.MAX_FRAME + " bytes");
+        }
+
+        buffer.putInt(0, buffer.position() - 4);
+        return buffer.flip();
+    }
+
+    private void ensure(int bytes) {
+        if (buffer.remaining() < bytes) {
+            int capacity = Math.max(buffer.capacity() * 2, buffer.position() + bytes);
+            buffer = ByteBuffer.allocate(capacity).put(buffer.flip());
+        }
+    }
+}
@@ -1,33 +1,157 @@
 package lib.network;
 
+import lib.QueryResult;
+
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
 /**
- * Protocolo de comunicação cliente-servidor.
- * 
+ * Protocolo binário de comunicação cliente-servidor.
+ *
+ * Cada mensagem é um frame: tamanho (int, bytes após este campo), tipo
+ * (byte) e conteúdo. Inteiros são big-endian; textos são UTF-8
+ * precedidos do tamanho em bytes (int).
+ *
+ * Cliente → servidor: QUERY (texto SQL), PING e DISCONNECT.
+ *
+ * Servidor → cliente: OK, ERROR e RESULT (texto) e PONG. Um SELECT
+ * responde com ROW_DESCRIPTION (colunas e tipos, uma vez), zero ou mais
+ * ROW_BATCH (número de linhas e os valores de cada linha, tipados pela
+ * descrição) e ROWS_END (total de linhas).
+ *
+ * Cursores: OPEN (fetch size e texto SQL) executa a query como QUERY,
+ * mas envia só as primeiras linhas, até o fetch size, seguidas de
+ * SUSPENDED; cada FETCH (fetch size) envia as próximas. A última parte
+ * termina em ROWS_END, que fecha o cursor. CLOSE descarta o cursor
+ * antes do fim. Há um cursor por conexão: QUERY e OPEN fecham o
+ * anterior. Um ERROR no meio das linhas encerra o resultado.
+ *
+ * Pipeline: REQUEST (id, tipo e conteúdo de outro comando) executa o
+ * comando embutido e responde com REPLY (id) seguido da resposta de
+ * sempre. O cliente pode enviar vários REQUEST sem esperar: a conexão
+ * executa e responde na ordem de chegada, e o id liga cada resposta ao
+ * seu pedido. BATCH (número de comandos e os textos SQL, só INSERT ou
+ * EXECUTE de um INSERT preparado) executa os comandos numa transação,
+ * com um único flush do WAL. Os comandos são validados antes de o
+ * primeiro executar; fora de uma transação aberta, um erro desfaz o
+ * lote inteiro.
+ *
  * @author SQL Parser Team
- * @version 1.0
+ * @version 2.4
  */
 public class Protocol {
-    
+
     // Comandos
-    public static final String QUERY = "QUERY";
-    public static final String PING = "PING";
-    public static final String DISCONNECT = "DISCONNECT";
-    
+    public static final byte QUERY = 1;
+    public static final byte PING = 2;
+    public static final byte DISCONNECT = 3;
+    public static final byte OPEN = 4;
+    public static final byte FETCH = 5;
+    public static final byte CLOSE = 6;
+    public static final byte REQUEST = 7;
+    public static final byte BATCH = 8;
+
     // Respostas
-    public static final String RESULT = "RESULT";
-    public static final String ERROR = "ERROR";
-    public static final String PONG = "PONG";
-    public static final String OK = "OK";
-    
+    public static final byte OK = 10;
+    public static final byte ERROR = 11;
+    public static final byte RESULT = 12;
+    public static final byte ROW_DESCRIPTION = 13;
+    public static final byte ROW_BATCH = 14;
+    public static final byte ROWS_END = 15;
+    public static final byte PONG = 16;
+    public static final byte SUSPENDED = 17;
+    public static final byte REPLY = 18;
+
+    // Tipos de coluna
+    public static final byte TYPE_INT = 1;
+    public static final byte TYPE_TEXT = 2;
+
     // Config
-    public static final String SEP = "|";
     public static final int PORT = 5432;
-    
-    public static String msg(String cmd, String data) {
-        return cmd + SEP + data + "\n";
+    public static final int HEADER_SIZE = 5;  // Tamanho (int) + tipo (byte)
+    public static final int MAX_FRAME = 16 * 1024 * 1024;
+    public static final int BATCH_BYTES = 32 * 1024;
+
+    /**
+     * Frame com conteúdo de texto.
+     */
+    public static ByteBuffer frame(byte type, String text) {
+        return new FrameBuffer(type).putString(text).finish();
+    }
+
+    /**
+     * Frame sem conteúdo.
+     */
+    public static ByteBuffer frame(byte type) {
+        return new FrameBuffer(type).finish();
+    }
+
+    /**
+     * Lê um frame completo de um stream bloqueante.
+     *
+     * @param in Stream de entrada
+     * @return Frame lido
+     * @throws IOException Se o stream terminou ou o tamanho é inválido
+     */
+    public static Frame read(DataInputStream in) throws IOException {
+        int length = in.readInt();
+        if (length < 1 || length > MAX_FRAME) {
+            throw new IOException("Protocol error - invalid length " + length);
+        }
+
+        byte type = in.readByte();
+        byte[] payload = new byte[length - 1];
+        in.readFully(payload);
+
+        return new Frame(type, ByteBuffer.wrap(payload));
+    }
+
+    public static String getString(ByteBuffer buffer) {
+        int length = buffer.getInt();
+        String text = new String(buffer.array(), buffer.arrayOffset() + buffer.position(), length, StandardCharsets.UTF_8);
+        buffer.position(buffer.position() + length);
+        return text;
+    }
+
+    public static byte typeCode(QueryResult.ColumnType type) {
+        return type == QueryResult.ColumnType.INT ? TYPE_INT : TYPE_TEXT;
+    }
+
+    public static QueryResult.ColumnType columnType(byte code) throws IOException {
+        return switch (code) {
+            case TYPE_INT -> QueryResult.ColumnType.INT;
+            case TYPE_TEXT -> QueryResult.ColumnType.TEXT;
+            default -> throw new IOException("Protocol error - unknown column type " + code);
+        };
     }
-    
-    public static String[] parse(String msg) {
-        return msg.trim().split("\\" + SEP, 2);
+
+    /**
+     * Frame recebido: tipo e conteúdo (posicionado no início).
+     */
+    public static final class Frame {
+        private final byte type;
+        private final ByteBuffer payload;
+
+        public Frame(byte type, ByteBuffer payload) {
+            this.type = type;
+            this.payload = payload;
+        }
+
+        public byte type() {
+            return type;
+        }
+
+        public ByteBuffer payload() {
+            return payload;
+        }
+
+        /**
+         * Lê o conteúdo como texto.
+         */
+        public String text() {
+            return payload.hasRemaining() ? getString(payload) : "";
+        }
     }
 }
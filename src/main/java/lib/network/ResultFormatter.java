@@ -1,270 +1,96 @@
 package lib.network;
 
-import java.util.*;
-import java.util.regex.*;
+import lib.QueryResult;
 
 /**
  * Formata resultados SQL em tabelas ASCII art.
  *
+ * Recebe as linhas já decodificadas do protocolo binário, com nomes e
+ * tipos de coluna; não há texto a interpretar.
+ *
  * @author SQL Parser Team
- * @version 1.0
+ * @version 2.0
  */
 public class ResultFormatter {
 
     /**
      * Formata resultado em tabela ASCII.
      *
-     * @param result Resultado bruto do parser
+     * @param result Colunas e linhas recebidas do servidor
      * @return String formatada como tabela
      */
-    public static String formatAsTable(String result) {
-        if (result == null || result.trim().isEmpty()) {
-            return "Empty result";
-        }
-
-        // Se for mensagem de erro ou status, retornar direto
-        if (result.startsWith("Invalid") ||
-                result.startsWith("ERROR") ||
-                result.contains("updated") ||
-                result.contains("removed") ||
-                result.contains("Inserted")) {
-            return result;
-        }
-
-        // Detectar tipo de resultado
-
-        // Formato JSON: [{id=1, name=Ana...}]
-        if (result.trim().startsWith("[{") && result.contains("id=")) {
-            return formatJsonUserRows(result);
-        }
-
-        // Formato texto: id=1, name=Ana, age=22, city=SP
-        if (result.contains("id=") && result.contains("name=")) {
-            return formatUserRows(result);
-        }
-
-        if (result.contains("count=")) {
-            return formatCountResult(result);
-        }
-
-        if (result.contains("=")) {
-            return formatGenericKeyValue(result);
-        }
-
-        return result;
-    }
-
-    /**
-     * Formata resultado JSON: [{id=1, name=Ana, age=22, city=SP}, {...}]
-     */
-    private static String formatJsonUserRows(String result) {
-        List<Map<String, String>> rows = parseJsonUserRows(result);
-
-        if (rows.isEmpty()) {
-            return "No results";
-        }
-
-        return buildUserTable(rows);
-    }
-
-    /**
-     * Parse resultado JSON em lista de maps.
-     */
-    private static List<Map<String, String>> parseJsonUserRows(String result) {
-        List<Map<String, String>> rows = new ArrayList<>();
-
-        // Remove [ e ]
-        result = result.trim();
-        if (result.startsWith("[")) result = result.substring(1);
-        if (result.endsWith("]")) result = result.substring(0, result.length() - 1);
-
-        // Split por }, { para pegar cada objeto
-        String[] objects = result.split("\\},\\s*\\{");
-
-        for (String obj : objects) {
-            // Limpar { e }
-            obj = obj.replace("{", "").replace("}", "").trim();
-            if (obj.isEmpty()) continue;
-
-            Map<String, String> row = new HashMap<>();
-
-            // Parse: id=1, name=Ana, age=22, city=SP
-            String[] parts = obj.split(",\\s*");
-
-            for (String part : parts) {
-                String[] kv = part.split("=", 2);
-                if (kv.length == 2) {
-                    row.put(kv[0].trim(), kv[1].trim());
-                }
-            }
-
-            if (!row.isEmpty()) {
-                rows.add(row);
-            }
-        }
-
-        return rows;
-    }
-
-    /**
-     * Formata linhas de usuários (id=1, name=Ana, age=22, city=SP).
-     */
-    private static String formatUserRows(String result) {
-        List<Map<String, String>> rows = parseUserRows(result);
-
-        if (rows.isEmpty()) {
+    public static String formatAsTable(QueryResult result) {
+        if (result.columnCount() == 0 || result.rowCount() == 0) {
             return "No results";
         }
 
-        return buildUserTable(rows);
-    }
+        // Determinar larguras das colunas
+        int columns = result.columnCount();
+        int[] widths = new int[columns];
+        String[][] cells = new String[result.rowCount()][columns];
 
-    /**
-     * Constrói tabela ASCII a partir de lista de rows.
-     */
-    private static String buildUserTable(List<Map<String, String>> rows) {
-        if (rows.isEmpty()) {
-            return "No results";
+        for (int c = 0; c < columns; c++) {
+            widths[c] = result.columnName(c).length();
         }
 
-        // Determinar larguras das colunas
-        int idWidth = 4;
-        int nameWidth = 4;
-        int ageWidth = 3;
-        int cityWidth = 4;
-
-        for (Map<String, String> row : rows) {
-            idWidth = Math.max(idWidth, row.getOrDefault("id", "").length());
-            nameWidth = Math.max(nameWidth, row.getOrDefault("name", "").length());
-            ageWidth = Math.max(ageWidth, row.getOrDefault("age", "").length());
-            cityWidth = Math.max(cityWidth, row.getOrDefault("city", "").length());
+        int r = 0;
+        for (Object[] row : result.rows()) {
+            for (int c = 0; c < columns; c++) {
+                cells[r][c] = String.valueOf(row[c]);
+                widths[c] = Math.max(widths[c], cells[r][c].length());
+            }
+            r++;
         }
 
         // Construir tabela
         StringBuilder sb = new StringBuilder();
 
         // Linha superior
-        sb.append("┌").append("─".repeat(idWidth + 2))
-                .append("┬").append("─".repeat(nameWidth + 2))
-                .append("┬").append("─".repeat(ageWidth + 2))
-                .append("┬").append("─".repeat(cityWidth + 2))
-                .append("┐\n");
+        border(sb, widths, "┌", "┬", "┐");
 
         // Cabeçalho
-        sb.append("│ ").append(pad("id", idWidth))
-                .append(" │ ").append(pad("name", nameWidth))
-                .append(" │ ").append(pad("age", ageWidth))
-                .append(" │ ").append(pad("city", cityWidth))
-                .append(" │\n");
+        sb.append("│");
+        for (int c = 0; c < columns; c++) {
+            sb.append(' ').append(pad(result.columnName(c), widths[c], false)).append(" │");
+        }
+        sb.append('\n');
 
         // Linha separadora
-        sb.append("├").append("─".repeat(idWidth + 2))
-                .append("┼").append("─".repeat(nameWidth + 2))
-                .append("┼").append("─".repeat(ageWidth + 2))
-                .append("┼").append("─".repeat(cityWidth + 2))
-                .append("┤\n");
-
-        // Dados
-        for (Map<String, String> row : rows) {
-            sb.append("│ ").append(pad(row.getOrDefault("id", ""), idWidth))
-                    .append(" │ ").append(pad(row.getOrDefault("name", ""), nameWidth))
-                    .append(" │ ").append(pad(row.getOrDefault("age", ""), ageWidth))
-                    .append(" │ ").append(pad(row.getOrDefault("city", ""), cityWidth))
-                    .append(" │\n");
+        border(sb, widths, "├", "┼", "┤");
+
+        // Dados (números alinhados à direita)
+        for (String[] row : cells) {
+            sb.append("│");
+            for (int c = 0; c < columns; c++) {
+                boolean number = result.columnType(c) == QueryResult.ColumnType.INT;
+                sb.append(' ').append(pad(row[c], widths[c], number)).append(" │");
+            }
+            sb.append('\n');
         }
 
         // Linha inferior
-        sb.append("└").append("─".repeat(idWidth + 2))
-                .append("┴").append("─".repeat(nameWidth + 2))
-                .append("┴").append("─".repeat(ageWidth + 2))
-                .append("┴").append("─".repeat(cityWidth + 2))
-                .append("┘\n");
+        border(sb, widths, "└", "┴", "┘");
 
         // Rodapé
-        sb.append("(").append(rows.size()).append(rows.size() == 1 ? " row)" : " rows)");
+        sb.append("(").append(cells.length).append(cells.length == 1 ? " row)" : " rows)");
 
         return sb.toString();
     }
 
-    /**
-     * Formata resultado de COUNT.
-     */
-    private static String formatCountResult(String result) {
-        Pattern p = Pattern.compile("count=(\\d+)");
-        Matcher m = p.matcher(result);
-
-        if (m.find()) {
-            String count = m.group(1);
-            StringBuilder sb = new StringBuilder();
-
-            sb.append("┌───────┐\n");
-            sb.append("│ count │\n");
-            sb.append("├───────┤\n");
-            sb.append("│ ").append(pad(count, 5)).append(" │\n");
-            sb.append("└───────┘");
-
-            return sb.toString();
+    private static void border(StringBuilder sb, int[] widths, String left, String middle, String right) {
+        sb.append(left);
+        for (int c = 0; c < widths.length; c++) {
+            if (c > 0) sb.append(middle);
+            sb.append("─".repeat(widths[c] + 2));
         }
-
-        return result;
-    }
-
-    /**
-     * Formata resultado genérico key=value.
-     */
-    private static String formatGenericKeyValue(String result) {
-        String[] lines = result.split("\n");
-        StringBuilder sb = new StringBuilder();
-
-        for (String line : lines) {
-            if (line.contains("=")) {
-                sb.append(line).append("\n");
-            }
-        }
-
-        return sb.toString().trim();
-    }
-
-    /**
-     * Parse linhas de usuários.
-     */
-    private static List<Map<String, String>> parseUserRows(String result) {
-        List<Map<String, String>> rows = new ArrayList<>();
-
-        // Split por linhas
-        String[] lines = result.split("\n");
-
-        for (String line : lines) {
-            line = line.trim();
-            if (line.isEmpty()) continue;
-
-            Map<String, String> row = new HashMap<>();
-
-            // Parse: id=1, name=Ana, age=22, city=SP
-            String[] parts = line.split(",\\s*");
-
-            for (String part : parts) {
-                String[] kv = part.split("=", 2);
-                if (kv.length == 2) {
-                    row.put(kv[0].trim(), kv[1].trim());
-                }
-            }
-
-            if (!row.isEmpty()) {
-                rows.add(row);
-            }
-        }
-
-        return rows;
+        sb.append(right).append('\n');
     }
 
     /**
      * Pad string para largura especificada.
      */
-    private static String pad(String str, int width) {
-        if (str.length() >= width) {
-            return str.substring(0, width);
-        }
-        return str + " ".repeat(width - str.length());
+    private static String pad(String str, int width, boolean right) {
+        String padding = " ".repeat(width - str.length());
+        return right ? padding + str : str + padding;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,90 @@
+package lib.network;
+
+import lib.QueryResult;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Codifica as linhas de um resultado em frames ROW_BATCH.
+ *
+ * As linhas são acumuladas em um frame até ele passar de
+ * Protocol.BATCH_BYTES; cada valor vai no formato binário do tipo da
+ * coluna (int ou texto UTF-8), sem nomes nem separadores.
+ *
+ * @author SQL Parser Team
+ * @version 1.0
+ */
+class RowEncoder {
+
+    private final QueryResult.ColumnType[] types;
+    private FrameBuffer batch;
+    private int batchRows;
+    private int totalRows;
+
+    RowEncoder(QueryResult result) {
+        this.types = new QueryResult.ColumnType[result.columnCount()];
+        for (int i = 0; i < types.length; i++) {
+            types[i] = result.columnType(i);
+        }
+    }
+
+    /**
+     * Frame ROW_DESCRIPTION: número de colunas e, para cada uma,
+     * nome e tipo.
+     */
+    static ByteBuffer description(QueryResult result) {
+        FrameBuffer frame = new FrameBuffer(Protocol.ROW_DESCRIPTION).putShort(result.columnCount());
+
+        for (int i = 0; i < result.columnCount(); i++) {
+            frame.putString(result.columnName(i)).putByte(Protocol.typeCode(result.columnType(i)));
+        }
+        return frame.finish();
+    }
+
+    /**
+     * Adiciona uma linha ao lote atual.
+     *
+     * @param row Valores na ordem das colunas
+     * @return Frame do lote, se ficou cheio; null caso contrário
+     */
+    ByteBuffer add(Object[] row) {
+        if (batch == null) {
+            batch = new FrameBuffer(Protocol.ROW_BATCH, Protocol.BATCH_BYTES + 1024).putInt(0);
+            batchRows = 0;
+        }
+
+        for (int i = 0; i < types.length; i++) {
+            if (types[i] == QueryResult.ColumnType.INT) {
+                batch.putInt((Integer) row[i]);
+            } else {
+                batch.putString((String) row[i]);
+            }
+        }
+        batchRows++;
+        totalRows++;
+
+        return batch.size() >= Protocol.BATCH_BYTES ? flush() : null;
+    }
+
+    /**
+     * Fecha o lote atual, mesmo incompleto.
+     *
+     * @return Frame do lote, ou null se não há linhas pendentes
+     */
+    ByteBuffer flush() {
+        if (batch == null) {
+            return null;
+        }
+
+        ByteBuffer frame = batch.putInt(Protocol.HEADER_SIZE, batchRows).finish();
+        batch = null;
+        return frame;
+    }
+
+    /**
+     * Frame ROWS_END com o total de linhas enviadas.
+     */
+    ByteBuffer end() {
+        return new FrameBuffer(Protocol.ROWS_END).putInt(totalRows).finish();
+    }
+}
@@ -1,25 +1,46 @@
 package lib.network;
 
+import lib.QueryResult;
+
 import java.io.*;
 import java.net.*;
-import java.util.Scanner;
+import java.nio.ByteBuffer;
+import java.util.*;
+import java.util.function.Consumer;
 
 /**
  * Cliente SQL interativo.
+ *
+ * Fala o protocolo binário (ver Protocol): as linhas de um SELECT chegam
+ * em lotes com os valores já tipados e são decodificadas direto em um
+ * QueryResult. Para resultados grandes, openCursor recebe as linhas em
+ * partes do tamanho pedido, conforme são percorridas.
+ *
+ * submit envia uma query sem esperar a resposta (pipeline) e receive lê
+ * a resposta do pedido pelo id; executeBatch envia vários INSERTs em um
+ * frame, executados numa só transação no servidor.
  */
 public class SQLClient {
 
     private Socket socket;
-    private BufferedReader in;
-    private PrintWriter out;
+    private DataInputStream in;
+    private DataOutputStream out;
     private final String host;
     private final int port;
     private boolean connected;
 
+    // Pedidos enviados por submit ainda sem resposta lida, em ordem
+    private final Deque<Integer> pending;
+    private final Map<Integer, Object> replies;
+    private int nextRequestId;
+
     public SQLClient(String host, int port) {
         this.host = host;
         this.port = port;
         this.connected = false;
+        this.pending = new ArrayDeque<>();
+        this.replies = new HashMap<>();
+        this.nextRequestId = 1;
     }
 
     public void connect() throws IOException {
@@ -29,27 +50,20 @@ public class SQLClient {
             socket = new Socket();
             socket.connect(new InetSocketAddress(host, port), 5000); // 5s timeout
             socket.setSoTimeout(30000); // 30s read timeout
+            socket.setTcpNoDelay(true);
 
-            in = new BufferedReader(new InputStreamReader(socket.getInputStream()));
-            out = new PrintWriter(socket.getOutputStream(), true);
-
-            // Ler mensagem de boas-vindas (NOVO PROTOCOLO: LENGTH\nMESSAGE)
-            String lengthStr = in.readLine();
-            if (lengthStr == null) {
-                throw new IOException("Server closed connection immediately");
-            }
+            in = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+            out = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
 
-            String welcome = in.readLine();
-            if (welcome == null) {
+            // Ler mensagem de boas-vindas
+            Protocol.Frame welcome;
+            try {
+                welcome = Protocol.read(in);
+            } catch (EOFException e) {
                 throw new IOException("Server closed connection immediately");
             }
 
-            System.out.println("Server response: " + welcome);
-
-            String[] parts = Protocol.parse(welcome);
-            if (parts.length > 1) {
-                System.out.println(parts[1]);
-            }
+            System.out.println(welcome.text());
 
             connected = true;
             System.out.println("Connected successfully!\n");
@@ -61,92 +75,326 @@ public class SQLClient {
         }
     }
 
+    /**
+     * Executa uma query e formata a resposta para exibição.
+     */
     public String execute(String sql) throws IOException {
+        Object result = query(sql);
+
+        if (result instanceof QueryResult rows) {
+            return ResultFormatter.formatAsTable(rows);
+        }
+        return result.toString();
+    }
+
+    /**
+     * Executa uma query e devolve a resposta decodificada.
+     *
+     * @param sql Comando SQL
+     * @return QueryResult para SELECT; para os demais comandos, a mensagem
+     *         do servidor (erros prefixados com "ERROR: ")
+     * @throws IOException Se a conexão falhar
+     */
+    public Object query(String sql) throws IOException {
         if (!connected) {
             throw new IOException("Not connected to server");
         }
 
         try {
-            // Enviar query
-            String message = Protocol.msg(Protocol.QUERY, sql).trim();
-            out.println(message);
+            send(Protocol.frame(Protocol.QUERY, sql));
+            return readResponse();
 
-            System.out.println("[CLIENT DEBUG] Sent: " + message);
+        } catch (SocketTimeoutException e) {
+            connected = false;
+            throw new IOException("Server timeout - no response received");
+        } catch (EOFException e) {
+            connected = false;
+            throw new IOException("Server closed connection");
+        } catch (IOException e) {
+            connected = false;
+            throw e;
+        }
+    }
 
-            // IMPORTANTE: Garantir que foi enviado
-            if (out.checkError()) {
-                connected = false;
-                throw new IOException("Failed to send query to server");
-            }
+    /**
+     * Envia um PING e espera o PONG.
+     *
+     * @return true se o servidor respondeu
+     */
+    public boolean ping() throws IOException {
+        send(Protocol.frame(Protocol.PING));
+        return Protocol.read(in).type() == Protocol.PONG;
+    }
 
-            // LER PROTOCOLO: LENGTH\nCOMMAND|DATA
+    /**
+     * Envia um comando síncrono, depois de ler as respostas pendentes
+     * do pipeline (a próxima resposta do servidor é a dele).
+     */
+    private void send(ByteBuffer frame) throws IOException {
+        readPending();
+        write(frame);
+        out.flush();
+    }
 
-            // 1. Ler tamanho
-            System.out.println("[CLIENT DEBUG] Reading response length...");
-            String lengthStr = in.readLine();
+    private void write(ByteBuffer frame) throws IOException {
+        out.write(frame.array(), frame.arrayOffset() + frame.position(), frame.remaining());
+    }
 
-            if (lengthStr == null || lengthStr.trim().isEmpty()) {
-                connected = false;
-                throw new IOException("Server closed connection (no length)");
-            }
+    // ================================================================
+    // PIPELINE
+    // ================================================================
+
+    /**
+     * Envia uma query sem esperar a resposta. O envio só é garantido no
+     * próximo receive (ou em qualquer outra chamada que espere resposta).
+     *
+     * @param sql Comando SQL
+     * @return Id do pedido, para receive
+     * @throws IOException Se a conexão falhar
+     */
+    public int submit(String sql) throws IOException {
+        return submit(Protocol.frame(Protocol.QUERY, sql));
+    }
 
-            int length = Integer.parseInt(lengthStr.trim());
-            System.out.println("[CLIENT DEBUG] Expected length: " + length);
+    /**
+     * Envia um lote de INSERTs sem esperar a resposta.
+     *
+     * @param inserts Comandos INSERT, executados numa só transação
+     * @return Id do pedido, para receive
+     * @throws IOException Se a conexão falhar
+     */
+    public int submitBatch(List<String> inserts) throws IOException {
+        FrameBuffer batch = new FrameBuffer(Protocol.BATCH, 64 * inserts.size()).putInt(inserts.size());
+        for (String insert : inserts) {
+            batch.putString(insert);
+        }
+        return submit(batch.finish());
+    }
 
-            // 2. Ler mensagem
-            System.out.println("[CLIENT DEBUG] Reading message...");
-            String response = in.readLine();
+    /**
+     * Executa um lote de INSERTs numa só transação (um flush do WAL).
+     *
+     * @return "Inserted N rows" ou o erro prefixado com "ERROR: "; com
+     *         erro fora de uma transação aberta, nenhum INSERT do lote
+     *         fica gravado (dentro dela, a mensagem diz quantos ficaram)
+     */
+    public Object executeBatch(List<String> inserts) throws IOException {
+        return receive(submitBatch(inserts));
+    }
 
-            System.out.println("[CLIENT DEBUG] Received: " +
-                    (response != null ? response.substring(0, Math.min(100, response.length())) : "NULL"));
-            System.out.println("[CLIENT DEBUG] Actual length: " + (response != null ? response.length() : 0));
+    private int submit(ByteBuffer command) throws IOException {
+        if (!connected) {
+            throw new IOException("Not connected to server");
+        }
 
-            if (response == null) {
-                connected = false;
-                throw new IOException("Server closed connection");
-            }
+        int id = nextRequestId++;
+        ByteBuffer header = new FrameBuffer(Protocol.REQUEST).putInt(id).finish();
 
-            if (response.length() != length) {
-                System.err.println("[CLIENT WARN] Length mismatch! Expected " + length + ", got " + response.length());
-            }
+        // REQUEST embute o comando inteiro, sem o tamanho dele
+        header.putInt(0, header.limit() - 4 + command.limit() - 4);
+        write(header);
+        command.position(4);
+        write(command);
 
-            // Parse resposta
-            String[] parts = Protocol.parse(response);
+        pending.add(id);
+        return id;
+    }
 
-            System.out.println("[CLIENT DEBUG] Command: " + (parts.length > 0 ? parts[0] : "none"));
-            System.out.println("[CLIENT DEBUG] Data length: " + (parts.length > 1 ? parts[1].length() : 0));
+    /**
+     * Lê a resposta de um pedido enviado por submit. As respostas dos
+     * pedidos anteriores a ele são lidas e guardadas para os seus receive.
+     *
+     * @param requestId Id devolvido por submit
+     * @return Mesma resposta de query
+     * @throws IOException Se a conexão falhar
+     */
+    public Object receive(int requestId) throws IOException {
+        if (!replies.containsKey(requestId) && !pending.contains(requestId)) {
+            throw new IllegalArgumentException("Invalid: unknown request id " + requestId);
+        }
 
-            if (parts.length < 1) {
-                return response;
+        try {
+            out.flush();
+            while (!replies.containsKey(requestId)) {
+                readReply();
             }
+            return replies.remove(requestId);
 
-            String command = parts[0];
-            String data = parts.length > 1 ? parts[1] : "";
+        } catch (IOException e) {
+            connected = false;
+            throw e;
+        }
+    }
 
-            // Processar baseado no tipo
-            if (command.equals(Protocol.ERROR)) {
-                return "ERROR: " + data;
+    /**
+     * Lê as respostas ainda pendentes antes de um comando síncrono.
+     */
+    private void readPending() throws IOException {
+        if (!pending.isEmpty()) {
+            out.flush();
+            while (!pending.isEmpty()) {
+                readReply();
             }
+        }
+    }
 
-            if (command.equals(Protocol.RESULT)) {
-                System.out.println("[CLIENT DEBUG] Formatting result...");
-                return ResultFormatter.formatAsTable(data);
+    private void readReply() throws IOException {
+        Protocol.Frame frame = Protocol.read(in);
+        int expected = pending.poll();
+
+        if (frame.type() != Protocol.REPLY || frame.payload().getInt() != expected) {
+            throw new IOException("Protocol error - expected reply to request " + expected);
+        }
+        replies.put(expected, readResponse());
+    }
+
+    /**
+     * Abre um cursor no servidor para uma query.
+     *
+     * @param sql SELECT a executar
+     * @param fetchSize Linhas pedidas por vez
+     * @return Cursor com a primeira parte já recebida
+     * @throws IOException Se a conexão falhar
+     * @throws IllegalStateException Se o servidor respondeu com erro ou
+     *         o comando não devolve linhas
+     */
+    public ServerCursor openCursor(String sql, int fetchSize) throws IOException {
+        if (!connected) {
+            throw new IOException("Not connected to server");
+        }
+        if (fetchSize < 1) {
+            throw new IllegalArgumentException("Invalid: fetch size must be positive");
+        }
+
+        try {
+            send(new FrameBuffer(Protocol.OPEN).putInt(fetchSize).putString(sql).finish());
+
+            Protocol.Frame frame = Protocol.read(in);
+            if (frame.type() == Protocol.ERROR) {
+                throw new IllegalStateException(frame.text());
+            }
+            if (frame.type() != Protocol.ROW_DESCRIPTION) {
+                throw new IllegalStateException("Invalid: command returned no rows - " + frame.text());
             }
 
-            return data;
+            ServerCursor cursor = new ServerCursor(this, frame.payload(), fetchSize);
+            readPart(cursor);
+            return cursor;
 
-        } catch (SocketTimeoutException e) {
-            connected = false;
-            throw new IOException("Server timeout - no response received");
-        } catch (NumberFormatException e) {
-            connected = false;
-            throw new IOException("Protocol error - invalid length");
         } catch (IOException e) {
             connected = false;
             throw e;
         }
     }
 
+    /**
+     * Pede a próxima parte do cursor.
+     */
+    void fetch(ServerCursor cursor) throws IOException {
+        send(new FrameBuffer(Protocol.FETCH).putInt(cursor.fetchSize()).finish());
+        readPart(cursor);
+    }
+
+    /**
+     * Descarta o cursor no servidor antes do fim.
+     */
+    void closeCursor() throws IOException {
+        send(Protocol.frame(Protocol.CLOSE));
+        Protocol.read(in);
+    }
+
+    private void readPart(ServerCursor cursor) throws IOException {
+        Protocol.Frame end = readBatches(cursor.types(), cursor::add);
+
+        if (end.type() == Protocol.ROWS_END) {
+            cursor.finish(end.payload().getInt());
+        }
+    }
+
+    private Object readResponse() throws IOException {
+        Protocol.Frame frame = Protocol.read(in);
+
+        return switch (frame.type()) {
+            case Protocol.ROW_DESCRIPTION -> readRows(frame.payload());
+            case Protocol.ERROR -> "ERROR: " + frame.text();
+            case Protocol.RESULT, Protocol.OK -> frame.text();
+            default -> throw new IOException("Protocol error - unexpected frame " + frame.type());
+        };
+    }
+
+    /**
+     * Decodifica as colunas e os lotes de linhas até o ROWS_END.
+     */
+    private Object readRows(ByteBuffer description) throws IOException {
+        int columns = description.getShort();
+        String[] names = new String[columns];
+        QueryResult.ColumnType[] types = new QueryResult.ColumnType[columns];
+        readDescription(description, names, types);
+
+        List<Object[]> rows = new ArrayList<>();
+        Protocol.Frame end;
+        try {
+            end = readBatches(types, rows::add);
+        } catch (IllegalStateException e) {
+            return "ERROR: " + e.getMessage();
+        }
+
+        if (end.type() != Protocol.ROWS_END) {
+            throw new IOException("Protocol error - unexpected frame " + end.type());
+        }
+
+        int total = end.payload().getInt();
+        if (total != rows.size()) {
+            throw new IOException("Protocol error - expected " + total + " rows, got " + rows.size());
+        }
+        return new QueryResult(names, types, rows);
+    }
+
+    static void readDescription(ByteBuffer description, String[] names, QueryResult.ColumnType[] types)
+            throws IOException {
+        for (int c = 0; c < names.length; c++) {
+            names[c] = Protocol.getString(description);
+            types[c] = Protocol.columnType(description.get());
+        }
+    }
+
+    /**
+     * Lê lotes de linhas até ROWS_END ou SUSPENDED.
+     *
+     * @return Frame que encerrou a parte
+     * @throws IllegalStateException Se o servidor enviou ERROR no meio
+     */
+    private Protocol.Frame readBatches(QueryResult.ColumnType[] types, Consumer<Object[]> sink) throws IOException {
+        int received = 0;
+
+        while (true) {
+            Protocol.Frame frame = Protocol.read(in);
+            ByteBuffer payload = frame.payload();
+
+            switch (frame.type()) {
+                case Protocol.ROW_BATCH -> {
+                    int count = payload.getInt();
+                    for (int r = 0; r < count; r++) {
+                        Object[] row = new Object[types.length];
+                        for (int c = 0; c < types.length; c++) {
+                            row[c] = types[c] == QueryResult.ColumnType.INT
+                                    ? (Object) payload.getInt()
+                                    : Protocol.getString(payload);
+                        }
+                        sink.accept(row);
+                    }
+                    received += count;
+                }
+                case Protocol.SUSPENDED, Protocol.ROWS_END -> {
+                    return frame;
+                }
+                case Protocol.ERROR -> throw new IllegalStateException(frame.text());
+                default -> throw new IOException("Protocol error - unexpected frame " + frame.type()
+                        + " after " + received + " rows");
+            }
+        }
+    }
+
     public void disconnect() {
         if (!connected) {
             return;
@@ -154,16 +402,8 @@ public class SQLClient {
 
         try {
             if (out != null) {
-                out.println(Protocol.msg(Protocol.DISCONNECT, ""));
-                out.flush();
-
-                String response = in.readLine();
-                if (response != null) {
-                    String[] parts = Protocol.parse(response);
-                    if (parts.length > 1) {
-                        System.out.println(parts[1]);
-                    }
-                }
+                send(Protocol.frame(Protocol.DISCONNECT));
+                System.out.println(Protocol.read(in).text());
             }
         } catch (IOException e) {
             System.err.println("Error during disconnect: " + e.getMessage());
@@ -210,12 +450,7 @@ public class SQLClient {
 
             if (line.equalsIgnoreCase("ping")) {
                 try {
-                    out.println(Protocol.PING);
-                    // Ler length
-                    String lengthStr = in.readLine();
-                    // Ler resposta (PONG)
-                    String response = in.readLine();
-                    System.out.println(response != null ? response : "No response");
+                    System.out.println(ping() ? "PONG" : "No response");
                     System.out.println();
                 } catch (IOException e) {
                     System.err.println("Error: " + e.getMessage());
@@ -1,29 +1,109 @@
 package lib.network;
 
+import lib.QueryResult;
 import lib.UserQuery;
 import lib.UserQueryParser;
 import java.io.*;
 import java.net.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.*;
+import java.util.*;
 import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
- * Servidor SQL multithread que aceita conexões de clientes.
+ * Servidor SQL que aceita conexões de clientes.
+ *
+ * Todas as conexões usam a mesma engine: um único snapshot, WAL e
+ * conjunto de índices, e cada cliente vê as escritas dos outros. A rede
+ * é não bloqueante: uma thread com um Selector aceita as conexões, lê os
+ * frames recebidos (ver Protocol) e escreve as respostas, então uma
+ * conexão ociosa custa só os seus buffers. Os comandos rodam em um pool
+ * de threads criadas sob demanda, um comando por vez para cada conexão,
+ * na ordem de chegada.
+ *
+ * Uma transação (BEGIN) pertence à thread que a abriu: essa thread fica
+ * com a conexão até o COMMIT ou ROLLBACK. Se o cliente cai no meio da
+ * transação, ela é desfeita. Como a transação segura o lock de escrita
+ * da engine, uma conexão parada dentro dela por mais que o timeout de
+ * transação (setTransactionTimeout) tem a transação desfeita e é
+ * encerrada, liberando as escritas das outras conexões.
+ *
+ * Os comandos rodam em dois pools: um para os que podem esperar o lock
+ * de escrita (INSERT, UPDATE, DELETE, transações, EXECUTE, BATCH) e outro
+ * para leituras (SELECT, cursores, PREPARE), que leem a visão publicada
+ * sem lock. Assim, escritores parados atrás de uma transação longa não
+ * ocupam as threads que atenderiam os SELECTs das outras conexões. Cada
+ * pool tem um número máximo de threads, e as ociosas expiram.
+ *
+ * O resultado de um SELECT vai como linhas tipadas em lotes binários,
+ * sem ser convertido em texto no servidor. As linhas são lidas da visão
+ * da consulta à medida que os lotes saem, e a thread que as envia espera
+ * quando há respostas demais na fila da conexão (cliente lento), então a
+ * memória por conexão fica limitada. Com um cursor (OPEN/FETCH), o
+ * cliente escolhe quantas linhas recebe por vez.
+ *
+ * Como os comandos de uma conexão rodam em ordem, o cliente pode enviar
+ * vários de uma vez (REQUEST, com id) e ler as respostas depois. Um
+ * BATCH de INSERTs roda numa só transação, com um flush do WAL.
+ *
+ * @author SQL Parser Team
+ * @version 2.8
  */
 public class SQLServer {
 
     private final int port;
-    private ServerSocket serverSocket;
     private final UserQuery engine;
-    private final ExecutorService threadPool;
-    private boolean running;
+    private final ExecutorService writers;   // Comandos que podem esperar o lock de escrita
+    private final ExecutorService readers;   // Leituras: nunca esperam escritores
+    private final Set<ClientHandler> clients;
+
+    // Threads de cada pool (comandos em execução ao mesmo tempo)
+    private static final int MAX_WORKERS = Math.max(16, 4 * Runtime.getRuntime().availableProcessors());
+
+    // Tempo máximo parado dentro de uma transação
+    private volatile long transactionTimeoutMillis = 60_000;
+
+    // Conexões com respostas novas, registradas para escrita pelo Selector
+    private final Queue<ClientHandler> pendingWrites;
+
+    private Selector selector;
+    private ServerSocketChannel serverChannel;
+    private volatile boolean running;
+    private volatile int actualPort;
 
     public SQLServer(int port) {
+        this(port, new UserQuery(true));
+    }
+
+    /**
+     * Construtor com engine já criada.
+     *
+     * @param port Porta (0 para uma porta livre qualquer)
+     * @param engine Engine compartilhada pelas conexões
+     */
+    public SQLServer(int port, UserQuery engine) {
         this.port = port;
-        this.engine = new UserQuery(true);
-        this.threadPool = Executors.newFixedThreadPool(10);
+        this.engine = engine;
+        this.writers = pool("sql-writer");
+        this.readers = pool("sql-reader");
+        this.clients = ConcurrentHashMap.newKeySet();
+        this.pendingWrites = new ConcurrentLinkedQueue<>();
         this.running = false;
     }
 
+    private static ExecutorService pool(String name) {
+        ThreadPoolExecutor pool = new ThreadPoolExecutor(MAX_WORKERS, MAX_WORKERS,
+                30, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), task -> {
+            Thread thread = new Thread(task, name);
+            thread.setDaemon(true);
+            return thread;
+        });
+        pool.allowCoreThreadTimeOut(true);
+        return pool;
+    }
+
     /**
      * Encontra uma porta disponível começando pela porta especificada.
      */
@@ -40,13 +120,24 @@ public class SQLServer {
         return -1;
     }
 
+    private static ServerSocketChannel open(int port) throws IOException {
+        ServerSocketChannel channel = ServerSocketChannel.open();
+        try {
+            channel.bind(new InetSocketAddress(port));
+            return channel;
+        } catch (IOException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
     public void start() {
         try {
             int actualPort = port;
 
             // Tentar porta especificada primeiro
             try {
-                serverSocket = new ServerSocket(port);
+                serverChannel = open(port);
             } catch (BindException e) {
                 System.out.println("Port " + port + " is already in use.");
                 System.out.print("Finding available port... ");
@@ -59,184 +150,734 @@ public class SQLServer {
                 }
 
                 System.out.println("Using port " + actualPort);
-                serverSocket = new ServerSocket(actualPort);
+                serverChannel = open(actualPort);
             }
 
+            selector = Selector.open();
+            serverChannel.configureBlocking(false);
+            serverChannel.register(selector, SelectionKey.OP_ACCEPT);
+
             running = true;
+            this.actualPort = serverChannel.socket().getLocalPort();
 
             System.out.println("\n╔════════════════════════════════════════╗");
             System.out.println("║      SQL Server Started                ║");
             System.out.println("╚════════════════════════════════════════╝");
-            System.out.println("Port: " + actualPort);
+            System.out.println("Port: " + this.actualPort);
             System.out.println("Clients connect with:");
-            System.out.println("  java -cp ... lib.network.SQLClient localhost " + actualPort);
+            System.out.println("  java -cp ... lib.network.SQLClient localhost " + this.actualPort);
             System.out.println("\nPress CTRL+C to stop\n");
 
             while (running) {
-                try {
-                    Socket client = serverSocket.accept();
-                    System.out.println("Client connected: " +
-                            client.getInetAddress().getHostAddress());
-                    threadPool.execute(new ClientHandler(client, engine));
-                } catch (IOException e) {
-                    if (running) System.err.println("Error: " + e.getMessage());
+                selector.select();
+                registerWrites();
+
+                Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+                while (keys.hasNext()) {
+                    SelectionKey key = keys.next();
+                    keys.remove();
+                    handle(key);
                 }
             }
+        } catch (IOException | ClosedSelectorException e) {
+            if (running) System.err.println("Failed to start: " + e.getMessage());
+        } finally {
+            try {
+                if (selector != null) selector.close();
+            } catch (IOException e) {
+                // Ignorar
+            }
+        }
+    }
+
+    // ================================================================
+    // SELECTOR
+    // ================================================================
+
+    private void handle(SelectionKey key) {
+        if (!key.isValid()) {
+            return;
+        }
+
+        if (key.isAcceptable()) {
+            accept();
+            return;
+        }
+
+        ClientHandler client = (ClientHandler) key.attachment();
+        try {
+            if (key.isReadable()) {
+                client.read();
+            }
+            if (key.isValid() && key.isWritable()) {
+                client.write();
+            }
         } catch (IOException e) {
-            System.err.println("Failed to start: " + e.getMessage());
+            System.err.println("Client error: " + e.getMessage());
+            disconnect(client);
+        }
+    }
+
+    private void accept() {
+        try {
+            SocketChannel channel = serverChannel.accept();
+            if (channel == null) {
+                return;
+            }
+
+            channel.configureBlocking(false);
+            channel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+
+            ClientHandler client = new ClientHandler(this, channel, new UserQueryParser(engine));
+            client.attach(channel.register(selector, SelectionKey.OP_READ, client));
+            clients.add(client);
+
+            // Mensagem de boas-vindas
+            client.sendResponse(Protocol.OK, "Connected to SQL Server");
+
+        } catch (IOException e) {
+            if (running) System.err.println("Error: " + e.getMessage());
+        }
+    }
+
+    private void registerWrites() {
+        ClientHandler client;
+        while ((client = pendingWrites.poll()) != null) {
+            client.enableWrite();
+        }
+    }
+
+    /**
+     * Pede ao Selector que escreva as respostas pendentes da conexão.
+     * Chamado pelas threads que executam comandos.
+     */
+    void requestWrite(ClientHandler client) {
+        pendingWrites.add(client);
+        selector.wakeup();
+    }
+
+    /**
+     * Executa uma tarefa de conexão no pool de escrita ou no de leitura.
+     */
+    void execute(Runnable task, boolean write) {
+        try {
+            (write ? writers : readers).execute(task);
+        } catch (RejectedExecutionException e) {
+            // Servidor parando: a conexão já foi encerrada
+        }
+    }
+
+    /**
+     * Fecha a conexão. Uma transação aberta por ela é desfeita pela
+     * thread que a segura.
+     */
+    void disconnect(ClientHandler client) {
+        if (clients.remove(client)) {
+            client.close();
         }
     }
 
     public void stop() {
         running = false;
         try {
-            if (serverSocket != null) serverSocket.close();
-            threadPool.shutdown();
+            if (serverChannel != null) serverChannel.close();
+            if (selector != null) selector.wakeup();
+
+            for (ClientHandler client : new ArrayList<>(clients)) {
+                disconnect(client);
+            }
+
+            writers.shutdown();
+            readers.shutdown();
+            if (!writers.awaitTermination(5, TimeUnit.SECONDS)
+                    || !readers.awaitTermination(5, TimeUnit.SECONDS)) {
+                System.err.println("Warning: commands still running");
+            }
+
             engine.shutdown();
             System.out.println("\nServer stopped");
         } catch (IOException e) {
             System.err.println("Error stopping: " + e.getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Define por quanto tempo uma conexão pode ficar sem enviar comandos
+     * dentro de uma transação. Passado o tempo, a transação é desfeita
+     * (liberando o lock de escrita) e a conexão é encerrada.
+     *
+     * @param millis Timeout em milissegundos
+     */
+    public void setTransactionTimeout(long millis) {
+        if (millis < 1) {
+            throw new IllegalArgumentException("Invalid: timeout de transação deve ser positivo");
         }
+        this.transactionTimeoutMillis = millis;
     }
 
+    long getTransactionTimeout() {
+        return transactionTimeoutMillis;
+    }
+
+    /**
+     * Retorna a porta em uso (0 antes de o servidor iniciar).
+     */
+    public int getPort() {
+        return actualPort;
+    }
+
+    /**
+     * Retorna o número de conexões abertas.
+     */
+    public int getClientCount() {
+        return clients.size();
+    }
+
+    /**
+     * Uso: SQLServer [porta] [lote do group commit] [espera em µs]
+     */
     public static void main(String[] args) {
         int port = args.length > 0 ? Integer.parseInt(args[0]) : Protocol.PORT;
-        SQLServer server = new SQLServer(port);
+
+        UserQuery engine = new UserQuery(true);
+        if (args.length > 1) {
+            long waitMicros = args.length > 2 ? Long.parseLong(args[2]) : 1000;
+            engine.enableGroupCommit(Integer.parseInt(args[1]), waitMicros);
+        }
+
+        SQLServer server = new SQLServer(port, engine);
         Runtime.getRuntime().addShutdownHook(new Thread(server::stop));
         server.start();
     }
 }
 
-class ClientHandler implements Runnable {
-    private final Socket socket;
-    private final UserQuery engine;
+/**
+ * Estado de uma conexão: buffers de rede, fila de frames recebidos,
+ * respostas a enviar e o cursor aberto.
+ *
+ * Leitura e escrita no socket só acontecem na thread do Selector. Os
+ * comandos rodam nos pools, por uma tarefa de cada vez (drain); fora de
+ * uma transação a thread volta ao pool quando a fila esvazia, e a tarefa
+ * passa para o outro pool quando o próximo comando é de outro tipo
+ * (leitura ou escrita).
+ */
+class ClientHandler {
+
+    private static final int BUFFER_SIZE = 8 * 1024;
+
+    // Bytes na fila de saída acima dos quais o envio de linhas espera
+    private static final int MAX_QUEUED = 256 * 1024;
+
+    // Comandos SQL que não passam pelo lock de escrita
+    private static final String[] READ_STATEMENTS = {"SELECT", "PREPARE", "DEALLOCATE"};
+
+    // Acorda a thread presa a uma transação quando a conexão fecha
+    private static final Protocol.Frame WAKE_UP = new Protocol.Frame((byte) 0, ByteBuffer.allocate(0));
+
+    private final SQLServer server;
+    private final SocketChannel channel;
     private final UserQueryParser parser;
-    private BufferedReader in;
-    private PrintWriter out;
+    private final String address;
+    private SelectionKey key;
+
+    private ByteBuffer input;
+    private final Queue<ByteBuffer> output;
+    private final AtomicLong queued;
+    private final Object drained;
+    private volatile boolean waiting;
+    private volatile boolean closeAfterWrite;
+
+    // Cursor aberto por OPEN (só a thread do drain usa)
+    private Iterator<Object[]> cursor;
+    private RowEncoder cursorEncoder;
+
+    private final BlockingQueue<Protocol.Frame> statements;
+    private final AtomicBoolean scheduled;
+    private volatile boolean closed;
+
+    ClientHandler(SQLServer server, SocketChannel channel, UserQueryParser parser) throws IOException {
+        this.server = server;
+        this.channel = channel;
+        this.parser = parser;
+        this.address = channel.getRemoteAddress().toString();
+        this.input = ByteBuffer.allocate(BUFFER_SIZE);
+        this.output = new ConcurrentLinkedQueue<>();
+        this.queued = new AtomicLong();
+        this.drained = new Object();
+        this.statements = new LinkedBlockingQueue<>();
+        this.scheduled = new AtomicBoolean(false);
+
+        System.out.println("Client connected: " + address);
+    }
 
-    public ClientHandler(Socket socket, UserQuery engine) {
-        this.socket = socket;
-        this.engine = engine;
-        // IMPORTANTE: UserQueryParser cria seu próprio UserQuery
-        // Para usar engine compartilhada, precisamos de abordagem diferente
-        this.parser = new UserQueryParser();
+    void attach(SelectionKey key) {
+        this.key = key;
     }
 
-    @Override
-    public void run() {
-        try {
-            in = new BufferedReader(new InputStreamReader(socket.getInputStream()));
-            out = new PrintWriter(socket.getOutputStream(), true); // autoFlush = true
+    // ================================================================
+    // REDE (thread do Selector)
+    // ================================================================
 
-            // Mensagem de boas-vindas
-            sendResponse(Protocol.OK, "Connected to SQL Server");
+    /**
+     * Lê o que chegou e enfileira cada frame completo como comando.
+     */
+    void read() throws IOException {
+        if (channel.read(input) < 0) {
+            server.disconnect(this);
+            return;
+        }
 
-            System.out.println("Client handler started for " + socket.getInetAddress());
+        input.flip();
+        while (input.remaining() >= 4) {
+            int length = input.getInt(input.position());
+            if (length < 1 || length > Protocol.MAX_FRAME) {
+                throw new IOException("Protocol error - invalid length " + length);
+            }
+            if (input.remaining() < 4 + length) {
+                break;
+            }
 
-            String line;
-            while ((line = in.readLine()) != null) {
-                line = line.trim();
-                if (line.isEmpty()) continue;
+            input.getInt();
+            byte type = input.get();
+            byte[] payload = new byte[length - 1];
+            input.get(payload);
+            statements.add(new Protocol.Frame(type, ByteBuffer.wrap(payload)));
+        }
+        input.compact();
 
-                System.out.println("[RECEIVED] " + line);
+        // Frame maior que o buffer: cresce até caber inteiro
+        if (input.position() >= 4 && input.getInt(0) + 4 > input.capacity()) {
+            input = ByteBuffer.allocate(input.getInt(0) + 4).put(input.flip());
+        }
 
-                String[] parts = Protocol.parse(line);
-                if (parts.length == 0) continue;
+        if (!statements.isEmpty()) {
+            schedule();
+        }
+    }
 
-                String command = parts[0];
-                String data = parts.length > 1 ? parts[1] : "";
+    /**
+     * Escreve as respostas pendentes até o socket não aceitar mais.
+     */
+    void write() throws IOException {
+        ByteBuffer buffer;
+        while ((buffer = output.peek()) != null) {
+            channel.write(buffer);
+            if (buffer.hasRemaining()) {
+                return;  // Socket cheio: continua no próximo OP_WRITE
+            }
+            output.poll();
 
-                switch (command) {
-                    case Protocol.QUERY -> handleQuery(data);
-                    case Protocol.PING -> {
-                        System.out.println("[SENDING] PONG");
-                        // PING retorna sem dados
-                        out.println("4");  // length de "PONG"
-                        out.println(Protocol.PONG);
-                    }
-                    case Protocol.DISCONNECT -> {
-                        System.out.println("[SENDING] Goodbye");
-                        sendResponse(Protocol.OK, "Goodbye");
-                        return;
-                    }
-                    default -> {
-                        System.out.println("[SENDING] Unknown command error");
-                        sendResponse(Protocol.ERROR, "Unknown command: " + command);
+            if (queued.addAndGet(-buffer.limit()) <= MAX_QUEUED && waiting) {
+                wakeSender();
+            }
+        }
+
+        key.interestOps(SelectionKey.OP_READ);
+
+        if (closeAfterWrite) {
+            server.disconnect(this);
+        }
+    }
+
+    void enableWrite() {
+        if (key.isValid()) {
+            key.interestOps(key.interestOps() | SelectionKey.OP_WRITE);
+        }
+    }
+
+    void close() {
+        closed = true;
+        statements.add(WAKE_UP);
+        schedule();
+        wakeSender();
+
+        try {
+            key.cancel();
+            channel.close();
+            System.out.println("Client disconnected: " + address);
+        } catch (IOException e) {
+            System.err.println("Error closing connection: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Envia uma resposta de texto (OK, ERROR ou RESULT).
+     */
+    void sendResponse(byte type, String text) {
+        send(Protocol.frame(type, text));
+    }
+
+    private void send(ByteBuffer frame) {
+        queued.addAndGet(frame.limit());
+        output.add(frame);
+        server.requestWrite(this);
+    }
+
+    /**
+     * Espera a fila de saída baixar de MAX_QUEUED (back-pressure).
+     *
+     * @return false se a conexão fechou
+     */
+    private boolean awaitDrain() {
+        if (queued.get() <= MAX_QUEUED) {
+            return !closed;
+        }
+
+        synchronized (drained) {
+            try {
+                // waiting antes de reler a fila: o Selector baixa a fila e depois lê waiting
+                while (true) {
+                    waiting = true;
+                    if (queued.get() <= MAX_QUEUED || closed) {
+                        break;
                     }
+                    drained.wait();
                 }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            } finally {
+                waiting = false;
             }
-        } catch (IOException e) {
-            System.err.println("Client error: " + e.getMessage());
-        } finally {
-            close();
         }
+        return !closed;
     }
 
-    private void handleQuery(String sql) {
+    private void wakeSender() {
+        synchronized (drained) {
+            drained.notifyAll();
+        }
+    }
+
+    // ================================================================
+    // EXECUÇÃO (pool)
+    // ================================================================
+
+    private void schedule() {
+        if (scheduled.compareAndSet(false, true)) {
+            resume();
+        }
+    }
+
+    /**
+     * Continua o drain no pool do próximo comando da fila.
+     */
+    private void resume() {
+        Protocol.Frame next = statements.peek();
+        boolean write = next != null && mayWrite(next);
+        server.execute(() -> drain(write), write);
+    }
+
+    /**
+     * Indica se o comando pode esperar o lock de escrita da engine. Só
+     * SELECT, PREPARE, DEALLOCATE, cursores e comandos de conexão contam
+     * como leitura; na dúvida (EXECUTE, texto malformado), escrita.
+     */
+    private static boolean mayWrite(Protocol.Frame frame) {
+        ByteBuffer payload = frame.payload().duplicate();
+
         try {
-            if (sql == null || sql.trim().isEmpty()) {
-                System.out.println("[SENDING] Empty query error");
-                sendResponse(Protocol.ERROR, "Empty query");
+            return switch (frame.type()) {
+                case Protocol.QUERY -> !isRead(Protocol.getString(payload));
+                case Protocol.OPEN -> {
+                    payload.getInt();
+                    yield !isRead(Protocol.getString(payload));
+                }
+                case Protocol.REQUEST -> {
+                    payload.getInt();
+                    byte type = payload.get();
+                    yield type == Protocol.REQUEST || mayWrite(new Protocol.Frame(type, payload.slice()));
+                }
+                case Protocol.BATCH -> true;
+                default -> false;
+            };
+        } catch (RuntimeException e) {
+            return true;
+        }
+    }
+
+    private static boolean isRead(String sql) {
+        String statement = sql.stripLeading();
+
+        for (String keyword : READ_STATEMENTS) {
+            if (statement.regionMatches(true, 0, keyword, 0, keyword.length())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Executa os comandos da fila em ordem. Com uma transação aberta, a
+     * thread espera pelo próximo comando em vez de voltar ao pool, já
+     * que só ela pode continuar a transação; se o comando não chega
+     * dentro do timeout, a transação é desfeita e a conexão encerrada.
+     * Fora dela, um comando do outro tipo passa a tarefa para o outro
+     * pool, sem soltar scheduled.
+     *
+     * @param onWriter Se a tarefa roda no pool de escrita
+     */
+    private void drain(boolean onWriter) {
+        UserQuery engine = parser.getEngine();
+
+        while (true) {
+            Protocol.Frame frame;
+
+            if (engine.inTransaction()) {
+                long timeout = server.getTransactionTimeout();
+                try {
+                    frame = statements.poll(timeout, TimeUnit.MILLISECONDS);
+                } catch (InterruptedException e) {
+                    closed = true;
+                    frame = WAKE_UP;
+                }
+
+                // Parada dentro da transação: desfaz e encerra a conexão
+                if (frame == null) {
+                    rollbackOpenTransaction(engine);
+                    closeAfterWrite = true;
+                    sendResponse(Protocol.ERROR, "Invalid: transaction rolled back after "
+                            + timeout + " ms idle");
+                    closed = true;
+                    return;
+                }
+            } else {
+                frame = statements.peek();
+
+                if (frame != null && frame != WAKE_UP && mayWrite(frame) != onWriter) {
+                    resume();
+                    return;
+                }
+                frame = statements.poll();
+
+                if (frame == null) {
+                    scheduled.set(false);
+
+                    // Um comando pode ter chegado entre o poll e o set
+                    if (statements.isEmpty() || !scheduled.compareAndSet(false, true)) {
+                        return;
+                    }
+                    continue;
+                }
+            }
+
+            if (closed) {
+                rollbackOpenTransaction(engine);
+                return;
+            }
+
+            if (!process(frame)) {
+                rollbackOpenTransaction(engine);
+                closed = true;
                 return;
             }
+        }
+    }
 
-            System.out.println("[EXECUTING] " + sql);
+    private void rollbackOpenTransaction(UserQuery engine) {
+        if (engine.inTransaction()) {
+            engine.rollback();
+            System.out.println("Transaction rolled back: " + address);
+        }
+    }
 
-            String result = parser.execute(sql);
+    /**
+     * Executa um comando do protocolo.
+     *
+     * @return false se o cliente pediu para desconectar
+     */
+    private boolean process(Protocol.Frame frame) {
+        switch (frame.type()) {
+            case Protocol.QUERY, Protocol.OPEN -> {
+                closeCursor();
 
-            if (result == null) {
-                result = "OK";
+                int fetchSize;
+                String sql;
+                try {
+                    ByteBuffer payload = frame.payload();
+                    fetchSize = frame.type() == Protocol.OPEN ? payload.getInt() : 0;
+                    sql = frame.text();
+                } catch (RuntimeException e) {
+                    sendResponse(Protocol.ERROR, "Protocol error - malformed query");
+                    return true;
+                }
+                handleQuery(sql, fetchSize);
             }
+            case Protocol.FETCH -> {
+                try {
+                    fetch(frame.payload().getInt());
+                } catch (RuntimeException e) {
+                    sendResponse(Protocol.ERROR, "Protocol error - malformed fetch");
+                }
+            }
+            case Protocol.CLOSE -> {
+                closeCursor();
+                sendResponse(Protocol.OK, "Cursor closed");
+            }
+            case Protocol.REQUEST -> {
+                return handleRequest(frame.payload());
+            }
+            case Protocol.BATCH -> handleBatch(frame.payload());
+            case Protocol.PING -> send(Protocol.frame(Protocol.PONG));
+            case Protocol.DISCONNECT -> {
+                closeAfterWrite = true;
+                sendResponse(Protocol.OK, "Goodbye");
+                return false;
+            }
+            default -> sendResponse(Protocol.ERROR, "Unknown command: " + frame.type());
+        }
+        return true;
+    }
 
-            System.out.println("[RESULT] Raw length=" + result.length());
-            System.out.println("[RESULT] Preview=" + result.substring(0, Math.min(100, result.length())));
+    /**
+     * Executa o comando embutido em um REQUEST, precedendo a resposta
+     * com REPLY e o id do pedido.
+     */
+    private boolean handleRequest(ByteBuffer payload) {
+        int id;
+        byte type;
+        try {
+            id = payload.getInt();
+            type = payload.get();
+        } catch (RuntimeException e) {
+            sendResponse(Protocol.ERROR, "Protocol error - malformed request");
+            return true;
+        }
+
+        send(new FrameBuffer(Protocol.REPLY).putInt(id).finish());
+
+        if (type == Protocol.REQUEST) {
+            sendResponse(Protocol.ERROR, "Invalid: nested request");
+            return true;
+        }
+        return process(new Protocol.Frame(type, payload.slice()));
+    }
+
+    /**
+     * Executa um lote de INSERTs numa transação: um flush do WAL para o
+     * lote inteiro (UserQueryParser.executeBatch). Dentro de uma
+     * transação já aberta, os INSERTs entram nela e o cliente decide o
+     * COMMIT.
+     */
+    private void handleBatch(ByteBuffer payload) {
+        List<String> inserts = new ArrayList<>();
+        try {
+            int count = payload.getInt();
+            for (int i = 0; i < count; i++) {
+                inserts.add(Protocol.getString(payload));
+            }
+        } catch (RuntimeException e) {
+            sendResponse(Protocol.ERROR, "Protocol error - malformed batch");
+            return;
+        }
+
+        try {
+            String result = parser.executeBatch(inserts).toString();
+            sendResponse(result.startsWith("Invalid") ? Protocol.ERROR : Protocol.RESULT, result);
+        } catch (RuntimeException e) {
+            sendResponse(Protocol.ERROR, "Batch failed: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Executa a query e envia o resultado.
+     *
+     * @param fetchSize Linhas da primeira parte de um cursor (OPEN);
+     *                  0 envia todas (QUERY)
+     */
+    private void handleQuery(String sql, int fetchSize) {
+        try {
+            if (sql == null || sql.trim().isEmpty()) {
+                sendResponse(Protocol.ERROR, "Empty query");
+                return;
+            }
+
+            Object result = parser.executeResult(sql);
 
             // Enviar resultado
-            if (result.startsWith("Invalid")) {
-                sendResponse(Protocol.ERROR, result);
+            if (result instanceof QueryResult rows) {
+                RowEncoder encoder = new RowEncoder(rows);
+                send(RowEncoder.description(rows));
+
+                if (fetchSize > 0) {
+                    cursor = rows.cursor();
+                    cursorEncoder = encoder;
+                    fetch(fetchSize);
+                } else if (stream(rows.cursor(), encoder, Integer.MAX_VALUE)) {
+                    send(encoder.end());
+                }
+            } else if (result.toString().startsWith("Invalid")) {
+                sendResponse(Protocol.ERROR, result.toString());
             } else {
-                sendResponse(Protocol.RESULT, result);
+                sendResponse(Protocol.RESULT, result.toString());
             }
 
         } catch (Exception e) {
             System.err.println("[ERROR] Query execution failed: " + e.getMessage());
-            e.printStackTrace();
             sendResponse(Protocol.ERROR, "Query failed: " + e.getMessage());
         }
     }
 
     /**
-     * Envia resposta usando protocolo: LENGTH\nCOMMAND|DATA
+     * Envia a próxima parte do cursor aberto: até fetchSize linhas e
+     * SUSPENDED, ou ROWS_END se o cursor chegou ao fim.
      */
-    private void sendResponse(String command, String data) {
-        try {
-            // Limpar data de quebras de linha
-            data = data.replace("\r", "").replace("\n", "");
-
-            // Montar mensagem: COMMAND|DATA
-            String message = command + Protocol.SEP + data;
+    private void fetch(int fetchSize) {
+        if (cursor == null) {
+            sendResponse(Protocol.ERROR, "Invalid: no open cursor");
+            return;
+        }
+        if (fetchSize < 1) {
+            sendResponse(Protocol.ERROR, "Invalid: fetch size must be positive");
+            return;
+        }
 
-            // Enviar tamanho primeiro
-            out.println(message.length());
+        try {
+            if (!stream(cursor, cursorEncoder, fetchSize)) {
+                closeCursor();
+            } else if (cursor.hasNext()) {
+                send(Protocol.frame(Protocol.SUSPENDED));
+            } else {
+                send(cursorEncoder.end());
+                closeCursor();
+            }
+        } catch (RuntimeException e) {
+            // Ex.: visão compactada durante um cursor aberto na transação
+            closeCursor();
+            sendResponse(Protocol.ERROR, e.getMessage() != null ? e.getMessage() : "Cursor failed");
+        }
+    }
 
-            // Enviar mensagem
-            out.println(message);
+    /**
+     * Codifica e envia até limit linhas, lote a lote. Antes de cada lote
+     * espera a fila de saída escoar, então um cliente lento segura a
+     * leitura das linhas em vez de acumular frames na memória.
+     *
+     * @return false se a conexão fechou no meio do envio
+     */
+    private boolean stream(Iterator<Object[]> rows, RowEncoder encoder, int limit) {
+        for (int sent = 0; sent < limit && rows.hasNext(); sent++) {
+            ByteBuffer batch = encoder.add(rows.next());
 
-            System.out.println("[SENT] " + command + " (" + message.length() + " bytes)");
+            if (batch != null) {
+                if (!awaitDrain()) {
+                    return false;
+                }
+                send(batch);
+            }
+        }
 
-        } catch (Exception e) {
-            System.err.println("[ERROR] Failed to send response: " + e.getMessage());
+        ByteBuffer last = encoder.flush();
+        if (last != null) {
+            send(last);
         }
+        return true;
     }
 
-    private void close() {
-        try {
-            if (in != null) in.close();
-            if (out != null) out.close();
-            if (socket != null && !socket.isClosed()) socket.close();
-            System.out.println("Client disconnected");
-        } catch (IOException e) {
-            System.err.println("Error closing connection: " + e.getMessage());
-        }
+    private void closeCursor() {
+        cursor = null;
+        cursorEncoder = null;
     }
-}
\ No newline at end of file
+}
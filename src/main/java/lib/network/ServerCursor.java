@@ -0,0 +1,118 @@
+package lib.network;
+
+import lib.QueryResult;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Cursor aberto no servidor por SQLClient.openCursor.
+ *
+ * Guarda só a parte atual das linhas: quando ela acaba, hasNext() pede
+ * a próxima (FETCH) com o mesmo fetch size. Enquanto o cursor está
+ * aberto, outra query na mesma conexão fecha o cursor no servidor.
+ *
+ * @author SQL Parser Team
+ * @version 1.0
+ */
+public class ServerCursor implements Iterator<Object[]>, Closeable {
+
+    private final SQLClient client;
+    private final String[] names;
+    private final QueryResult.ColumnType[] types;
+    private final int fetchSize;
+    private final ArrayDeque<Object[]> part;
+    private int received;
+    private boolean finished;
+
+    ServerCursor(SQLClient client, ByteBuffer description, int fetchSize) throws IOException {
+        int columns = description.getShort();
+        this.client = client;
+        this.names = new String[columns];
+        this.types = new QueryResult.ColumnType[columns];
+        this.fetchSize = fetchSize;
+        this.part = new ArrayDeque<>();
+        SQLClient.readDescription(description, names, types);
+    }
+
+    public int columnCount() {
+        return names.length;
+    }
+
+    public String columnName(int column) {
+        return names[column];
+    }
+
+    public QueryResult.ColumnType columnType(int column) {
+        return types[column];
+    }
+
+    /**
+     * Linhas recebidas do servidor até agora.
+     */
+    public int received() {
+        return received;
+    }
+
+    @Override
+    public boolean hasNext() {
+        while (part.isEmpty() && !finished) {
+            try {
+                client.fetch(this);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            } catch (IllegalStateException e) {
+                finished = true;  // ERROR do servidor: o cursor já foi fechado lá
+                throw e;
+            }
+        }
+        return !part.isEmpty();
+    }
+
+    @Override
+    public Object[] next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        return part.poll();
+    }
+
+    /**
+     * Descarta as linhas que faltam no servidor.
+     */
+    @Override
+    public void close() throws IOException {
+        if (!finished) {
+            finished = true;
+            part.clear();
+            client.closeCursor();
+        }
+    }
+
+    // Chamados pelo SQLClient ao ler as partes
+
+    QueryResult.ColumnType[] types() {
+        return types;
+    }
+
+    int fetchSize() {
+        return fetchSize;
+    }
+
+    void add(Object[] row) {
+        part.add(row);
+        received++;
+    }
+
+    void finish(int total) throws IOException {
+        finished = true;
+        if (total != received) {
+            throw new IOException("Protocol error - expected " + total + " rows, got " + received);
+        }
+    }
+}
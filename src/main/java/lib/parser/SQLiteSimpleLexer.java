@@ -18,9 +18,10 @@ public class SQLiteSimpleLexer extends Lexer {
 	public static final int
 		K_SELECT=1, K_FROM=2, K_WHERE=3, K_INSERT=4, K_INTO=5, K_VALUES=6, K_UPDATE=7, 
 		K_SET=8, K_DELETE=9, K_ORDER=10, K_BY=11, K_ASC=12, K_DESC=13, K_GROUP=14, 
-		K_AND=15, K_OR=16, K_LIKE=17, K_BETWEEN=18, K_COUNT=19, IDENTIFIER=20, 
-		NUMERIC_LITERAL=21, STRING_LITERAL=22, COMMA=23, OPEN_PAR=24, CLOSE_PAR=25, 
-		STAR=26, EQ=27, SPACES=28;
+		K_AND=15, K_OR=16, K_LIKE=17, K_BETWEEN=18, K_COUNT=19, K_BEGIN=20, K_COMMIT=21, 
+		K_ROLLBACK=22, K_TRANSACTION=23, K_PREPARE=24, K_EXECUTE=25, K_DEALLOCATE=26, 
+		K_AS=27, IDENTIFIER=28, NUMERIC_LITERAL=29, STRING_LITERAL=30, COMMA=31, 
+		OPEN_PAR=32, CLOSE_PAR=33, STAR=34, EQ=35, PARAM=36, SPACES=37;
 	public static String[] channelNames = {
 		"DEFAULT_TOKEN_CHANNEL", "HIDDEN"
 	};
@@ -33,10 +34,12 @@ public class SQLiteSimpleLexer extends Lexer {
 		return new String[] {
 			"K_SELECT", "K_FROM", "K_WHERE", "K_INSERT", "K_INTO", "K_VALUES", "K_UPDATE", 
 			"K_SET", "K_DELETE", "K_ORDER", "K_BY", "K_ASC", "K_DESC", "K_GROUP", 
-			"K_AND", "K_OR", "K_LIKE", "K_BETWEEN", "K_COUNT", "IDENTIFIER", "NUMERIC_LITERAL", 
-			"STRING_LITERAL", "COMMA", "OPEN_PAR", "CLOSE_PAR", "STAR", "EQ", "SPACES", 
-			"A", "B", "C", "D", "E", "F", "G", "H", "I", "J", "K", "L", "M", "N", 
-			"O", "P", "Q", "R", "S", "T", "U", "V", "W", "X", "Y", "Z"
+			"K_AND", "K_OR", "K_LIKE", "K_BETWEEN", "K_COUNT", "K_BEGIN", "K_COMMIT", 
+			"K_ROLLBACK", "K_TRANSACTION", "K_PREPARE", "K_EXECUTE", "K_DEALLOCATE", 
+			"K_AS", "IDENTIFIER", "NUMERIC_LITERAL", "STRING_LITERAL", "COMMA", "OPEN_PAR", 
+			"CLOSE_PAR", "STAR", "EQ", "PARAM", "SPACES", "A", "B", "C", "D", "E", 
+			"F", "G", "H", "I", "J", "K", "L", "M", "N", "O", "P", "Q", "R", "S", 
+			"T", "U", "V", "W", "X", "Y", "Z"
 		};
 	}
 	public static final String[] ruleNames = makeRuleNames();
@@ -44,8 +47,9 @@ public class SQLiteSimpleLexer extends Lexer {
 	private static String[] makeLiteralNames() {
 		return new String[] {
 			null, null, null, null, null, null, null, null, null, null, null, null, 
-			null, null, null, null, null, null, null, null, null, null, null, "','", 
-			"'('", "')'", "'*'", "'='"
+			null, null, null, null, null, null, null, null, null, null, null, null, 
+			null, null, null, null, null, null, null, "','", "'('", "')'", "'*'", 
+			"'='", "'?'"
 		};
 	}
 	private static final String[] _LITERAL_NAMES = makeLiteralNames();
@@ -53,9 +57,10 @@ public class SQLiteSimpleLexer extends Lexer {
 		return new String[] {
 			null, "K_SELECT", "K_FROM", "K_WHERE", "K_INSERT", "K_INTO", "K_VALUES", 
 			"K_UPDATE", "K_SET", "K_DELETE", "K_ORDER", "K_BY", "K_ASC", "K_DESC", 
-			"K_GROUP", "K_AND", "K_OR", "K_LIKE", "K_BETWEEN", "K_COUNT", "IDENTIFIER", 
-			"NUMERIC_LITERAL", "STRING_LITERAL", "COMMA", "OPEN_PAR", "CLOSE_PAR", 
-			"STAR", "EQ", "SPACES"
+			"K_GROUP", "K_AND", "K_OR", "K_LIKE", "K_BETWEEN", "K_COUNT", "K_BEGIN", 
+			"K_COMMIT", "K_ROLLBACK", "K_TRANSACTION", "K_PREPARE", "K_EXECUTE", 
+			"K_DEALLOCATE", "K_AS", "IDENTIFIER", "NUMERIC_LITERAL", "STRING_LITERAL", 
+			"COMMA", "OPEN_PAR", "CLOSE_PAR", "STAR", "EQ", "PARAM", "SPACES"
 		};
 	}
 	private static final String[] _SYMBOLIC_NAMES = makeSymbolicNames();
@@ -117,193 +122,239 @@ public class SQLiteSimpleLexer extends Lexer {
 	public ATN getATN() { return _ATN; }
 
 	public static final String _serializedATN =
-		"\u0004\u0000\u001c\u013b\u0006\uffff\uffff\u0002\u0000\u0007\u0000\u0002"+
-		"\u0001\u0007\u0001\u0002\u0002\u0007\u0002\u0002\u0003\u0007\u0003\u0002"+
-		"\u0004\u0007\u0004\u0002\u0005\u0007\u0005\u0002\u0006\u0007\u0006\u0002"+
-		"\u0007\u0007\u0007\u0002\b\u0007\b\u0002\t\u0007\t\u0002\n\u0007\n\u0002"+
-		"\u000b\u0007\u000b\u0002\f\u0007\f\u0002\r\u0007\r\u0002\u000e\u0007\u000e"+
-		"\u0002\u000f\u0007\u000f\u0002\u0010\u0007\u0010\u0002\u0011\u0007\u0011"+
-		"\u0002\u0012\u0007\u0012\u0002\u0013\u0007\u0013\u0002\u0014\u0007\u0014"+
-		"\u0002\u0015\u0007\u0015\u0002\u0016\u0007\u0016\u0002\u0017\u0007\u0017"+
-		"\u0002\u0018\u0007\u0018\u0002\u0019\u0007\u0019\u0002\u001a\u0007\u001a"+
-		"\u0002\u001b\u0007\u001b\u0002\u001c\u0007\u001c\u0002\u001d\u0007\u001d"+
-		"\u0002\u001e\u0007\u001e\u0002\u001f\u0007\u001f\u0002 \u0007 \u0002!"+
-		"\u0007!\u0002\"\u0007\"\u0002#\u0007#\u0002$\u0007$\u0002%\u0007%\u0002"+
-		"&\u0007&\u0002\'\u0007\'\u0002(\u0007(\u0002)\u0007)\u0002*\u0007*\u0002"+
-		"+\u0007+\u0002,\u0007,\u0002-\u0007-\u0002.\u0007.\u0002/\u0007/\u0002"+
-		"0\u00070\u00021\u00071\u00022\u00072\u00023\u00073\u00024\u00074\u0002"+
-		"5\u00075\u0001\u0000\u0001\u0000\u0001\u0000\u0001\u0000\u0001\u0000\u0001"+
-		"\u0000\u0001\u0000\u0001\u0001\u0001\u0001\u0001\u0001\u0001\u0001\u0001"+
-		"\u0001\u0001\u0002\u0001\u0002\u0001\u0002\u0001\u0002\u0001\u0002\u0001"+
-		"\u0002\u0001\u0003\u0001\u0003\u0001\u0003\u0001\u0003\u0001\u0003\u0001"+
-		"\u0003\u0001\u0003\u0001\u0004\u0001\u0004\u0001\u0004\u0001\u0004\u0001"+
-		"\u0004\u0001\u0005\u0001\u0005\u0001\u0005\u0001\u0005\u0001\u0005\u0001"+
-		"\u0005\u0001\u0005\u0001\u0006\u0001\u0006\u0001\u0006\u0001\u0006\u0001"+
-		"\u0006\u0001\u0006\u0001\u0006\u0001\u0007\u0001\u0007\u0001\u0007\u0001"+
-		"\u0007\u0001\b\u0001\b\u0001\b\u0001\b\u0001\b\u0001\b\u0001\b\u0001\t"+
-		"\u0001\t\u0001\t\u0001\t\u0001\t\u0001\t\u0001\n\u0001\n\u0001\n\u0001"+
-		"\u000b\u0001\u000b\u0001\u000b\u0001\u000b\u0001\f\u0001\f\u0001\f\u0001"+
-		"\f\u0001\f\u0001\r\u0001\r\u0001\r\u0001\r\u0001\r\u0001\r\u0001\u000e"+
-		"\u0001\u000e\u0001\u000e\u0001\u000e\u0001\u000f\u0001\u000f\u0001\u000f"+
-		"\u0001\u0010\u0001\u0010\u0001\u0010\u0001\u0010\u0001\u0010\u0001\u0011"+
-		"\u0001\u0011\u0001\u0011\u0001\u0011\u0001\u0011\u0001\u0011\u0001\u0011"+
-		"\u0001\u0011\u0001\u0012\u0001\u0012\u0001\u0012\u0001\u0012\u0001\u0012"+
-		"\u0001\u0012\u0001\u0013\u0001\u0013\u0005\u0013\u00d9\b\u0013\n\u0013"+
-		"\f\u0013\u00dc\t\u0013\u0001\u0014\u0004\u0014\u00df\b\u0014\u000b\u0014"+
-		"\f\u0014\u00e0\u0001\u0014\u0001\u0014\u0005\u0014\u00e5\b\u0014\n\u0014"+
-		"\f\u0014\u00e8\t\u0014\u0003\u0014\u00ea\b\u0014\u0001\u0015\u0001\u0015"+
-		"\u0001\u0015\u0001\u0015\u0005\u0015\u00f0\b\u0015\n\u0015\f\u0015\u00f3"+
-		"\t\u0015\u0001\u0015\u0001\u0015\u0001\u0016\u0001\u0016\u0001\u0017\u0001"+
-		"\u0017\u0001\u0018\u0001\u0018\u0001\u0019\u0001\u0019\u0001\u001a\u0001"+
-		"\u001a\u0001\u001b\u0004\u001b\u0102\b\u001b\u000b\u001b\f\u001b\u0103"+
-		"\u0001\u001b\u0001\u001b\u0001\u001c\u0001\u001c\u0001\u001d\u0001\u001d"+
-		"\u0001\u001e\u0001\u001e\u0001\u001f\u0001\u001f\u0001 \u0001 \u0001!"+
-		"\u0001!\u0001\"\u0001\"\u0001#\u0001#\u0001$\u0001$\u0001%\u0001%\u0001"+
-		"&\u0001&\u0001\'\u0001\'\u0001(\u0001(\u0001)\u0001)\u0001*\u0001*\u0001"+
-		"+\u0001+\u0001,\u0001,\u0001-\u0001-\u0001.\u0001.\u0001/\u0001/\u0001"+
-		"0\u00010\u00011\u00011\u00012\u00012\u00013\u00013\u00014\u00014\u0001"+
-		"5\u00015\u0000\u00006\u0001\u0001\u0003\u0002\u0005\u0003\u0007\u0004"+
-		"\t\u0005\u000b\u0006\r\u0007\u000f\b\u0011\t\u0013\n\u0015\u000b\u0017"+
-		"\f\u0019\r\u001b\u000e\u001d\u000f\u001f\u0010!\u0011#\u0012%\u0013\'"+
-		"\u0014)\u0015+\u0016-\u0017/\u00181\u00193\u001a5\u001b7\u001c9\u0000"+
-		";\u0000=\u0000?\u0000A\u0000C\u0000E\u0000G\u0000I\u0000K\u0000M\u0000"+
-		"O\u0000Q\u0000S\u0000U\u0000W\u0000Y\u0000[\u0000]\u0000_\u0000a\u0000"+
-		"c\u0000e\u0000g\u0000i\u0000k\u0000\u0001\u0000\u001f\u0003\u0000AZ__"+
-		"az\u0004\u000009AZ__az\u0001\u000009\u0001\u0000\'\'\u0003\u0000\t\n\r"+
-		"\r  \u0002\u0000AAaa\u0002\u0000BBbb\u0002\u0000CCcc\u0002\u0000DDdd\u0002"+
-		"\u0000EEee\u0002\u0000FFff\u0002\u0000GGgg\u0002\u0000HHhh\u0002\u0000"+
-		"IIii\u0002\u0000JJjj\u0002\u0000KKkk\u0002\u0000LLll\u0002\u0000MMmm\u0002"+
-		"\u0000NNnn\u0002\u0000OOoo\u0002\u0000PPpp\u0002\u0000QQqq\u0002\u0000"+
-		"RRrr\u0002\u0000SSss\u0002\u0000TTtt\u0002\u0000UUuu\u0002\u0000VVvv\u0002"+
-		"\u0000WWww\u0002\u0000XXxx\u0002\u0000YYyy\u0002\u0000ZZzz\u0127\u0000"+
-		"\u0001\u0001\u0000\u0000\u0000\u0000\u0003\u0001\u0000\u0000\u0000\u0000"+
-		"\u0005\u0001\u0000\u0000\u0000\u0000\u0007\u0001\u0000\u0000\u0000\u0000"+
-		"\t\u0001\u0000\u0000\u0000\u0000\u000b\u0001\u0000\u0000\u0000\u0000\r"+
-		"\u0001\u0000\u0000\u0000\u0000\u000f\u0001\u0000\u0000\u0000\u0000\u0011"+
-		"\u0001\u0000\u0000\u0000\u0000\u0013\u0001\u0000\u0000\u0000\u0000\u0015"+
-		"\u0001\u0000\u0000\u0000\u0000\u0017\u0001\u0000\u0000\u0000\u0000\u0019"+
-		"\u0001\u0000\u0000\u0000\u0000\u001b\u0001\u0000\u0000\u0000\u0000\u001d"+
-		"\u0001\u0000\u0000\u0000\u0000\u001f\u0001\u0000\u0000\u0000\u0000!\u0001"+
-		"\u0000\u0000\u0000\u0000#\u0001\u0000\u0000\u0000\u0000%\u0001\u0000\u0000"+
-		"\u0000\u0000\'\u0001\u0000\u0000\u0000\u0000)\u0001\u0000\u0000\u0000"+
-		"\u0000+\u0001\u0000\u0000\u0000\u0000-\u0001\u0000\u0000\u0000\u0000/"+
-		"\u0001\u0000\u0000\u0000\u00001\u0001\u0000\u0000\u0000\u00003\u0001\u0000"+
-		"\u0000\u0000\u00005\u0001\u0000\u0000\u0000\u00007\u0001\u0000\u0000\u0000"+
-		"\u0001m\u0001\u0000\u0000\u0000\u0003t\u0001\u0000\u0000\u0000\u0005y"+
-		"\u0001\u0000\u0000\u0000\u0007\u007f\u0001\u0000\u0000\u0000\t\u0086\u0001"+
-		"\u0000\u0000\u0000\u000b\u008b\u0001\u0000\u0000\u0000\r\u0092\u0001\u0000"+
-		"\u0000\u0000\u000f\u0099\u0001\u0000\u0000\u0000\u0011\u009d\u0001\u0000"+
-		"\u0000\u0000\u0013\u00a4\u0001\u0000\u0000\u0000\u0015\u00aa\u0001\u0000"+
-		"\u0000\u0000\u0017\u00ad\u0001\u0000\u0000\u0000\u0019\u00b1\u0001\u0000"+
-		"\u0000\u0000\u001b\u00b6\u0001\u0000\u0000\u0000\u001d\u00bc\u0001\u0000"+
-		"\u0000\u0000\u001f\u00c0\u0001\u0000\u0000\u0000!\u00c3\u0001\u0000\u0000"+
-		"\u0000#\u00c8\u0001\u0000\u0000\u0000%\u00d0\u0001\u0000\u0000\u0000\'"+
-		"\u00d6\u0001\u0000\u0000\u0000)\u00de\u0001\u0000\u0000\u0000+\u00eb\u0001"+
-		"\u0000\u0000\u0000-\u00f6\u0001\u0000\u0000\u0000/\u00f8\u0001\u0000\u0000"+
-		"\u00001\u00fa\u0001\u0000\u0000\u00003\u00fc\u0001\u0000\u0000\u00005"+
-		"\u00fe\u0001\u0000\u0000\u00007\u0101\u0001\u0000\u0000\u00009\u0107\u0001"+
-		"\u0000\u0000\u0000;\u0109\u0001\u0000\u0000\u0000=\u010b\u0001\u0000\u0000"+
-		"\u0000?\u010d\u0001\u0000\u0000\u0000A\u010f\u0001\u0000\u0000\u0000C"+
-		"\u0111\u0001\u0000\u0000\u0000E\u0113\u0001\u0000\u0000\u0000G\u0115\u0001"+
-		"\u0000\u0000\u0000I\u0117\u0001\u0000\u0000\u0000K\u0119\u0001\u0000\u0000"+
-		"\u0000M\u011b\u0001\u0000\u0000\u0000O\u011d\u0001\u0000\u0000\u0000Q"+
-		"\u011f\u0001\u0000\u0000\u0000S\u0121\u0001\u0000\u0000\u0000U\u0123\u0001"+
-		"\u0000\u0000\u0000W\u0125\u0001\u0000\u0000\u0000Y\u0127\u0001\u0000\u0000"+
-		"\u0000[\u0129\u0001\u0000\u0000\u0000]\u012b\u0001\u0000\u0000\u0000_"+
-		"\u012d\u0001\u0000\u0000\u0000a\u012f\u0001\u0000\u0000\u0000c\u0131\u0001"+
-		"\u0000\u0000\u0000e\u0133\u0001\u0000\u0000\u0000g\u0135\u0001\u0000\u0000"+
-		"\u0000i\u0137\u0001\u0000\u0000\u0000k\u0139\u0001\u0000\u0000\u0000m"+
-		"n\u0003].\u0000no\u0003A \u0000op\u0003O\'\u0000pq\u0003A \u0000qr\u0003"+
-		"=\u001e\u0000rs\u0003_/\u0000s\u0002\u0001\u0000\u0000\u0000tu\u0003C"+
-		"!\u0000uv\u0003[-\u0000vw\u0003U*\u0000wx\u0003Q(\u0000x\u0004\u0001\u0000"+
-		"\u0000\u0000yz\u0003e2\u0000z{\u0003G#\u0000{|\u0003A \u0000|}\u0003["+
-		"-\u0000}~\u0003A \u0000~\u0006\u0001\u0000\u0000\u0000\u007f\u0080\u0003"+
-		"I$\u0000\u0080\u0081\u0003S)\u0000\u0081\u0082\u0003].\u0000\u0082\u0083"+
-		"\u0003A \u0000\u0083\u0084\u0003[-\u0000\u0084\u0085\u0003_/\u0000\u0085"+
-		"\b\u0001\u0000\u0000\u0000\u0086\u0087\u0003I$\u0000\u0087\u0088\u0003"+
-		"S)\u0000\u0088\u0089\u0003_/\u0000\u0089\u008a\u0003U*\u0000\u008a\n\u0001"+
-		"\u0000\u0000\u0000\u008b\u008c\u0003c1\u0000\u008c\u008d\u00039\u001c"+
-		"\u0000\u008d\u008e\u0003O\'\u0000\u008e\u008f\u0003a0\u0000\u008f\u0090"+
-		"\u0003A \u0000\u0090\u0091\u0003].\u0000\u0091\f\u0001\u0000\u0000\u0000"+
-		"\u0092\u0093\u0003a0\u0000\u0093\u0094\u0003W+\u0000\u0094\u0095\u0003"+
-		"?\u001f\u0000\u0095\u0096\u00039\u001c\u0000\u0096\u0097\u0003_/\u0000"+
-		"\u0097\u0098\u0003A \u0000\u0098\u000e\u0001\u0000\u0000\u0000\u0099\u009a"+
-		"\u0003].\u0000\u009a\u009b\u0003A \u0000\u009b\u009c\u0003_/\u0000\u009c"+
-		"\u0010\u0001\u0000\u0000\u0000\u009d\u009e\u0003?\u001f\u0000\u009e\u009f"+
-		"\u0003A \u0000\u009f\u00a0\u0003O\'\u0000\u00a0\u00a1\u0003A \u0000\u00a1"+
-		"\u00a2\u0003_/\u0000\u00a2\u00a3\u0003A \u0000\u00a3\u0012\u0001\u0000"+
-		"\u0000\u0000\u00a4\u00a5\u0003U*\u0000\u00a5\u00a6\u0003[-\u0000\u00a6"+
-		"\u00a7\u0003?\u001f\u0000\u00a7\u00a8\u0003A \u0000\u00a8\u00a9\u0003"+
-		"[-\u0000\u00a9\u0014\u0001\u0000\u0000\u0000\u00aa\u00ab\u0003;\u001d"+
-		"\u0000\u00ab\u00ac\u0003i4\u0000\u00ac\u0016\u0001\u0000\u0000\u0000\u00ad"+
-		"\u00ae\u00039\u001c\u0000\u00ae\u00af\u0003].\u0000\u00af\u00b0\u0003"+
-		"=\u001e\u0000\u00b0\u0018\u0001\u0000\u0000\u0000\u00b1\u00b2\u0003?\u001f"+
-		"\u0000\u00b2\u00b3\u0003A \u0000\u00b3\u00b4\u0003].\u0000\u00b4\u00b5"+
-		"\u0003=\u001e\u0000\u00b5\u001a\u0001\u0000\u0000\u0000\u00b6\u00b7\u0003"+
-		"E\"\u0000\u00b7\u00b8\u0003[-\u0000\u00b8\u00b9\u0003U*\u0000\u00b9\u00ba"+
-		"\u0003a0\u0000\u00ba\u00bb\u0003W+\u0000\u00bb\u001c\u0001\u0000\u0000"+
-		"\u0000\u00bc\u00bd\u00039\u001c\u0000\u00bd\u00be\u0003S)\u0000\u00be"+
-		"\u00bf\u0003?\u001f\u0000\u00bf\u001e\u0001\u0000\u0000\u0000\u00c0\u00c1"+
-		"\u0003U*\u0000\u00c1\u00c2\u0003[-\u0000\u00c2 \u0001\u0000\u0000\u0000"+
-		"\u00c3\u00c4\u0003O\'\u0000\u00c4\u00c5\u0003I$\u0000\u00c5\u00c6\u0003"+
-		"M&\u0000\u00c6\u00c7\u0003A \u0000\u00c7\"\u0001\u0000\u0000\u0000\u00c8"+
-		"\u00c9\u0003;\u001d\u0000\u00c9\u00ca\u0003A \u0000\u00ca\u00cb\u0003"+
-		"_/\u0000\u00cb\u00cc\u0003e2\u0000\u00cc\u00cd\u0003A \u0000\u00cd\u00ce"+
-		"\u0003A \u0000\u00ce\u00cf\u0003S)\u0000\u00cf$\u0001\u0000\u0000\u0000"+
-		"\u00d0\u00d1\u0003=\u001e\u0000\u00d1\u00d2\u0003U*\u0000\u00d2\u00d3"+
-		"\u0003a0\u0000\u00d3\u00d4\u0003S)\u0000\u00d4\u00d5\u0003_/\u0000\u00d5"+
-		"&\u0001\u0000\u0000\u0000\u00d6\u00da\u0007\u0000\u0000\u0000\u00d7\u00d9"+
-		"\u0007\u0001\u0000\u0000\u00d8\u00d7\u0001\u0000\u0000\u0000\u00d9\u00dc"+
-		"\u0001\u0000\u0000\u0000\u00da\u00d8\u0001\u0000\u0000\u0000\u00da\u00db"+
-		"\u0001\u0000\u0000\u0000\u00db(\u0001\u0000\u0000\u0000\u00dc\u00da\u0001"+
-		"\u0000\u0000\u0000\u00dd\u00df\u0007\u0002\u0000\u0000\u00de\u00dd\u0001"+
-		"\u0000\u0000\u0000\u00df\u00e0\u0001\u0000\u0000\u0000\u00e0\u00de\u0001"+
-		"\u0000\u0000\u0000\u00e0\u00e1\u0001\u0000\u0000\u0000\u00e1\u00e9\u0001"+
-		"\u0000\u0000\u0000\u00e2\u00e6\u0005.\u0000\u0000\u00e3\u00e5\u0007\u0002"+
-		"\u0000\u0000\u00e4\u00e3\u0001\u0000\u0000\u0000\u00e5\u00e8\u0001\u0000"+
-		"\u0000\u0000\u00e6\u00e4\u0001\u0000\u0000\u0000\u00e6\u00e7\u0001\u0000"+
-		"\u0000\u0000\u00e7\u00ea\u0001\u0000\u0000\u0000\u00e8\u00e6\u0001\u0000"+
-		"\u0000\u0000\u00e9\u00e2\u0001\u0000\u0000\u0000\u00e9\u00ea\u0001\u0000"+
-		"\u0000\u0000\u00ea*\u0001\u0000\u0000\u0000\u00eb\u00f1\u0005\'\u0000"+
-		"\u0000\u00ec\u00f0\b\u0003\u0000\u0000\u00ed\u00ee\u0005\'\u0000\u0000"+
-		"\u00ee\u00f0\u0005\'\u0000\u0000\u00ef\u00ec\u0001\u0000\u0000\u0000\u00ef"+
-		"\u00ed\u0001\u0000\u0000\u0000\u00f0\u00f3\u0001\u0000\u0000\u0000\u00f1"+
-		"\u00ef\u0001\u0000\u0000\u0000\u00f1\u00f2\u0001\u0000\u0000\u0000\u00f2"+
-		"\u00f4\u0001\u0000\u0000\u0000\u00f3\u00f1\u0001\u0000\u0000\u0000\u00f4"+
-		"\u00f5\u0005\'\u0000\u0000\u00f5,\u0001\u0000\u0000\u0000\u00f6\u00f7"+
-		"\u0005,\u0000\u0000\u00f7.\u0001\u0000\u0000\u0000\u00f8\u00f9\u0005("+
-		"\u0000\u0000\u00f90\u0001\u0000\u0000\u0000\u00fa\u00fb\u0005)\u0000\u0000"+
-		"\u00fb2\u0001\u0000\u0000\u0000\u00fc\u00fd\u0005*\u0000\u0000\u00fd4"+
-		"\u0001\u0000\u0000\u0000\u00fe\u00ff\u0005=\u0000\u0000\u00ff6\u0001\u0000"+
-		"\u0000\u0000\u0100\u0102\u0007\u0004\u0000\u0000\u0101\u0100\u0001\u0000"+
-		"\u0000\u0000\u0102\u0103\u0001\u0000\u0000\u0000\u0103\u0101\u0001\u0000"+
-		"\u0000\u0000\u0103\u0104\u0001\u0000\u0000\u0000\u0104\u0105\u0001\u0000"+
-		"\u0000\u0000\u0105\u0106\u0006\u001b\u0000\u0000\u01068\u0001\u0000\u0000"+
-		"\u0000\u0107\u0108\u0007\u0005\u0000\u0000\u0108:\u0001\u0000\u0000\u0000"+
-		"\u0109\u010a\u0007\u0006\u0000\u0000\u010a<\u0001\u0000\u0000\u0000\u010b"+
-		"\u010c\u0007\u0007\u0000\u0000\u010c>\u0001\u0000\u0000\u0000\u010d\u010e"+
-		"\u0007\b\u0000\u0000\u010e@\u0001\u0000\u0000\u0000\u010f\u0110\u0007"+
-		"\t\u0000\u0000\u0110B\u0001\u0000\u0000\u0000\u0111\u0112\u0007\n\u0000"+
-		"\u0000\u0112D\u0001\u0000\u0000\u0000\u0113\u0114\u0007\u000b\u0000\u0000"+
-		"\u0114F\u0001\u0000\u0000\u0000\u0115\u0116\u0007\f\u0000\u0000\u0116"+
-		"H\u0001\u0000\u0000\u0000\u0117\u0118\u0007\r\u0000\u0000\u0118J\u0001"+
-		"\u0000\u0000\u0000\u0119\u011a\u0007\u000e\u0000\u0000\u011aL\u0001\u0000"+
-		"\u0000\u0000\u011b\u011c\u0007\u000f\u0000\u0000\u011cN\u0001\u0000\u0000"+
-		"\u0000\u011d\u011e\u0007\u0010\u0000\u0000\u011eP\u0001\u0000\u0000\u0000"+
-		"\u011f\u0120\u0007\u0011\u0000\u0000\u0120R\u0001\u0000\u0000\u0000\u0121"+
-		"\u0122\u0007\u0012\u0000\u0000\u0122T\u0001\u0000\u0000\u0000\u0123\u0124"+
-		"\u0007\u0013\u0000\u0000\u0124V\u0001\u0000\u0000\u0000\u0125\u0126\u0007"+
-		"\u0014\u0000\u0000\u0126X\u0001\u0000\u0000\u0000\u0127\u0128\u0007\u0015"+
-		"\u0000\u0000\u0128Z\u0001\u0000\u0000\u0000\u0129\u012a\u0007\u0016\u0000"+
-		"\u0000\u012a\\\u0001\u0000\u0000\u0000\u012b\u012c\u0007\u0017\u0000\u0000"+
-		"\u012c^\u0001\u0000\u0000\u0000\u012d\u012e\u0007\u0018\u0000\u0000\u012e"+
-		"`\u0001\u0000\u0000\u0000\u012f\u0130\u0007\u0019\u0000\u0000\u0130b\u0001"+
-		"\u0000\u0000\u0000\u0131\u0132\u0007\u001a\u0000\u0000\u0132d\u0001\u0000"+
-		"\u0000\u0000\u0133\u0134\u0007\u001b\u0000\u0000\u0134f\u0001\u0000\u0000"+
-		"\u0000\u0135\u0136\u0007\u001c\u0000\u0000\u0136h\u0001\u0000\u0000\u0000"+
-		"\u0137\u0138\u0007\u001d\u0000\u0000\u0138j\u0001\u0000\u0000\u0000\u0139"+
-		"\u013a\u0007\u001e\u0000\u0000\u013al\u0001\u0000\u0000\u0000\b\u0000"+
-		"\u00da\u00e0\u00e6\u00e9\u00ef\u00f1\u0103\u0001\u0006\u0000\u0000";
+		"\u0004\u0000%\u018f\u0006\uffff\uffff\u0002\u0000\u0007\u0000\u0002\u0001"+
+		"\u0007\u0001\u0002\u0002\u0007\u0002\u0002\u0003\u0007\u0003\u0002\u0004"+
+		"\u0007\u0004\u0002\u0005\u0007\u0005\u0002\u0006\u0007\u0006\u0002\u0007"+
+		"\u0007\u0007\u0002\b\u0007\b\u0002\t\u0007\t\u0002\n\u0007\n\u0002\u000b"+
+		"\u0007\u000b\u0002\f\u0007\f\u0002\r\u0007\r\u0002\u000e\u0007\u000e\u0002"+
+		"\u000f\u0007\u000f\u0002\u0010\u0007\u0010\u0002\u0011\u0007\u0011\u0002"+
+		"\u0012\u0007\u0012\u0002\u0013\u0007\u0013\u0002\u0014\u0007\u0014\u0002"+
+		"\u0015\u0007\u0015\u0002\u0016\u0007\u0016\u0002\u0017\u0007\u0017\u0002"+
+		"\u0018\u0007\u0018\u0002\u0019\u0007\u0019\u0002\u001a\u0007\u001a\u0002"+
+		"\u001b\u0007\u001b\u0002\u001c\u0007\u001c\u0002\u001d\u0007\u001d\u0002"+
+		"\u001e\u0007\u001e\u0002\u001f\u0007\u001f\u0002 \u0007 \u0002!\u0007"+
+		"!\u0002\"\u0007\"\u0002#\u0007#\u0002$\u0007$\u0002%\u0007%\u0002&\u0007"+
+		"&\u0002\'\u0007\'\u0002(\u0007(\u0002)\u0007)\u0002*\u0007*\u0002+\u0007"+
+		"+\u0002,\u0007,\u0002-\u0007-\u0002.\u0007.\u0002/\u0007/\u00020\u0007"+
+		"0\u00021\u00071\u00022\u00072\u00023\u00073\u00024\u00074\u00025\u0007"+
+		"5\u00026\u00076\u00027\u00077\u00028\u00078\u00029\u00079\u0002:\u0007"+
+		":\u0002;\u0007;\u0002<\u0007<\u0002=\u0007=\u0002>\u0007>\u0001\u0000"+
+		"\u0001\u0000\u0001\u0000\u0001\u0000\u0001\u0000\u0001\u0000\u0001\u0000"+
+		"\u0001\u0001\u0001\u0001\u0001\u0001\u0001\u0001\u0001\u0001\u0001\u0002"+
+		"\u0001\u0002\u0001\u0002\u0001\u0002\u0001\u0002\u0001\u0002\u0001\u0003"+
+		"\u0001\u0003\u0001\u0003\u0001\u0003\u0001\u0003\u0001\u0003\u0001\u0003"+
+		"\u0001\u0004\u0001\u0004\u0001\u0004\u0001\u0004\u0001\u0004\u0001\u0005"+
+		"\u0001\u0005\u0001\u0005\u0001\u0005\u0001\u0005\u0001\u0005\u0001\u0005"+
+		"\u0001\u0006\u0001\u0006\u0001\u0006\u0001\u0006\u0001\u0006\u0001\u0006"+
+		"\u0001\u0006\u0001\u0007\u0001\u0007\u0001\u0007\u0001\u0007\u0001\b\u0001"+
+		"\b\u0001\b\u0001\b\u0001\b\u0001\b\u0001\b\u0001\t\u0001\t\u0001\t\u0001"+
+		"\t\u0001\t\u0001\t\u0001\n\u0001\n\u0001\n\u0001\u000b\u0001\u000b\u0001"+
+		"\u000b\u0001\u000b\u0001\f\u0001\f\u0001\f\u0001\f\u0001\f\u0001\r\u0001"+
+		"\r\u0001\r\u0001\r\u0001\r\u0001\r\u0001\u000e\u0001\u000e\u0001\u000e"+
+		"\u0001\u000e\u0001\u000f\u0001\u000f\u0001\u000f\u0001\u0010\u0001\u0010"+
+		"\u0001\u0010\u0001\u0010\u0001\u0010\u0001\u0011\u0001\u0011\u0001\u0011"+
+		"\u0001\u0011\u0001\u0011\u0001\u0011\u0001\u0011\u0001\u0011\u0001\u0012"+
+		"\u0001\u0012\u0001\u0012\u0001\u0012\u0001\u0012\u0001\u0012\u0001\u0013"+
+		"\u0001\u0013\u0001\u0013\u0001\u0013\u0001\u0013\u0001\u0013\u0001\u0014"+
+		"\u0001\u0014\u0001\u0014\u0001\u0014\u0001\u0014\u0001\u0014\u0001\u0014"+
+		"\u0001\u0015\u0001\u0015\u0001\u0015\u0001\u0015\u0001\u0015\u0001\u0015"+
+		"\u0001\u0015\u0001\u0015\u0001\u0015\u0001\u0016\u0001\u0016\u0001\u0016"+
+		"\u0001\u0016\u0001\u0016\u0001\u0016\u0001\u0016\u0001\u0016\u0001\u0016"+
+		"\u0001\u0016\u0001\u0016\u0001\u0016\u0001\u0017\u0001\u0017\u0001\u0017"+
+		"\u0001\u0017\u0001\u0017\u0001\u0017\u0001\u0017\u0001\u0017\u0001\u0018"+
+		"\u0001\u0018\u0001\u0018\u0001\u0018\u0001\u0018\u0001\u0018\u0001\u0018"+
+		"\u0001\u0018\u0001\u0019\u0001\u0019\u0001\u0019\u0001\u0019\u0001\u0019"+
+		"\u0001\u0019\u0001\u0019\u0001\u0019\u0001\u0019\u0001\u0019\u0001\u0019"+
+		"\u0001\u001a\u0001\u001a\u0001\u001a\u0001\u001b\u0001\u001b\u0005\u001b"+
+		"\u012b\b\u001b\n\u001b\f\u001b\u012e\t\u001b\u0001\u001c\u0004\u001c\u0131"+
+		"\b\u001c\u000b\u001c\f\u001c\u0132\u0001\u001c\u0001\u001c\u0005\u001c"+
+		"\u0137\b\u001c\n\u001c\f\u001c\u013a\t\u001c\u0003\u001c\u013c\b\u001c"+
+		"\u0001\u001d\u0001\u001d\u0001\u001d\u0001\u001d\u0005\u001d\u0142\b\u001d"+
+		"\n\u001d\f\u001d\u0145\t\u001d\u0001\u001d\u0001\u001d\u0001\u001e\u0001"+
+		"\u001e\u0001\u001f\u0001\u001f\u0001 \u0001 \u0001!\u0001!\u0001\"\u0001"+
+		"\"\u0001#\u0001#\u0001$\u0004$\u0156\b$\u000b$\f$\u0157\u0001$\u0001$"+
+		"\u0001%\u0001%\u0001&\u0001&\u0001\'\u0001\'\u0001(\u0001(\u0001)\u0001"+
+		")\u0001*\u0001*\u0001+\u0001+\u0001,\u0001,\u0001-\u0001-\u0001.\u0001"+
+		".\u0001/\u0001/\u00010\u00010\u00011\u00011\u00012\u00012\u00013\u0001"+
+		"3\u00014\u00014\u00015\u00015\u00016\u00016\u00017\u00017\u00018\u0001"+
+		"8\u00019\u00019\u0001:\u0001:\u0001;\u0001;\u0001<\u0001<\u0001=\u0001"+
+		"=\u0001>\u0001>\u0000\u0000?\u0001\u0001\u0003\u0002\u0005\u0003\u0007"+
+		"\u0004\t\u0005\u000b\u0006\r\u0007\u000f\b\u0011\t\u0013\n\u0015\u000b"+
+		"\u0017\f\u0019\r\u001b\u000e\u001d\u000f\u001f\u0010!\u0011#\u0012%\u0013"+
+		"\'\u0014)\u0015+\u0016-\u0017/\u00181\u00193\u001a5\u001b7\u001c9\u001d"+
+		";\u001e=\u001f? A!C\"E#G$I%K\u0000M\u0000O\u0000Q\u0000S\u0000U\u0000"+
+		"W\u0000Y\u0000[\u0000]\u0000_\u0000a\u0000c\u0000e\u0000g\u0000i\u0000"+
+		"k\u0000m\u0000o\u0000q\u0000s\u0000u\u0000w\u0000y\u0000{\u0000}\u0000"+
+		"\u0001\u0000\u001f\u0003\u0000AZ__az\u0004\u000009AZ__az\u0001\u00000"+
+		"9\u0001\u0000\'\'\u0003\u0000\t\n\r\r  \u0002\u0000AAaa\u0002\u0000BB"+
+		"bb\u0002\u0000CCcc\u0002\u0000DDdd\u0002\u0000EEee\u0002\u0000FFff\u0002"+
+		"\u0000GGgg\u0002\u0000HHhh\u0002\u0000IIii\u0002\u0000JJjj\u0002\u0000"+
+		"KKkk\u0002\u0000LLll\u0002\u0000MMmm\u0002\u0000NNnn\u0002\u0000OOoo\u0002"+
+		"\u0000PPpp\u0002\u0000QQqq\u0002\u0000RRrr\u0002\u0000SSss\u0002\u0000"+
+		"TTtt\u0002\u0000UUuu\u0002\u0000VVvv\u0002\u0000WWww\u0002\u0000XXxx\u0002"+
+		"\u0000YYyy\u0002\u0000ZZzz\u017b\u0000\u0001\u0001\u0000\u0000\u0000\u0000"+
+		"\u0003\u0001\u0000\u0000\u0000\u0000\u0005\u0001\u0000\u0000\u0000\u0000"+
+		"\u0007\u0001\u0000\u0000\u0000\u0000\t\u0001\u0000\u0000\u0000\u0000\u000b"+
+		"\u0001\u0000\u0000\u0000\u0000\r\u0001\u0000\u0000\u0000\u0000\u000f\u0001"+
+		"\u0000\u0000\u0000\u0000\u0011\u0001\u0000\u0000\u0000\u0000\u0013\u0001"+
+		"\u0000\u0000\u0000\u0000\u0015\u0001\u0000\u0000\u0000\u0000\u0017\u0001"+
+		"\u0000\u0000\u0000\u0000\u0019\u0001\u0000\u0000\u0000\u0000\u001b\u0001"+
+		"\u0000\u0000\u0000\u0000\u001d\u0001\u0000\u0000\u0000\u0000\u001f\u0001"+
+		"\u0000\u0000\u0000\u0000!\u0001\u0000\u0000\u0000\u0000#\u0001\u0000\u0000"+
+		"\u0000\u0000%\u0001\u0000\u0000\u0000\u0000\'\u0001\u0000\u0000\u0000"+
+		"\u0000)\u0001\u0000\u0000\u0000\u0000+\u0001\u0000\u0000\u0000\u0000-"+
+		"\u0001\u0000\u0000\u0000\u0000/\u0001\u0000\u0000\u0000\u00001\u0001\u0000"+
+		"\u0000\u0000\u00003\u0001\u0000\u0000\u0000\u00005\u0001\u0000\u0000\u0000"+
+		"\u00007\u0001\u0000\u0000\u0000\u00009\u0001\u0000\u0000\u0000\u0000;"+
+		"\u0001\u0000\u0000\u0000\u0000=\u0001\u0000\u0000\u0000\u0000?\u0001\u0000"+
+		"\u0000\u0000\u0000A\u0001\u0000\u0000\u0000\u0000C\u0001\u0000\u0000\u0000"+
+		"\u0000E\u0001\u0000\u0000\u0000\u0000G\u0001\u0000\u0000\u0000\u0000I"+
+		"\u0001\u0000\u0000\u0000\u0001\u007f\u0001\u0000\u0000\u0000\u0003\u0086"+
+		"\u0001\u0000\u0000\u0000\u0005\u008b\u0001\u0000\u0000\u0000\u0007\u0091"+
+		"\u0001\u0000\u0000\u0000\t\u0098\u0001\u0000\u0000\u0000\u000b\u009d\u0001"+
+		"\u0000\u0000\u0000\r\u00a4\u0001\u0000\u0000\u0000\u000f\u00ab\u0001\u0000"+
+		"\u0000\u0000\u0011\u00af\u0001\u0000\u0000\u0000\u0013\u00b6\u0001\u0000"+
+		"\u0000\u0000\u0015\u00bc\u0001\u0000\u0000\u0000\u0017\u00bf\u0001\u0000"+
+		"\u0000\u0000\u0019\u00c3\u0001\u0000\u0000\u0000\u001b\u00c8\u0001\u0000"+
+		"\u0000\u0000\u001d\u00ce\u0001\u0000\u0000\u0000\u001f\u00d2\u0001\u0000"+
+		"\u0000\u0000!\u00d5\u0001\u0000\u0000\u0000#\u00da\u0001\u0000\u0000\u0000"+
+		"%\u00e2\u0001\u0000\u0000\u0000\'\u00e8\u0001\u0000\u0000\u0000)\u00ee"+
+		"\u0001\u0000\u0000\u0000+\u00f5\u0001\u0000\u0000\u0000-\u00fe\u0001\u0000"+
+		"\u0000\u0000/\u010a\u0001\u0000\u0000\u00001\u0112\u0001\u0000\u0000\u0000"+
+		"3\u011a\u0001\u0000\u0000\u00005\u0125\u0001\u0000\u0000\u00007\u0128"+
+		"\u0001\u0000\u0000\u00009\u0130\u0001\u0000\u0000\u0000;\u013d\u0001\u0000"+
+		"\u0000\u0000=\u0148\u0001\u0000\u0000\u0000?\u014a\u0001\u0000\u0000\u0000"+
+		"A\u014c\u0001\u0000\u0000\u0000C\u014e\u0001\u0000\u0000\u0000E\u0150"+
+		"\u0001\u0000\u0000\u0000G\u0152\u0001\u0000\u0000\u0000I\u0155\u0001\u0000"+
+		"\u0000\u0000K\u015b\u0001\u0000\u0000\u0000M\u015d\u0001\u0000\u0000\u0000"+
+		"O\u015f\u0001\u0000\u0000\u0000Q\u0161\u0001\u0000\u0000\u0000S\u0163"+
+		"\u0001\u0000\u0000\u0000U\u0165\u0001\u0000\u0000\u0000W\u0167\u0001\u0000"+
+		"\u0000\u0000Y\u0169\u0001\u0000\u0000\u0000[\u016b\u0001\u0000\u0000\u0000"+
+		"]\u016d\u0001\u0000\u0000\u0000_\u016f\u0001\u0000\u0000\u0000a\u0171"+
+		"\u0001\u0000\u0000\u0000c\u0173\u0001\u0000\u0000\u0000e\u0175\u0001\u0000"+
+		"\u0000\u0000g\u0177\u0001\u0000\u0000\u0000i\u0179\u0001\u0000\u0000\u0000"+
+		"k\u017b\u0001\u0000\u0000\u0000m\u017d\u0001\u0000\u0000\u0000o\u017f"+
+		"\u0001\u0000\u0000\u0000q\u0181\u0001\u0000\u0000\u0000s\u0183\u0001\u0000"+
+		"\u0000\u0000u\u0185\u0001\u0000\u0000\u0000w\u0187\u0001\u0000\u0000\u0000"+
+		"y\u0189\u0001\u0000\u0000\u0000{\u018b\u0001\u0000\u0000\u0000}\u018d"+
+		"\u0001\u0000\u0000\u0000\u007f\u0080\u0003o7\u0000\u0080\u0081\u0003S"+
+		")\u0000\u0081\u0082\u0003a0\u0000\u0082\u0083\u0003S)\u0000\u0083\u0084"+
+		"\u0003O\'\u0000\u0084\u0085\u0003q8\u0000\u0085\u0002\u0001\u0000\u0000"+
+		"\u0000\u0086\u0087\u0003U*\u0000\u0087\u0088\u0003m6\u0000\u0088\u0089"+
+		"\u0003g3\u0000\u0089\u008a\u0003c1\u0000\u008a\u0004\u0001\u0000\u0000"+
+		"\u0000\u008b\u008c\u0003w;\u0000\u008c\u008d\u0003Y,\u0000\u008d\u008e"+
+		"\u0003S)\u0000\u008e\u008f\u0003m6\u0000\u008f\u0090\u0003S)\u0000\u0090"+
+		"\u0006\u0001\u0000\u0000\u0000\u0091\u0092\u0003[-\u0000\u0092\u0093\u0003"+
+		"e2\u0000\u0093\u0094\u0003o7\u0000\u0094\u0095\u0003S)\u0000\u0095\u0096"+
+		"\u0003m6\u0000\u0096\u0097\u0003q8\u0000\u0097\b\u0001\u0000\u0000\u0000"+
+		"\u0098\u0099\u0003[-\u0000\u0099\u009a\u0003e2\u0000\u009a\u009b\u0003"+
+		"q8\u0000\u009b\u009c\u0003g3\u0000\u009c\n\u0001\u0000\u0000\u0000\u009d"+
+		"\u009e\u0003u:\u0000\u009e\u009f\u0003K%\u0000\u009f\u00a0\u0003a0\u0000"+
+		"\u00a0\u00a1\u0003s9\u0000\u00a1\u00a2\u0003S)\u0000\u00a2\u00a3\u0003"+
+		"o7\u0000\u00a3\f\u0001\u0000\u0000\u0000\u00a4\u00a5\u0003s9\u0000\u00a5"+
+		"\u00a6\u0003i4\u0000\u00a6\u00a7\u0003Q(\u0000\u00a7\u00a8\u0003K%\u0000"+
+		"\u00a8\u00a9\u0003q8\u0000\u00a9\u00aa\u0003S)\u0000\u00aa\u000e\u0001"+
+		"\u0000\u0000\u0000\u00ab\u00ac\u0003o7\u0000\u00ac\u00ad\u0003S)\u0000"+
+		"\u00ad\u00ae\u0003q8\u0000\u00ae\u0010\u0001\u0000\u0000\u0000\u00af\u00b0"+
+		"\u0003Q(\u0000\u00b0\u00b1\u0003S)\u0000\u00b1\u00b2\u0003a0\u0000\u00b2"+
+		"\u00b3\u0003S)\u0000\u00b3\u00b4\u0003q8\u0000\u00b4\u00b5\u0003S)\u0000"+
+		"\u00b5\u0012\u0001\u0000\u0000\u0000\u00b6\u00b7\u0003g3\u0000\u00b7\u00b8"+
+		"\u0003m6\u0000\u00b8\u00b9\u0003Q(\u0000\u00b9\u00ba\u0003S)\u0000\u00ba"+
+		"\u00bb\u0003m6\u0000\u00bb\u0014\u0001\u0000\u0000\u0000\u00bc\u00bd\u0003"+
+		"M&\u0000\u00bd\u00be\u0003{=\u0000\u00be\u0016\u0001\u0000\u0000\u0000"+
+		"\u00bf\u00c0\u0003K%\u0000\u00c0\u00c1\u0003o7\u0000\u00c1\u00c2\u0003"+
+		"O\'\u0000\u00c2\u0018\u0001\u0000\u0000\u0000\u00c3\u00c4\u0003Q(\u0000"+
+		"\u00c4\u00c5\u0003S)\u0000\u00c5\u00c6\u0003o7\u0000\u00c6\u00c7\u0003"+
+		"O\'\u0000\u00c7\u001a\u0001\u0000\u0000\u0000\u00c8\u00c9\u0003W+\u0000"+
+		"\u00c9\u00ca\u0003m6\u0000\u00ca\u00cb\u0003g3\u0000\u00cb\u00cc\u0003"+
+		"s9\u0000\u00cc\u00cd\u0003i4\u0000\u00cd\u001c\u0001\u0000\u0000\u0000"+
+		"\u00ce\u00cf\u0003K%\u0000\u00cf\u00d0\u0003e2\u0000\u00d0\u00d1\u0003"+
+		"Q(\u0000\u00d1\u001e\u0001\u0000\u0000\u0000\u00d2\u00d3\u0003g3\u0000"+
+		"\u00d3\u00d4\u0003m6\u0000\u00d4 \u0001\u0000\u0000\u0000\u00d5\u00d6"+
+		"\u0003a0\u0000\u00d6\u00d7\u0003[-\u0000\u00d7\u00d8\u0003_/\u0000\u00d8"+
+		"\u00d9\u0003S)\u0000\u00d9\"\u0001\u0000\u0000\u0000\u00da\u00db\u0003"+
+		"M&\u0000\u00db\u00dc\u0003S)\u0000\u00dc\u00dd\u0003q8\u0000\u00dd\u00de"+
+		"\u0003w;\u0000\u00de\u00df\u0003S)\u0000\u00df\u00e0\u0003S)\u0000\u00e0"+
+		"\u00e1\u0003e2\u0000\u00e1$\u0001\u0000\u0000\u0000\u00e2\u00e3\u0003"+
+		"O\'\u0000\u00e3\u00e4\u0003g3\u0000\u00e4\u00e5\u0003s9\u0000\u00e5\u00e6"+
+		"\u0003e2\u0000\u00e6\u00e7\u0003q8\u0000\u00e7&\u0001\u0000\u0000\u0000"+
+		"\u00e8\u00e9\u0003M&\u0000\u00e9\u00ea\u0003S)\u0000\u00ea\u00eb\u0003"+
+		"W+\u0000\u00eb\u00ec\u0003[-\u0000\u00ec\u00ed\u0003e2\u0000\u00ed(\u0001"+
+		"\u0000\u0000\u0000\u00ee\u00ef\u0003O\'\u0000\u00ef\u00f0\u0003g3\u0000"+
+		"\u00f0\u00f1\u0003c1\u0000\u00f1\u00f2\u0003c1\u0000\u00f2\u00f3\u0003"+
+		"[-\u0000\u00f3\u00f4\u0003q8\u0000\u00f4*\u0001\u0000\u0000\u0000\u00f5"+
+		"\u00f6\u0003m6\u0000\u00f6\u00f7\u0003g3\u0000\u00f7\u00f8\u0003a0\u0000"+
+		"\u00f8\u00f9\u0003a0\u0000\u00f9\u00fa\u0003M&\u0000\u00fa\u00fb\u0003"+
+		"K%\u0000\u00fb\u00fc\u0003O\'\u0000\u00fc\u00fd\u0003_/\u0000\u00fd,\u0001"+
+		"\u0000\u0000\u0000\u00fe\u00ff\u0003q8\u0000\u00ff\u0100\u0003m6\u0000"+
+		"\u0100\u0101\u0003K%\u0000\u0101\u0102\u0003e2\u0000\u0102\u0103\u0003"+
+		"o7\u0000\u0103\u0104\u0003K%\u0000\u0104\u0105\u0003O\'\u0000\u0105\u0106"+
+		"\u0003q8\u0000\u0106\u0107\u0003[-\u0000\u0107\u0108\u0003g3\u0000\u0108"+
+		"\u0109\u0003e2\u0000\u0109.\u0001\u0000\u0000\u0000\u010a\u010b\u0003"+
+		"i4\u0000\u010b\u010c\u0003m6\u0000\u010c\u010d\u0003S)\u0000\u010d\u010e"+
+		"\u0003i4\u0000\u010e\u010f\u0003K%\u0000\u010f\u0110\u0003m6\u0000\u0110"+
+		"\u0111\u0003S)\u0000\u01110\u0001\u0000\u0000\u0000\u0112\u0113\u0003"+
+		"S)\u0000\u0113\u0114\u0003y<\u0000\u0114\u0115\u0003S)\u0000\u0115\u0116"+
+		"\u0003O\'\u0000\u0116\u0117\u0003s9\u0000\u0117\u0118\u0003q8\u0000\u0118"+
+		"\u0119\u0003S)\u0000\u01192\u0001\u0000\u0000\u0000\u011a\u011b\u0003"+
+		"Q(\u0000\u011b\u011c\u0003S)\u0000\u011c\u011d\u0003K%\u0000\u011d\u011e"+
+		"\u0003a0\u0000\u011e\u011f\u0003a0\u0000\u011f\u0120\u0003g3\u0000\u0120"+
+		"\u0121\u0003O\'\u0000\u0121\u0122\u0003K%\u0000\u0122\u0123\u0003q8\u0000"+
+		"\u0123\u0124\u0003S)\u0000\u01244\u0001\u0000\u0000\u0000\u0125\u0126"+
+		"\u0003K%\u0000\u0126\u0127\u0003o7\u0000\u01276\u0001\u0000\u0000\u0000"+
+		"\u0128\u012c\u0007\u0000\u0000\u0000\u0129\u012b\u0007\u0001\u0000\u0000"+
+		"\u012a\u0129\u0001\u0000\u0000\u0000\u012b\u012e\u0001\u0000\u0000\u0000"+
+		"\u012c\u012a\u0001\u0000\u0000\u0000\u012c\u012d\u0001\u0000\u0000\u0000"+
+		"\u012d8\u0001\u0000\u0000\u0000\u012e\u012c\u0001\u0000\u0000\u0000\u012f"+
+		"\u0131\u0007\u0002\u0000\u0000\u0130\u012f\u0001\u0000\u0000\u0000\u0131"+
+		"\u0132\u0001\u0000\u0000\u0000\u0132\u0130\u0001\u0000\u0000\u0000\u0132"+
+		"\u0133\u0001\u0000\u0000\u0000\u0133\u013b\u0001\u0000\u0000\u0000\u0134"+
+		"\u0138\u0005.\u0000\u0000\u0135\u0137\u0007\u0002\u0000\u0000\u0136\u0135"+
+		"\u0001\u0000\u0000\u0000\u0137\u013a\u0001\u0000\u0000\u0000\u0138\u0136"+
+		"\u0001\u0000\u0000\u0000\u0138\u0139\u0001\u0000\u0000\u0000\u0139\u013c"+
+		"\u0001\u0000\u0000\u0000\u013a\u0138\u0001\u0000\u0000\u0000\u013b\u0134"+
+		"\u0001\u0000\u0000\u0000\u013b\u013c\u0001\u0000\u0000\u0000\u013c:\u0001"+
+		"\u0000\u0000\u0000\u013d\u0143\u0005\'\u0000\u0000\u013e\u0142\b\u0003"+
+		"\u0000\u0000\u013f\u0140\u0005\'\u0000\u0000\u0140\u0142\u0005\'\u0000"+
+		"\u0000\u0141\u013e\u0001\u0000\u0000\u0000\u0141\u013f\u0001\u0000\u0000"+
+		"\u0000\u0142\u0145\u0001\u0000\u0000\u0000\u0143\u0141\u0001\u0000\u0000"+
+		"\u0000\u0143\u0144\u0001\u0000\u0000\u0000\u0144\u0146\u0001\u0000\u0000"+
+		"\u0000\u0145\u0143\u0001\u0000\u0000\u0000\u0146\u0147\u0005\'\u0000\u0000"+
+		"\u0147<\u0001\u0000\u0000\u0000\u0148\u0149\u0005,\u0000\u0000\u0149>"+
+		"\u0001\u0000\u0000\u0000\u014a\u014b\u0005(\u0000\u0000\u014b@\u0001\u0000"+
+		"\u0000\u0000\u014c\u014d\u0005)\u0000\u0000\u014dB\u0001\u0000\u0000\u0000"+
+		"\u014e\u014f\u0005*\u0000\u0000\u014fD\u0001\u0000\u0000\u0000\u0150\u0151"+
+		"\u0005=\u0000\u0000\u0151F\u0001\u0000\u0000\u0000\u0152\u0153\u0005?"+
+		"\u0000\u0000\u0153H\u0001\u0000\u0000\u0000\u0154\u0156\u0007\u0004\u0000"+
+		"\u0000\u0155\u0154\u0001\u0000\u0000\u0000\u0156\u0157\u0001\u0000\u0000"+
+		"\u0000\u0157\u0155\u0001\u0000\u0000\u0000\u0157\u0158\u0001\u0000\u0000"+
+		"\u0000\u0158\u0159\u0001\u0000\u0000\u0000\u0159\u015a\u0006$\u0000\u0000"+
+		"\u015aJ\u0001\u0000\u0000\u0000\u015b\u015c\u0007\u0005\u0000\u0000\u015c"+
+		"L\u0001\u0000\u0000\u0000\u015d\u015e\u0007\u0006\u0000\u0000\u015eN\u0001"+
+		"\u0000\u0000\u0000\u015f\u0160\u0007\u0007\u0000\u0000\u0160P\u0001\u0000"+
+		"\u0000\u0000\u0161\u0162\u0007\b\u0000\u0000\u0162R\u0001\u0000\u0000"+
+		"\u0000\u0163\u0164\u0007\t\u0000\u0000\u0164T\u0001\u0000\u0000\u0000"+
+		"\u0165\u0166\u0007\n\u0000\u0000\u0166V\u0001\u0000\u0000\u0000\u0167"+
+		"\u0168\u0007\u000b\u0000\u0000\u0168X\u0001\u0000\u0000\u0000\u0169\u016a"+
+		"\u0007\f\u0000\u0000\u016aZ\u0001\u0000\u0000\u0000\u016b\u016c\u0007"+
+		"\r\u0000\u0000\u016c\\\u0001\u0000\u0000\u0000\u016d\u016e\u0007\u000e"+
+		"\u0000\u0000\u016e^\u0001\u0000\u0000\u0000\u016f\u0170\u0007\u000f\u0000"+
+		"\u0000\u0170`\u0001\u0000\u0000\u0000\u0171\u0172\u0007\u0010\u0000\u0000"+
+		"\u0172b\u0001\u0000\u0000\u0000\u0173\u0174\u0007\u0011\u0000\u0000\u0174"+
+		"d\u0001\u0000\u0000\u0000\u0175\u0176\u0007\u0012\u0000\u0000\u0176f\u0001"+
+		"\u0000\u0000\u0000\u0177\u0178\u0007\u0013\u0000\u0000\u0178h\u0001\u0000"+
+		"\u0000\u0000\u0179\u017a\u0007\u0014\u0000\u0000\u017aj\u0001\u0000\u0000"+
+		"\u0000\u017b\u017c\u0007\u0015\u0000\u0000\u017cl\u0001\u0000\u0000\u0000"+
+		"\u017d\u017e\u0007\u0016\u0000\u0000\u017en\u0001\u0000\u0000\u0000\u017f"+
+		"\u0180\u0007\u0017\u0000\u0000\u0180p\u0001\u0000\u0000\u0000\u0181\u0182"+
+		"\u0007\u0018\u0000\u0000\u0182r\u0001\u0000\u0000\u0000\u0183\u0184\u0007"+
+		"\u0019\u0000\u0000\u0184t\u0001\u0000\u0000\u0000\u0185\u0186\u0007\u001a"+
+		"\u0000\u0000\u0186v\u0001\u0000\u0000\u0000\u0187\u0188\u0007\u001b\u0000"+
+		"\u0000\u0188x\u0001\u0000\u0000\u0000\u0189\u018a\u0007\u001c\u0000\u0000"+
+		"\u018az\u0001\u0000\u0000\u0000\u018b\u018c\u0007\u001d\u0000\u0000\u018c"+
+		"|\u0001\u0000\u0000\u0000\u018d\u018e\u0007\u001e\u0000\u0000\u018e~\u0001"+
+		"\u0000\u0000\u0000\b\u0000\u012c\u0132\u0138\u013b\u0141\u0143\u0157\u0001"+
+		"\u0006\u0000\u0000";
 	public static final ATN _ATN =
 		new ATNDeserializer().deserialize(_serializedATN.toCharArray());
 	static {
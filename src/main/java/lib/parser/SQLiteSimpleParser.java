@@ -18,19 +18,24 @@ public class SQLiteSimpleParser extends Parser {
 	public static final int
 		K_SELECT=1, K_FROM=2, K_WHERE=3, K_INSERT=4, K_INTO=5, K_VALUES=6, K_UPDATE=7, 
 		K_SET=8, K_DELETE=9, K_ORDER=10, K_BY=11, K_ASC=12, K_DESC=13, K_GROUP=14, 
-		K_AND=15, K_OR=16, K_LIKE=17, K_BETWEEN=18, K_COUNT=19, IDENTIFIER=20, 
-		NUMERIC_LITERAL=21, STRING_LITERAL=22, COMMA=23, OPEN_PAR=24, CLOSE_PAR=25, 
-		STAR=26, EQ=27, SPACES=28;
+		K_AND=15, K_OR=16, K_LIKE=17, K_BETWEEN=18, K_COUNT=19, K_BEGIN=20, K_COMMIT=21, 
+		K_ROLLBACK=22, K_TRANSACTION=23, K_PREPARE=24, K_EXECUTE=25, K_DEALLOCATE=26, 
+		K_AS=27, IDENTIFIER=28, NUMERIC_LITERAL=29, STRING_LITERAL=30, COMMA=31, 
+		OPEN_PAR=32, CLOSE_PAR=33, STAR=34, EQ=35, PARAM=36, SPACES=37;
 	public static final int
 		RULE_parse = 0, RULE_sql_stmt = 1, RULE_select_stmt = 2, RULE_result_column = 3, 
 		RULE_where_clause = 4, RULE_order_by_clause = 5, RULE_group_by_clause = 6, 
 		RULE_insert_stmt = 7, RULE_update_stmt = 8, RULE_assignment = 9, RULE_delete_stmt = 10, 
-		RULE_expr = 11, RULE_literal_value = 12, RULE_table_name = 13, RULE_column_name = 14;
+		RULE_transaction_stmt = 11, RULE_prepare_stmt = 12, RULE_prepared_body = 13, 
+		RULE_execute_stmt = 14, RULE_deallocate_stmt = 15, RULE_expr = 16, RULE_literal_value = 17, 
+		RULE_table_name = 18, RULE_column_name = 19, RULE_statement_name = 20;
 	private static String[] makeRuleNames() {
 		return new String[] {
 			"parse", "sql_stmt", "select_stmt", "result_column", "where_clause", 
 			"order_by_clause", "group_by_clause", "insert_stmt", "update_stmt", "assignment", 
-			"delete_stmt", "expr", "literal_value", "table_name", "column_name"
+			"delete_stmt", "transaction_stmt", "prepare_stmt", "prepared_body", "execute_stmt", 
+			"deallocate_stmt", "expr", "literal_value", "table_name", "column_name", 
+			"statement_name"
 		};
 	}
 	public static final String[] ruleNames = makeRuleNames();
@@ -38,8 +43,9 @@ public class SQLiteSimpleParser extends Parser {
 	private static String[] makeLiteralNames() {
 		return new String[] {
 			null, null, null, null, null, null, null, null, null, null, null, null, 
-			null, null, null, null, null, null, null, null, null, null, null, "','", 
-			"'('", "')'", "'*'", "'='"
+			null, null, null, null, null, null, null, null, null, null, null, null, 
+			null, null, null, null, null, null, null, "','", "'('", "')'", "'*'", 
+			"'='", "'?'"
 		};
 	}
 	private static final String[] _LITERAL_NAMES = makeLiteralNames();
@@ -47,9 +53,10 @@ public class SQLiteSimpleParser extends Parser {
 		return new String[] {
 			null, "K_SELECT", "K_FROM", "K_WHERE", "K_INSERT", "K_INTO", "K_VALUES", 
 			"K_UPDATE", "K_SET", "K_DELETE", "K_ORDER", "K_BY", "K_ASC", "K_DESC", 
-			"K_GROUP", "K_AND", "K_OR", "K_LIKE", "K_BETWEEN", "K_COUNT", "IDENTIFIER", 
-			"NUMERIC_LITERAL", "STRING_LITERAL", "COMMA", "OPEN_PAR", "CLOSE_PAR", 
-			"STAR", "EQ", "SPACES"
+			"K_GROUP", "K_AND", "K_OR", "K_LIKE", "K_BETWEEN", "K_COUNT", "K_BEGIN", 
+			"K_COMMIT", "K_ROLLBACK", "K_TRANSACTION", "K_PREPARE", "K_EXECUTE", 
+			"K_DEALLOCATE", "K_AS", "IDENTIFIER", "NUMERIC_LITERAL", "STRING_LITERAL", 
+			"COMMA", "OPEN_PAR", "CLOSE_PAR", "STAR", "EQ", "PARAM", "SPACES"
 		};
 	}
 	private static final String[] _SYMBOLIC_NAMES = makeSymbolicNames();
@@ -126,9 +133,9 @@ public class SQLiteSimpleParser extends Parser {
 		try {
 			enterOuterAlt(_localctx, 1);
 			{
-			setState(30);
+			setState(42);
 			sql_stmt();
-			setState(31);
+			setState(43);
 			match(EOF);
 			}
 		}
@@ -157,6 +164,18 @@ public class SQLiteSimpleParser extends Parser {
 		public Delete_stmtContext delete_stmt() {
 			return getRuleContext(Delete_stmtContext.class,0);
 		}
+		public Transaction_stmtContext transaction_stmt() {
+			return getRuleContext(Transaction_stmtContext.class,0);
+		}
+		public Prepare_stmtContext prepare_stmt() {
+			return getRuleContext(Prepare_stmtContext.class,0);
+		}
+		public Execute_stmtContext execute_stmt() {
+			return getRuleContext(Execute_stmtContext.class,0);
+		}
+		public Deallocate_stmtContext deallocate_stmt() {
+			return getRuleContext(Deallocate_stmtContext.class,0);
+		}
 		public Sql_stmtContext(ParserRuleContext parent, int invokingState) {
 			super(parent, invokingState);
 		}
@@ -172,37 +191,67 @@ public class SQLiteSimpleParser extends Parser {
 		Sql_stmtContext _localctx = new Sql_stmtContext(_ctx, getState());
 		enterRule(_localctx, 2, RULE_sql_stmt);
 		try {
-			setState(37);
+			setState(53);
 			_errHandler.sync(this);
 			switch (_input.LA(1)) {
 			case K_SELECT:
 				enterOuterAlt(_localctx, 1);
 				{
-				setState(33);
+				setState(45);
 				select_stmt();
 				}
 				break;
 			case K_INSERT:
 				enterOuterAlt(_localctx, 2);
 				{
-				setState(34);
+				setState(46);
 				insert_stmt();
 				}
 				break;
 			case K_UPDATE:
 				enterOuterAlt(_localctx, 3);
 				{
-				setState(35);
+				setState(47);
 				update_stmt();
 				}
 				break;
 			case K_DELETE:
 				enterOuterAlt(_localctx, 4);
 				{
-				setState(36);
+				setState(48);
 				delete_stmt();
 				}
 				break;
+			case K_BEGIN:
+			case K_COMMIT:
+			case K_ROLLBACK:
+				enterOuterAlt(_localctx, 5);
+				{
+				setState(49);
+				transaction_stmt();
+				}
+				break;
+			case K_PREPARE:
+				enterOuterAlt(_localctx, 6);
+				{
+				setState(50);
+				prepare_stmt();
+				}
+				break;
+			case K_EXECUTE:
+				enterOuterAlt(_localctx, 7);
+				{
+				setState(51);
+				execute_stmt();
+				}
+				break;
+			case K_DEALLOCATE:
+				enterOuterAlt(_localctx, 8);
+				{
+				setState(52);
+				deallocate_stmt();
+				}
+				break;
 			default:
 				throw new NoViableAltException(this);
 			}
@@ -262,56 +311,56 @@ public class SQLiteSimpleParser extends Parser {
 		try {
 			enterOuterAlt(_localctx, 1);
 			{
-			setState(39);
+			setState(55);
 			match(K_SELECT);
-			setState(40);
+			setState(56);
 			result_column();
-			setState(45);
+			setState(61);
 			_errHandler.sync(this);
 			_la = _input.LA(1);
 			while (_la==COMMA) {
 				{
 				{
-				setState(41);
+				setState(57);
 				match(COMMA);
-				setState(42);
+				setState(58);
 				result_column();
 				}
 				}
-				setState(47);
+				setState(63);
 				_errHandler.sync(this);
 				_la = _input.LA(1);
 			}
-			setState(48);
+			setState(64);
 			match(K_FROM);
-			setState(49);
+			setState(65);
 			table_name();
-			setState(51);
+			setState(67);
 			_errHandler.sync(this);
 			_la = _input.LA(1);
 			if (_la==K_WHERE) {
 				{
-				setState(50);
+				setState(66);
 				where_clause();
 				}
 			}
 
-			setState(54);
+			setState(70);
 			_errHandler.sync(this);
 			_la = _input.LA(1);
 			if (_la==K_ORDER) {
 				{
-				setState(53);
+				setState(69);
 				order_by_clause();
 				}
 			}
 
-			setState(57);
+			setState(73);
 			_errHandler.sync(this);
 			_la = _input.LA(1);
 			if (_la==K_GROUP) {
 				{
-				setState(56);
+				setState(72);
 				group_by_clause();
 				}
 			}
@@ -386,14 +435,14 @@ public class SQLiteSimpleParser extends Parser {
 		enterRule(_localctx, 6, RULE_result_column);
 		try {
 			int _alt;
-			setState(69);
+			setState(85);
 			_errHandler.sync(this);
 			switch (_input.LA(1)) {
 			case STAR:
 				_localctx = new SelectAllContext(_localctx);
 				enterOuterAlt(_localctx, 1);
 				{
-				setState(59);
+				setState(75);
 				match(STAR);
 				}
 				break;
@@ -401,7 +450,7 @@ public class SQLiteSimpleParser extends Parser {
 				_localctx = new SelectCountContext(_localctx);
 				enterOuterAlt(_localctx, 2);
 				{
-				setState(60);
+				setState(76);
 				match(K_COUNT);
 				}
 				break;
@@ -409,23 +458,23 @@ public class SQLiteSimpleParser extends Parser {
 				_localctx = new SelectColumnsContext(_localctx);
 				enterOuterAlt(_localctx, 3);
 				{
-				setState(61);
+				setState(77);
 				column_name();
-				setState(66);
+				setState(82);
 				_errHandler.sync(this);
 				_alt = getInterpreter().adaptivePredict(_input,5,_ctx);
 				while ( _alt!=2 && _alt!=org.antlr.v4.runtime.atn.ATN.INVALID_ALT_NUMBER ) {
 					if ( _alt==1 ) {
 						{
 						{
-						setState(62);
+						setState(78);
 						match(COMMA);
-						setState(63);
+						setState(79);
 						column_name();
 						}
 						} 
 					}
-					setState(68);
+					setState(84);
 					_errHandler.sync(this);
 					_alt = getInterpreter().adaptivePredict(_input,5,_ctx);
 				}
@@ -469,9 +518,9 @@ public class SQLiteSimpleParser extends Parser {
 		try {
 			enterOuterAlt(_localctx, 1);
 			{
-			setState(71);
+			setState(87);
 			match(K_WHERE);
-			setState(72);
+			setState(88);
 			expr(0);
 			}
 		}
@@ -513,18 +562,18 @@ public class SQLiteSimpleParser extends Parser {
 		try {
 			enterOuterAlt(_localctx, 1);
 			{
-			setState(74);
+			setState(90);
 			match(K_ORDER);
-			setState(75);
+			setState(91);
 			match(K_BY);
-			setState(76);
+			setState(92);
 			column_name();
-			setState(78);
+			setState(94);
 			_errHandler.sync(this);
 			_la = _input.LA(1);
 			if (_la==K_ASC || _la==K_DESC) {
 				{
-				setState(77);
+				setState(93);
 				_la = _input.LA(1);
 				if ( !(_la==K_ASC || _la==K_DESC) ) {
 				_errHandler.recoverInline(this);
@@ -574,11 +623,11 @@ public class SQLiteSimpleParser extends Parser {
 		try {
 			enterOuterAlt(_localctx, 1);
 			{
-			setState(80);
+			setState(96);
 			match(K_GROUP);
-			setState(81);
+			setState(97);
 			match(K_BY);
-			setState(82);
+			setState(98);
 			column_name();
 			}
 		}
@@ -631,35 +680,35 @@ public class SQLiteSimpleParser extends Parser {
 		try {
 			enterOuterAlt(_localctx, 1);
 			{
-			setState(84);
+			setState(100);
 			match(K_INSERT);
-			setState(85);
+			setState(101);
 			match(K_INTO);
-			setState(86);
+			setState(102);
 			table_name();
-			setState(87);
+			setState(103);
 			match(K_VALUES);
-			setState(88);
+			setState(104);
 			match(OPEN_PAR);
-			setState(89);
+			setState(105);
 			literal_value();
-			setState(94);
+			setState(110);
 			_errHandler.sync(this);
 			_la = _input.LA(1);
 			while (_la==COMMA) {
 				{
 				{
-				setState(90);
+				setState(106);
 				match(COMMA);
-				setState(91);
+				setState(107);
 				literal_value();
 				}
 				}
-				setState(96);
+				setState(112);
 				_errHandler.sync(this);
 				_la = _input.LA(1);
 			}
-			setState(97);
+			setState(113);
 			match(CLOSE_PAR);
 			}
 		}
@@ -712,31 +761,31 @@ public class SQLiteSimpleParser extends Parser {
 		try {
 			enterOuterAlt(_localctx, 1);
 			{
-			setState(99);
+			setState(115);
 			match(K_UPDATE);
-			setState(100);
+			setState(116);
 			table_name();
-			setState(101);
+			setState(117);
 			match(K_SET);
-			setState(102);
+			setState(118);
 			assignment();
-			setState(107);
+			setState(123);
 			_errHandler.sync(this);
 			_la = _input.LA(1);
 			while (_la==COMMA) {
 				{
 				{
-				setState(103);
+				setState(119);
 				match(COMMA);
-				setState(104);
+				setState(120);
 				assignment();
 				}
 				}
-				setState(109);
+				setState(125);
 				_errHandler.sync(this);
 				_la = _input.LA(1);
 			}
-			setState(110);
+			setState(126);
 			where_clause();
 			}
 		}
@@ -777,11 +826,11 @@ public class SQLiteSimpleParser extends Parser {
 		try {
 			enterOuterAlt(_localctx, 1);
 			{
-			setState(112);
+			setState(128);
 			column_name();
-			setState(113);
+			setState(129);
 			match(EQ);
-			setState(114);
+			setState(130);
 			literal_value();
 			}
 		}
@@ -823,13 +872,13 @@ public class SQLiteSimpleParser extends Parser {
 		try {
 			enterOuterAlt(_localctx, 1);
 			{
-			setState(116);
+			setState(132);
 			match(K_DELETE);
-			setState(117);
+			setState(133);
 			match(K_FROM);
-			setState(118);
+			setState(134);
 			table_name();
-			setState(119);
+			setState(135);
 			where_clause();
 			}
 		}
@@ -844,6 +893,387 @@ public class SQLiteSimpleParser extends Parser {
 		return _localctx;
 	}
 
+	@SuppressWarnings("CheckReturnValue")
+	public static class Transaction_stmtContext extends ParserRuleContext {
+		public Transaction_stmtContext(ParserRuleContext parent, int invokingState) {
+			super(parent, invokingState);
+		}
+		@Override public int getRuleIndex() { return RULE_transaction_stmt; }
+	 
+		public Transaction_stmtContext() { }
+		public void copyFrom(Transaction_stmtContext ctx) {
+			super.copyFrom(ctx);
+		}
+	}
+	@SuppressWarnings("CheckReturnValue")
+	public static class RollbackStmtContext extends Transaction_stmtContext {
+		public TerminalNode K_ROLLBACK() { return getToken(SQLiteSimpleParser.K_ROLLBACK, 0); }
+		public TerminalNode K_TRANSACTION() { return getToken(SQLiteSimpleParser.K_TRANSACTION, 0); }
+		public RollbackStmtContext(Transaction_stmtContext ctx) { copyFrom(ctx); }
+		@Override
+		public <T> T accept(ParseTreeVisitor<? extends T> visitor) {
+			if ( visitor instanceof SQLiteSimpleVisitor ) return ((SQLiteSimpleVisitor<? extends T>)visitor).visitRollbackStmt(this);
+			else return visitor.visitChildren(this);
+		}
+	}
+	@SuppressWarnings("CheckReturnValue")
+	public static class CommitStmtContext extends Transaction_stmtContext {
+		public TerminalNode K_COMMIT() { return getToken(SQLiteSimpleParser.K_COMMIT, 0); }
+		public TerminalNode K_TRANSACTION() { return getToken(SQLiteSimpleParser.K_TRANSACTION, 0); }
+		public CommitStmtContext(Transaction_stmtContext ctx) { copyFrom(ctx); }
+		@Override
+		public <T> T accept(ParseTreeVisitor<? extends T> visitor) {
+			if ( visitor instanceof SQLiteSimpleVisitor ) return ((SQLiteSimpleVisitor<? extends T>)visitor).visitCommitStmt(this);
+			else return visitor.visitChildren(this);
+		}
+	}
+	@SuppressWarnings("CheckReturnValue")
+	public static class BeginStmtContext extends Transaction_stmtContext {
+		public TerminalNode K_BEGIN() { return getToken(SQLiteSimpleParser.K_BEGIN, 0); }
+		public TerminalNode K_TRANSACTION() { return getToken(SQLiteSimpleParser.K_TRANSACTION, 0); }
+		public BeginStmtContext(Transaction_stmtContext ctx) { copyFrom(ctx); }
+		@Override
+		public <T> T accept(ParseTreeVisitor<? extends T> visitor) {
+			if ( visitor instanceof SQLiteSimpleVisitor ) return ((SQLiteSimpleVisitor<? extends T>)visitor).visitBeginStmt(this);
+			else return visitor.visitChildren(this);
+		}
+	}
+
+	public final Transaction_stmtContext transaction_stmt() throws RecognitionException {
+		Transaction_stmtContext _localctx = new Transaction_stmtContext(_ctx, getState());
+		enterRule(_localctx, 22, RULE_transaction_stmt);
+		int _la;
+		try {
+			setState(149);
+			_errHandler.sync(this);
+			switch (_input.LA(1)) {
+			case K_BEGIN:
+				_localctx = new BeginStmtContext(_localctx);
+				enterOuterAlt(_localctx, 1);
+				{
+				setState(137);
+				match(K_BEGIN);
+				setState(139);
+				_errHandler.sync(this);
+				_la = _input.LA(1);
+				if (_la==K_TRANSACTION) {
+					{
+					setState(138);
+					match(K_TRANSACTION);
+					}
+				}
+
+				}
+				break;
+			case K_COMMIT:
+				_localctx = new CommitStmtContext(_localctx);
+				enterOuterAlt(_localctx, 2);
+				{
+				setState(141);
+				match(K_COMMIT);
+				setState(143);
+				_errHandler.sync(this);
+				_la = _input.LA(1);
+				if (_la==K_TRANSACTION) {
+					{
+					setState(142);
+					match(K_TRANSACTION);
+					}
+				}
+
+				}
+				break;
+			case K_ROLLBACK:
+				_localctx = new RollbackStmtContext(_localctx);
+				enterOuterAlt(_localctx, 3);
+				{
+				setState(145);
+				match(K_ROLLBACK);
+				setState(147);
+				_errHandler.sync(this);
+				_la = _input.LA(1);
+				if (_la==K_TRANSACTION) {
+					{
+					setState(146);
+					match(K_TRANSACTION);
+					}
+				}
+
+				}
+				break;
+			default:
+				throw new NoViableAltException(this);
+			}
+		}
+		catch (RecognitionException re) {
+			_localctx.exception = re;
+			_errHandler.reportError(this, re);
+			_errHandler.recover(this, re);
+		}
+		finally {
+			exitRule();
+		}
+		return _localctx;
+	}
+
+	@SuppressWarnings("CheckReturnValue")
+	public static class Prepare_stmtContext extends ParserRuleContext {
+		public TerminalNode K_PREPARE() { return getToken(SQLiteSimpleParser.K_PREPARE, 0); }
+		public Statement_nameContext statement_name() {
+			return getRuleContext(Statement_nameContext.class,0);
+		}
+		public TerminalNode K_AS() { return getToken(SQLiteSimpleParser.K_AS, 0); }
+		public Prepared_bodyContext prepared_body() {
+			return getRuleContext(Prepared_bodyContext.class,0);
+		}
+		public Prepare_stmtContext(ParserRuleContext parent, int invokingState) {
+			super(parent, invokingState);
+		}
+		@Override public int getRuleIndex() { return RULE_prepare_stmt; }
+		@Override
+		public <T> T accept(ParseTreeVisitor<? extends T> visitor) {
+			if ( visitor instanceof SQLiteSimpleVisitor ) return ((SQLiteSimpleVisitor<? extends T>)visitor).visitPrepare_stmt(this);
+			else return visitor.visitChildren(this);
+		}
+	}
+
+	public final Prepare_stmtContext prepare_stmt() throws RecognitionException {
+		Prepare_stmtContext _localctx = new Prepare_stmtContext(_ctx, getState());
+		enterRule(_localctx, 24, RULE_prepare_stmt);
+		try {
+			enterOuterAlt(_localctx, 1);
+			{
+			setState(151);
+			match(K_PREPARE);
+			setState(152);
+			statement_name();
+			setState(153);
+			match(K_AS);
+			setState(154);
+			prepared_body();
+			}
+		}
+		catch (RecognitionException re) {
+			_localctx.exception = re;
+			_errHandler.reportError(this, re);
+			_errHandler.recover(this, re);
+		}
+		finally {
+			exitRule();
+		}
+		return _localctx;
+	}
+
+	@SuppressWarnings("CheckReturnValue")
+	public static class Prepared_bodyContext extends ParserRuleContext {
+		public Select_stmtContext select_stmt() {
+			return getRuleContext(Select_stmtContext.class,0);
+		}
+		public Insert_stmtContext insert_stmt() {
+			return getRuleContext(Insert_stmtContext.class,0);
+		}
+		public Update_stmtContext update_stmt() {
+			return getRuleContext(Update_stmtContext.class,0);
+		}
+		public Delete_stmtContext delete_stmt() {
+			return getRuleContext(Delete_stmtContext.class,0);
+		}
+		public Prepared_bodyContext(ParserRuleContext parent, int invokingState) {
+			super(parent, invokingState);
+		}
+		@Override public int getRuleIndex() { return RULE_prepared_body; }
+		@Override
+		public <T> T accept(ParseTreeVisitor<? extends T> visitor) {
+			if ( visitor instanceof SQLiteSimpleVisitor ) return ((SQLiteSimpleVisitor<? extends T>)visitor).visitPrepared_body(this);
+			else return visitor.visitChildren(this);
+		}
+	}
+
+	public final Prepared_bodyContext prepared_body() throws RecognitionException {
+		Prepared_bodyContext _localctx = new Prepared_bodyContext(_ctx, getState());
+		enterRule(_localctx, 26, RULE_prepared_body);
+		try {
+			setState(160);
+			_errHandler.sync(this);
+			switch (_input.LA(1)) {
+			case K_SELECT:
+				enterOuterAlt(_localctx, 1);
+				{
+				setState(156);
+				select_stmt();
+				}
+				break;
+			case K_INSERT:
+				enterOuterAlt(_localctx, 2);
+				{
+				setState(157);
+				insert_stmt();
+				}
+				break;
+			case K_UPDATE:
+				enterOuterAlt(_localctx, 3);
+				{
+				setState(158);
+				update_stmt();
+				}
+				break;
+			case K_DELETE:
+				enterOuterAlt(_localctx, 4);
+				{
+				setState(159);
+				delete_stmt();
+				}
+				break;
+			default:
+				throw new NoViableAltException(this);
+			}
+		}
+		catch (RecognitionException re) {
+			_localctx.exception = re;
+			_errHandler.reportError(this, re);
+			_errHandler.recover(this, re);
+		}
+		finally {
+			exitRule();
+		}
+		return _localctx;
+	}
+
+	@SuppressWarnings("CheckReturnValue")
+	public static class Execute_stmtContext extends ParserRuleContext {
+		public TerminalNode K_EXECUTE() { return getToken(SQLiteSimpleParser.K_EXECUTE, 0); }
+		public Statement_nameContext statement_name() {
+			return getRuleContext(Statement_nameContext.class,0);
+		}
+		public TerminalNode OPEN_PAR() { return getToken(SQLiteSimpleParser.OPEN_PAR, 0); }
+		public List<Literal_valueContext> literal_value() {
+			return getRuleContexts(Literal_valueContext.class);
+		}
+		public Literal_valueContext literal_value(int i) {
+			return getRuleContext(Literal_valueContext.class,i);
+		}
+		public TerminalNode CLOSE_PAR() { return getToken(SQLiteSimpleParser.CLOSE_PAR, 0); }
+		public List<TerminalNode> COMMA() { return getTokens(SQLiteSimpleParser.COMMA); }
+		public TerminalNode COMMA(int i) {
+			return getToken(SQLiteSimpleParser.COMMA, i);
+		}
+		public Execute_stmtContext(ParserRuleContext parent, int invokingState) {
+			super(parent, invokingState);
+		}
+		@Override public int getRuleIndex() { return RULE_execute_stmt; }
+		@Override
+		public <T> T accept(ParseTreeVisitor<? extends T> visitor) {
+			if ( visitor instanceof SQLiteSimpleVisitor ) return ((SQLiteSimpleVisitor<? extends T>)visitor).visitExecute_stmt(this);
+			else return visitor.visitChildren(this);
+		}
+	}
+
+	public final Execute_stmtContext execute_stmt() throws RecognitionException {
+		Execute_stmtContext _localctx = new Execute_stmtContext(_ctx, getState());
+		enterRule(_localctx, 28, RULE_execute_stmt);
+		int _la;
+		try {
+			enterOuterAlt(_localctx, 1);
+			{
+			setState(162);
+			match(K_EXECUTE);
+			setState(163);
+			statement_name();
+			setState(175);
+			_errHandler.sync(this);
+			_la = _input.LA(1);
+			if (_la==OPEN_PAR) {
+				{
+				setState(164);
+				match(OPEN_PAR);
+				setState(165);
+				literal_value();
+				setState(170);
+				_errHandler.sync(this);
+				_la = _input.LA(1);
+				while (_la==COMMA) {
+					{
+					{
+					setState(166);
+					match(COMMA);
+					setState(167);
+					literal_value();
+					}
+					}
+					setState(172);
+					_errHandler.sync(this);
+					_la = _input.LA(1);
+				}
+				setState(173);
+				match(CLOSE_PAR);
+				}
+			}
+
+			}
+		}
+		catch (RecognitionException re) {
+			_localctx.exception = re;
+			_errHandler.reportError(this, re);
+			_errHandler.recover(this, re);
+		}
+		finally {
+			exitRule();
+		}
+		return _localctx;
+	}
+
+	@SuppressWarnings("CheckReturnValue")
+	public static class Deallocate_stmtContext extends ParserRuleContext {
+		public TerminalNode K_DEALLOCATE() { return getToken(SQLiteSimpleParser.K_DEALLOCATE, 0); }
+		public Statement_nameContext statement_name() {
+			return getRuleContext(Statement_nameContext.class,0);
+		}
+		public TerminalNode K_PREPARE() { return getToken(SQLiteSimpleParser.K_PREPARE, 0); }
+		public Deallocate_stmtContext(ParserRuleContext parent, int invokingState) {
+			super(parent, invokingState);
+		}
+		@Override public int getRuleIndex() { return RULE_deallocate_stmt; }
+		@Override
+		public <T> T accept(ParseTreeVisitor<? extends T> visitor) {
+			if ( visitor instanceof SQLiteSimpleVisitor ) return ((SQLiteSimpleVisitor<? extends T>)visitor).visitDeallocate_stmt(this);
+			else return visitor.visitChildren(this);
+		}
+	}
+
+	public final Deallocate_stmtContext deallocate_stmt() throws RecognitionException {
+		Deallocate_stmtContext _localctx = new Deallocate_stmtContext(_ctx, getState());
+		enterRule(_localctx, 30, RULE_deallocate_stmt);
+		int _la;
+		try {
+			enterOuterAlt(_localctx, 1);
+			{
+			setState(177);
+			match(K_DEALLOCATE);
+			setState(179);
+			_errHandler.sync(this);
+			_la = _input.LA(1);
+			if (_la==K_PREPARE) {
+				{
+				setState(178);
+				match(K_PREPARE);
+				}
+			}
+
+			setState(181);
+			statement_name();
+			}
+		}
+		catch (RecognitionException re) {
+			_localctx.exception = re;
+			_errHandler.reportError(this, re);
+			_errHandler.recover(this, re);
+		}
+		finally {
+			exitRule();
+		}
+		return _localctx;
+	}
+
 	@SuppressWarnings("CheckReturnValue")
 	public static class ExprContext extends ParserRuleContext {
 		public ExprContext(ParserRuleContext parent, int invokingState) {
@@ -964,26 +1394,26 @@ public class SQLiteSimpleParser extends Parser {
 		int _parentState = getState();
 		ExprContext _localctx = new ExprContext(_ctx, _parentState);
 		ExprContext _prevctx = _localctx;
-		int _startState = 22;
-		enterRecursionRule(_localctx, 22, RULE_expr, _p);
+		int _startState = 32;
+		enterRecursionRule(_localctx, 32, RULE_expr, _p);
 		try {
 			int _alt;
 			enterOuterAlt(_localctx, 1);
 			{
-			setState(140);
+			setState(202);
 			_errHandler.sync(this);
-			switch ( getInterpreter().adaptivePredict(_input,10,_ctx) ) {
+			switch ( getInterpreter().adaptivePredict(_input,18,_ctx) ) {
 			case 1:
 				{
 				_localctx = new EqualsExprContext(_localctx);
 				_ctx = _localctx;
 				_prevctx = _localctx;
 
-				setState(122);
+				setState(184);
 				column_name();
-				setState(123);
+				setState(185);
 				match(EQ);
-				setState(124);
+				setState(186);
 				literal_value();
 				}
 				break;
@@ -992,11 +1422,11 @@ public class SQLiteSimpleParser extends Parser {
 				_localctx = new LikeExprContext(_localctx);
 				_ctx = _localctx;
 				_prevctx = _localctx;
-				setState(126);
+				setState(188);
 				column_name();
-				setState(127);
+				setState(189);
 				match(K_LIKE);
-				setState(128);
+				setState(190);
 				literal_value();
 				}
 				break;
@@ -1005,15 +1435,15 @@ public class SQLiteSimpleParser extends Parser {
 				_localctx = new BetweenExprContext(_localctx);
 				_ctx = _localctx;
 				_prevctx = _localctx;
-				setState(130);
+				setState(192);
 				column_name();
-				setState(131);
+				setState(193);
 				match(K_BETWEEN);
-				setState(132);
+				setState(194);
 				literal_value();
-				setState(133);
+				setState(195);
 				match(K_AND);
-				setState(134);
+				setState(196);
 				literal_value();
 				}
 				break;
@@ -1022,36 +1452,36 @@ public class SQLiteSimpleParser extends Parser {
 				_localctx = new ParenExprContext(_localctx);
 				_ctx = _localctx;
 				_prevctx = _localctx;
-				setState(136);
+				setState(198);
 				match(OPEN_PAR);
-				setState(137);
+				setState(199);
 				expr(0);
-				setState(138);
+				setState(200);
 				match(CLOSE_PAR);
 				}
 				break;
 			}
 			_ctx.stop = _input.LT(-1);
-			setState(150);
+			setState(212);
 			_errHandler.sync(this);
-			_alt = getInterpreter().adaptivePredict(_input,12,_ctx);
+			_alt = getInterpreter().adaptivePredict(_input,20,_ctx);
 			while ( _alt!=2 && _alt!=org.antlr.v4.runtime.atn.ATN.INVALID_ALT_NUMBER ) {
 				if ( _alt==1 ) {
 					if ( _parseListeners!=null ) triggerExitRuleEvent();
 					_prevctx = _localctx;
 					{
-					setState(148);
+					setState(210);
 					_errHandler.sync(this);
-					switch ( getInterpreter().adaptivePredict(_input,11,_ctx) ) {
+					switch ( getInterpreter().adaptivePredict(_input,19,_ctx) ) {
 					case 1:
 						{
 						_localctx = new AndExprContext(new ExprContext(_parentctx, _parentState));
 						pushNewRecursionContext(_localctx, _startState, RULE_expr);
-						setState(142);
+						setState(204);
 						if (!(precpred(_ctx, 3))) throw new FailedPredicateException(this, "precpred(_ctx, 3)");
-						setState(143);
+						setState(205);
 						match(K_AND);
-						setState(144);
+						setState(206);
 						expr(4);
 						}
 						break;
@@ -1059,20 +1489,20 @@ public class SQLiteSimpleParser extends Parser {
 						{
 						_localctx = new OrExprContext(new ExprContext(_parentctx, _parentState));
 						pushNewRecursionContext(_localctx, _startState, RULE_expr);
-						setState(145);
+						setState(207);
 						if (!(precpred(_ctx, 2))) throw new FailedPredicateException(this, "precpred(_ctx, 2)");
-						setState(146);
+						setState(208);
 						match(K_OR);
-						setState(147);
+						setState(209);
 						expr(3);
 						}
 						break;
 					}
 					} 
 				}
-				setState(152);
+				setState(214);
 				_errHandler.sync(this);
-				_alt = getInterpreter().adaptivePredict(_input,12,_ctx);
+				_alt = getInterpreter().adaptivePredict(_input,20,_ctx);
 			}
 			}
 		}
@@ -1091,6 +1521,7 @@ public class SQLiteSimpleParser extends Parser {
 	public static class Literal_valueContext extends ParserRuleContext {
 		public TerminalNode NUMERIC_LITERAL() { return getToken(SQLiteSimpleParser.NUMERIC_LITERAL, 0); }
 		public TerminalNode STRING_LITERAL() { return getToken(SQLiteSimpleParser.STRING_LITERAL, 0); }
+		public TerminalNode PARAM() { return getToken(SQLiteSimpleParser.PARAM, 0); }
 		public Literal_valueContext(ParserRuleContext parent, int invokingState) {
 			super(parent, invokingState);
 		}
@@ -1104,14 +1535,14 @@ public class SQLiteSimpleParser extends Parser {
 
 	public final Literal_valueContext literal_value() throws RecognitionException {
 		Literal_valueContext _localctx = new Literal_valueContext(_ctx, getState());
-		enterRule(_localctx, 24, RULE_literal_value);
+		enterRule(_localctx, 34, RULE_literal_value);
 		int _la;
 		try {
 			enterOuterAlt(_localctx, 1);
 			{
-			setState(153);
+			setState(215);
 			_la = _input.LA(1);
-			if ( !(_la==NUMERIC_LITERAL || _la==STRING_LITERAL) ) {
+			if ( !((((_la) & ~0x3f) == 0 && ((1L << _la) & 70330089472L) != 0)) ) {
 			_errHandler.recoverInline(this);
 			}
 			else {
@@ -1148,11 +1579,11 @@ public class SQLiteSimpleParser extends Parser {
 
 	public final Table_nameContext table_name() throws RecognitionException {
 		Table_nameContext _localctx = new Table_nameContext(_ctx, getState());
-		enterRule(_localctx, 26, RULE_table_name);
+		enterRule(_localctx, 36, RULE_table_name);
 		try {
 			enterOuterAlt(_localctx, 1);
 			{
-			setState(155);
+			setState(217);
 			match(IDENTIFIER);
 			}
 		}
@@ -1183,11 +1614,46 @@ public class SQLiteSimpleParser extends Parser {
 
 	public final Column_nameContext column_name() throws RecognitionException {
 		Column_nameContext _localctx = new Column_nameContext(_ctx, getState());
-		enterRule(_localctx, 28, RULE_column_name);
+		enterRule(_localctx, 38, RULE_column_name);
+		try {
+			enterOuterAlt(_localctx, 1);
+			{
+			setState(219);
+			match(IDENTIFIER);
+			}
+		}
+		catch (RecognitionException re) {
+			_localctx.exception = re;
+			_errHandler.reportError(this, re);
+			_errHandler.recover(this, re);
+		}
+		finally {
+			exitRule();
+		}
+		return _localctx;
+	}
+
+	@SuppressWarnings("CheckReturnValue")
+	public static class Statement_nameContext extends ParserRuleContext {
+		public TerminalNode IDENTIFIER() { return getToken(SQLiteSimpleParser.IDENTIFIER, 0); }
+		public Statement_nameContext(ParserRuleContext parent, int invokingState) {
+			super(parent, invokingState);
+		}
+		@Override public int getRuleIndex() { return RULE_statement_name; }
+		@Override
+		public <T> T accept(ParseTreeVisitor<? extends T> visitor) {
+			if ( visitor instanceof SQLiteSimpleVisitor ) return ((SQLiteSimpleVisitor<? extends T>)visitor).visitStatement_name(this);
+			else return visitor.visitChildren(this);
+		}
+	}
+
+	public final Statement_nameContext statement_name() throws RecognitionException {
+		Statement_nameContext _localctx = new Statement_nameContext(_ctx, getState());
+		enterRule(_localctx, 40, RULE_statement_name);
 		try {
 			enterOuterAlt(_localctx, 1);
 			{
-			setState(157);
+			setState(221);
 			match(IDENTIFIER);
 			}
 		}
@@ -1204,7 +1670,7 @@ public class SQLiteSimpleParser extends Parser {
 
 	public boolean sempred(RuleContext _localctx, int ruleIndex, int predIndex) {
 		switch (ruleIndex) {
-		case 11:
+		case 16:
 			return expr_sempred((ExprContext)_localctx, predIndex);
 		}
 		return true;
@@ -1220,98 +1686,143 @@ public class SQLiteSimpleParser extends Parser {
 	}
 
 	public static final String _serializedATN =
-		"\u0004\u0001\u001c\u00a0\u0002\u0000\u0007\u0000\u0002\u0001\u0007\u0001"+
-		"\u0002\u0002\u0007\u0002\u0002\u0003\u0007\u0003\u0002\u0004\u0007\u0004"+
-		"\u0002\u0005\u0007\u0005\u0002\u0006\u0007\u0006\u0002\u0007\u0007\u0007"+
-		"\u0002\b\u0007\b\u0002\t\u0007\t\u0002\n\u0007\n\u0002\u000b\u0007\u000b"+
-		"\u0002\f\u0007\f\u0002\r\u0007\r\u0002\u000e\u0007\u000e\u0001\u0000\u0001"+
-		"\u0000\u0001\u0000\u0001\u0001\u0001\u0001\u0001\u0001\u0001\u0001\u0003"+
-		"\u0001&\b\u0001\u0001\u0002\u0001\u0002\u0001\u0002\u0001\u0002\u0005"+
-		"\u0002,\b\u0002\n\u0002\f\u0002/\t\u0002\u0001\u0002\u0001\u0002\u0001"+
-		"\u0002\u0003\u00024\b\u0002\u0001\u0002\u0003\u00027\b\u0002\u0001\u0002"+
-		"\u0003\u0002:\b\u0002\u0001\u0003\u0001\u0003\u0001\u0003\u0001\u0003"+
-		"\u0001\u0003\u0005\u0003A\b\u0003\n\u0003\f\u0003D\t\u0003\u0003\u0003"+
-		"F\b\u0003\u0001\u0004\u0001\u0004\u0001\u0004\u0001\u0005\u0001\u0005"+
-		"\u0001\u0005\u0001\u0005\u0003\u0005O\b\u0005\u0001\u0006\u0001\u0006"+
-		"\u0001\u0006\u0001\u0006\u0001\u0007\u0001\u0007\u0001\u0007\u0001\u0007"+
-		"\u0001\u0007\u0001\u0007\u0001\u0007\u0001\u0007\u0005\u0007]\b\u0007"+
-		"\n\u0007\f\u0007`\t\u0007\u0001\u0007\u0001\u0007\u0001\b\u0001\b\u0001"+
-		"\b\u0001\b\u0001\b\u0001\b\u0005\bj\b\b\n\b\f\bm\t\b\u0001\b\u0001\b\u0001"+
-		"\t\u0001\t\u0001\t\u0001\t\u0001\n\u0001\n\u0001\n\u0001\n\u0001\n\u0001"+
-		"\u000b\u0001\u000b\u0001\u000b\u0001\u000b\u0001\u000b\u0001\u000b\u0001"+
-		"\u000b\u0001\u000b\u0001\u000b\u0001\u000b\u0001\u000b\u0001\u000b\u0001"+
-		"\u000b\u0001\u000b\u0001\u000b\u0001\u000b\u0001\u000b\u0001\u000b\u0001"+
-		"\u000b\u0003\u000b\u008d\b\u000b\u0001\u000b\u0001\u000b\u0001\u000b\u0001"+
-		"\u000b\u0001\u000b\u0001\u000b\u0005\u000b\u0095\b\u000b\n\u000b\f\u000b"+
-		"\u0098\t\u000b\u0001\f\u0001\f\u0001\r\u0001\r\u0001\u000e\u0001\u000e"+
-		"\u0001\u000e\u0000\u0001\u0016\u000f\u0000\u0002\u0004\u0006\b\n\f\u000e"+
-		"\u0010\u0012\u0014\u0016\u0018\u001a\u001c\u0000\u0002\u0001\u0000\f\r"+
-		"\u0001\u0000\u0015\u0016\u00a2\u0000\u001e\u0001\u0000\u0000\u0000\u0002"+
-		"%\u0001\u0000\u0000\u0000\u0004\'\u0001\u0000\u0000\u0000\u0006E\u0001"+
-		"\u0000\u0000\u0000\bG\u0001\u0000\u0000\u0000\nJ\u0001\u0000\u0000\u0000"+
-		"\fP\u0001\u0000\u0000\u0000\u000eT\u0001\u0000\u0000\u0000\u0010c\u0001"+
-		"\u0000\u0000\u0000\u0012p\u0001\u0000\u0000\u0000\u0014t\u0001\u0000\u0000"+
-		"\u0000\u0016\u008c\u0001\u0000\u0000\u0000\u0018\u0099\u0001\u0000\u0000"+
-		"\u0000\u001a\u009b\u0001\u0000\u0000\u0000\u001c\u009d\u0001\u0000\u0000"+
-		"\u0000\u001e\u001f\u0003\u0002\u0001\u0000\u001f \u0005\u0000\u0000\u0001"+
-		" \u0001\u0001\u0000\u0000\u0000!&\u0003\u0004\u0002\u0000\"&\u0003\u000e"+
-		"\u0007\u0000#&\u0003\u0010\b\u0000$&\u0003\u0014\n\u0000%!\u0001\u0000"+
-		"\u0000\u0000%\"\u0001\u0000\u0000\u0000%#\u0001\u0000\u0000\u0000%$\u0001"+
-		"\u0000\u0000\u0000&\u0003\u0001\u0000\u0000\u0000\'(\u0005\u0001\u0000"+
-		"\u0000(-\u0003\u0006\u0003\u0000)*\u0005\u0017\u0000\u0000*,\u0003\u0006"+
-		"\u0003\u0000+)\u0001\u0000\u0000\u0000,/\u0001\u0000\u0000\u0000-+\u0001"+
-		"\u0000\u0000\u0000-.\u0001\u0000\u0000\u0000.0\u0001\u0000\u0000\u0000"+
-		"/-\u0001\u0000\u0000\u000001\u0005\u0002\u0000\u000013\u0003\u001a\r\u0000"+
-		"24\u0003\b\u0004\u000032\u0001\u0000\u0000\u000034\u0001\u0000\u0000\u0000"+
-		"46\u0001\u0000\u0000\u000057\u0003\n\u0005\u000065\u0001\u0000\u0000\u0000"+
-		"67\u0001\u0000\u0000\u000079\u0001\u0000\u0000\u00008:\u0003\f\u0006\u0000"+
-		"98\u0001\u0000\u0000\u00009:\u0001\u0000\u0000\u0000:\u0005\u0001\u0000"+
-		"\u0000\u0000;F\u0005\u001a\u0000\u0000<F\u0005\u0013\u0000\u0000=B\u0003"+
-		"\u001c\u000e\u0000>?\u0005\u0017\u0000\u0000?A\u0003\u001c\u000e\u0000"+
-		"@>\u0001\u0000\u0000\u0000AD\u0001\u0000\u0000\u0000B@\u0001\u0000\u0000"+
-		"\u0000BC\u0001\u0000\u0000\u0000CF\u0001\u0000\u0000\u0000DB\u0001\u0000"+
-		"\u0000\u0000E;\u0001\u0000\u0000\u0000E<\u0001\u0000\u0000\u0000E=\u0001"+
-		"\u0000\u0000\u0000F\u0007\u0001\u0000\u0000\u0000GH\u0005\u0003\u0000"+
-		"\u0000HI\u0003\u0016\u000b\u0000I\t\u0001\u0000\u0000\u0000JK\u0005\n"+
-		"\u0000\u0000KL\u0005\u000b\u0000\u0000LN\u0003\u001c\u000e\u0000MO\u0007"+
-		"\u0000\u0000\u0000NM\u0001\u0000\u0000\u0000NO\u0001\u0000\u0000\u0000"+
-		"O\u000b\u0001\u0000\u0000\u0000PQ\u0005\u000e\u0000\u0000QR\u0005\u000b"+
-		"\u0000\u0000RS\u0003\u001c\u000e\u0000S\r\u0001\u0000\u0000\u0000TU\u0005"+
-		"\u0004\u0000\u0000UV\u0005\u0005\u0000\u0000VW\u0003\u001a\r\u0000WX\u0005"+
-		"\u0006\u0000\u0000XY\u0005\u0018\u0000\u0000Y^\u0003\u0018\f\u0000Z[\u0005"+
-		"\u0017\u0000\u0000[]\u0003\u0018\f\u0000\\Z\u0001\u0000\u0000\u0000]`"+
-		"\u0001\u0000\u0000\u0000^\\\u0001\u0000\u0000\u0000^_\u0001\u0000\u0000"+
-		"\u0000_a\u0001\u0000\u0000\u0000`^\u0001\u0000\u0000\u0000ab\u0005\u0019"+
-		"\u0000\u0000b\u000f\u0001\u0000\u0000\u0000cd\u0005\u0007\u0000\u0000"+
-		"de\u0003\u001a\r\u0000ef\u0005\b\u0000\u0000fk\u0003\u0012\t\u0000gh\u0005"+
-		"\u0017\u0000\u0000hj\u0003\u0012\t\u0000ig\u0001\u0000\u0000\u0000jm\u0001"+
-		"\u0000\u0000\u0000ki\u0001\u0000\u0000\u0000kl\u0001\u0000\u0000\u0000"+
-		"ln\u0001\u0000\u0000\u0000mk\u0001\u0000\u0000\u0000no\u0003\b\u0004\u0000"+
-		"o\u0011\u0001\u0000\u0000\u0000pq\u0003\u001c\u000e\u0000qr\u0005\u001b"+
-		"\u0000\u0000rs\u0003\u0018\f\u0000s\u0013\u0001\u0000\u0000\u0000tu\u0005"+
-		"\t\u0000\u0000uv\u0005\u0002\u0000\u0000vw\u0003\u001a\r\u0000wx\u0003"+
-		"\b\u0004\u0000x\u0015\u0001\u0000\u0000\u0000yz\u0006\u000b\uffff\uffff"+
-		"\u0000z{\u0003\u001c\u000e\u0000{|\u0005\u001b\u0000\u0000|}\u0003\u0018"+
-		"\f\u0000}\u008d\u0001\u0000\u0000\u0000~\u007f\u0003\u001c\u000e\u0000"+
-		"\u007f\u0080\u0005\u0011\u0000\u0000\u0080\u0081\u0003\u0018\f\u0000\u0081"+
-		"\u008d\u0001\u0000\u0000\u0000\u0082\u0083\u0003\u001c\u000e\u0000\u0083"+
-		"\u0084\u0005\u0012\u0000\u0000\u0084\u0085\u0003\u0018\f\u0000\u0085\u0086"+
-		"\u0005\u000f\u0000\u0000\u0086\u0087\u0003\u0018\f\u0000\u0087\u008d\u0001"+
-		"\u0000\u0000\u0000\u0088\u0089\u0005\u0018\u0000\u0000\u0089\u008a\u0003"+
-		"\u0016\u000b\u0000\u008a\u008b\u0005\u0019\u0000\u0000\u008b\u008d\u0001"+
-		"\u0000\u0000\u0000\u008cy\u0001\u0000\u0000\u0000\u008c~\u0001\u0000\u0000"+
-		"\u0000\u008c\u0082\u0001\u0000\u0000\u0000\u008c\u0088\u0001\u0000\u0000"+
-		"\u0000\u008d\u0096\u0001\u0000\u0000\u0000\u008e\u008f\n\u0003\u0000\u0000"+
-		"\u008f\u0090\u0005\u000f\u0000\u0000\u0090\u0095\u0003\u0016\u000b\u0004"+
-		"\u0091\u0092\n\u0002\u0000\u0000\u0092\u0093\u0005\u0010\u0000\u0000\u0093"+
-		"\u0095\u0003\u0016\u000b\u0003\u0094\u008e\u0001\u0000\u0000\u0000\u0094"+
-		"\u0091\u0001\u0000\u0000\u0000\u0095\u0098\u0001\u0000\u0000\u0000\u0096"+
-		"\u0094\u0001\u0000\u0000\u0000\u0096\u0097\u0001\u0000\u0000\u0000\u0097"+
-		"\u0017\u0001\u0000\u0000\u0000\u0098\u0096\u0001\u0000\u0000\u0000\u0099"+
-		"\u009a\u0007\u0001\u0000\u0000\u009a\u0019\u0001\u0000\u0000\u0000\u009b"+
-		"\u009c\u0005\u0014\u0000\u0000\u009c\u001b\u0001\u0000\u0000\u0000\u009d"+
-		"\u009e\u0005\u0014\u0000\u0000\u009e\u001d\u0001\u0000\u0000\u0000\r%"+
-		"-369BEN^k\u008c\u0094\u0096";
+		"\u0004\u0001%\u00e0\u0002\u0000\u0007\u0000\u0002\u0001\u0007\u0001\u0002"+
+		"\u0002\u0007\u0002\u0002\u0003\u0007\u0003\u0002\u0004\u0007\u0004\u0002"+
+		"\u0005\u0007\u0005\u0002\u0006\u0007\u0006\u0002\u0007\u0007\u0007\u0002"+
+		"\b\u0007\b\u0002\t\u0007\t\u0002\n\u0007\n\u0002\u000b\u0007\u000b\u0002"+
+		"\f\u0007\f\u0002\r\u0007\r\u0002\u000e\u0007\u000e\u0002\u000f\u0007\u000f"+
+		"\u0002\u0010\u0007\u0010\u0002\u0011\u0007\u0011\u0002\u0012\u0007\u0012"+
+		"\u0002\u0013\u0007\u0013\u0002\u0014\u0007\u0014\u0001\u0000\u0001\u0000"+
+		"\u0001\u0000\u0001\u0001\u0001\u0001\u0001\u0001\u0001\u0001\u0001\u0001"+
+		"\u0001\u0001\u0001\u0001\u0001\u0001\u0003\u00016\b\u0001\u0001\u0002"+
+		"\u0001\u0002\u0001\u0002\u0001\u0002\u0005\u0002<\b\u0002\n\u0002\f\u0002"+
+		"?\t\u0002\u0001\u0002\u0001\u0002\u0001\u0002\u0003\u0002D\b\u0002\u0001"+
+		"\u0002\u0003\u0002G\b\u0002\u0001\u0002\u0003\u0002J\b\u0002\u0001\u0003"+
+		"\u0001\u0003\u0001\u0003\u0001\u0003\u0001\u0003\u0005\u0003Q\b\u0003"+
+		"\n\u0003\f\u0003T\t\u0003\u0003\u0003V\b\u0003\u0001\u0004\u0001\u0004"+
+		"\u0001\u0004\u0001\u0005\u0001\u0005\u0001\u0005\u0001\u0005\u0003\u0005"+
+		"_\b\u0005\u0001\u0006\u0001\u0006\u0001\u0006\u0001\u0006\u0001\u0007"+
+		"\u0001\u0007\u0001\u0007\u0001\u0007\u0001\u0007\u0001\u0007\u0001\u0007"+
+		"\u0001\u0007\u0005\u0007m\b\u0007\n\u0007\f\u0007p\t\u0007\u0001\u0007"+
+		"\u0001\u0007\u0001\b\u0001\b\u0001\b\u0001\b\u0001\b\u0001\b\u0005\bz"+
+		"\b\b\n\b\f\b}\t\b\u0001\b\u0001\b\u0001\t\u0001\t\u0001\t\u0001\t\u0001"+
+		"\n\u0001\n\u0001\n\u0001\n\u0001\n\u0001\u000b\u0001\u000b\u0003\u000b"+
+		"\u008c\b\u000b\u0001\u000b\u0001\u000b\u0003\u000b\u0090\b\u000b\u0001"+
+		"\u000b\u0001\u000b\u0003\u000b\u0094\b\u000b\u0003\u000b\u0096\b\u000b"+
+		"\u0001\f\u0001\f\u0001\f\u0001\f\u0001\f\u0001\r\u0001\r\u0001\r\u0001"+
+		"\r\u0003\r\u00a1\b\r\u0001\u000e\u0001\u000e\u0001\u000e\u0001\u000e\u0001"+
+		"\u000e\u0001\u000e\u0005\u000e\u00a9\b\u000e\n\u000e\f\u000e\u00ac\t\u000e"+
+		"\u0001\u000e\u0001\u000e\u0003\u000e\u00b0\b\u000e\u0001\u000f\u0001\u000f"+
+		"\u0003\u000f\u00b4\b\u000f\u0001\u000f\u0001\u000f\u0001\u0010\u0001\u0010"+
+		"\u0001\u0010\u0001\u0010\u0001\u0010\u0001\u0010\u0001\u0010\u0001\u0010"+
+		"\u0001\u0010\u0001\u0010\u0001\u0010\u0001\u0010\u0001\u0010\u0001\u0010"+
+		"\u0001\u0010\u0001\u0010\u0001\u0010\u0001\u0010\u0001\u0010\u0003\u0010"+
+		"\u00cb\b\u0010\u0001\u0010\u0001\u0010\u0001\u0010\u0001\u0010\u0001\u0010"+
+		"\u0001\u0010\u0005\u0010\u00d3\b\u0010\n\u0010\f\u0010\u00d6\t\u0010\u0001"+
+		"\u0011\u0001\u0011\u0001\u0012\u0001\u0012\u0001\u0013\u0001\u0013\u0001"+
+		"\u0014\u0001\u0014\u0001\u0014\u0000\u0001 \u0015\u0000\u0002\u0004\u0006"+
+		"\b\n\f\u000e\u0010\u0012\u0014\u0016\u0018\u001a\u001c\u001e \"$&(\u0000"+
+		"\u0002\u0001\u0000\f\r\u0002\u0000\u001d\u001e$$\u00eb\u0000*\u0001\u0000"+
+		"\u0000\u0000\u00025\u0001\u0000\u0000\u0000\u00047\u0001\u0000\u0000\u0000"+
+		"\u0006U\u0001\u0000\u0000\u0000\bW\u0001\u0000\u0000\u0000\nZ\u0001\u0000"+
+		"\u0000\u0000\f`\u0001\u0000\u0000\u0000\u000ed\u0001\u0000\u0000\u0000"+
+		"\u0010s\u0001\u0000\u0000\u0000\u0012\u0080\u0001\u0000\u0000\u0000\u0014"+
+		"\u0084\u0001\u0000\u0000\u0000\u0016\u0095\u0001\u0000\u0000\u0000\u0018"+
+		"\u0097\u0001\u0000\u0000\u0000\u001a\u00a0\u0001\u0000\u0000\u0000\u001c"+
+		"\u00a2\u0001\u0000\u0000\u0000\u001e\u00b1\u0001\u0000\u0000\u0000 \u00ca"+
+		"\u0001\u0000\u0000\u0000\"\u00d7\u0001\u0000\u0000\u0000$\u00d9\u0001"+
+		"\u0000\u0000\u0000&\u00db\u0001\u0000\u0000\u0000(\u00dd\u0001\u0000\u0000"+
+		"\u0000*+\u0003\u0002\u0001\u0000+,\u0005\u0000\u0000\u0001,\u0001\u0001"+
+		"\u0000\u0000\u0000-6\u0003\u0004\u0002\u0000.6\u0003\u000e\u0007\u0000"+
+		"/6\u0003\u0010\b\u000006\u0003\u0014\n\u000016\u0003\u0016\u000b\u0000"+
+		"26\u0003\u0018\f\u000036\u0003\u001c\u000e\u000046\u0003\u001e\u000f\u0000"+
+		"5-\u0001\u0000\u0000\u00005.\u0001\u0000\u0000\u00005/\u0001\u0000\u0000"+
+		"\u000050\u0001\u0000\u0000\u000051\u0001\u0000\u0000\u000052\u0001\u0000"+
+		"\u0000\u000053\u0001\u0000\u0000\u000054\u0001\u0000\u0000\u00006\u0003"+
+		"\u0001\u0000\u0000\u000078\u0005\u0001\u0000\u00008=\u0003\u0006\u0003"+
+		"\u00009:\u0005\u001f\u0000\u0000:<\u0003\u0006\u0003\u0000;9\u0001\u0000"+
+		"\u0000\u0000<?\u0001\u0000\u0000\u0000=;\u0001\u0000\u0000\u0000=>\u0001"+
+		"\u0000\u0000\u0000>@\u0001\u0000\u0000\u0000?=\u0001\u0000\u0000\u0000"+
+		"@A\u0005\u0002\u0000\u0000AC\u0003$\u0012\u0000BD\u0003\b\u0004\u0000"+
+		"CB\u0001\u0000\u0000\u0000CD\u0001\u0000\u0000\u0000DF\u0001\u0000\u0000"+
+		"\u0000EG\u0003\n\u0005\u0000FE\u0001\u0000\u0000\u0000FG\u0001\u0000\u0000"+
+		"\u0000GI\u0001\u0000\u0000\u0000HJ\u0003\f\u0006\u0000IH\u0001\u0000\u0000"+
+		"\u0000IJ\u0001\u0000\u0000\u0000J\u0005\u0001\u0000\u0000\u0000KV\u0005"+
+		"\"\u0000\u0000LV\u0005\u0013\u0000\u0000MR\u0003&\u0013\u0000NO\u0005"+
+		"\u001f\u0000\u0000OQ\u0003&\u0013\u0000PN\u0001\u0000\u0000\u0000QT\u0001"+
+		"\u0000\u0000\u0000RP\u0001\u0000\u0000\u0000RS\u0001\u0000\u0000\u0000"+
+		"SV\u0001\u0000\u0000\u0000TR\u0001\u0000\u0000\u0000UK\u0001\u0000\u0000"+
+		"\u0000UL\u0001\u0000\u0000\u0000UM\u0001\u0000\u0000\u0000V\u0007\u0001"+
+		"\u0000\u0000\u0000WX\u0005\u0003\u0000\u0000XY\u0003 \u0010\u0000Y\t\u0001"+
+		"\u0000\u0000\u0000Z[\u0005\n\u0000\u0000[\\\u0005\u000b\u0000\u0000\\"+
+		"^\u0003&\u0013\u0000]_\u0007\u0000\u0000\u0000^]\u0001\u0000\u0000\u0000"+
+		"^_\u0001\u0000\u0000\u0000_\u000b\u0001\u0000\u0000\u0000`a\u0005\u000e"+
+		"\u0000\u0000ab\u0005\u000b\u0000\u0000bc\u0003&\u0013\u0000c\r\u0001\u0000"+
+		"\u0000\u0000de\u0005\u0004\u0000\u0000ef\u0005\u0005\u0000\u0000fg\u0003"+
+		"$\u0012\u0000gh\u0005\u0006\u0000\u0000hi\u0005 \u0000\u0000in\u0003\""+
+		"\u0011\u0000jk\u0005\u001f\u0000\u0000km\u0003\"\u0011\u0000lj\u0001\u0000"+
+		"\u0000\u0000mp\u0001\u0000\u0000\u0000nl\u0001\u0000\u0000\u0000no\u0001"+
+		"\u0000\u0000\u0000oq\u0001\u0000\u0000\u0000pn\u0001\u0000\u0000\u0000"+
+		"qr\u0005!\u0000\u0000r\u000f\u0001\u0000\u0000\u0000st\u0005\u0007\u0000"+
+		"\u0000tu\u0003$\u0012\u0000uv\u0005\b\u0000\u0000v{\u0003\u0012\t\u0000"+
+		"wx\u0005\u001f\u0000\u0000xz\u0003\u0012\t\u0000yw\u0001\u0000\u0000\u0000"+
+		"z}\u0001\u0000\u0000\u0000{y\u0001\u0000\u0000\u0000{|\u0001\u0000\u0000"+
+		"\u0000|~\u0001\u0000\u0000\u0000}{\u0001\u0000\u0000\u0000~\u007f\u0003"+
+		"\b\u0004\u0000\u007f\u0011\u0001\u0000\u0000\u0000\u0080\u0081\u0003&"+
+		"\u0013\u0000\u0081\u0082\u0005#\u0000\u0000\u0082\u0083\u0003\"\u0011"+
+		"\u0000\u0083\u0013\u0001\u0000\u0000\u0000\u0084\u0085\u0005\t\u0000\u0000"+
+		"\u0085\u0086\u0005\u0002\u0000\u0000\u0086\u0087\u0003$\u0012\u0000\u0087"+
+		"\u0088\u0003\b\u0004\u0000\u0088\u0015\u0001\u0000\u0000\u0000\u0089\u008b"+
+		"\u0005\u0014\u0000\u0000\u008a\u008c\u0005\u0017\u0000\u0000\u008b\u008a"+
+		"\u0001\u0000\u0000\u0000\u008b\u008c\u0001\u0000\u0000\u0000\u008c\u0096"+
+		"\u0001\u0000\u0000\u0000\u008d\u008f\u0005\u0015\u0000\u0000\u008e\u0090"+
+		"\u0005\u0017\u0000\u0000\u008f\u008e\u0001\u0000\u0000\u0000\u008f\u0090"+
+		"\u0001\u0000\u0000\u0000\u0090\u0096\u0001\u0000\u0000\u0000\u0091\u0093"+
+		"\u0005\u0016\u0000\u0000\u0092\u0094\u0005\u0017\u0000\u0000\u0093\u0092"+
+		"\u0001\u0000\u0000\u0000\u0093\u0094\u0001\u0000\u0000\u0000\u0094\u0096"+
+		"\u0001\u0000\u0000\u0000\u0095\u0089\u0001\u0000\u0000\u0000\u0095\u008d"+
+		"\u0001\u0000\u0000\u0000\u0095\u0091\u0001\u0000\u0000\u0000\u0096\u0017"+
+		"\u0001\u0000\u0000\u0000\u0097\u0098\u0005\u0018\u0000\u0000\u0098\u0099"+
+		"\u0003(\u0014\u0000\u0099\u009a\u0005\u001b\u0000\u0000\u009a\u009b\u0003"+
+		"\u001a\r\u0000\u009b\u0019\u0001\u0000\u0000\u0000\u009c\u00a1\u0003\u0004"+
+		"\u0002\u0000\u009d\u00a1\u0003\u000e\u0007\u0000\u009e\u00a1\u0003\u0010"+
+		"\b\u0000\u009f\u00a1\u0003\u0014\n\u0000\u00a0\u009c\u0001\u0000\u0000"+
+		"\u0000\u00a0\u009d\u0001\u0000\u0000\u0000\u00a0\u009e\u0001\u0000\u0000"+
+		"\u0000\u00a0\u009f\u0001\u0000\u0000\u0000\u00a1\u001b\u0001\u0000\u0000"+
+		"\u0000\u00a2\u00a3\u0005\u0019\u0000\u0000\u00a3\u00af\u0003(\u0014\u0000"+
+		"\u00a4\u00a5\u0005 \u0000\u0000\u00a5\u00aa\u0003\"\u0011\u0000\u00a6"+
+		"\u00a7\u0005\u001f\u0000\u0000\u00a7\u00a9\u0003\"\u0011\u0000\u00a8\u00a6"+
+		"\u0001\u0000\u0000\u0000\u00a9\u00ac\u0001\u0000\u0000\u0000\u00aa\u00a8"+
+		"\u0001\u0000\u0000\u0000\u00aa\u00ab\u0001\u0000\u0000\u0000\u00ab\u00ad"+
+		"\u0001\u0000\u0000\u0000\u00ac\u00aa\u0001\u0000\u0000\u0000\u00ad\u00ae"+
+		"\u0005!\u0000\u0000\u00ae\u00b0\u0001\u0000\u0000\u0000\u00af\u00a4\u0001"+
+		"\u0000\u0000\u0000\u00af\u00b0\u0001\u0000\u0000\u0000\u00b0\u001d\u0001"+
+		"\u0000\u0000\u0000\u00b1\u00b3\u0005\u001a\u0000\u0000\u00b2\u00b4\u0005"+
+		"\u0018\u0000\u0000\u00b3\u00b2\u0001\u0000\u0000\u0000\u00b3\u00b4\u0001"+
+		"\u0000\u0000\u0000\u00b4\u00b5\u0001\u0000\u0000\u0000\u00b5\u00b6\u0003"+
+		"(\u0014\u0000\u00b6\u001f\u0001\u0000\u0000\u0000\u00b7\u00b8\u0006\u0010"+
+		"\uffff\uffff\u0000\u00b8\u00b9\u0003&\u0013\u0000\u00b9\u00ba\u0005#\u0000"+
+		"\u0000\u00ba\u00bb\u0003\"\u0011\u0000\u00bb\u00cb\u0001\u0000\u0000\u0000"+
+		"\u00bc\u00bd\u0003&\u0013\u0000\u00bd\u00be\u0005\u0011\u0000\u0000\u00be"+
+		"\u00bf\u0003\"\u0011\u0000\u00bf\u00cb\u0001\u0000\u0000\u0000\u00c0\u00c1"+
+		"\u0003&\u0013\u0000\u00c1\u00c2\u0005\u0012\u0000\u0000\u00c2\u00c3\u0003"+
+		"\"\u0011\u0000\u00c3\u00c4\u0005\u000f\u0000\u0000\u00c4\u00c5\u0003\""+
+		"\u0011\u0000\u00c5\u00cb\u0001\u0000\u0000\u0000\u00c6\u00c7\u0005 \u0000"+
+		"\u0000\u00c7\u00c8\u0003 \u0010\u0000\u00c8\u00c9\u0005!\u0000\u0000\u00c9"+
+		"\u00cb\u0001\u0000\u0000\u0000\u00ca\u00b7\u0001\u0000\u0000\u0000\u00ca"+
+		"\u00bc\u0001\u0000\u0000\u0000\u00ca\u00c0\u0001\u0000\u0000\u0000\u00ca"+
+		"\u00c6\u0001\u0000\u0000\u0000\u00cb\u00d4\u0001\u0000\u0000\u0000\u00cc"+
+		"\u00cd\n\u0003\u0000\u0000\u00cd\u00ce\u0005\u000f\u0000\u0000\u00ce\u00d3"+
+		"\u0003 \u0010\u0004\u00cf\u00d0\n\u0002\u0000\u0000\u00d0\u00d1\u0005"+
+		"\u0010\u0000\u0000\u00d1\u00d3\u0003 \u0010\u0003\u00d2\u00cc\u0001\u0000"+
+		"\u0000\u0000\u00d2\u00cf\u0001\u0000\u0000\u0000\u00d3\u00d6\u0001\u0000"+
+		"\u0000\u0000\u00d4\u00d2\u0001\u0000\u0000\u0000\u00d4\u00d5\u0001\u0000"+
+		"\u0000\u0000\u00d5!\u0001\u0000\u0000\u0000\u00d6\u00d4\u0001\u0000\u0000"+
+		"\u0000\u00d7\u00d8\u0007\u0001\u0000\u0000\u00d8#\u0001\u0000\u0000\u0000"+
+		"\u00d9\u00da\u0005\u001c\u0000\u0000\u00da%\u0001\u0000\u0000\u0000\u00db"+
+		"\u00dc\u0005\u001c\u0000\u0000\u00dc\'\u0001\u0000\u0000\u0000\u00dd\u00de"+
+		"\u0005\u001c\u0000\u0000\u00de)\u0001\u0000\u0000\u0000\u00155=CFIRU^"+
+		"n{\u008b\u008f\u0093\u0095\u00a0\u00aa\u00af\u00b3\u00ca\u00d2\u00d4";
 	public static final ATN _ATN =
 		new ATNDeserializer().deserialize(_serializedATN.toCharArray());
 	static {
@@ -93,6 +93,51 @@ public interface SQLiteSimpleVisitor<T> extends ParseTreeVisitor<T> {
 	 * @return the visitor result
 	 */
 	T visitDelete_stmt(SQLiteSimpleParser.Delete_stmtContext ctx);
+	/**
+	 * Visit a parse tree produced by the {@code BeginStmt}
+	 * labeled alternative in {@link SQLiteSimpleParser#transaction_stmt}.
+	 * @param ctx the parse tree
+	 * @return the visitor result
+	 */
+	T visitBeginStmt(SQLiteSimpleParser.BeginStmtContext ctx);
+	/**
+	 * Visit a parse tree produced by the {@code CommitStmt}
+	 * labeled alternative in {@link SQLiteSimpleParser#transaction_stmt}.
+	 * @param ctx the parse tree
+	 * @return the visitor result
+	 */
+	T visitCommitStmt(SQLiteSimpleParser.CommitStmtContext ctx);
+	/**
+	 * Visit a parse tree produced by the {@code RollbackStmt}
+	 * labeled alternative in {@link SQLiteSimpleParser#transaction_stmt}.
+	 * @param ctx the parse tree
+	 * @return the visitor result
+	 */
+	T visitRollbackStmt(SQLiteSimpleParser.RollbackStmtContext ctx);
+	/**
+	 * Visit a parse tree produced by {@link SQLiteSimpleParser#prepare_stmt}.
+	 * @param ctx the parse tree
+	 * @return the visitor result
+	 */
+	T visitPrepare_stmt(SQLiteSimpleParser.Prepare_stmtContext ctx);
+	/**
+	 * Visit a parse tree produced by {@link SQLiteSimpleParser#prepared_body}.
+	 * @param ctx the parse tree
+	 * @return the visitor result
+	 */
+	T visitPrepared_body(SQLiteSimpleParser.Prepared_bodyContext ctx);
+	/**
+	 * Visit a parse tree produced by {@link SQLiteSimpleParser#execute_stmt}.
+	 * @param ctx the parse tree
+	 * @return the visitor result
+	 */
+	T visitExecute_stmt(SQLiteSimpleParser.Execute_stmtContext ctx);
+	/**
+	 * Visit a parse tree produced by {@link SQLiteSimpleParser#deallocate_stmt}.
+	 * @param ctx the parse tree
+	 * @return the visitor result
+	 */
+	T visitDeallocate_stmt(SQLiteSimpleParser.Deallocate_stmtContext ctx);
 	/**
 	 * Visit a parse tree produced by the {@code AndExpr}
 	 * labeled alternative in {@link SQLiteSimpleParser#expr}.
@@ -153,4 +198,10 @@ public interface SQLiteSimpleVisitor<T> extends ParseTreeVisitor<T> {
 	 * @return the visitor result
 	 */
 	T visitColumn_name(SQLiteSimpleParser.Column_nameContext ctx);
+	/**
+	 * Visit a parse tree produced by {@link SQLiteSimpleParser#statement_name}.
+	 * @param ctx the parse tree
+	 * @return the visitor result
+	 */
+	T visitStatement_name(SQLiteSimpleParser.Statement_nameContext ctx);
 }
\ No newline at end of file
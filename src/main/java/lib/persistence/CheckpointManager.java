@@ -1,10 +1,14 @@
 package lib.persistence;
 
 import lib.Users;
+import lib.storage.StorageSnapshot;
+import lib.storage.TableStorage;
 import java.io.IOException;
 import java.time.Duration;
 import java.time.Instant;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
 
 /**
  * Gerencia checkpoints do banco de dados.
@@ -15,10 +19,13 @@ import java.util.List;
  * - Por tempo decorrido
  * - Híbrida (combinação das anteriores)
  * 
- * Checkpoint salva snapshot completo do banco e limpa o WAL.
+ * Checkpoint salva snapshot completo do banco e aposenta os segmentos
+ * do WAL cobertos por ele. Checkpoints automáticos rodam em background
+ * (executeCheckpointAsync); forçados e finais são síncronos e esperam
+ * o de background terminar.
  * 
  * @author SQL Parser Team
- * @version 2.0
+ * @version 2.2
  */
 public class CheckpointManager {
     
@@ -48,7 +55,8 @@ public class CheckpointManager {
     // Estado
     private int operationCount;
     private Instant lastCheckpoint;
-    private boolean checkpointInProgress;
+    private volatile boolean checkpointInProgress;
+    private CompletableFuture<Void> pending = CompletableFuture.completedFuture(null);
     
     // Estatísticas
     private int totalCheckpoints;
@@ -140,6 +148,8 @@ public class CheckpointManager {
     public void executeCheckpoint(List<Users> database, 
                                  PersistenceManager persistenceManager) 
                                  throws IOException {
+        awaitPending();
+        
         if (checkpointInProgress) {
             throw new IllegalStateException("Checkpoint já em progresso");
         }
@@ -154,17 +164,83 @@ public class CheckpointManager {
             // Atualizar estado
             operationCount = 0;
             lastCheckpoint = Instant.now();
-            totalCheckpoints++;
-            
-            long elapsedTime = System.currentTimeMillis() - startTime;
-            totalCheckpointTime += elapsedTime;
-            lastCheckpointTime = Instant.now();
+            recordCompletion(startTime);
             
         } finally {
             checkpointInProgress = false;
         }
     }
     
+    /**
+     * Inicia checkpoint em background. A thread chamadora só captura o
+     * snapshot; o contador de operações é zerado na captura, então as
+     * operações feitas durante a gravação contam para o próximo.
+     * 
+     * @param storage Armazenamento da tabela
+     * @param persistenceManager Gerenciador de persistência
+     * @return Futuro concluído quando o checkpoint terminar
+     */
+    public CompletableFuture<Void> executeCheckpointAsync(TableStorage storage,
+                                                          PersistenceManager persistenceManager) {
+        return executeCheckpointAsync(storage, persistenceManager, snapshot -> { });
+    }
+    
+    /**
+     * Inicia checkpoint em background e executa afterWrite com o snapshot
+     * na thread do checkpointer, depois que ele estiver em disco.
+     * 
+     * @param storage Armazenamento da tabela
+     * @param persistenceManager Gerenciador de persistência
+     * @param afterWrite Ação executada após a gravação do snapshot
+     * @return Futuro concluído quando o checkpoint terminar
+     */
+    public synchronized CompletableFuture<Void> executeCheckpointAsync(TableStorage storage,
+                                                                       PersistenceManager persistenceManager,
+                                                                       Consumer<StorageSnapshot> afterWrite) {
+        if (checkpointInProgress) {
+            throw new IllegalStateException("Checkpoint já em progresso");
+        }
+        
+        checkpointInProgress = true;
+        long startTime = System.currentTimeMillis();
+        
+        try {
+            CompletableFuture<Void> running = persistenceManager.checkpointAsync(storage, afterWrite);
+            operationCount = 0;
+            lastCheckpoint = Instant.now();
+            
+            pending = running.whenComplete((result, error) -> {
+                if (error == null) {
+                    recordCompletion(startTime);
+                }
+                checkpointInProgress = false;
+            });
+            return pending;
+            
+        } catch (RuntimeException e) {
+            checkpointInProgress = false;
+            throw e;
+        }
+    }
+    
+    /**
+     * Espera o checkpoint em background terminar (falhas já foram
+     * registradas pelo PersistenceManager).
+     */
+    private void awaitPending() {
+        CompletableFuture<Void> running;
+        synchronized (this) {
+            running = pending;
+        }
+        running.exceptionally(error -> null).join();
+    }
+    
+    private synchronized void recordCompletion(long startTime) {
+        totalCheckpoints++;
+        totalCheckpointTime += System.currentTimeMillis() - startTime;
+        lastCheckpointTime = Instant.now();
+    }
+    
     /**
      * Força checkpoint imediato.
      * 
@@ -183,7 +259,7 @@ public class CheckpointManager {
      * 
      * @return String formatada com estatísticas
      */
-    public String getStats() {
+    public synchronized String getStats() {
         StringBuilder sb = new StringBuilder();
         sb.append("╔════════════════════════════════════════════════╗\n");
         sb.append("║       ESTATÍSTICAS DE CHECKPOINT               ║\n");
@@ -252,7 +328,7 @@ public class CheckpointManager {
      * 
      * @return Total
      */
-    public int getTotalCheckpoints() {
+    public synchronized int getTotalCheckpoints() {
         return totalCheckpoints;
     }
     
@@ -261,7 +337,7 @@ public class CheckpointManager {
      * 
      * @return Tempo médio em ms
      */
-    public long getAverageCheckpointTime() {
+    public synchronized long getAverageCheckpointTime() {
         if (totalCheckpoints == 0) {
             return 0;
         }
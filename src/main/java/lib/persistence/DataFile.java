@@ -1,24 +1,54 @@
 package lib.persistence;
 
 import lib.Users;
+import lib.storage.ColumnarStorage;
+import lib.storage.StorageSnapshot;
+import lib.storage.TableStorage;
 import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.*;
 import java.util.*;
 
 /**
  * Gerencia arquivo de dados (snapshot do banco).
  * 
- * Usa serialização Java para salvar/carregar estado completo.
- * Arquivo binário compacto e eficiente.
+ * Formatos:
+ * - Versão 1: serialização Java (ObjectOutputStream), somente leitura
+ * - Versão 2: diretório de linhas de tamanho fixo + heap de strings,
+ *   aberto via FileChannel.map (ver MappedSnapshot)
+ * - Versão 3: versão 2 com o LSN do checkpoint no cabeçalho
+ * 
+ * save() sempre grava a versão 3; load() e loadInto() aceitam todas.
+ * 
+ * Checkpoints incrementais: sobre uma base versão 3, checkpoint() grava
+ * só as linhas alteradas num delta ({@code users.db.delta.NNNNNN}, ver
+ * DeltaSnapshot). Cada delta guarda o LSN do snapshot anterior, formando
+ * uma cadeia base → delta → delta. Quando a cadeia fica longa ou grande
+ * demais, o próximo checkpoint grava uma base completa (merge) e apaga
+ * os deltas. Na carga, deltas fora da cadeia (restos de uma base
+ * anterior) são ignorados.
  * 
  * @author SQL Parser Team
- * @version 2.0
+ * @version 3.3
  */
 public class DataFile {
     
+    // Deltas antes de gravar uma base completa
+    static final int MAX_DELTAS = 8;
+    
+    // Base completa quando os deltas passam desta fração da base
+    private static final int MAX_DELTA_RATIO = 2;
+    
+    private static final String DELTA = ".delta.";
+    
     private final Path dataPath;
     private final Path tempPath;
     
+    // Um delta falhou: a cadeia perdeu alterações e o próximo checkpoint é completo
+    private volatile boolean fullRequired = false;
+    
     /**
      * Construtor.
      * 
@@ -30,42 +60,257 @@ public class DataFile {
     }
     
     /**
-     * Salva lista de usuários no arquivo.
-     * Usa arquivo temporário para operação atômica.
+     * Salva lista de usuários no arquivo, sem LSN de checkpoint.
      * 
      * @param users Lista de usuários
      * @throws IOException Se erro de I/O
      */
     public void save(List<Users> users) throws IOException {
+        save(users, 0);
+    }
+    
+    /**
+     * Salva lista de usuários no arquivo (formato versão 3).
+     * Usa arquivo temporário para operação atômica.
+     * 
+     * @param users Lista de usuários
+     * @param checkpointLsn Último LSN do WAL refletido em users
+     * @throws IOException Se erro de I/O
+     */
+    public void save(List<Users> users, long checkpointLsn) throws IOException {
+        // Montar diretório e heap (cada string distinta gravada uma vez)
+        ByteBuffer directory = ByteBuffer.allocate(users.size() * MappedSnapshot.ROW_SIZE);
+        ByteArrayOutputStream heap = new ByteArrayOutputStream();
+        Map<String, int[]> strings = new HashMap<>();
+        
+        for (Users user : users) {
+            directory.putInt(user.getId());
+            directory.putInt(user.getAge());
+            putString(directory, heap, strings, user.getName());
+            putString(directory, heap, strings, user.getCity());
+        }
+        
+        write(directory, heap, users.size(), checkpointLsn);
+    }
+    
+    /**
+     * Salva um snapshot do armazenamento (formato versão 3), direto das
+     * colunas, sem materializar objetos Users. Pode rodar em outra
+     * thread enquanto o armazenamento recebe escritas.
+     * 
+     * @param snapshot Visão imutável do armazenamento
+     * @param checkpointLsn Último LSN do WAL refletido no snapshot
+     * @throws IOException Se erro de I/O
+     */
+    public void save(StorageSnapshot snapshot, long checkpointLsn) throws IOException {
+        ByteBuffer directory = ByteBuffer.allocate(snapshot.size() * MappedSnapshot.ROW_SIZE);
+        ByteArrayOutputStream heap = new ByteArrayOutputStream();
+        
+        // Posição no heap por código do dicionário (strings iguais, mesmo código)
+        int[][] nameLocations = new int[snapshot.nameCount()][];
+        int[][] cityLocations = new int[snapshot.cityCount()][];
+        
+        for (int slot = 0; slot < snapshot.capacity(); slot++) {
+            if (!snapshot.isLive(slot)) {
+                continue;
+            }
+            
+            directory.putInt(snapshot.getId(slot));
+            directory.putInt(snapshot.getAge(slot));
+            putString(directory, heap, nameLocations, snapshot.getNameCode(slot), snapshot.getName(slot));
+            putString(directory, heap, cityLocations, snapshot.getCityCode(slot), snapshot.getCity(slot));
+        }
+        
+        write(directory, heap, snapshot.size(), checkpointLsn);
+    }
+    
+    /**
+     * Grava um checkpoint, incremental quando possível.
+     * 
+     * Grava um delta com as linhas alteradas desde o snapshot anterior se
+     * há uma base versão 3, as alterações foram registradas e a cadeia
+     * ainda é curta; caso contrário grava uma base completa (merge).
+     * 
+     * @param snapshot Visão imutável do armazenamento (com as alterações)
+     * @param checkpointLsn Último LSN do WAL refletido no snapshot
+     * @return true se gravou uma base completa, false se gravou um delta
+     * @throws IOException Se erro de I/O
+     */
+    public boolean checkpoint(StorageSnapshot snapshot, long checkpointLsn) throws IOException {
+        try {
+            if (needsFullCheckpoint(snapshot)) {
+                save(snapshot, checkpointLsn);
+                return true;
+            }
+            
+            saveDelta(snapshot, checkpointLsn);
+            return false;
+            
+        } catch (IOException e) {
+            fullRequired = true;
+            throw e;
+        }
+    }
+    
+    private boolean needsFullCheckpoint(StorageSnapshot snapshot) throws IOException {
+        if (fullRequired || !snapshot.isChangeTracked()
+                || !exists() || readVersion() != MappedSnapshot.VERSION) {
+            return true;
+        }
+        
+        List<Path> deltas = chain();
+        if (deltas.size() >= MAX_DELTAS) {
+            return true;
+        }
+        
+        long deltaBytes = (long) snapshot.changeCount() * MappedSnapshot.ROW_SIZE;
+        for (Path delta : deltas) {
+            deltaBytes += Files.size(delta);
+        }
+        return deltaBytes * MAX_DELTA_RATIO > getSize();
+    }
+    
+    /**
+     * Grava um delta com o estado final dos ids alterados.
+     */
+    private void saveDelta(StorageSnapshot snapshot, long checkpointLsn) throws IOException {
+        long previousLsn = readCheckpointLsn();
+        
+        // Linhas vivas na ordem dos slots (a carga as acrescenta nessa ordem)
+        int[] slots = new int[snapshot.changeCount()];
+        int rows = 0;
+        ByteBuffer deletes = ByteBuffer.allocate(snapshot.changeCount() * Integer.BYTES);
+        
+        for (int i = 0; i < snapshot.changeCount(); i++) {
+            int slot = snapshot.getChangedSlot(i);
+            if (slot >= 0) {
+                slots[rows++] = slot;
+            } else {
+                deletes.putInt(snapshot.getChangedId(i));
+            }
+        }
+        Arrays.sort(slots, 0, rows);
+        
+        ByteBuffer directory = ByteBuffer.allocate(rows * MappedSnapshot.ROW_SIZE);
+        ByteArrayOutputStream heap = new ByteArrayOutputStream();
+        Map<String, int[]> strings = new HashMap<>();
+        
+        for (int i = 0; i < rows; i++) {
+            int slot = slots[i];
+            directory.putInt(snapshot.getId(slot));
+            directory.putInt(snapshot.getAge(slot));
+            putString(directory, heap, strings, snapshot.getName(slot));
+            putString(directory, heap, strings, snapshot.getCity(slot));
+        }
+        directory.flip();
+        deletes.flip();
+        
+        ByteBuffer body = ByteBuffer.allocate(directory.remaining() + deletes.remaining() + heap.size());
+        body.put(directory).put(deletes).put(heap.toByteArray()).flip();
+        
+        ByteBuffer header = ByteBuffer.allocate(DeltaSnapshot.HEADER_SIZE);
+        header.putInt(DeltaSnapshot.MAGIC);
+        header.putInt(DeltaSnapshot.VERSION);
+        header.putInt(rows);
+        header.putInt(deletes.limit() / Integer.BYTES);
+        header.putInt(heap.size());
+        header.putInt(MappedSnapshot.checksum(body, 0, body.remaining()));
+        header.putLong(previousLsn);
+        header.putLong(checkpointLsn);
+        header.flip();
+        
+        List<Long> numbers = deltaNumbers();
+        long next = numbers.isEmpty() ? 1 : numbers.get(numbers.size() - 1) + 1;
+        writeAtomically(deltaPath(next), header, body);
+    }
+    
+    private void write(ByteBuffer directory, ByteArrayOutputStream heap,
+                       int rows, long checkpointLsn) throws IOException {
+        directory.flip();
+        
+        ByteBuffer body = ByteBuffer.allocate(directory.remaining() + heap.size());
+        body.put(directory).put(heap.toByteArray()).flip();
+        
+        ByteBuffer header = ByteBuffer.allocate(MappedSnapshot.HEADER_SIZE);
+        header.putInt(MappedSnapshot.MAGIC);
+        header.putInt(MappedSnapshot.VERSION);
+        header.putInt(rows);
+        header.putInt(heap.size());
+        header.putInt(MappedSnapshot.checksum(body, 0, body.remaining()));
+        header.putLong(checkpointLsn);
+        header.flip();
+        
+        writeAtomically(dataPath, header, body);
+        
+        // A base nova já contém tudo: os deltas anteriores ficam obsoletos
+        for (long number : deltaNumbers()) {
+            Files.deleteIfExists(deltaPath(number));
+        }
+        fullRequired = false;
+    }
+    
+    private void writeAtomically(Path target, ByteBuffer header, ByteBuffer body) throws IOException {
         // Criar diretório se não existir
-        Files.createDirectories(dataPath.getParent());
+        Files.createDirectories(target.toAbsolutePath().getParent());
         
         // Salvar em arquivo temporário primeiro
-        try (ObjectOutputStream oos = new ObjectOutputStream(
-                new BufferedOutputStream(
-                    Files.newOutputStream(tempPath)))) {
-            
-            // Escrever versão do formato
-            oos.writeInt(1);  // Versão 1
-            
-            // Escrever número de usuários
-            oos.writeInt(users.size());
-            
-            // Escrever cada usuário
-            for (Users user : users) {
-                oos.writeInt(user.getId());
-                oos.writeUTF(user.getName());
-                oos.writeInt(user.getAge());
-                oos.writeUTF(user.getCity());
+        try (FileChannel channel = FileChannel.open(tempPath,
+                StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            
+            while (header.hasRemaining() || body.hasRemaining()) {
+                channel.write(new ByteBuffer[]{header, body});
             }
             
-            oos.flush();
+            channel.force(false);
         }
         
         // Mover arquivo temporário para definitivo (operação atômica)
-        Files.move(tempPath, dataPath, 
+        Files.move(tempPath, target, 
             StandardCopyOption.REPLACE_EXISTING,
             StandardCopyOption.ATOMIC_MOVE);
+        
+        // O rename só é durável com o diretório sincronizado: antes disso
+        // o checkpoint não pode aposentar os segmentos do WAL
+        syncDirectory(target.toAbsolutePath().getParent());
+    }
+    
+    /**
+     * fsync do diretório, para gravar as entradas criadas ou renomeadas.
+     */
+    private static void syncDirectory(Path directory) throws IOException {
+        try (FileChannel channel = FileChannel.open(directory, StandardOpenOption.READ)) {
+            channel.force(true);
+        } catch (AccessDeniedException e) {
+            // Windows não abre diretórios como arquivo; lá o rename já é
+            // gravado no journal do sistema de arquivos
+        }
+    }
+    
+    private static void putString(ByteBuffer directory, ByteArrayOutputStream heap,
+                                  Map<String, int[]> strings, String value) {
+        int[] location = strings.computeIfAbsent(value, v -> {
+            byte[] bytes = v.getBytes(StandardCharsets.UTF_8);
+            int offset = heap.size();
+            heap.write(bytes, 0, bytes.length);
+            return new int[]{offset, bytes.length};
+        });
+        
+        directory.putInt(location[0]);
+        directory.putInt(location[1]);
+    }
+    
+    private static void putString(ByteBuffer directory, ByteArrayOutputStream heap,
+                                  int[][] locations, int code, String value) {
+        if (locations[code] == null) {
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            locations[code] = new int[]{heap.size(), bytes.length};
+            heap.write(bytes, 0, bytes.length);
+        }
+        
+        directory.putInt(locations[code][0]);
+        directory.putInt(locations[code][1]);
     }
     
     /**
@@ -79,6 +324,223 @@ public class DataFile {
             return new ArrayList<>();
         }
         
+        if (readVersion() == 1) {
+            return loadVersion1();
+        }
+        
+        MappedSnapshot snapshot = map();
+        
+        if (!chain().isEmpty()) {
+            // Deltas atualizam linhas da base: montar no armazenamento
+            ColumnarStorage storage = new ColumnarStorage(snapshot.rowCount());
+            loadInto(storage);
+            return storage.toList();
+        }
+        
+        List<Users> users = new ArrayList<>(snapshot.rowCount());
+        
+        for (int row = 0; row < snapshot.rowCount(); row++) {
+            users.add(snapshot.getUser(row));
+        }
+        
+        return users;
+    }
+    
+    /**
+     * Carrega o snapshot direto no armazenamento, sem criar objetos Users
+     * para o formato versão 2: id e age vêm do diretório mapeado e as
+     * strings são decodificadas linha a linha. Depois aplica os deltas
+     * da cadeia, em ordem.
+     * 
+     * @param storage Armazenamento (vazio)
+     * @return Número de registros no armazenamento após a carga
+     * @throws IOException Se erro de I/O ou arquivo corrompido
+     */
+    public int loadInto(TableStorage storage) throws IOException {
+        if (!Files.exists(dataPath)) {
+            return 0;
+        }
+        
+        if (readVersion() == 1) {
+            List<Users> users = loadVersion1();
+            for (Users u : users) {
+                storage.insert(u.getId(), u.getName(), u.getAge(), u.getCity());
+            }
+            return users.size();
+        }
+        
+        MappedSnapshot snapshot = map();
+        
+        for (int row = 0; row < snapshot.rowCount(); row++) {
+            storage.insert(snapshot.getId(row), snapshot.getName(row),
+                    snapshot.getAge(row), snapshot.getCity(row));
+        }
+        
+        for (Path path : chain()) {
+            DeltaSnapshot delta = DeltaSnapshot.open(path);
+            delta.verify();
+            applyDelta(delta, storage);
+        }
+        
+        return storage.size();
+    }
+    
+    private static void applyDelta(DeltaSnapshot delta, TableStorage storage) {
+        for (int row = 0; row < delta.rowCount(); row++) {
+            int slot = storage.findSlot(delta.getId(row));
+            
+            if (slot < 0) {
+                storage.insert(delta.getId(row), delta.getName(row),
+                        delta.getAge(row), delta.getCity(row));
+            } else {
+                storage.setName(slot, delta.getName(row));
+                storage.setAge(slot, delta.getAge(row));
+                storage.setCity(slot, delta.getCity(row));
+            }
+        }
+        
+        for (int i = 0; i < delta.deleteCount(); i++) {
+            int slot = storage.findSlot(delta.getDeletedId(i));
+            if (slot >= 0) {
+                storage.delete(slot);
+            }
+        }
+    }
+    
+    /**
+     * Mapeia um snapshot versão 2/3 em memória, conferindo o checksum.
+     * 
+     * @return Snapshot mapeado
+     * @throws IOException Se o arquivo não é versão 2/3 ou está corrompido
+     */
+    public MappedSnapshot map() throws IOException {
+        MappedSnapshot snapshot = MappedSnapshot.open(dataPath);
+        snapshot.verify();
+        return snapshot;
+    }
+    
+    /**
+     * Identifica a versão do arquivo pelos primeiros bytes.
+     * A versão 1 começa com o cabeçalho do ObjectOutputStream.
+     * 
+     * @return 1, 2 ou 3
+     * @throws IOException Se a versão não é reconhecida
+     */
+    public int readVersion() throws IOException {
+        try (DataInputStream in = new DataInputStream(Files.newInputStream(dataPath))) {
+            int magic = in.readInt();
+            
+            if ((magic >>> 16) == 0xACED) {
+                return 1;
+            }
+            
+            int version = in.readInt();
+            
+            if (magic != MappedSnapshot.MAGIC
+                    || (version != MappedSnapshot.VERSION && version != MappedSnapshot.VERSION_2)) {
+                throw new IOException("Versão de arquivo não suportada: " + version);
+            }
+            
+            return version;
+        }
+    }
+    
+    /**
+     * Lê o LSN do checkpoint gravado no snapshot (o do último delta da
+     * cadeia, se houver). Registros do WAL com LSN até esse valor já
+     * estão no snapshot.
+     * 
+     * @return LSN do checkpoint (0 se o arquivo não existe ou é v1/v2)
+     * @throws IOException Se erro de I/O
+     */
+    public long readCheckpointLsn() throws IOException {
+        if (!Files.exists(dataPath) || readVersion() != MappedSnapshot.VERSION) {
+            return 0;
+        }
+        
+        List<Path> deltas = chain();
+        if (!deltas.isEmpty()) {
+            return DeltaSnapshot.open(deltas.get(deltas.size() - 1)).getCheckpointLsn();
+        }
+        return MappedSnapshot.open(dataPath).getCheckpointLsn();
+    }
+    
+    // ================================================================
+    // DELTAS
+    // ================================================================
+    
+    private Path deltaPath(long number) {
+        return dataPath.resolveSibling(dataPath.getFileName() + DELTA + String.format("%06d", number));
+    }
+    
+    private List<Long> deltaNumbers() throws IOException {
+        List<Long> numbers = new ArrayList<>();
+        Path dir = dataPath.toAbsolutePath().getParent();
+        String prefix = dataPath.getFileName() + DELTA;
+        
+        if (!Files.isDirectory(dir)) {
+            return numbers;
+        }
+        
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(dir, prefix + "*")) {
+            for (Path file : files) {
+                String suffix = file.getFileName().toString().substring(prefix.length());
+                if (!suffix.isEmpty() && suffix.chars().allMatch(Character::isDigit)) {
+                    numbers.add(Long.parseLong(suffix));
+                }
+            }
+        }
+        
+        Collections.sort(numbers);
+        return numbers;
+    }
+    
+    /**
+     * Deltas que formam a cadeia a partir da base, em ordem: cada um
+     * começa no LSN em que o anterior terminou. Deltas com LSN até o da
+     * base são restos de uma base anterior e são ignorados.
+     */
+    private List<Path> chain() throws IOException {
+        List<Path> chain = new ArrayList<>();
+        
+        if (readVersion() != MappedSnapshot.VERSION) {
+            return chain;
+        }
+        
+        long lsn = MappedSnapshot.open(dataPath).getCheckpointLsn();
+        
+        for (long number : deltaNumbers()) {
+            Path path = deltaPath(number);
+            DeltaSnapshot delta = DeltaSnapshot.open(path);
+            
+            if (delta.getCheckpointLsn() <= lsn) {
+                continue;
+            }
+            if (delta.getPreviousLsn() != lsn) {
+                break;
+            }
+            
+            chain.add(path);
+            lsn = delta.getCheckpointLsn();
+        }
+        
+        return chain;
+    }
+    
+    /**
+     * Retorna o número de deltas na cadeia atual.
+     * 
+     * @return Quantidade de deltas (0 se não há base)
+     */
+    public int getDeltaCount() {
+        try {
+            return exists() ? chain().size() : 0;
+        } catch (IOException e) {
+            return 0;
+        }
+    }
+    
+    private List<Users> loadVersion1() throws IOException {
         List<Users> users = new ArrayList<>();
         
         try (ObjectInputStream ois = new ObjectInputStream(
@@ -126,6 +588,9 @@ public class DataFile {
     public void delete() throws IOException {
         Files.deleteIfExists(dataPath);
         Files.deleteIfExists(tempPath);
+        for (long number : deltaNumbers()) {
+            Files.deleteIfExists(deltaPath(number));
+        }
     }
     
     /**
@@ -0,0 +1,167 @@
+package lib.persistence;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Snapshot incremental (delta), mapeado em memória.
+ *
+ * Guarda só as linhas alteradas entre dois checkpoints: o estado final
+ * de cada id inserido/atualizado e os ids removidos. Um delta se aplica
+ * sobre o snapshot (base ou delta) cujo LSN é previousLsn.
+ *
+ * Layout do arquivo:
+ *   Cabeçalho: magic | versão | linhas | removidos | tamanho do heap | crc32
+ *              | lsn anterior | lsn
+ *   Diretório: entradas de 24 bytes, como no MappedSnapshot
+ *   Removidos: um id (int) por registro removido
+ *   Heap:      strings em UTF-8, cada valor distinto gravado uma vez
+ *
+ * @author SQL Parser Team
+ * @version 1.0
+ */
+public class DeltaSnapshot {
+
+    static final int MAGIC = 0x53424444;  // "SBDD"
+    static final int VERSION = 1;
+
+    // Cabeçalho
+    static final int HEADER_SIZE = 40;
+    private static final int HEADER_ROWS = 8;
+    private static final int HEADER_DELETES = 12;
+    private static final int HEADER_HEAP = 16;
+    private static final int HEADER_CRC = 20;
+    private static final int HEADER_PREVIOUS_LSN = 24;
+    private static final int HEADER_LSN = 32;
+
+    private final ByteBuffer buffer;
+    private final int rowCount;
+    private final int deleteCount;
+    private final int deletesStart;
+    private final int heapStart;
+    private final int heapSize;
+
+    private DeltaSnapshot(ByteBuffer buffer) throws IOException {
+        this.buffer = buffer;
+
+        if (buffer.capacity() < HEADER_SIZE
+                || buffer.getInt(0) != MAGIC
+                || buffer.getInt(4) != VERSION) {
+            throw new IOException("Invalid: cabeçalho de delta");
+        }
+
+        this.rowCount = buffer.getInt(HEADER_ROWS);
+        this.deleteCount = buffer.getInt(HEADER_DELETES);
+        this.heapSize = buffer.getInt(HEADER_HEAP);
+        this.deletesStart = HEADER_SIZE + rowCount * MappedSnapshot.ROW_SIZE;
+        this.heapStart = deletesStart + deleteCount * Integer.BYTES;
+
+        if (rowCount < 0 || deleteCount < 0 || heapSize < 0
+                || (long) heapStart + heapSize != buffer.capacity()) {
+            throw new IOException("Invalid: tamanho do delta não confere com o cabeçalho");
+        }
+    }
+
+    /**
+     * Mapeia o arquivo em memória (somente leitura).
+     *
+     * @param path Arquivo do delta
+     * @return Delta mapeado
+     * @throws IOException Se erro de I/O ou cabeçalho inválido
+     */
+    public static DeltaSnapshot open(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            return new DeltaSnapshot(mapped.order(ByteOrder.BIG_ENDIAN));
+        }
+    }
+
+    /**
+     * Confere o CRC32 do conteúdo.
+     *
+     * @throws IOException Se o checksum não confere
+     */
+    public void verify() throws IOException {
+        if (buffer.getInt(HEADER_CRC) != MappedSnapshot.checksum(buffer, HEADER_SIZE, buffer.capacity() - HEADER_SIZE)) {
+            throw new IOException("Invalid: checksum do delta não confere");
+        }
+    }
+
+    /**
+     * LSN do snapshot sobre o qual este delta se aplica.
+     */
+    public long getPreviousLsn() {
+        return buffer.getLong(HEADER_PREVIOUS_LSN);
+    }
+
+    /**
+     * LSN do checkpoint que gerou o delta.
+     */
+    public long getCheckpointLsn() {
+        return buffer.getLong(HEADER_LSN);
+    }
+
+    public int rowCount() {
+        return rowCount;
+    }
+
+    public int deleteCount() {
+        return deleteCount;
+    }
+
+    public int getId(int row) {
+        return buffer.getInt(rowOffset(row));
+    }
+
+    public int getAge(int row) {
+        return buffer.getInt(rowOffset(row) + 4);
+    }
+
+    public String getName(int row) {
+        return string(rowOffset(row) + 8);
+    }
+
+    public String getCity(int row) {
+        return string(rowOffset(row) + 16);
+    }
+
+    /**
+     * Id do i-ésimo registro removido.
+     */
+    public int getDeletedId(int index) {
+        if (index < 0 || index >= deleteCount) {
+            throw new IndexOutOfBoundsException("Remoção " + index + " fora do delta");
+        }
+        return buffer.getInt(deletesStart + index * Integer.BYTES);
+    }
+
+    // ================================================================
+    // AUXILIARES
+    // ================================================================
+
+    private int rowOffset(int row) {
+        if (row < 0 || row >= rowCount) {
+            throw new IndexOutOfBoundsException("Linha " + row + " fora do delta");
+        }
+        return HEADER_SIZE + row * MappedSnapshot.ROW_SIZE;
+    }
+
+    private String string(int entry) {
+        int offset = buffer.getInt(entry);
+        int length = buffer.getInt(entry + 4);
+
+        if (offset < 0 || length < 0 || offset > heapSize - length) {
+            throw new IllegalStateException("Invalid: string fora do heap do delta");
+        }
+
+        byte[] bytes = new byte[length];
+        buffer.get(heapStart + offset, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
@@ -8,11 +8,16 @@ import java.util.Map;
 /**
  * Representa uma operação registrada no Write-Ahead Log.
  * 
- * Cada LogEntry corresponde a uma linha no arquivo WAL.
- * Formato: OPERACAO|parametro1|parametro2|...
+ * Cada LogEntry corresponde a um registro no arquivo WAL.
+ * Formato binário: ver WALFormat.
+ * Formato texto (legado): OPERACAO|parametro1|parametro2|...
+ * 
+ * BEGIN, COMMIT e ROLLBACK delimitam uma transação: os registros entre
+ * BEGIN e COMMIT só são aplicados no recovery se o COMMIT estiver no
+ * log. Registros fora de uma transação valem sozinhos.
  * 
  * @author SQL Parser Team
- * @version 2.0
+ * @version 2.2
  */
 public class LogEntry {
     
@@ -20,12 +25,16 @@ public class LogEntry {
         INSERT,
         UPDATE,
         DELETE,
-        CHECKPOINT
+        CHECKPOINT,
+        BEGIN,
+        COMMIT,
+        ROLLBACK
     }
     
     private final Operation operation;
     private LocalDateTime timestamp;  // Não final para permitir desserialização
     private final Map<String, Object> data;
+    private final long lsn;  // 0 para entradas do formato texto
     
     /**
      * Construtor para criar uma entrada de log.
@@ -34,9 +43,17 @@ public class LogEntry {
      * @param data Dados da operação
      */
     public LogEntry(Operation operation, Map<String, Object> data) {
+        this(operation, data, LocalDateTime.now(), 0);
+    }
+    
+    /**
+     * Construtor usado na leitura do formato binário.
+     */
+    LogEntry(Operation operation, Map<String, Object> data, LocalDateTime timestamp, long lsn) {
         this.operation = operation;
-        this.timestamp = LocalDateTime.now();
+        this.timestamp = timestamp;
         this.data = data;
+        this.lsn = lsn;
     }
     
     /**
@@ -77,6 +94,9 @@ public class LogEntry {
             case CHECKPOINT -> {
                 sb.append(data.get("count"));
             }
+            case BEGIN, COMMIT, ROLLBACK -> {
+                // Sem parâmetros
+            }
         }
         
         return sb.toString();
@@ -143,6 +163,9 @@ public class LogEntry {
                     if (parts.length < 3) return null;
                     data.put("count", Integer.parseInt(parts[2]));
                 }
+                case BEGIN, COMMIT, ROLLBACK -> {
+                    // Sem parâmetros
+                }
             }
             
             LogEntry entry = new LogEntry(op, data);
@@ -212,6 +235,27 @@ public class LogEntry {
         return new LogEntry(Operation.CHECKPOINT, data);
     }
     
+    /**
+     * Cria LogEntry para BEGIN (início de transação).
+     */
+    public static LogEntry createBegin() {
+        return new LogEntry(Operation.BEGIN, new java.util.HashMap<>());
+    }
+    
+    /**
+     * Cria LogEntry para COMMIT (fim de transação confirmada).
+     */
+    public static LogEntry createCommit() {
+        return new LogEntry(Operation.COMMIT, new java.util.HashMap<>());
+    }
+    
+    /**
+     * Cria LogEntry para ROLLBACK (transação desfeita).
+     */
+    public static LogEntry createRollback() {
+        return new LogEntry(Operation.ROLLBACK, new java.util.HashMap<>());
+    }
+    
     // Getters
     
     public Operation getOperation() {
@@ -226,6 +270,13 @@ public class LogEntry {
         return data;
     }
     
+    /**
+     * Número de sequência do registro no WAL binário (0 no formato texto).
+     */
+    public long getLsn() {
+        return lsn;
+    }
+    
     @Override
     public String toString() {
         return serialize();
@@ -0,0 +1,175 @@
+package lib.persistence;
+
+import lib.Users;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.CRC32;
+
+/**
+ * Snapshot no formato versão 2/3, mapeado em memória.
+ *
+ * Layout do arquivo:
+ *   Cabeçalho: magic | versão | linhas | tamanho do heap | crc32 | lsn (v3)
+ *   Diretório: uma entrada de 24 bytes por linha
+ *              (id, age, offset do name, bytes do name, offset da city, bytes da city)
+ *   Heap:      strings em UTF-8, cada valor distinto gravado uma vez
+ *
+ * O arquivo é aberto com FileChannel.map e nenhuma linha é decodificada
+ * na abertura: id e age são lidos direto do diretório e as strings só
+ * são convertidas quando acessadas.
+ *
+ * A versão 3 grava no cabeçalho o LSN do checkpoint: todo registro do
+ * WAL com LSN até esse valor já está no snapshot e é pulado no replay.
+ *
+ * @author SQL Parser Team
+ * @version 1.1
+ */
+public class MappedSnapshot {
+
+    static final int MAGIC = 0x53424442;  // "SBDB"
+    static final int VERSION = 3;
+    static final int VERSION_2 = 2;
+
+    // Cabeçalho
+    static final int HEADER_SIZE = 28;
+    static final int HEADER_SIZE_V2 = 20;
+    private static final int HEADER_ROWS = 8;
+    private static final int HEADER_HEAP = 12;
+    private static final int HEADER_CRC = 16;
+    private static final int HEADER_LSN = 20;
+
+    // Entrada do diretório
+    static final int ROW_SIZE = 24;
+    private static final int ROW_ID = 0;
+    private static final int ROW_AGE = 4;
+    private static final int ROW_NAME = 8;
+    private static final int ROW_CITY = 16;
+
+    private final ByteBuffer buffer;
+    private final int headerSize;
+    private final long checkpointLsn;
+    private final int rowCount;
+    private final int heapStart;
+    private final int heapSize;
+
+    private MappedSnapshot(ByteBuffer buffer) throws IOException {
+        this.buffer = buffer;
+
+        int version = buffer.capacity() >= HEADER_SIZE_V2 ? buffer.getInt(4) : 0;
+        this.headerSize = version == VERSION ? HEADER_SIZE : HEADER_SIZE_V2;
+
+        if (buffer.capacity() < headerSize
+                || buffer.getInt(0) != MAGIC
+                || (version != VERSION && version != VERSION_2)) {
+            throw new IOException("Invalid: cabeçalho de snapshot v2");
+        }
+
+        this.checkpointLsn = version == VERSION ? buffer.getLong(HEADER_LSN) : 0;
+        this.rowCount = buffer.getInt(HEADER_ROWS);
+        this.heapSize = buffer.getInt(HEADER_HEAP);
+        this.heapStart = headerSize + rowCount * ROW_SIZE;
+
+        if (rowCount < 0 || heapSize < 0
+                || (long) heapStart + heapSize != buffer.capacity()) {
+            throw new IOException("Invalid: tamanho do snapshot não confere com o cabeçalho");
+        }
+    }
+
+    /**
+     * Mapeia o arquivo em memória (somente leitura).
+     *
+     * @param path Arquivo do snapshot
+     * @return Snapshot mapeado
+     * @throws IOException Se erro de I/O ou cabeçalho inválido
+     */
+    public static MappedSnapshot open(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            return new MappedSnapshot(mapped.order(ByteOrder.BIG_ENDIAN));
+        }
+    }
+
+    /**
+     * Confere o CRC32 do diretório e do heap.
+     *
+     * @throws IOException Se o checksum não confere
+     */
+    public void verify() throws IOException {
+        if (buffer.getInt(HEADER_CRC) != checksum(buffer, headerSize, buffer.capacity() - headerSize)) {
+            throw new IOException("Invalid: checksum do snapshot não confere");
+        }
+    }
+
+    /**
+     * LSN do último registro do WAL incluído no snapshot (0 na versão 2).
+     */
+    public long getCheckpointLsn() {
+        return checkpointLsn;
+    }
+
+    public int rowCount() {
+        return rowCount;
+    }
+
+    public int getId(int row) {
+        return buffer.getInt(rowOffset(row) + ROW_ID);
+    }
+
+    public int getAge(int row) {
+        return buffer.getInt(rowOffset(row) + ROW_AGE);
+    }
+
+    public String getName(int row) {
+        return string(rowOffset(row) + ROW_NAME);
+    }
+
+    public String getCity(int row) {
+        return string(rowOffset(row) + ROW_CITY);
+    }
+
+    /**
+     * Decodifica a linha completa.
+     *
+     * @param row Número da linha
+     * @return Usuário
+     */
+    public Users getUser(int row) {
+        return new Users(getId(row), getName(row), getAge(row), getCity(row));
+    }
+
+    // ================================================================
+    // AUXILIARES
+    // ================================================================
+
+    private int rowOffset(int row) {
+        if (row < 0 || row >= rowCount) {
+            throw new IndexOutOfBoundsException("Linha " + row + " fora do snapshot");
+        }
+        return headerSize + row * ROW_SIZE;
+    }
+
+    private String string(int entry) {
+        int offset = buffer.getInt(entry);
+        int length = buffer.getInt(entry + 4);
+
+        if (offset < 0 || length < 0 || offset > heapSize - length) {
+            throw new IllegalStateException("Invalid: string fora do heap do snapshot");
+        }
+
+        byte[] bytes = new byte[length];
+        buffer.get(heapStart + offset, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    static int checksum(ByteBuffer buffer, int offset, int length) {
+        CRC32 crc = new CRC32();
+        crc.update(buffer.slice(offset, length));
+        return (int) crc.getValue();
+    }
+}
@@ -0,0 +1,423 @@
+package lib.persistence;
+
+import lib.Users;
+import lib.storage.TableStorage;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.*;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * Replay do WAL em pipeline, usado no recovery.
+ *
+ * A thread que chama {@link #run(WALReader)} decodifica os registros em
+ * streaming (sem montar a lista inteira) e os distribui por id entre as
+ * threads de trabalho, em lotes. Como cada id vai sempre para a mesma
+ * thread e as filas são FIFO, as operações de um id chegam na ordem
+ * dos LSNs.
+ *
+ * Cada thread reduz as operações de seus ids ao efeito final
+ * (registro removido, registro inserido com os updates seguintes já
+ * aplicados, ou updates sobre o registro do snapshot). O TableStorage
+ * não é thread-safe, então esse efeito é aplicado no fim por uma única
+ * thread: uma operação por id alterado, não por entrada do log. As
+ * inserções são feitas na ordem do log, e os slots ficam iguais aos
+ * do replay sequencial.
+ *
+ * Registros entre BEGIN e COMMIT ficam retidos na decodificação e só
+ * são distribuídos quando o COMMIT aparece. Um ROLLBACK, um novo BEGIN
+ * ou o fim do log descartam a transação aberta (não confirmada antes
+ * do crash).
+ *
+ * @author SQL Parser Team
+ * @version 1.1
+ */
+final class ParallelReplay {
+
+    static final int MAX_WORKERS = 8;
+
+    private static final int BATCH_SIZE = 256;
+    private static final int QUEUE_BATCHES = 16;
+
+    private final TableStorage storage;
+    private final long checkpointLsn;
+    private final Worker[] workers;
+
+    private long sequence = 0;   // Ordem no log (LSN não existe no formato texto)
+    private int markers = 0;     // CHECKPOINTs e marcadores de transação aplicados
+
+    // Registros da transação aberta (null fora de uma transação)
+    private List<LogEntry> transaction;
+    private boolean unterminated = false;   // O log terminou dentro de uma transação
+    private int discarded = 0;              // Registros de transações não confirmadas
+
+    /**
+     * Construtor.
+     *
+     * @param storage Armazenamento para aplicar as operações
+     * @param checkpointLsn LSN gravado no snapshot (0 aplica tudo)
+     * @param workerCount Número de threads de trabalho
+     */
+    ParallelReplay(TableStorage storage, long checkpointLsn, int workerCount) {
+        if (workerCount < 1) {
+            throw new IllegalArgumentException("Invalid: número de threads do replay: " + workerCount);
+        }
+
+        this.storage = storage;
+        this.checkpointLsn = checkpointLsn;
+        this.workers = new Worker[workerCount];
+
+        for (int i = 0; i < workerCount; i++) {
+            workers[i] = new Worker(i);
+        }
+    }
+
+    /**
+     * Número padrão de threads de trabalho: um por núcleo, descontando
+     * a thread que decodifica.
+     */
+    static int defaultWorkers() {
+        return Math.max(1, Math.min(MAX_WORKERS, Runtime.getRuntime().availableProcessors() - 1));
+    }
+
+    /**
+     * Lê o WAL e aplica as operações no armazenamento.
+     *
+     * @param reader Leitor do WAL
+     * @return Número de operações aplicadas
+     * @throws IOException Se erro de leitura
+     */
+    int run(WALReader reader) throws IOException {
+        for (Worker worker : workers) {
+            worker.start();
+        }
+
+        try {
+            reader.forEach(checkpointLsn + 1, this::dispatch);
+            unterminated = transaction != null;
+            discard();
+
+            for (Worker worker : workers) {
+                worker.finish();
+            }
+            for (Worker worker : workers) {
+                worker.join();
+            }
+
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Replay do WAL interrompido");
+
+        } finally {
+            // Em caso de erro, libera as threads presas na fila
+            for (Worker worker : workers) {
+                worker.interrupt();
+            }
+        }
+
+        for (Worker worker : workers) {
+            if (worker.failure != null) {
+                throw new IOException("Erro no replay do WAL: " + worker.failure.getMessage(), worker.failure);
+            }
+        }
+
+        return apply();
+    }
+
+    // ================================================================
+    // DECODIFICAÇÃO
+    // ================================================================
+
+    private void dispatch(LogEntry entry) throws IOException {
+        if (entry.getLsn() > 0 && entry.getLsn() <= checkpointLsn) {
+            return;  // Já está no snapshot
+        }
+
+        switch (entry.getOperation()) {
+            case CHECKPOINT -> markers++;  // Só marcador, não altera dados
+            case BEGIN -> {
+                discard();
+                transaction = new ArrayList<>();
+                markers++;
+            }
+            case COMMIT -> {
+                List<LogEntry> committed = transaction;
+                transaction = null;
+                markers++;
+
+                if (committed != null) {
+                    for (LogEntry buffered : committed) {
+                        distribute(buffered);
+                    }
+                }
+            }
+            case ROLLBACK -> {
+                discard();
+                markers++;
+            }
+            default -> {
+                if (transaction != null) {
+                    transaction.add(entry);
+                } else {
+                    distribute(entry);
+                }
+            }
+        }
+    }
+
+    /**
+     * Descarta a transação aberta, se houver.
+     */
+    private void discard() {
+        if (transaction != null) {
+            discarded += transaction.size();
+            transaction = null;
+        }
+    }
+
+    /**
+     * Registros descartados por pertencerem a transações sem COMMIT.
+     *
+     * @return Número de registros
+     */
+    int discarded() {
+        return discarded;
+    }
+
+    /**
+     * Indica se o log terminou com uma transação aberta. O WALWriter
+     * continua depois dela: um ROLLBACK deve ser gravado antes dos
+     * próximos registros, senão eles seriam lidos como parte dela.
+     *
+     * @return true se a última transação não foi encerrada
+     */
+    boolean endedInTransaction() {
+        return unterminated;
+    }
+
+    private void distribute(LogEntry entry) throws IOException {
+        long order = sequence++;
+        int id = entry.getData().get("id") instanceof Integer value ? value : 0;
+
+        try {
+            workers[Math.floorMod(id, workers.length)].add(entry, order);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Replay do WAL interrompido");
+        }
+    }
+
+    // ================================================================
+    // APLICAÇÃO
+    // ================================================================
+
+    /**
+     * Aplica o efeito final de cada id no armazenamento.
+     */
+    private int apply() {
+        int applied = markers;
+        List<RowChange> inserts = new ArrayList<>();
+
+        for (Worker worker : workers) {
+            applied += worker.applied;
+
+            for (var change : worker.changes.entrySet()) {
+                int id = change.getKey();
+                RowChange row = change.getValue();
+                int slot = storage.findSlot(id);
+
+                if (slot >= 0 && row.deleted) {
+                    storage.delete(slot);
+                } else if (slot >= 0 && row.updates != null) {
+                    applyChanges(slot, row.updates);
+                }
+
+                if (row.inserted != null) {
+                    inserts.add(row);
+                }
+            }
+        }
+
+        // Inserções na ordem do log: mesmos slots do replay sequencial
+        inserts.sort(Comparator.comparingLong(row -> row.insertOrder));
+
+        for (RowChange row : inserts) {
+            Users user = row.inserted;
+            storage.insert(user.getId(), user.getName(), user.getAge(), user.getCity());
+        }
+
+        return applied;
+    }
+
+    private void applyChanges(int slot, Map<String, Object> updates) {
+        for (var change : updates.entrySet()) {
+            switch (change.getKey()) {
+                case "name" -> storage.setName(slot, (String) change.getValue());
+                case "age" -> storage.setAge(slot, (Integer) change.getValue());
+                case "city" -> storage.setCity(slot, (String) change.getValue());
+            }
+        }
+    }
+
+    // ================================================================
+    // EFEITO FINAL POR ID
+    // ================================================================
+
+    /**
+     * Efeito acumulado das operações de um id.
+     */
+    private static final class RowChange {
+        boolean deleted;                 // Registro do snapshot removido
+        Users inserted;                  // Registro inserido pelo log (null se não há)
+        long insertOrder;                // Posição da inserção no log
+        Map<String, Object> updates;     // Updates sobre o registro do snapshot
+    }
+
+    /**
+     * Lote de entradas de uma thread de trabalho.
+     */
+    private static final class Batch {
+        final LogEntry[] entries = new LogEntry[BATCH_SIZE];
+        final long[] orders = new long[BATCH_SIZE];
+        int size;
+
+        boolean isFull() {
+            return size == BATCH_SIZE;
+        }
+    }
+
+    // Marca o fim das entradas na fila
+    private static final Batch END = new Batch();
+
+    /**
+     * Thread de trabalho: reduz as operações dos ids da sua partição.
+     */
+    private static final class Worker extends Thread {
+
+        private final BlockingQueue<Batch> queue = new ArrayBlockingQueue<>(QUEUE_BATCHES);
+        private final Map<Integer, RowChange> changes = new HashMap<>();
+        private Batch pending = new Batch();   // Só usado pela thread que decodifica
+
+        private int applied = 0;
+        private volatile Throwable failure;
+
+        Worker(int number) {
+            super("wal-replay-" + number);
+            setDaemon(true);
+        }
+
+        void add(LogEntry entry, long order) throws InterruptedException {
+            pending.entries[pending.size] = entry;
+            pending.orders[pending.size] = order;
+            pending.size++;
+
+            if (pending.isFull()) {
+                queue.put(pending);
+                pending = new Batch();
+            }
+        }
+
+        void finish() throws InterruptedException {
+            if (pending.size > 0) {
+                queue.put(pending);
+            }
+            queue.put(END);
+        }
+
+        @Override
+        public void run() {
+            try {
+                for (Batch batch = queue.take(); batch != END; batch = queue.take()) {
+                    if (failure != null) {
+                        continue;  // Continua esvaziando a fila para não travar a decodificação
+                    }
+
+                    try {
+                        for (int i = 0; i < batch.size; i++) {
+                            reduce(batch.entries[i], batch.orders[i]);
+                        }
+                    } catch (Throwable e) {
+                        failure = e;
+                    }
+                }
+            } catch (InterruptedException e) {
+                // Replay abortado
+            }
+        }
+
+        private void reduce(LogEntry entry, long order) {
+            try {
+                reduceEntry(entry, order);
+                applied++;
+            } catch (Exception e) {
+                System.err.println("Erro ao aplicar entrada: " + entry);
+                System.err.println("Erro: " + e.getMessage());
+                // Continuar com próxima entrada
+            }
+        }
+
+        @SuppressWarnings("unchecked")
+        private void reduceEntry(LogEntry entry, long order) {
+            Map<String, Object> data = entry.getData();
+            int id = (Integer) data.get("id");
+
+            switch (entry.getOperation()) {
+                case INSERT -> {
+                    Users user = new Users(id, (String) data.get("name"),
+                            (Integer) data.get("age"), (String) data.get("city"));
+
+                    RowChange row = changes.computeIfAbsent(id, key -> new RowChange());
+                    row.inserted = user;
+                    row.insertOrder = order;
+                    row.updates = null;
+                }
+
+                case UPDATE -> {
+                    Map<String, Object> values = (Map<String, Object>) data.get("changes");
+                    Map<String, Object> normalized = new LinkedHashMap<>();
+
+                    for (var change : values.entrySet()) {
+                        String column = change.getKey().toLowerCase();
+                        switch (column) {
+                            case "name", "city" -> normalized.put(column, (String) change.getValue());
+                            case "age" -> normalized.put(column, (Integer) change.getValue());
+                        }
+                    }
+
+                    RowChange row = changes.computeIfAbsent(id, key -> new RowChange());
+                    if (row.inserted != null) {
+                        update(row.inserted, normalized);
+                    } else if (!row.deleted) {
+                        if (row.updates == null) {
+                            row.updates = new LinkedHashMap<>();
+                        }
+                        row.updates.putAll(normalized);
+                    }
+                    // Update após DELETE não encontra o registro
+                }
+
+                case DELETE -> {
+                    RowChange row = changes.computeIfAbsent(id, key -> new RowChange());
+                    row.deleted = true;
+                    row.inserted = null;
+                    row.updates = null;
+                }
+
+                case CHECKPOINT, BEGIN, COMMIT, ROLLBACK -> {
+                    // Tratados na decodificação
+                }
+            }
+        }
+
+        private static void update(Users user, Map<String, Object> values) {
+            for (var change : values.entrySet()) {
+                switch (change.getKey()) {
+                    case "name" -> user.setName((String) change.getValue());
+                    case "age" -> user.setAge((Integer) change.getValue());
+                    case "city" -> user.setCity((String) change.getValue());
+                }
+            }
+        }
+    }
+}
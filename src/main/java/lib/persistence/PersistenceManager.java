@@ -1,9 +1,17 @@
 package lib.persistence;
 
 import lib.Users;
+import lib.storage.StorageSnapshot;
+import lib.storage.TableStorage;
 import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.nio.file.*;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
 
 /**
  * Gerenciador principal de persistência.
@@ -16,8 +24,26 @@ import java.util.*;
  *
  * Garante durabilidade e consistência ACID.
  *
+ * Checkpoints automáticos são fuzzy e rodam em background: a thread de
+ * escrita só captura um snapshot copy-on-write do armazenamento e o LSN
+ * atual; a gravação do arquivo e a aposentadoria dos segmentos do WAL
+ * acontecem numa thread própria enquanto as escritas continuam. No
+ * recovery, só os registros após esse LSN são reaplicados.
+ *
+ * Esses checkpoints são incrementais: gravam só as linhas alteradas
+ * desde o anterior (delta), com merge periódico numa base completa.
+ *
+ * Transações: entre beginTransaction() e commitTransaction() os
+ * registros vão para o WAL sem esperar o disco; só o COMMIT espera o
+ * fsync. No recovery, registros sem COMMIT são descartados.
+ *
+ * append* e appendCommit acrescentam sem esperar; o chamador solta o
+ * seu lock de escrita e espera com awaitDurable. Assim os escritores
+ * não ficam em fila atrás do fsync uns dos outros e, com group commit,
+ * um fsync cobre vários commits.
+ *
  * @author SQL Parser Team
- * @version 2.0
+ * @version 2.6
  */
 public class PersistenceManager implements AutoCloseable {
 
@@ -35,10 +61,14 @@ public class PersistenceManager implements AutoCloseable {
     // Caminhos
     private final Path dataPath;
     private final Path walPath;
-    private final Path walBackupPath;
+
+    // Checkpoint em background (no máximo um por vez)
+    private final ExecutorService checkpointer;
+    private CompletableFuture<Void> runningCheckpoint = CompletableFuture.completedFuture(null);
 
     // Estado
     private boolean initialized = false;
+    private boolean inTransaction = false;
     private int operationsSinceCheckpoint = 0;
 
     /**
@@ -74,23 +104,28 @@ public class PersistenceManager implements AutoCloseable {
         // Inicializar caminhos
         this.dataPath = this.dataDir.resolve(dbName + ".db");
         this.walPath = this.dataDir.resolve(dbName + ".wal");
-        this.walBackupPath = this.dataDir.resolve(dbName + ".wal.old");
 
         // Inicializar componentes
         this.dataFile = new DataFile(dataPath);
         this.walWriter = new WALWriter(walPath, syncOnWrite);
         this.walReader = new WALReader(walPath);
+
+        this.checkpointer = Executors.newSingleThreadExecutor(task -> {
+            Thread thread = new Thread(task, "checkpointer");
+            thread.setDaemon(true);
+            return thread;
+        });
     }
 
     /**
      * Inicializa o sistema de persistência.
      * Carrega dados e faz replay do WAL.
      *
-     * @param database Lista para carregar dados
+     * @param storage Armazenamento (vazio) para carregar dados
      * @return Número de operações recuperadas do WAL
      * @throws IOException Se erro de I/O
      */
-    public int initialize(List<Users> database) throws IOException {
+    public int initialize(TableStorage storage) throws IOException {
         if (initialized) {
             throw new IllegalStateException("Já inicializado");
         }
@@ -98,22 +133,39 @@ public class PersistenceManager implements AutoCloseable {
         System.out.println("Inicializando sistema de persistência...");
 
         // 1. Carregar snapshot do banco
+        long checkpointLsn = 0;
         if (dataFile.exists()) {
-            List<Users> loadedUsers = dataFile.load();
-            database.addAll(loadedUsers);
-            System.out.println("Carregados " + loadedUsers.size() +
+            checkpointLsn = dataFile.readCheckpointLsn();
+            int loaded = dataFile.loadInto(storage);
+            System.out.println("Carregados " + loaded +
                     " usuários de " + dataPath);
+
+            // O que veio do disco não precisa ir para o próximo delta
+            storage.resetChanges();
         } else {
             System.out.println("Arquivo de dados não existe, " +
                     "iniciando banco vazio");
         }
 
-        // 2. Replay do WAL
+        // 2. Replay do WAL (registros após o checkpoint do snapshot)
         int replayedOps = 0;
-        if (Files.exists(walPath)) {
-            replayedOps = walReader.replay(database);
+        ParallelReplay replay = null;
+        if (walReader.exists()) {
+            replay = new ParallelReplay(storage, checkpointLsn, ParallelReplay.defaultWorkers());
+            replayedOps = replay.run(walReader);
             System.out.println("Replay de " + replayedOps +
                     " operações do WAL");
+
+            if (replay.discarded() > 0) {
+                System.out.println("Descartadas " + replay.discarded() +
+                        " operações de transação sem COMMIT");
+            }
+        }
+        walWriter.startAfter(checkpointLsn);
+
+        // Encerra no log a transação interrompida pelo crash
+        if (replay != null && replay.endedInTransaction()) {
+            walWriter.write(LogEntry.createRollback(), false);
         }
 
         // 3. Marcar como inicializado
@@ -121,82 +173,211 @@ public class PersistenceManager implements AutoCloseable {
         operationsSinceCheckpoint = walWriter.getOperationCount();
 
         System.out.println("Persistência inicializada. " +
-                "Total: " + database.size() + " registros");
+                "Total: " + storage.size() + " registros");
 
         return replayedOps;
     }
 
     /**
-     * Registra operação INSERT no WAL.
+     * Liga o group commit do WAL: escritas concorrentes compartilham
+     * um único fsync. Só tem efeito com syncOnWrite.
+     *
+     * @param maxBatchSize Registros por lote antes do flush imediato
+     * @param maxWaitMicros Espera máxima de um registro pelo lote
+     */
+    public void enableGroupCommit(int maxBatchSize, long maxWaitMicros) {
+        if (syncOnWrite) {
+            walWriter.enableGroupCommit(maxBatchSize, maxWaitMicros);
+        }
+    }
+
+    /**
+     * Registra operação INSERT no WAL e espera o disco.
      *
      * @param user Usuário inserido
      * @throws IOException Se erro ao escrever
      */
     public void logInsert(Users user) throws IOException {
-        checkInitialized();
-
-        LogEntry entry = LogEntry.createInsert(user);
-        walWriter.write(entry);
-        operationsSinceCheckpoint++;
-
-        checkpointIfNeeded();
+        awaitDurable(appendInsert(user));
     }
 
     /**
-     * Registra operação UPDATE no WAL.
+     * Registra operação UPDATE no WAL e espera o disco.
      *
      * @param id ID do usuário
      * @param changes Mapa de mudanças
      * @throws IOException Se erro ao escrever
      */
     public void logUpdate(int id, Map<String, Object> changes) throws IOException {
+        awaitDurable(appendUpdate(id, changes));
+    }
+
+    /**
+     * Registra operação DELETE no WAL e espera o disco.
+     *
+     * @param id ID do usuário deletado
+     * @throws IOException Se erro ao escrever
+     */
+    public void logDelete(int id) throws IOException {
+        awaitDurable(appendDelete(id));
+    }
+
+    /**
+     * Acrescenta um INSERT ao WAL sem esperar o disco. O chamador solta
+     * os seus locks e então chama awaitDurable com o LSN devolvido.
+     *
+     * @param user Usuário inserido
+     * @return LSN a esperar, ou 0 dentro de uma transação (o COMMIT espera)
+     * @throws IOException Se erro ao escrever
+     */
+    public long appendInsert(Users user) throws IOException {
+        return append(LogEntry.createInsert(user));
+    }
+
+    /**
+     * Acrescenta um UPDATE ao WAL sem esperar o disco.
+     *
+     * @return LSN a esperar, ou 0 dentro de uma transação
+     * @throws IOException Se erro ao escrever
+     */
+    public long appendUpdate(int id, Map<String, Object> changes) throws IOException {
+        return append(LogEntry.createUpdate(id, changes));
+    }
+
+    /**
+     * Acrescenta um DELETE ao WAL sem esperar o disco.
+     *
+     * @return LSN a esperar, ou 0 dentro de uma transação
+     * @throws IOException Se erro ao escrever
+     */
+    public long appendDelete(int id) throws IOException {
+        return append(LogEntry.createDelete(id));
+    }
+
+    private long append(LogEntry entry) throws IOException {
         checkInitialized();
 
-        LogEntry entry = LogEntry.createUpdate(id, changes);
-        walWriter.write(entry);
+        long lsn = walWriter.append(entry);
         operationsSinceCheckpoint++;
 
         checkpointIfNeeded();
+        return inTransaction ? 0 : lsn;
     }
 
     /**
-     * Registra operação DELETE no WAL.
+     * Espera um registro acrescentado (e todos os anteriores) chegar ao
+     * disco. Escritores que esperam ao mesmo tempo dividem o fsync.
+     *
+     * @param lsn LSN devolvido por append*, ou 0 para não esperar
+     * @throws IOException Se o fsync falhar
+     */
+    public void awaitDurable(long lsn) throws IOException {
+        if (lsn > 0) {
+            walWriter.awaitDurable(lsn);
+        }
+    }
+
+    // ================================================================
+    // TRANSAÇÕES
+    // ================================================================
+
+    /**
+     * Inicia uma transação no WAL. Os registros seguintes não esperam
+     * o fsync e só valem no recovery se o COMMIT for gravado.
      *
-     * @param id ID do usuário deletado
      * @throws IOException Se erro ao escrever
      */
-    public void logDelete(int id) throws IOException {
+    public void beginTransaction() throws IOException {
         checkInitialized();
 
-        LogEntry entry = LogEntry.createDelete(id);
-        walWriter.write(entry);
-        operationsSinceCheckpoint++;
+        if (inTransaction) {
+            throw new IllegalStateException("Invalid: transação já aberta no WAL");
+        }
 
-        checkpointIfNeeded();
+        walWriter.write(LogEntry.createBegin(), false);
+        inTransaction = true;
+    }
+
+    /**
+     * Grava o COMMIT da transação e espera o disco: um único flush
+     * torna duráveis todos os registros dela.
+     *
+     * @throws IOException Se erro ao escrever
+     */
+    public void commitTransaction() throws IOException {
+        awaitDurable(appendCommit());
+    }
+
+    /**
+     * Grava o COMMIT da transação sem esperar o disco; a transação só
+     * está confirmada depois de awaitDurable com o LSN devolvido.
+     *
+     * @return LSN do COMMIT
+     * @throws IOException Se erro ao escrever
+     */
+    public long appendCommit() throws IOException {
+        checkTransaction();
+
+        inTransaction = false;
+        return walWriter.append(LogEntry.createCommit());
+    }
+
+    /**
+     * Grava o ROLLBACK da transação. Não espera o disco: sem ele, a
+     * transação também é descartada no recovery.
+     *
+     * @throws IOException Se erro ao escrever
+     */
+    public void rollbackTransaction() throws IOException {
+        checkTransaction();
+
+        inTransaction = false;
+        walWriter.write(LogEntry.createRollback(), false);
+    }
+
+    /**
+     * Verifica se há uma transação aberta no WAL.
+     *
+     * @return true se entre BEGIN e COMMIT/ROLLBACK
+     */
+    public boolean isInTransaction() {
+        return inTransaction;
+    }
+
+    private void checkTransaction() {
+        checkInitialized();
+
+        if (!inTransaction) {
+            throw new IllegalStateException("Invalid: nenhuma transação aberta no WAL");
+        }
     }
 
     /**
      * Executa checkpoint.
-     * Salva snapshot do banco e rotaciona o WAL.
+     * Salva snapshot do banco com o LSN atual e aposenta os segmentos
+     * do WAL já cobertos por ele (sem cópia nem truncamento).
      *
      * @param database Estado atual do banco
      * @throws IOException Se erro de I/O
      */
     public void checkpoint(List<Users> database) throws IOException {
         checkInitialized();
+        checkNoTransaction();
+        awaitCheckpoint();
 
         System.out.println("Executando checkpoint...");
         long start = System.currentTimeMillis();
 
         try {
-            // 1. Flush do WAL antes de rotacionar
+            // 1. Flush do WAL; o snapshot reflete tudo até este LSN
             walWriter.flush();
+            long checkpointLsn = walWriter.getNextLsn() - 1;
 
             // 2. Salvar snapshot do banco
-            dataFile.save(database);
+            dataFile.save(database, checkpointLsn);
 
-            // 3. Rotacionar WAL (copia e trunca)
-            walWriter.rotate(walBackupPath);
+            // 3. Aposentar segmentos cobertos pelo snapshot
+            walWriter.checkpoint(checkpointLsn);
 
             // 4. Escrever marcador de checkpoint no novo WAL
             LogEntry checkpointEntry = LogEntry.createCheckpoint(database.size());
@@ -215,6 +396,114 @@ public class PersistenceManager implements AutoCloseable {
         }
     }
 
+    /**
+     * Inicia um checkpoint fuzzy em background.
+     *
+     * Na thread chamadora só acontece a captura: o LSN do último registro
+     * já aplicado e um snapshot copy-on-write do armazenamento (O(1) nas
+     * colunas). O arquivo é gravado em outra thread; as escritas seguem
+     * normalmente e ficam no WAL, após o LSN do checkpoint.
+     *
+     * Deve ser chamado entre operações (todo registro do WAL até o LSN
+     * capturado já foi aplicado no armazenamento).
+     *
+     * @param storage Armazenamento da tabela
+     * @return Futuro concluído quando o snapshot estiver em disco; se já
+     *         há um checkpoint em andamento, o futuro dele
+     */
+    public CompletableFuture<Void> checkpointAsync(TableStorage storage) {
+        return checkpointAsync(storage, snapshot -> { });
+    }
+
+    /**
+     * Inicia um checkpoint fuzzy em background e, depois que o snapshot
+     * estiver em disco, executa afterWrite com ele na mesma thread (por
+     * exemplo, a gravação dos índices em disco). Se já há um checkpoint
+     * em andamento, afterWrite não é executado.
+     *
+     * @param storage Armazenamento da tabela
+     * @param afterWrite Ação executada após a gravação do snapshot
+     * @return Futuro concluído quando o snapshot e afterWrite terminarem;
+     *         se já há um checkpoint em andamento, o futuro dele
+     */
+    public synchronized CompletableFuture<Void> checkpointAsync(TableStorage storage,
+                                                                Consumer<StorageSnapshot> afterWrite) {
+        checkInitialized();
+        checkNoTransaction();
+
+        if (!runningCheckpoint.isDone()) {
+            return runningCheckpoint;
+        }
+
+        long checkpointLsn = walWriter.getNextLsn() - 1;
+        StorageSnapshot snapshot = storage.snapshot();
+        operationsSinceCheckpoint = 0;
+
+        runningCheckpoint = CompletableFuture.runAsync(() -> {
+            try {
+                writeCheckpoint(snapshot, checkpointLsn);
+            } catch (IOException e) {
+                System.err.println("ERRO durante checkpoint: " + e.getMessage());
+                throw new UncheckedIOException(e);
+            }
+            afterWrite.accept(snapshot);
+        }, checkpointer);
+
+        return runningCheckpoint;
+    }
+
+    /**
+     * Grava o snapshot capturado (thread do checkpointer).
+     */
+    private void writeCheckpoint(StorageSnapshot snapshot, long checkpointLsn) throws IOException {
+        long start = System.currentTimeMillis();
+
+        // 1. Delta (ou base completa) com o LSN de início
+        boolean full = dataFile.checkpoint(snapshot, checkpointLsn);
+
+        // 2. Aposentar segmentos cobertos pelo snapshot
+        walWriter.checkpoint(checkpointLsn);
+
+        // 3. Marcador de checkpoint
+        walWriter.write(LogEntry.createCheckpoint(snapshot.size()));
+
+        long elapsed = System.currentTimeMillis() - start;
+        System.out.println("Checkpoint em background concluído em " + elapsed + "ms. " +
+                (full ? "Salvos " + snapshot.size() + " registros"
+                      : "Delta com " + snapshot.changeCount() + " alterações") +
+                " (LSN " + checkpointLsn + ")");
+    }
+
+    /**
+     * Espera o checkpoint em background terminar, se houver.
+     *
+     * @throws IOException Se o checkpoint falhou
+     */
+    public void awaitCheckpoint() throws IOException {
+        CompletableFuture<Void> running;
+        synchronized (this) {
+            running = runningCheckpoint;
+        }
+
+        try {
+            running.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof UncheckedIOException io) {
+                throw io.getCause();
+            }
+            throw new IOException("Falha no checkpoint: " + e.getCause(), e.getCause());
+        }
+    }
+
+    /**
+     * Verifica se há checkpoint em background em andamento.
+     *
+     * @return true se em andamento
+     */
+    public synchronized boolean isCheckpointRunning() {
+        return !runningCheckpoint.isDone();
+    }
+
     /**
      * Verifica se precisa fazer checkpoint e executa se necessário.
      *
@@ -257,6 +546,8 @@ public class PersistenceManager implements AutoCloseable {
         if (dataFile.exists()) {
             sb.append("  - Tamanho: ").append(dataFile.getSize()).append(" bytes\n");
             sb.append("  - Última modificação: ").append(dataFile.getLastModified()).append("\n");
+            sb.append("  - Deltas na cadeia: ").append(dataFile.getDeltaCount())
+                    .append(" (máx. ").append(DataFile.MAX_DELTAS).append(")\n");
         }
         sb.append("\n");
 
@@ -268,6 +559,16 @@ public class PersistenceManager implements AutoCloseable {
         } catch (IOException e) {
             sb.append("  - Tamanho: N/A\n");
         }
+        sb.append("  - Segmento atual: ").append(walWriter.getSegmentNumber()).append("\n");
+        try {
+            sb.append("  - Segmentos: ").append(walWriter.getSegmentCount()).append(" ativos, ")
+                    .append(walWriter.getRecycledCount()).append(" reciclados\n");
+        } catch (IOException e) {
+            sb.append("  - Segmentos: N/A\n");
+        }
+        sb.append("  - Próximo LSN: ").append(walWriter.getNextLsn()).append("\n");
+        sb.append("  - Group commit: ").append(walWriter.isGroupCommitEnabled() ? "Sim" : "Não")
+                .append(" (").append(walWriter.getSyncCount()).append(" fsyncs)\n");
         sb.append("  - Operações desde checkpoint: ").append(operationsSinceCheckpoint).append("\n");
         sb.append("  - Threshold: ").append(checkpointThreshold).append("\n");
 
@@ -277,6 +578,8 @@ public class PersistenceManager implements AutoCloseable {
         sb.append("    - UPDATE: ").append(walStats.get("update")).append("\n");
         sb.append("    - DELETE: ").append(walStats.get("delete")).append("\n");
         sb.append("    - CHECKPOINT: ").append(walStats.get("checkpoint")).append("\n");
+        sb.append("    - COMMIT: ").append(walStats.get("commit"))
+                .append(" (").append(walStats.get("rollback")).append(" rollbacks)\n");
         sb.append("\n");
 
         // Configuração
@@ -316,6 +619,13 @@ public class PersistenceManager implements AutoCloseable {
         return operationsSinceCheckpoint >= checkpointThreshold;
     }
 
+    /**
+     * Retorna o número de fsyncs do WAL.
+     */
+    public long getSyncCount() {
+        return walWriter.getSyncCount();
+    }
+
     /**
      * Retorna número de operações desde último checkpoint.
      *
@@ -338,13 +648,16 @@ public class PersistenceManager implements AutoCloseable {
 
         System.out.println("Encerrando sistema de persistência...");
 
-        // Checkpoint final
+        // Checkpoint final (espera o de background, se houver)
         if (operationsSinceCheckpoint > 0) {
             checkpoint(database);
+        } else {
+            awaitCheckpoint();
         }
 
         // Fechar WAL
         walWriter.close();
+        checkpointer.shutdown();
 
         initialized = false;
         System.out.println("Persistência encerrada");
@@ -352,8 +665,23 @@ public class PersistenceManager implements AutoCloseable {
 
     @Override
     public void close() throws IOException {
+        checkpointer.shutdown();
         if (initialized) {
-            walWriter.close();
+            try {
+                awaitCheckpoint();
+            } finally {
+                walWriter.close();
+            }
+        }
+    }
+
+    /**
+     * O snapshot de um checkpoint precisa estar entre transações: o
+     * recovery recomeça do LSN dele e não veria o BEGIN.
+     */
+    private void checkNoTransaction() {
+        if (inTransaction) {
+            throw new IllegalStateException("Invalid: checkpoint dentro de uma transação");
         }
     }
 
@@ -0,0 +1,173 @@
+package lib.persistence;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Índice dos marcadores de CHECKPOINT do WAL ({@code users.wal.ckpt}).
+ *
+ * Arquivo pequeno ao lado dos segmentos, com uma entrada de tamanho
+ * fixo por marcador: LSN, número do segmento e posição do registro,
+ * mais um CRC32C. O WALWriter acrescenta uma entrada a cada marcador
+ * escrito e descarta as dos segmentos aposentados.
+ *
+ * É só uma dica para achar o último checkpoint e posicionar cursores
+ * sem varrer o WAL: quem lê confere o registro apontado (CRC, LSN e
+ * LSN base do segmento) e, se não bater, volta para a varredura.
+ *
+ * @author SQL Parser Team
+ * @version 1.0
+ */
+final class WALCheckpointIndex {
+
+    static final int RECORD_SIZE = 28;  // lsn + segmento + posição + crc
+    static final int MAX_RECORDS = 64;
+
+    /**
+     * Posição de um marcador de CHECKPOINT.
+     */
+    static final class Marker {
+        final long lsn;
+        final long segment;
+        final int offset;
+
+        Marker(long lsn, long segment, int offset) {
+            this.lsn = lsn;
+            this.segment = segment;
+            this.offset = offset;
+        }
+    }
+
+    private WALCheckpointIndex() {
+    }
+
+    /**
+     * Caminho do índice de checkpoints do WAL.
+     */
+    static Path path(Path walPath) {
+        return walPath.resolveSibling(walPath.getFileName() + ".ckpt");
+    }
+
+    /**
+     * Acrescenta a posição de um marcador. Sem fsync: se a entrada se
+     * perder, o leitor volta para a varredura.
+     *
+     * @param walPath Caminho base do WAL
+     * @param marker Marcador escrito
+     * @throws IOException Se erro de I/O
+     */
+    static void append(Path walPath, Marker marker) throws IOException {
+        try (FileChannel channel = FileChannel.open(path(walPath),
+                StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE,
+                StandardOpenOption.APPEND)) {
+            ByteBuffer record = encode(List.of(marker));
+            while (record.hasRemaining()) {
+                channel.write(record);
+            }
+        }
+    }
+
+    /**
+     * Lê as entradas válidas, da mais antiga para a mais nova.
+     * A leitura para na primeira entrada incompleta ou com CRC inválido.
+     *
+     * @param walPath Caminho base do WAL
+     * @return Marcadores registrados
+     * @throws IOException Se erro de I/O
+     */
+    static List<Marker> read(Path walPath) throws IOException {
+        List<Marker> markers = new ArrayList<>();
+        Path path = path(walPath);
+
+        if (!Files.exists(path)) {
+            return markers;
+        }
+
+        ByteBuffer file = ByteBuffer.wrap(Files.readAllBytes(path));
+
+        for (int position = 0; position + RECORD_SIZE <= file.limit(); position += RECORD_SIZE) {
+            if (file.getInt(position + 24) != WALFormat.crc(file, position, 24)) {
+                break;  // Entrada interrompida por um crash
+            }
+
+            long offset = file.getLong(position + 16);
+            if (offset < 0 || offset > Integer.MAX_VALUE) {
+                break;
+            }
+
+            markers.add(new Marker(file.getLong(position), file.getLong(position + 8), (int) offset));
+        }
+
+        return markers;
+    }
+
+    /**
+     * Regrava o índice só com as entradas válidas, de segmentos a partir
+     * de firstSegment e com LSN até lastLsn (as últimas MAX_RECORDS).
+     *
+     * @param walPath Caminho base do WAL
+     * @param firstSegment Primeiro segmento ainda no WAL
+     * @param lastLsn Último LSN válido do WAL
+     * @throws IOException Se erro de I/O
+     */
+    static void retain(Path walPath, long firstSegment, long lastLsn) throws IOException {
+        Path path = path(walPath);
+
+        if (!Files.exists(path)) {
+            return;
+        }
+
+        List<Marker> kept = new ArrayList<>();
+        for (Marker marker : read(walPath)) {
+            if (marker.segment >= firstSegment && marker.lsn <= lastLsn) {
+                kept.add(marker);
+            }
+        }
+
+        if (kept.size() > MAX_RECORDS) {
+            kept = kept.subList(kept.size() - MAX_RECORDS, kept.size());
+        }
+
+        if ((long) kept.size() * RECORD_SIZE == Files.size(path)) {
+            return;  // Nada a descartar
+        }
+
+        if (kept.isEmpty()) {
+            Files.delete(path);
+            return;
+        }
+
+        Path temp = path.resolveSibling(path.getFileName() + ".tmp");
+        Files.write(temp, encode(kept).array());
+        Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Apaga o índice (o leitor passa a varrer o WAL).
+     */
+    static void delete(Path walPath) throws IOException {
+        Files.deleteIfExists(path(walPath));
+    }
+
+    private static ByteBuffer encode(List<Marker> markers) {
+        ByteBuffer buffer = ByteBuffer.allocate(markers.size() * RECORD_SIZE);
+
+        for (Marker marker : markers) {
+            int start = buffer.position();
+            buffer.putLong(marker.lsn);
+            buffer.putLong(marker.segment);
+            buffer.putLong(marker.offset);
+            buffer.putInt(WALFormat.crc(buffer, start, 24));
+        }
+
+        return buffer.flip();
+    }
+}
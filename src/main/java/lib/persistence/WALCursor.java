@@ -0,0 +1,400 @@
+package lib.persistence;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * Cursor sobre as entradas do WAL, uma por vez.
+ *
+ * Percorre o WAL antigo (users.wal, texto ou binário) e depois os
+ * segmentos, com as mesmas regras de parada do WALReader: registro
+ * incompleto, CRC inválido ou LSN fora de sequência marcam o fim do
+ * log. Só o segmento atual fica mapeado; a memória usada não depende
+ * do tamanho do WAL.
+ *
+ * {@link #seek(long)} posiciona o cursor no primeiro registro com LSN
+ * maior ou igual ao pedido sem ler os segmentos anteriores (escolhidos
+ * pelo LSN base do cabeçalho) e, quando o índice de checkpoints aponta
+ * para um marcador no segmento, começando a partir dele.
+ *
+ * @author SQL Parser Team
+ * @version 1.0
+ */
+public final class WALCursor implements Iterator<LogEntry>, Closeable {
+
+    private final Path walPath;
+    private final List<Long> segments;
+    private int nextSegment = 0;          // Índice do próximo segmento em segments
+    private boolean legacyRead = false;
+
+    // Arquivo atual
+    private BufferedReader text;          // WAL antigo em texto
+    private int lineNumber;
+    private ByteBuffer file;              // WAL antigo binário ou segmento
+    private long fileSegment;             // 0 = WAL antigo
+    private long fileBaseLsn;
+    private int position;
+    private long firstLsn;                // LSN esperado do primeiro registro (0 = qualquer)
+    private long fileLastLsn;
+
+    // Posicionamento
+    private long seekLsn = 0;
+    private WALCheckpointIndex.Marker hint;
+
+    // Estado da varredura
+    private long lastLsn = 0;
+    private long scanSegment = 0;
+    private long validLength = 0;
+    private boolean complete = true;
+    private boolean finished = false;
+    private boolean started = false;
+
+    private LogEntry next;
+
+    /**
+     * Abre um cursor no início do WAL.
+     *
+     * @param walPath Caminho base do WAL
+     * @throws IOException Se erro ao listar os segmentos
+     */
+    WALCursor(Path walPath) throws IOException {
+        this.walPath = walPath;
+        this.segments = WALSegment.list(walPath);
+    }
+
+    /**
+     * Posiciona o cursor no primeiro registro com LSN maior ou igual a
+     * {@code lsn}. Entradas do formato texto (sem LSN) continuam sendo
+     * devolvidas. Só pode ser chamado antes da primeira leitura.
+     *
+     * @param lsn LSN procurado
+     * @throws IOException Se erro ao ler os cabeçalhos
+     */
+    public void seek(long lsn) throws IOException {
+        if (started) {
+            throw new IllegalStateException("seek deve ser chamado antes da leitura");
+        }
+
+        this.seekLsn = lsn;
+
+        // Último segmento cuja base não passa do LSN procurado
+        for (int i = segments.size() - 1; i > 0; i--) {
+            long base = WALSegment.readBaseLsn(WALSegment.path(walPath, segments.get(i)));
+
+            if (base > 0 && base <= lsn) {
+                nextSegment = i;
+                lastLsn = base - 1;
+                break;
+            }
+        }
+
+        // Marcador de checkpoint mais próximo dentro desse segmento
+        if (nextSegment < segments.size()) {
+            long segment = segments.get(nextSegment);
+
+            for (WALCheckpointIndex.Marker marker : WALCheckpointIndex.read(walPath)) {
+                if (marker.segment == segment && marker.lsn <= lsn
+                        && (hint == null || marker.lsn > hint.lsn)) {
+                    hint = marker;
+                }
+            }
+        }
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (next == null && !finished) {
+            try {
+                next = advance();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+        return next != null;
+    }
+
+    @Override
+    public LogEntry next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+
+        LogEntry entry = next;
+        next = null;
+        return entry;
+    }
+
+    @Override
+    public void close() throws IOException {
+        finished = true;
+        file = null;
+
+        if (text != null) {
+            text.close();
+            text = null;
+        }
+    }
+
+    /**
+     * Lê até o fim e devolve o resultado da varredura.
+     * Usado pelo WALWriter na abertura.
+     */
+    WALReader.Scan drain() throws IOException {
+        try {
+            while (hasNext()) {
+                next();
+            }
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+
+        return new WALReader.Scan(scanSegment, validLength, lastLsn, complete);
+    }
+
+    // ================================================================
+    // LEITURA
+    // ================================================================
+
+    private LogEntry advance() throws IOException {
+        started = true;
+
+        while (!finished) {
+            if (text != null) {
+                LogEntry entry = readLine();
+                if (entry != null) {
+                    return entry;
+                }
+                text.close();
+                text = null;
+
+            } else if (file != null) {
+                LogEntry entry = readRecord();
+                if (entry == null) {
+                    endFile();
+                } else if (entry.getLsn() >= seekLsn) {
+                    return entry;
+                }
+
+            } else if (!legacyRead) {
+                legacyRead = true;
+                openLegacy();
+
+            } else if (nextSegment < segments.size()) {
+                openSegment(segments.get(nextSegment++));
+
+            } else {
+                finished = true;
+            }
+        }
+
+        return null;
+    }
+
+    private LogEntry readLine() throws IOException {
+        String line;
+
+        while ((line = text.readLine()) != null) {
+            lineNumber++;
+
+            LogEntry entry = LogEntry.deserialize(line);
+            if (entry != null) {
+                return entry;
+            }
+
+            System.err.println("WAL: Linha " + lineNumber + " inválida, ignorando: " + line);
+        }
+
+        return null;
+    }
+
+    /**
+     * Abre o arquivo único do formato antigo, se existir.
+     */
+    private void openLegacy() throws IOException {
+        if (!Files.exists(walPath) || Files.size(walPath) == 0) {
+            return;
+        }
+
+        if (isBinaryFile(walPath)) {
+            openFile(map(walPath), 0, 0, WALFormat.FILE_HEADER_SIZE, 0);
+        } else {
+            text = Files.newBufferedReader(walPath);
+            lineNumber = 0;
+        }
+    }
+
+    private void openSegment(long number) throws IOException {
+        ByteBuffer segment = map(WALSegment.path(walPath, number));
+        long baseLsn = WALSegment.readBaseLsn(segment);
+
+        if (baseLsn <= 0) {
+            System.err.println("WAL: Segmento " + number + " sem cabeçalho, ignorando o restante");
+            scanSegment = number;
+            validLength = 0;
+            complete = false;
+            finished = true;
+            return;
+        }
+
+        if (lastLsn > 0 && baseLsn != lastLsn + 1) {
+            System.err.println("WAL: Segmento " + number + " fora de sequência, ignorando o restante");
+            finished = true;
+            return;
+        }
+
+        // Começa no marcador de checkpoint, se ele conferir com o segmento
+        if (hint != null && hint.segment == number && hint.lsn >= baseLsn
+                && lsnAt(segment, hint.offset) == hint.lsn) {
+            openFile(segment, number, baseLsn, hint.offset, hint.lsn);
+        } else {
+            openFile(segment, number, baseLsn, WALSegment.HEADER_SIZE, baseLsn);
+        }
+        hint = null;
+    }
+
+    private void openFile(ByteBuffer buffer, long number, long baseLsn, int start, long expectedLsn) {
+        this.file = buffer;
+        this.fileSegment = number;
+        this.fileBaseLsn = baseLsn;
+        this.position = start;
+        this.firstLsn = expectedLsn;
+        this.fileLastLsn = 0;
+    }
+
+    /**
+     * Lê o próximo registro do arquivo atual, conferindo a continuidade
+     * dos LSNs.
+     *
+     * @return Entrada, ou null no fim dos dados válidos do arquivo
+     */
+    private LogEntry readRecord() {
+        LogEntry entry = readAt(file, position, true);
+        if (entry == null) {
+            return null;
+        }
+
+        long expected = fileLastLsn > 0 ? fileLastLsn + 1 : firstLsn > 0 ? firstLsn : entry.getLsn();
+        if (entry.getLsn() != expected) {
+            return null;  // Dados antigos após o fim do log
+        }
+
+        fileLastLsn = entry.getLsn();
+        position += recordSize(file, position);
+        return entry;
+    }
+
+    /**
+     * Fecha o arquivo atual e atualiza o resultado da varredura.
+     */
+    private void endFile() {
+        boolean zeroed = isZero(file, position);
+
+        if (fileSegment == 0) {
+            lastLsn = Math.max(lastLsn, fileLastLsn);  // Após um seek, já aponta para o segmento inicial
+        } else {
+            scanSegment = fileSegment;
+            validLength = position;
+            lastLsn = fileLastLsn > 0 ? fileLastLsn : fileBaseLsn - 1;
+            complete = zeroed || WALSegment.isRecycled(file);
+
+            if (!zeroed) {
+                finished = true;
+            }
+        }
+
+        file = null;
+    }
+
+    // ================================================================
+    // AUXILIARES
+    // ================================================================
+
+    /**
+     * Decodifica o registro na posição, conferindo tamanho e CRC.
+     *
+     * @param buffer Conteúdo do arquivo
+     * @param position Início do registro
+     * @param report Se true, avisa CRC ou registro inválidos
+     * @return Entrada, ou null se não há registro válido na posição
+     */
+    static LogEntry readAt(ByteBuffer buffer, int position, boolean report) {
+        if (recordSize(buffer, position) < 0) {
+            return null;  // Fim dos dados ou registro incompleto
+        }
+
+        int length = buffer.getInt(position);
+        int bodyStart = position + WALFormat.LENGTH_SIZE;
+
+        if (buffer.getInt(bodyStart + length) != WALFormat.crc(buffer, bodyStart, length)) {
+            if (report) {
+                System.err.println("WAL: CRC inválido na posição " + position + ", ignorando o restante");
+            }
+            return null;
+        }
+
+        LogEntry entry = WALFormat.decode(buffer.slice(bodyStart, length));
+        if (entry == null && report) {
+            System.err.println("WAL: Registro inválido na posição " + position + ", ignorando o restante");
+        }
+        return entry;
+    }
+
+    /**
+     * Tamanho total do registro na posição (tamanho + corpo + CRC).
+     *
+     * @return Tamanho, ou -1 se não cabe no arquivo
+     */
+    private static int recordSize(ByteBuffer buffer, int position) {
+        if (position < 0 || buffer.limit() - position < WALFormat.LENGTH_SIZE) {
+            return -1;
+        }
+
+        int length = buffer.getInt(position);
+        if (length <= 0 || length > WALFormat.MAX_RECORD_SIZE
+                || (long) position + WALFormat.LENGTH_SIZE + length + WALFormat.CRC_SIZE > buffer.limit()) {
+            return -1;
+        }
+
+        return WALFormat.LENGTH_SIZE + length + WALFormat.CRC_SIZE;
+    }
+
+    private static long lsnAt(ByteBuffer buffer, int position) {
+        LogEntry entry = readAt(buffer, position, false);
+        return entry == null ? -1 : entry.getLsn();
+    }
+
+    /**
+     * Verifica se o restante do arquivo está zerado (área pré-alocada).
+     */
+    private static boolean isZero(ByteBuffer buffer, int from) {
+        for (int i = from; i < buffer.limit(); i++) {
+            if (buffer.get(i) != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    static boolean isBinaryFile(Path path) throws IOException {
+        try (InputStream in = Files.newInputStream(path)) {
+            return WALFormat.isBinary(ByteBuffer.wrap(in.readNBytes(WALFormat.FILE_HEADER_SIZE)));
+        }
+    }
+
+    static ByteBuffer map(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            return channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+    }
+}
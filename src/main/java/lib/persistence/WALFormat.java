@@ -0,0 +1,314 @@
+package lib.persistence;
+
+import java.nio.BufferOverflowException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.zip.CRC32C;
+
+/**
+ * Formato binário do Write-Ahead Log.
+ *
+ * O arquivo começa com um cabeçalho de 8 bytes (magic + versão),
+ * seguido dos registros:
+ *
+ *   [tamanho:int] [lsn:varint] [tipo:byte] [timestamp:varint] [campos] [crc32c:int]
+ *
+ * O tamanho cobre do LSN ao fim dos campos; o CRC32C é calculado sobre
+ * esses mesmos bytes. Inteiros usam varint com zigzag, strings são
+ * [bytes:varint] + UTF-8. Em UPDATE, cada mudança grava o código da
+ * coluna e o tipo do valor, sem a adivinhação de tipo do formato texto.
+ *
+ * Marcadores de transação (BEGIN, COMMIT, ROLLBACK) não têm campos.
+ *
+ * Arquivos que não começam com o magic são WALs no formato texto antigo.
+ *
+ * @author SQL Parser Team
+ * @version 1.1
+ */
+public final class WALFormat {
+
+    static final int FILE_MAGIC = 0x5357414C;  // "SWAL"
+    static final int FILE_VERSION = 1;
+    static final int FILE_HEADER_SIZE = 8;
+
+    // Tamanho do prefixo e do CRC de cada registro
+    static final int LENGTH_SIZE = 4;
+    static final int CRC_SIZE = 4;
+
+    // Limite de sanidade para o tamanho de um registro
+    static final int MAX_RECORD_SIZE = 1 << 20;
+
+    // Códigos de coluna no UPDATE (0 = nome gravado por extenso)
+    private static final byte COLUMN_OTHER = 0;
+    private static final byte COLUMN_NAME = 1;
+    private static final byte COLUMN_AGE = 2;
+    private static final byte COLUMN_CITY = 3;
+
+    // Tipos de valor no UPDATE
+    private static final byte VALUE_INT = 0;
+    private static final byte VALUE_STRING = 1;
+
+    private static final LogEntry.Operation[] OPERATIONS = LogEntry.Operation.values();
+
+    private WALFormat() {
+    }
+
+    /**
+     * Grava o cabeçalho do arquivo.
+     *
+     * @param buffer Buffer de destino
+     */
+    static void writeFileHeader(ByteBuffer buffer) {
+        buffer.putInt(FILE_MAGIC);
+        buffer.putInt(FILE_VERSION);
+    }
+
+    /**
+     * Verifica se os primeiros bytes são de um WAL binário.
+     *
+     * @param header Primeiros bytes do arquivo
+     * @return true se o magic e a versão conferem
+     */
+    static boolean isBinary(ByteBuffer header) {
+        return header.remaining() >= FILE_HEADER_SIZE
+                && header.getInt(header.position()) == FILE_MAGIC
+                && header.getInt(header.position() + 4) == FILE_VERSION;
+    }
+
+    // ================================================================
+    // CODIFICAÇÃO
+    // ================================================================
+
+    /**
+     * Codifica um registro completo (tamanho, corpo e CRC).
+     * O buffer é reaproveitado entre chamadas e cresce se necessário.
+     *
+     * @param entry Entrada do log
+     * @param lsn Número de sequência do registro
+     * @param buffer Buffer reutilizável
+     * @return Buffer pronto para escrita (posição 0, limite = fim do registro)
+     */
+    static ByteBuffer encode(LogEntry entry, long lsn, ByteBuffer buffer) {
+        while (true) {
+            try {
+                buffer.clear();
+                buffer.position(LENGTH_SIZE);
+                writeBody(entry, lsn, buffer);
+
+                int bodyLength = buffer.position() - LENGTH_SIZE;
+                buffer.putInt(0, bodyLength);
+                buffer.putInt(crc(buffer, LENGTH_SIZE, bodyLength));
+                buffer.flip();
+                return buffer;
+
+            } catch (BufferOverflowException e) {
+                buffer = ByteBuffer.allocate(buffer.capacity() * 2);
+            }
+        }
+    }
+
+    private static void writeBody(LogEntry entry, long lsn, ByteBuffer buffer) {
+        Map<String, Object> data = entry.getData();
+
+        putVarLong(buffer, lsn);
+        buffer.put((byte) entry.getOperation().ordinal());
+        putVarLong(buffer, entry.getTimestamp()
+                .atZone(ZoneId.systemDefault()).toInstant().toEpochMilli());
+
+        switch (entry.getOperation()) {
+            case INSERT -> {
+                putVarInt(buffer, (Integer) data.get("id"));
+                putString(buffer, (String) data.get("name"));
+                putVarInt(buffer, (Integer) data.get("age"));
+                putString(buffer, (String) data.get("city"));
+            }
+            case UPDATE -> {
+                putVarInt(buffer, (Integer) data.get("id"));
+
+                @SuppressWarnings("unchecked")
+                Map<String, Object> changes = (Map<String, Object>) data.get("changes");
+                putVarInt(buffer, changes.size());
+
+                for (var change : changes.entrySet()) {
+                    byte column = columnCode(change.getKey());
+                    buffer.put(column);
+                    if (column == COLUMN_OTHER) {
+                        putString(buffer, change.getKey());
+                    }
+
+                    if (change.getValue() instanceof Integer value) {
+                        buffer.put(VALUE_INT);
+                        putVarInt(buffer, value);
+                    } else {
+                        buffer.put(VALUE_STRING);
+                        putString(buffer, String.valueOf(change.getValue()));
+                    }
+                }
+            }
+            case DELETE -> putVarInt(buffer, (Integer) data.get("id"));
+            case CHECKPOINT -> putVarInt(buffer, (Integer) data.get("count"));
+            case BEGIN, COMMIT, ROLLBACK -> {
+                // Sem campos
+            }
+        }
+    }
+
+    // ================================================================
+    // DECODIFICAÇÃO
+    // ================================================================
+
+    /**
+     * Decodifica o corpo de um registro (já com o CRC conferido).
+     *
+     * @param body Bytes do LSN ao fim dos campos
+     * @return Entrada do log, ou null se o corpo é inválido
+     */
+    static LogEntry decode(ByteBuffer body) {
+        try {
+            long lsn = getVarLong(body);
+            int type = body.get();
+
+            if (type < 0 || type >= OPERATIONS.length) {
+                return null;
+            }
+
+            LogEntry.Operation op = OPERATIONS[type];
+            LocalDateTime timestamp = LocalDateTime.ofInstant(
+                    Instant.ofEpochMilli(getVarLong(body)), ZoneId.systemDefault());
+            Map<String, Object> data = new HashMap<>();
+
+            switch (op) {
+                case INSERT -> {
+                    data.put("id", getVarInt(body));
+                    data.put("name", getString(body));
+                    data.put("age", getVarInt(body));
+                    data.put("city", getString(body));
+                }
+                case UPDATE -> {
+                    data.put("id", getVarInt(body));
+
+                    int count = getVarInt(body);
+                    Map<String, Object> changes = new HashMap<>();
+
+                    for (int i = 0; i < count; i++) {
+                        byte column = body.get();
+                        String key = column == COLUMN_OTHER ? getString(body) : columnName(column);
+                        byte valueType = body.get();
+                        changes.put(key, valueType == VALUE_INT ? (Object) getVarInt(body) : getString(body));
+                    }
+                    data.put("changes", changes);
+                }
+                case DELETE -> data.put("id", getVarInt(body));
+                case CHECKPOINT -> data.put("count", getVarInt(body));
+                case BEGIN, COMMIT, ROLLBACK -> {
+                    // Sem campos
+                }
+            }
+
+            if (body.hasRemaining()) {
+                return null;
+            }
+
+            return new LogEntry(op, data, timestamp, lsn);
+
+        } catch (BufferUnderflowException | IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Calcula o CRC32C de um trecho do buffer.
+     */
+    static int crc(ByteBuffer buffer, int offset, int length) {
+        CRC32C crc = new CRC32C();
+        crc.update(buffer.slice(offset, length));
+        return (int) crc.getValue();
+    }
+
+    // ================================================================
+    // AUXILIARES
+    // ================================================================
+
+    private static byte columnCode(String column) {
+        return switch (column.toLowerCase()) {
+            case "name" -> COLUMN_NAME;
+            case "age" -> COLUMN_AGE;
+            case "city" -> COLUMN_CITY;
+            default -> COLUMN_OTHER;
+        };
+    }
+
+    private static String columnName(byte code) {
+        return switch (code) {
+            case COLUMN_NAME -> "name";
+            case COLUMN_AGE -> "age";
+            case COLUMN_CITY -> "city";
+            default -> throw new IllegalArgumentException("Invalid: coluna " + code);
+        };
+    }
+
+    private static void putVarInt(ByteBuffer buffer, int value) {
+        putVarLong(buffer, value);
+    }
+
+    private static int getVarInt(ByteBuffer buffer) {
+        long value = getVarLong(buffer);
+
+        if (value != (int) value) {
+            throw new IllegalArgumentException("Invalid: varint fora do intervalo");
+        }
+        return (int) value;
+    }
+
+    /**
+     * Varint com zigzag: valores pequenos (inclusive negativos) ocupam 1 byte.
+     */
+    private static void putVarLong(ByteBuffer buffer, long value) {
+        long zigzag = (value << 1) ^ (value >> 63);
+
+        while ((zigzag & ~0x7FL) != 0) {
+            buffer.put((byte) ((zigzag & 0x7F) | 0x80));
+            zigzag >>>= 7;
+        }
+        buffer.put((byte) zigzag);
+    }
+
+    private static long getVarLong(ByteBuffer buffer) {
+        long zigzag = 0;
+
+        for (int shift = 0; shift < 64; shift += 7) {
+            byte b = buffer.get();
+            zigzag |= (long) (b & 0x7F) << shift;
+
+            if ((b & 0x80) == 0) {
+                return (zigzag >>> 1) ^ -(zigzag & 1);
+            }
+        }
+
+        throw new IllegalArgumentException("Invalid: varint longo demais");
+    }
+
+    private static void putString(ByteBuffer buffer, String value) {
+        byte[] bytes = (value == null ? "" : value).getBytes(StandardCharsets.UTF_8);
+        putVarInt(buffer, bytes.length);
+        buffer.put(bytes);
+    }
+
+    private static String getString(ByteBuffer buffer) {
+        int length = getVarInt(buffer);
+
+        if (length < 0 || length > buffer.remaining()) {
+            throw new IllegalArgumentException("Invalid: string fora do registro");
+        }
+
+        byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
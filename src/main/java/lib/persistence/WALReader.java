@@ -1,7 +1,8 @@
 package lib.persistence;
 
-import lib.Users;
+import lib.storage.TableStorage;
 import java.io.*;
+import java.nio.ByteBuffer;
 import java.nio.file.*;
 import java.util.*;
 
@@ -12,22 +13,84 @@ import java.util.*;
  * - Recovery após crash
  * - Replay de operações pendentes
  * 
+ * O WAL é lido na ordem: primeiro o arquivo único antigo (users.wal,
+ * em texto ou binário), se ainda existir, depois os segmentos
+ * numerados (users.wal.000001, ...). Nos segmentos, a leitura para no
+ * primeiro registro incompleto, com CRC inválido ou com LSN fora de
+ * sequência (escrita interrompida por um crash ou resto de dados antigos).
+ * 
+ * Um segmento reaproveitado (ver WALSegment) ainda contém registros
+ * antigos depois dos novos; como o primeiro registro precisa ter o LSN
+ * base do cabeçalho e os seguintes precisam ser consecutivos, esses
+ * restos nunca são lidos e marcam o fim do log, não corrupção.
+ * 
+ * A leitura é feita por um WALCursor, uma entrada por vez: replay,
+ * validação e estatísticas usam memória constante. O replay começa
+ * direto no segmento do checkpoint (seek por LSN), e o último
+ * checkpoint é encontrado pelo índice users.wal.ckpt, sem varredura.
+ * 
  * @author SQL Parser Team
- * @version 2.0
+ * @version 4.0
  */
 public class WALReader {
     
+    /**
+     * Resultado da varredura dos segmentos.
+     */
+    static final class Scan {
+        final long segment;       // Último segmento lido (0 se não há segmentos)
+        final long validLength;   // Bytes até o fim do último registro válido no segmento
+        final long lastLsn;       // 0 se não há registros binários
+        final boolean complete;   // false se sobrou lixo após o último registro (fora de segmento reaproveitado)
+        
+        Scan(long segment, long validLength, long lastLsn, boolean complete) {
+            this.segment = segment;
+            this.validLength = validLength;
+            this.lastLsn = lastLsn;
+            this.complete = complete;
+        }
+    }
+    
     private final Path walPath;
     
     /**
      * Construtor.
      * 
-     * @param walPath Caminho do arquivo WAL
+     * @param walPath Caminho base do WAL (os segmentos ficam ao lado)
      */
     public WALReader(Path walPath) {
         this.walPath = walPath;
     }
     
+    /**
+     * Verifica se existe algum arquivo de WAL (antigo ou segmentos).
+     * 
+     * @return true se há algo para ler
+     * @throws IOException Se erro ao listar o diretório
+     */
+    public boolean exists() throws IOException {
+        return Files.exists(walPath) || !WALSegment.list(walPath).isEmpty();
+    }
+    
+    /**
+     * Destino das entradas lidas, uma por vez e na ordem do log.
+     */
+    @FunctionalInterface
+    interface Sink {
+        void accept(LogEntry entry) throws IOException;
+    }
+    
+    /**
+     * Abre um cursor no início do WAL. Use {@link WALCursor#seek(long)}
+     * para começar num LSN.
+     * 
+     * @return Cursor (deve ser fechado)
+     * @throws IOException Se erro ao listar os segmentos
+     */
+    public WALCursor cursor() throws IOException {
+        return new WALCursor(walPath);
+    }
+    
     /**
      * Lê todas as entradas do WAL.
      * 
@@ -36,112 +99,83 @@ public class WALReader {
      */
     public List<LogEntry> readAll() throws IOException {
         List<LogEntry> entries = new ArrayList<>();
-        
-        if (!Files.exists(walPath)) {
-            return entries;
-        }
-        
-        try (BufferedReader reader = Files.newBufferedReader(walPath)) {
-            String line;
-            int lineNumber = 0;
+        forEach(0, entries::add);
+        return entries;
+    }
+    
+    /**
+     * Lê as entradas do WAL em streaming, sem guardá-las.
+     * 
+     * @param fromLsn Primeiro LSN desejado (0 lê tudo)
+     * @param sink Recebe cada entrada, na ordem do log
+     * @throws IOException Se erro de leitura ou do destino
+     */
+    void forEach(long fromLsn, Sink sink) throws IOException {
+        try (WALCursor cursor = cursor()) {
+            cursor.seek(fromLsn);
             
-            while ((line = reader.readLine()) != null) {
-                lineNumber++;
-                
-                LogEntry entry = LogEntry.deserialize(line);
-                
-                if (entry == null) {
-                    System.err.println("WAL: Linha " + lineNumber + 
-                        " inválida, ignorando: " + line);
-                    continue;
-                }
-                
-                entries.add(entry);
+            while (cursor.hasNext()) {
+                sink.accept(cursor.next());
             }
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
         }
-        
-        return entries;
     }
     
     /**
-     * Executa replay do WAL em uma lista de usuários.
+     * Varre o WAL sem guardar as entradas: último segmento, fim do
+     * último registro válido e último LSN. Usado pelo WALWriter na abertura.
+     * 
+     * @return Resultado da varredura
+     * @throws IOException Se erro de leitura
+     */
+    Scan scan() throws IOException {
+        try (WALCursor cursor = cursor()) {
+            return cursor.drain();
+        }
+    }
+    
+    /**
+     * Executa replay do WAL no armazenamento da tabela.
      * Reconstrói o estado do banco a partir do log.
      * 
-     * @param database Lista para aplicar as operações
+     * @param storage Armazenamento para aplicar as operações
      * @return Número de operações aplicadas
      * @throws IOException Se erro de leitura
      */
-    public int replay(List<Users> database) throws IOException {
-        List<LogEntry> entries = readAll();
-        int appliedCount = 0;
-        
-        for (LogEntry entry : entries) {
-            try {
-                applyEntry(entry, database);
-                appliedCount++;
-            } catch (Exception e) {
-                System.err.println("Erro ao aplicar entrada: " + entry);
-                System.err.println("Erro: " + e.getMessage());
-                // Continuar com próxima entrada
-            }
-        }
-        
-        return appliedCount;
+    public int replay(TableStorage storage) throws IOException {
+        return replay(storage, 0);
     }
     
     /**
-     * Aplica uma entrada do log no database.
+     * Executa replay do WAL a partir de um checkpoint.
+     * Registros com LSN até checkpointLsn já estão no snapshot e são
+     * pulados (o segmento atual sobrevive ao checkpoint).
      * 
-     * @param entry Entrada a aplicar
-     * @param database Lista de usuários
+     * Os registros são decodificados em streaming e reduzidos por id em
+     * paralelo (ver ParallelReplay); o storage recebe uma operação por
+     * id alterado.
+     * 
+     * @param storage Armazenamento para aplicar as operações
+     * @param checkpointLsn LSN gravado no snapshot (0 aplica tudo)
+     * @return Número de operações aplicadas
+     * @throws IOException Se erro de leitura
      */
-    private void applyEntry(LogEntry entry, List<Users> database) {
-        Map<String, Object> data = entry.getData();
-        
-        switch (entry.getOperation()) {
-            case INSERT -> {
-                int id = (Integer) data.get("id");
-                String name = (String) data.get("name");
-                int age = (Integer) data.get("age");
-                String city = (String) data.get("city");
-                
-                Users user = new Users(id, name, age, city);
-                database.add(user);
-            }
-            
-            case UPDATE -> {
-                int id = (Integer) data.get("id");
-                Map<String, Object> changes = 
-                    (Map<String, Object>) data.get("changes");
-                
-                // Encontrar usuário
-                Users user = database.stream()
-                    .filter(u -> u.getId() == id)
-                    .findFirst()
-                    .orElse(null);
-                
-                if (user != null) {
-                    // Aplicar mudanças
-                    for (var change : changes.entrySet()) {
-                        switch (change.getKey().toLowerCase()) {
-                            case "name" -> user.setName((String) change.getValue());
-                            case "age" -> user.setAge((Integer) change.getValue());
-                            case "city" -> user.setCity((String) change.getValue());
-                        }
-                    }
-                }
-            }
-            
-            case DELETE -> {
-                int id = (Integer) data.get("id");
-                database.removeIf(u -> u.getId() == id);
-            }
-            
-            case CHECKPOINT -> {
-                // Checkpoint não faz nada no replay
-                // Serve apenas como marcador
-            }
-        }
+    public int replay(TableStorage storage, long checkpointLsn) throws IOException {
+        return replay(storage, checkpointLsn, ParallelReplay.defaultWorkers());
+    }
+    
+    /**
+     * Executa replay do WAL com um número fixo de threads de trabalho.
+     * 
+     * @param storage Armazenamento para aplicar as operações
+     * @param checkpointLsn LSN gravado no snapshot (0 aplica tudo)
+     * @param workers Threads que reduzem as operações por id
+     * @return Número de operações aplicadas
+     * @throws IOException Se erro de leitura
+     */
+    public int replay(TableStorage storage, long checkpointLsn, int workers) throws IOException {
+        return new ParallelReplay(storage, checkpointLsn, workers).run(this);
     }
     
     /**
@@ -151,10 +185,19 @@ public class WALReader {
      * @return true se WAL é válido
      */
     public boolean validate() {
-        if (!Files.exists(walPath)) {
-            return true;  // WAL vazio é válido
+        try {
+            if (!scan().complete) {
+                return false;
+            }
+            
+            if (!Files.exists(walPath) || Files.size(walPath) == 0 || WALCursor.isBinaryFile(walPath)) {
+                return true;
+            }
+        } catch (IOException e) {
+            return false;
         }
         
+        // Arquivo antigo em texto: toda linha deve ser válida
         try (BufferedReader reader = Files.newBufferedReader(walPath)) {
             String line;
             
@@ -185,20 +228,21 @@ public class WALReader {
         stats.put("update", 0);
         stats.put("delete", 0);
         stats.put("checkpoint", 0);
+        stats.put("begin", 0);
+        stats.put("commit", 0);
+        stats.put("rollback", 0);
         stats.put("invalid", 0);
         
-        if (!Files.exists(walPath)) {
-            return stats;
-        }
-        
         try {
-            List<LogEntry> entries = readAll();
-            stats.put("total", entries.size());
+            if (!exists()) {
+                return stats;
+            }
             
-            for (LogEntry entry : entries) {
+            forEach(0, entry -> {
                 String op = entry.getOperation().name().toLowerCase();
                 stats.put(op, stats.get(op) + 1);
-            }
+                stats.put("total", stats.get("total") + 1);
+            });
             
         } catch (IOException e) {
             // Ignorar erro
@@ -210,24 +254,60 @@ public class WALReader {
     /**
      * Retorna a última entrada do tipo CHECKPOINT.
      * 
+     * Usa o índice de checkpoints (users.wal.ckpt) para ler só o
+     * marcador; sem índice válido, varre o WAL com um cursor.
+     * 
      * @return Última entrada de checkpoint ou null
      */
     public LogEntry getLastCheckpoint() {
         try {
-            List<LogEntry> entries = readAll();
+            List<WALCheckpointIndex.Marker> markers = WALCheckpointIndex.read(walPath);
             
             // Procurar de trás para frente
-            for (int i = entries.size() - 1; i >= 0; i--) {
-                LogEntry entry = entries.get(i);
-                if (entry.getOperation() == LogEntry.Operation.CHECKPOINT) {
+            for (int i = markers.size() - 1; i >= 0; i--) {
+                LogEntry entry = readMarker(markers.get(i));
+                if (entry != null) {
                     return entry;
                 }
             }
             
+            LogEntry[] last = new LogEntry[1];
+            forEach(0, entry -> {
+                if (entry.getOperation() == LogEntry.Operation.CHECKPOINT) {
+                    last[0] = entry;
+                }
+            });
+            return last[0];
+            
         } catch (IOException e) {
             // Ignorar erro
         }
         
         return null;
     }
+    
+    /**
+     * Lê o marcador apontado pelo índice, conferindo se o registro ainda
+     * está lá (o segmento pode ter sido reaproveitado ou truncado).
+     */
+    private LogEntry readMarker(WALCheckpointIndex.Marker marker) throws IOException {
+        Path path = WALSegment.path(walPath, marker.segment);
+        
+        if (!Files.exists(path)) {
+            return null;
+        }
+        
+        ByteBuffer segment = WALCursor.map(path);
+        if (marker.lsn < WALSegment.readBaseLsn(segment)) {
+            return null;
+        }
+        
+        LogEntry entry = WALCursor.readAt(segment, marker.offset, false);
+        if (entry == null || entry.getLsn() != marker.lsn
+                || entry.getOperation() != LogEntry.Operation.CHECKPOINT) {
+            return null;
+        }
+        
+        return entry;
+    }
 }
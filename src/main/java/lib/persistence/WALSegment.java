@@ -0,0 +1,256 @@
+package lib.persistence;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Arquivos de segmento do WAL.
+ *
+ * O WAL é dividido em segmentos numerados de tamanho fixo
+ * ({@code users.wal.000001}, {@code users.wal.000002}, ...), criados já
+ * com o tamanho final e preenchidos com zeros. Assim os appends nunca
+ * aumentam o arquivo e force(false) não precisa gravar metadados.
+ *
+ * Cada segmento começa com o cabeçalho do WALFormat seguido do LSN base
+ * (o LSN que o primeiro registro do segmento deve ter) e de flags. O
+ * primeiro tamanho de registro igual a zero, ou um registro com LSN fora
+ * de sequência, marca o fim dos dados.
+ *
+ * Segmentos aposentados no checkpoint são renomeados para
+ * {@code users.wal.recycled.NNNNNN} e reaproveitados como próximos
+ * segmentos: basta reescrever o cabeçalho com o novo LSN base, pois os
+ * registros antigos têm LSNs menores e são ignorados na leitura. Como
+ * não são zerados, a flag RECYCLED avisa o leitor de que bytes não
+ * nulos após o último registro são restos esperados, não corrupção.
+ *
+ * @author SQL Parser Team
+ * @version 1.1
+ */
+final class WALSegment {
+
+    static final int DEFAULT_SIZE = 4 * 1024 * 1024;
+    static final int MIN_SIZE = 64 * 1024;
+
+    // Cabeçalho: magic + versão (WALFormat) + LSN base + flags
+    static final int BASE_LSN_OFFSET = WALFormat.FILE_HEADER_SIZE;
+    static final int FLAGS_OFFSET = BASE_LSN_OFFSET + 8;
+    static final int HEADER_SIZE = FLAGS_OFFSET + 4;
+
+    // Segmento reaproveitado: o conteúdo após o último registro não é zerado
+    static final int FLAG_RECYCLED = 1;
+
+    // Máximo de segmentos guardados para reuso
+    static final int MAX_RECYCLED = 4;
+
+    private static final String RECYCLED = "recycled.";
+
+    private static final int ZERO_CHUNK = 64 * 1024;
+
+    private WALSegment() {
+    }
+
+    /**
+     * Caminho do segmento {@code number} do WAL.
+     */
+    static Path path(Path walPath, long number) {
+        return walPath.resolveSibling(walPath.getFileName() + String.format(".%06d", number));
+    }
+
+    /**
+     * Caminho de um segmento aguardando reuso.
+     */
+    static Path recycledPath(Path walPath, long number) {
+        return walPath.resolveSibling(walPath.getFileName() + "." + RECYCLED + String.format("%06d", number));
+    }
+
+    /**
+     * Lista os números dos segmentos existentes, em ordem crescente.
+     *
+     * @param walPath Caminho base do WAL
+     * @return Números dos segmentos
+     * @throws IOException Se erro ao listar o diretório
+     */
+    static List<Long> list(Path walPath) throws IOException {
+        return list(walPath, walPath.getFileName() + ".");
+    }
+
+    /**
+     * Lista os números dos segmentos aguardando reuso.
+     */
+    static List<Long> listRecycled(Path walPath) throws IOException {
+        return list(walPath, walPath.getFileName() + "." + RECYCLED);
+    }
+
+    private static List<Long> list(Path walPath, String prefix) throws IOException {
+        List<Long> numbers = new ArrayList<>();
+        Path dir = walPath.toAbsolutePath().getParent();
+
+        if (!Files.isDirectory(dir)) {
+            return numbers;
+        }
+
+        try (Stream<Path> files = Files.list(dir)) {
+            files.map(file -> file.getFileName().toString())
+                    .filter(name -> name.startsWith(prefix))
+                    .map(name -> name.substring(prefix.length()))
+                    .filter(suffix -> suffix.length() >= 6 && suffix.chars().allMatch(Character::isDigit))
+                    .map(Long::parseLong)
+                    .sorted()
+                    .forEach(numbers::add);
+        }
+
+        return numbers;
+    }
+
+    /**
+     * Cria um segmento preenchido com zeros e com o cabeçalho gravado.
+     *
+     * @param path Caminho do segmento
+     * @param size Tamanho fixo em bytes
+     * @param baseLsn LSN do primeiro registro do segmento
+     * @return Canal aberto para leitura e escrita
+     * @throws IOException Se erro de I/O
+     */
+    static FileChannel create(Path path, int size, long baseLsn) throws IOException {
+        FileChannel channel = FileChannel.open(path,
+                StandardOpenOption.CREATE,
+                StandardOpenOption.READ,
+                StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING);
+
+        try {
+            zero(channel, 0, size);
+            writeHeader(channel, baseLsn, 0);
+
+            // Uma única sincronização com metadados, na criação
+            channel.force(true);
+            return channel;
+
+        } catch (IOException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Reaproveita um segmento aposentado: renomeia e reescreve o
+     * cabeçalho. Não há preenchimento com zeros.
+     *
+     * @param recycled Segmento aguardando reuso
+     * @param path Novo caminho
+     * @param baseLsn LSN do primeiro registro do segmento
+     * @return Canal aberto para leitura e escrita
+     * @throws IOException Se erro de I/O
+     */
+    static FileChannel reuse(Path recycled, Path path, long baseLsn) throws IOException {
+        Files.move(recycled, path, StandardCopyOption.REPLACE_EXISTING);
+
+        FileChannel channel = open(path);
+        try {
+            writeHeader(channel, baseLsn, FLAG_RECYCLED);
+            channel.force(false);
+            return channel;
+        } catch (IOException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Aposenta um segmento: guarda para reuso ou apaga se já há
+     * segmentos suficientes aguardando.
+     *
+     * @param walPath Caminho base do WAL
+     * @param number Número do segmento
+     * @param size Tamanho esperado dos segmentos
+     * @return true se foi guardado para reuso
+     * @throws IOException Se erro de I/O
+     */
+    static boolean retire(Path walPath, long number, int size) throws IOException {
+        Path path = path(walPath, number);
+
+        if (listRecycled(walPath).size() < MAX_RECYCLED && Files.size(path) == size) {
+            Files.move(path, recycledPath(walPath, number), StandardCopyOption.REPLACE_EXISTING);
+            return true;
+        }
+
+        Files.delete(path);
+        return false;
+    }
+
+    /**
+     * Lê o LSN base gravado no cabeçalho do segmento.
+     *
+     * @return LSN base, ou 0 se o cabeçalho é inválido
+     */
+    static long readBaseLsn(ByteBuffer segment) {
+        if (segment.limit() < HEADER_SIZE || !WALFormat.isBinary(segment)) {
+            return 0;
+        }
+        return segment.getLong(BASE_LSN_OFFSET);
+    }
+
+    /**
+     * Verifica se o segmento foi reaproveitado (sem zeros após os registros).
+     */
+    static boolean isRecycled(ByteBuffer segment) {
+        return (segment.getInt(FLAGS_OFFSET) & FLAG_RECYCLED) != 0;
+    }
+
+    /**
+     * Lê o LSN base do cabeçalho de um segmento em disco.
+     */
+    static long readBaseLsn(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+            while (header.hasRemaining() && channel.read(header) >= 0) {
+                // Ler o cabeçalho completo
+            }
+            header.flip();
+            return readBaseLsn(header);
+        }
+    }
+
+    private static void writeHeader(FileChannel channel, long baseLsn, int flags) throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+        WALFormat.writeFileHeader(header);
+        header.putLong(baseLsn);
+        header.putInt(flags);
+        header.flip();
+        writeFully(channel, header, 0);
+    }
+
+    /**
+     * Abre um segmento existente.
+     */
+    static FileChannel open(Path path) throws IOException {
+        return FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE);
+    }
+
+    /**
+     * Preenche [from, to) com zeros.
+     */
+    static void zero(FileChannel channel, long from, long to) throws IOException {
+        ByteBuffer zeros = ByteBuffer.allocateDirect(ZERO_CHUNK);
+
+        for (long position = from; position < to; position += ZERO_CHUNK) {
+            zeros.clear();
+            zeros.limit((int) Math.min(ZERO_CHUNK, to - position));
+            writeFully(channel, zeros, position);
+        }
+    }
+
+    static void writeFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            position += channel.write(buffer, position);
+        }
+    }
+}
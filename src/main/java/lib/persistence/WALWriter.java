@@ -1,7 +1,17 @@
 package lib.persistence;
 
 import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
 import java.nio.file.*;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
 
 /**
  * Escreve operações no Write-Ahead Log.
@@ -11,59 +21,362 @@ import java.nio.file.*;
  * - fsync após cada operação (opcional)
  * - Modo sincronizado para thread-safety
  *
+ * Os registros (formato binário, WALFormat) são codificados num
+ * ByteBuffer reaproveitado, acumulados num buffer direto e gravados via
+ * FileChannel em segmentos pré-alocados de tamanho fixo (WALSegment).
+ * Como o arquivo não cresce, a sincronização usa force(false), sem
+ * atualizar metadados. Um registro nunca atravessa dois segmentos.
+ *
+ * No checkpoint nada é copiado nem truncado: os segmentos cujos
+ * registros estão todos até o LSN do checkpoint são aposentados
+ * (renomeados para reuso, ver WALSegment) e o segmento atual continua
+ * recebendo registros. O custo não depende do tamanho do WAL.
+ *
+ * A posição de cada marcador de CHECKPOINT é anotada num índice
+ * pequeno (users.wal.ckpt, ver WALCheckpointIndex), para que o leitor
+ * ache o último checkpoint sem varrer o WAL.
+ *
+ * Um WAL antigo em arquivo único (users.wal) continua sendo lido pelo
+ * WALReader e é descartado no próximo checkpoint.
+ *
+ * append() e awaitDurable() separam o acréscimo da espera pelo disco:
+ * quem escreve sob um lock próprio acrescenta, solta o lock e só então
+ * espera. Sem group commit, os que esperam enquanto um fsync roda são
+ * cobertos juntos pelo fsync seguinte.
+ *
+ * Group commit (opcional, com syncOnWrite): write() apenas acrescenta o
+ * registro ao buffer e espera; uma thread de flush junta os registros
+ * pendentes em um único write + fsync e libera cada chamador quando o
+ * LSN dele estiver durável. O lote fecha ao atingir maxBatchSize
+ * registros ou após maxWaitMicros, o que vier primeiro.
+ *
+ * Registros de uma transação são escritos sem espera (write(entry,
+ * false)): ficam no buffer e só o COMMIT espera o fsync, que cobre
+ * todos os anteriores. Uma transação paga um flush, não um por registro
+ * (mais um por segmento trocado no meio dela: um segmento cheio é
+ * sincronizado antes de ser fechado).
+ *
  * @author SQL Parser Team
- * @version 2.0
+ * @version 4.5
  */
 public class WALWriter implements AutoCloseable {
 
+    private static final int INITIAL_BUFFER_SIZE = 256;
+    private static final int WRITE_BUFFER_SIZE = 64 * 1024;
+
     private final Path walPath;
-    private BufferedWriter writer;
-    private FileOutputStream fileOutputStream;  // Usar FileOutputStream para fsync
+    private final int segmentSize;
     private final boolean syncOnWrite;
     private int operationCount;
 
+    // Segmento atual
+    private FileChannel channel;
+    private long segmentNumber;
+    private long flushedOffset;   // Bytes do segmento já entregues ao canal
+    private long bytesSinceCheckpoint;
+
+    // Número do segmento → LSN base, para os segmentos ainda no WAL
+    private final TreeMap<Long, Long> segmentBases = new TreeMap<>();
+
+    // Segmentos cheios ainda não sincronizados (fechados no próximo sync)
+    private final List<FileChannel> retired = new ArrayList<>();
+
+    // Próximo LSN, registro codificado e buffer de escrita
+    private long nextLsn;
+    private ByteBuffer buffer = ByteBuffer.allocate(INITIAL_BUFFER_SIZE);
+    private final ByteBuffer pending = ByteBuffer.allocateDirect(WRITE_BUFFER_SIZE);
+
+    // Serializa fsync, checkpoint e fechamento (adquirido antes do monitor do writer)
+    private final ReentrantLock syncLock = new ReentrantLock();
+
+    // Group commit
+    private final ReentrantLock commitLock = new ReentrantLock();
+    private final Condition pendingRecords = commitLock.newCondition();
+    private final Condition durableRecords = commitLock.newCondition();
+    private volatile boolean groupCommit = false;
+    private Thread flusher;
+    private int maxBatchSize;
+    private long maxWaitNanos;
+    private long appendedLsn;
+    private long durableLsn;
+    private IOException commitFailure;
+
+    // Estatísticas
+    private final LongAdder syncCount = new LongAdder();
+
     /**
-     * Construtor.
+     * Construtor com segmentos do tamanho padrão.
      *
-     * @param walPath Caminho do arquivo WAL
+     * @param walPath Caminho base do WAL
      * @param syncOnWrite Se true, faz fsync após cada write
      * @throws IOException Se erro ao abrir arquivo
      */
     public WALWriter(Path walPath, boolean syncOnWrite) throws IOException {
+        this(walPath, syncOnWrite, WALSegment.DEFAULT_SIZE);
+    }
+
+    /**
+     * Construtor.
+     *
+     * @param walPath Caminho base do WAL (segmentos em walPath.000001, ...)
+     * @param syncOnWrite Se true, faz fsync após cada write
+     * @param segmentSize Tamanho fixo de cada segmento em bytes
+     * @throws IOException Se erro ao abrir arquivo
+     */
+    public WALWriter(Path walPath, boolean syncOnWrite, int segmentSize) throws IOException {
+        if (segmentSize < WALSegment.MIN_SIZE) {
+            throw new IllegalArgumentException("Invalid: segmento menor que " + WALSegment.MIN_SIZE + " bytes");
+        }
+
         this.walPath = walPath;
         this.syncOnWrite = syncOnWrite;
+        this.segmentSize = segmentSize;
         this.operationCount = 0;
 
         // Criar diretório se não existir
-        Files.createDirectories(walPath.getParent());
+        Files.createDirectories(walPath.toAbsolutePath().getParent());
+
+        // Continuar do último registro válido
+        WALReader.Scan scan = new WALReader(walPath).scan();
+        this.nextLsn = scan.lastLsn + 1;
+        this.durableLsn = scan.lastLsn;
+
+        // Marcadores perdidos com o fim do WAL saem do índice
+        WALCheckpointIndex.retain(walPath, 0, scan.lastLsn);
+
+        if (scan.segment == 0) {
+            openSegment(1);
+            return;
+        }
 
-        // Abrir arquivo em modo append usando FileOutputStream
-        this.fileOutputStream = new FileOutputStream(walPath.toFile(), true);
-        this.writer = new BufferedWriter(new OutputStreamWriter(fileOutputStream));
+        // Segmentos após o ponto de parada só têm dados inválidos
+        for (long number : WALSegment.list(walPath)) {
+            if (number > scan.segment) {
+                Files.deleteIfExists(WALSegment.path(walPath, number));
+            } else if (number < scan.segment) {
+                segmentBases.put(number, WALSegment.readBaseLsn(WALSegment.path(walPath, number)));
+            }
+        }
+
+        this.segmentNumber = scan.segment;
+        this.channel = WALSegment.open(WALSegment.path(walPath, segmentNumber));
+        this.flushedOffset = Math.max(scan.validLength, WALSegment.HEADER_SIZE);
+        this.bytesSinceCheckpoint = flushedOffset - WALSegment.HEADER_SIZE;
+
+        if (scan.validLength < WALSegment.HEADER_SIZE) {
+            // Segmento sem cabeçalho válido: recriar
+            channel.close();
+            openSegment(segmentNumber);
+        } else {
+            segmentBases.put(segmentNumber, WALSegment.readBaseLsn(WALSegment.path(walPath, segmentNumber)));
+
+            if (!scan.complete) {
+                // Descartar registro incompleto no fim
+                WALSegment.zero(channel, flushedOffset, segmentSize);
+                channel.force(false);
+            }
+        }
+    }
+
+    /**
+     * Abre o segmento {@code number} com o próximo LSN como base,
+     * reaproveitando um segmento aposentado quando houver.
+     */
+    private void openSegment(long number) throws IOException {
+        Path path = WALSegment.path(walPath, number);
+        this.channel = null;
+
+        for (long recycled : WALSegment.listRecycled(walPath)) {
+            Path candidate = WALSegment.recycledPath(walPath, recycled);
+
+            if (Files.size(candidate) == segmentSize) {
+                this.channel = WALSegment.reuse(candidate, path, nextLsn);
+                break;
+            }
+            // Tamanho de segmento mudou desde a aposentadoria
+            Files.delete(candidate);
+        }
+
+        if (channel == null) {
+            this.channel = WALSegment.create(path, segmentSize, nextLsn);
+        }
+
+        this.segmentNumber = number;
+        this.flushedOffset = WALSegment.HEADER_SIZE;
+        segmentBases.put(number, nextLsn);
     }
 
     /**
      * Escreve uma entrada no log.
+     * Com syncOnWrite, só retorna quando a entrada estiver em disco.
+     *
+     * @param entry Entrada a escrever
+     * @throws IOException Se erro de I/O
+     */
+    public void write(LogEntry entry) throws IOException {
+        write(entry, true);
+    }
+
+    /**
+     * Escreve uma entrada no log, opcionalmente sem esperar o disco.
+     * Sem durable, a entrada fica no buffer até o próximo registro
+     * durável (ou flush), que a grava e sincroniza junto.
+     *
+     * @param entry Entrada a escrever
+     * @param durable Se true (e com syncOnWrite), espera o fsync
+     * @throws IOException Se erro de I/O
+     */
+    public void write(LogEntry entry, boolean durable) throws IOException {
+        long lsn = append(entry);
+
+        if (durable) {
+            awaitDurable(lsn);
+        }
+    }
+
+    /**
+     * Acrescenta uma entrada ao log sem esperar o disco.
+     *
+     * Separado de awaitDurable para que o chamador solte os seus locks
+     * antes de esperar o fsync: escritores que acrescentam enquanto um
+     * fsync está em andamento são cobertos juntos pelo próximo.
      *
      * @param entry Entrada a escrever
+     * @return LSN atribuído à entrada
      * @throws IOException Se erro de I/O
      */
-    public synchronized void write(LogEntry entry) throws IOException {
-        if (writer == null) {
+    public synchronized long append(LogEntry entry) throws IOException {
+        if (channel == null) {
             throw new IOException("WAL writer is closed");
         }
 
-        String line = entry.serialize();
-        writer.write(line);
-        writer.newLine();
+        long lsn = nextLsn;
+        buffer = WALFormat.encode(entry, lsn, buffer);
+        int length = buffer.limit();
+
+        if (length > segmentSize - WALSegment.HEADER_SIZE) {
+            throw new IOException("Invalid: registro de " + length + " bytes maior que o segmento");
+        }
 
-        if (syncOnWrite) {
-            writer.flush();
-            // Force sync para disco usando FileDescriptor
-            fileOutputStream.getFD().sync();
+        // Registro não cabe no segmento atual: passar para o próximo
+        if (flushedOffset + pending.position() + length > segmentSize) {
+            switchSegment();
         }
 
+        if (pending.remaining() < length) {
+            writePending();
+        }
+
+        long offset = flushedOffset + pending.position();
+
+        if (length > pending.capacity()) {
+            WALSegment.writeFully(channel, buffer, flushedOffset);
+            flushedOffset += length;
+        } else {
+            pending.put(buffer);
+        }
+
+        nextLsn++;
+        bytesSinceCheckpoint += length;
         operationCount++;
+
+        if (entry.getOperation() == LogEntry.Operation.CHECKPOINT) {
+            indexCheckpoint(new WALCheckpointIndex.Marker(lsn, segmentNumber, (int) offset));
+        }
+
+        return lsn;
+    }
+
+    /**
+     * Espera até que a entrada {@code lsn} (e todas as anteriores) esteja
+     * em disco. Sem syncOnWrite, retorna direto.
+     *
+     * Sem group commit, o primeiro a chegar faz o fsync de tudo o que foi
+     * acrescentado até ali (incluindo segmentos trocados no meio); quem
+     * esperava por syncLock e já foi coberto não sincroniza de novo.
+     *
+     * @param lsn LSN devolvido por append
+     * @throws IOException Se o fsync falhar
+     */
+    public void awaitDurable(long lsn) throws IOException {
+        if (!syncOnWrite) {
+            return;
+        }
+
+        if (groupCommit) {
+            awaitGroupCommit(lsn);
+            return;
+        }
+
+        syncLock.lock();
+        try {
+            if (durableLsn() < lsn) {
+                syncPending(true);
+            }
+        } finally {
+            syncLock.unlock();
+        }
+    }
+
+    /**
+     * Registra a posição de um marcador de CHECKPOINT no índice.
+     * O registro já está no WAL; se o índice falhar, ele é apagado e
+     * os leitores voltam a varrer o WAL.
+     */
+    private void indexCheckpoint(WALCheckpointIndex.Marker marker) {
+        try {
+            WALCheckpointIndex.append(walPath, marker);
+        } catch (IOException e) {
+            System.err.println("WAL: Erro ao gravar índice de checkpoints: " + e.getMessage());
+            try {
+                WALCheckpointIndex.delete(walPath);
+            } catch (IOException ignored) {
+                // O leitor confere cada entrada antes de usá-la
+            }
+        }
+    }
+
+    /**
+     * Entrega o buffer de escrita ao canal do segmento atual.
+     */
+    private void writePending() throws IOException {
+        pending.flip();
+        int length = pending.remaining();
+        WALSegment.writeFully(channel, pending, flushedOffset);
+        flushedOffset += length;
+        pending.clear();
+    }
+
+    /**
+     * Fecha o segmento atual (cheio) e cria o próximo. O canal antigo só
+     * é fechado depois de sincronizado, no próximo flush.
+     */
+    private void switchSegment() throws IOException {
+        writePending();
+        retired.add(channel);
+        openSegment(segmentNumber + 1);
+    }
+
+    /**
+     * Fecha os segmentos cheios; com syncOnWrite, sincroniza cada um
+     * antes, já que um registro sem espera pode ter ficado só neles.
+     */
+    private void closeRetired() throws IOException {
+        for (FileChannel old : retired) {
+            if (syncOnWrite) {
+                force(old);
+            }
+            old.close();
+        }
+        retired.clear();
+    }
+
+    /**
+     * fsync de um segmento. Dados apenas: o tamanho nunca muda.
+     */
+    private void force(FileChannel segment) throws IOException {
+        segment.force(false);
+        syncCount.increment();
     }
 
     /**
@@ -71,64 +384,329 @@ public class WALWriter implements AutoCloseable {
      *
      * @throws IOException Se erro de I/O
      */
-    public synchronized void flush() throws IOException {
-        if (writer != null) {
-            writer.flush();
-            if (fileOutputStream != null && syncOnWrite) {
-                fileOutputStream.getFD().sync();
+    public void flush() throws IOException {
+        syncLock.lock();
+        try {
+            syncPending(syncOnWrite);
+        } finally {
+            syncLock.unlock();
+        }
+    }
+
+    /**
+     * Entrega os registros pendentes ao canal e, se pedido, faz fsync.
+     * Os registros cobertos são marcados como duráveis para o group commit.
+     * Deve ser chamado com syncLock adquirido.
+     */
+    private void syncPending(boolean sync) throws IOException {
+        List<FileChannel> channels;
+        long target;
+
+        synchronized (this) {
+            if (channel == null) {
+                return;
+            }
+            writePending();
+            channels = new ArrayList<>(retired);
+            channels.add(channel);
+            retired.clear();
+            target = nextLsn - 1;
+        }
+
+        // O fsync roda fora do monitor: novos registros podem ser
+        // acrescentados ao buffer enquanto o disco trabalha. Um segmento
+        // cheio é sempre sincronizado antes de fechar (com syncOnWrite):
+        // depois de fechado, nenhum fsync posterior o cobre
+        for (int i = 0; i < channels.size(); i++) {
+            FileChannel ch = channels.get(i);
+            boolean last = i == channels.size() - 1;
+            if (sync || (syncOnWrite && !last)) {
+                force(ch);
             }
+            if (!last) {
+                ch.close();
+            }
+        }
+
+        if (sync) {
+            markDurable(target);
         }
     }
 
+    // ================================================================
+    // GROUP COMMIT
+    // ================================================================
+
     /**
-     * Rotaciona o WAL usando cópia em vez de move.
-     * Mais robusto no Windows onde arquivos podem ficar locked.
+     * Liga o group commit e inicia a thread de flush.
      *
-     * @param backupPath Caminho para backup do WAL antigo
-     * @throws IOException Se erro de I/O
+     * @param maxBatchSize Registros que disparam o flush imediatamente
+     * @param maxWaitMicros Tempo máximo que um registro espera pelo lote
+     */
+    public void enableGroupCommit(int maxBatchSize, long maxWaitMicros) {
+        if (!syncOnWrite) {
+            throw new IllegalStateException("Group commit requer syncOnWrite");
+        }
+        if (maxBatchSize < 1 || maxWaitMicros < 0) {
+            throw new IllegalArgumentException("Invalid: parâmetros de group commit");
+        }
+
+        commitLock.lock();
+        try {
+            if (groupCommit) {
+                return;
+            }
+
+            this.maxBatchSize = maxBatchSize;
+            this.maxWaitNanos = TimeUnit.MICROSECONDS.toNanos(maxWaitMicros);
+            this.appendedLsn = durableLsn;
+            this.commitFailure = null;
+
+            this.flusher = new Thread(this::runFlusher, "wal-group-commit");
+            this.flusher.setDaemon(true);
+            this.groupCommit = true;
+            this.flusher.start();
+        } finally {
+            commitLock.unlock();
+        }
+    }
+
+    /**
+     * Desliga o group commit, gravando os registros pendentes.
      */
-    public synchronized void rotate(Path backupPath) throws IOException {
-        // 1. Flush tudo antes
-        if (writer != null) {
-            writer.flush();
+    public void disableGroupCommit() {
+        Thread thread;
+
+        commitLock.lock();
+        try {
+            if (!groupCommit) {
+                return;
+            }
+            groupCommit = false;
+            thread = flusher;
+            flusher = null;
+            pendingRecords.signalAll();
+            durableRecords.signalAll();
+        } finally {
+            commitLock.unlock();
+        }
+
+        try {
+            thread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    public boolean isGroupCommitEnabled() {
+        return groupCommit;
+    }
+
+    private void awaitGroupCommit(long lsn) throws IOException {
+        commitLock.lock();
+        try {
+            appendedLsn = Math.max(appendedLsn, lsn);
+            pendingRecords.signal();
+
+            while (durableLsn < lsn && commitFailure == null && groupCommit) {
+                durableRecords.awaitUninterruptibly();
+            }
+
+            if (durableLsn < lsn && commitFailure != null) {
+                throw new IOException("Falha no fsync do WAL: " + commitFailure.getMessage(), commitFailure);
+            }
+        } finally {
+            commitLock.unlock();
+        }
+
+        // Group commit desligado enquanto esperava: sincroniza direto
+        if (durableLsn() < lsn) {
+            flush();
+        }
+    }
+
+    private long durableLsn() {
+        commitLock.lock();
+        try {
+            return durableLsn;
+        } finally {
+            commitLock.unlock();
         }
-        if (fileOutputStream != null) {
-            fileOutputStream.flush();
+    }
+
+    private void markDurable(long lsn) {
+        commitLock.lock();
+        try {
+            if (lsn > durableLsn) {
+                durableLsn = lsn;
+                durableRecords.signalAll();
+            }
+        } finally {
+            commitLock.unlock();
         }
+    }
 
-        // 2. Copiar arquivo atual para backup (não fecha, apenas copia)
-        if (Files.exists(walPath) && Files.size(walPath) > 0) {
+    /**
+     * Laço da thread de flush: espera registros, deixa o lote crescer
+     * até maxBatchSize ou maxWaitMicros e faz um único fsync.
+     */
+    private void runFlusher() {
+        while (true) {
+            commitLock.lock();
             try {
-                Files.copy(walPath, backupPath, StandardCopyOption.REPLACE_EXISTING);
+                while (groupCommit && appendedLsn <= durableLsn) {
+                    pendingRecords.awaitUninterruptibly();
+                }
+
+                if (!groupCommit && appendedLsn <= durableLsn) {
+                    return;
+                }
+
+                long deadline = System.nanoTime() + maxWaitNanos;
+                while (groupCommit && appendedLsn - durableLsn < maxBatchSize) {
+                    long remaining = deadline - System.nanoTime();
+                    if (remaining <= 0) {
+                        break;
+                    }
+                    try {
+                        pendingRecords.awaitNanos(remaining);
+                    } catch (InterruptedException e) {
+                        break;
+                    }
+                }
+            } finally {
+                commitLock.unlock();
+            }
+
+            syncLock.lock();
+            try {
+                syncPending(true);
             } catch (IOException e) {
-                System.err.println("Aviso: Não foi possível criar backup do WAL: " + e.getMessage());
-                // Continuar mesmo assim
+                commitLock.lock();
+                try {
+                    commitFailure = e;
+                    durableRecords.signalAll();
+                } finally {
+                    commitLock.unlock();
+                }
+                return;
+            } finally {
+                syncLock.unlock();
             }
         }
+    }
+
+    // ================================================================
+    // CHECKPOINT
+    // ================================================================
 
-        // 3. Fechar arquivo atual
-        if (writer != null) {
-            writer.close();
-            writer = null;
+    /**
+     * Aposenta os segmentos já cobertos por um checkpoint: todo segmento
+     * (exceto o atual) cujo último registro tem LSN até checkpointLsn é
+     * renomeado para reuso. Nada é copiado; o segmento atual continua.
+     *
+     * @param checkpointLsn Último LSN incluído no snapshot
+     * @return Número de segmentos aposentados
+     * @throws IOException Se erro de I/O
+     */
+    public int checkpoint(long checkpointLsn) throws IOException {
+        syncLock.lock();
+        try {
+            // Fecha os canais de segmentos cheios (sincronizados com group commit)
+            syncPending(groupCommit);
+
+            synchronized (this) {
+                int retiredCount = retireSegments(checkpointLsn);
+                this.operationCount = 0;
+                this.bytesSinceCheckpoint = flushedOffset + pending.position() - WALSegment.HEADER_SIZE;
+                return retiredCount;
+            }
+        } finally {
+            syncLock.unlock();
+        }
+    }
+
+    private int retireSegments(long checkpointLsn) throws IOException {
+        closeRetired();
+
+        // Registros do WAL antigo vêm antes do primeiro segmento
+        if (segmentBases.firstEntry().getValue() - 1 <= checkpointLsn) {
+            Files.deleteIfExists(walPath);
+        }
+
+        int retiredCount = 0;
+        while (segmentBases.firstKey() < segmentNumber) {
+            Map.Entry<Long, Long> oldest = segmentBases.firstEntry();
+            long lastLsn = segmentBases.higherEntry(oldest.getKey()).getValue() - 1;
+
+            if (lastLsn > checkpointLsn) {
+                break;
+            }
+
+            WALSegment.retire(walPath, oldest.getKey(), segmentSize);
+            segmentBases.remove(oldest.getKey());
+            retiredCount++;
         }
-        if (fileOutputStream != null) {
-            fileOutputStream.close();
-            fileOutputStream = null;
+
+        if (retiredCount > 0) {
+            WALCheckpointIndex.retain(walPath, segmentBases.firstKey(), Long.MAX_VALUE);
         }
 
-        // 4. Esperar um pouco para o SO liberar
+        return retiredCount;
+    }
+
+    /**
+     * Garante que o próximo LSN seja maior que o do snapshot.
+     *
+     * Se o fim do WAL se perdeu (sem syncOnWrite, por exemplo) e o
+     * snapshot é mais novo que o último registro, todo o WAL já está no
+     * snapshot: os segmentos são aposentados e a numeração continua a
+     * partir de checkpointLsn, para que o replay não pule registros novos.
+     *
+     * @param checkpointLsn LSN gravado no snapshot
+     * @throws IOException Se erro de I/O
+     */
+    public void startAfter(long checkpointLsn) throws IOException {
+        syncLock.lock();
         try {
-            Thread.sleep(200);
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
+            syncPending(groupCommit);
+
+            synchronized (this) {
+                if (nextLsn > checkpointLsn) {
+                    return;
+                }
+
+                nextLsn = checkpointLsn + 1;
+                channel.close();
+                channel = null;
+
+                // Novo segmento vazio com a base correta; os demais ficam obsoletos
+                long previous = segmentNumber;
+                openSegment(previous + 1);
+                retireSegments(checkpointLsn);
+                this.bytesSinceCheckpoint = 0;
+            }
+        } finally {
+            syncLock.unlock();
         }
+    }
 
-        // 5. Reabrir arquivo TRUNCANDO (limpa o conteúdo)
-        // Isso é equivalente a criar novo arquivo, mas não precisa mover/deletar
-        this.fileOutputStream = new FileOutputStream(walPath.toFile(), false);  // false = truncate
-        this.writer = new BufferedWriter(new OutputStreamWriter(fileOutputStream));
+    /**
+     * Retorna o LSN que será atribuído ao próximo registro.
+     *
+     * @return Próximo LSN
+     */
+    public synchronized long getNextLsn() {
+        return nextLsn;
+    }
 
-        this.operationCount = 0;
+    /**
+     * Retorna o número do segmento atual.
+     *
+     * @return Número do segmento
+     */
+    public synchronized long getSegmentNumber() {
+        return segmentNumber;
     }
 
     /**
@@ -148,35 +726,76 @@ public class WALWriter implements AutoCloseable {
     }
 
     /**
-     * Retorna tamanho do arquivo WAL em bytes.
+     * Retorna o volume de registros escritos desde o último checkpoint
+     * (incluindo os que ficaram no segmento atual).
+     * Os segmentos pré-alocados têm tamanho fixo; conta-se só o usado.
      *
      * @return Tamanho em bytes
-     * @throws IOException Se erro ao ler arquivo
+     * @throws IOException Se erro de I/O
      */
     public long getSize() throws IOException {
         flush();
-        return Files.size(walPath);
+        synchronized (this) {
+            return bytesSinceCheckpoint;
+        }
+    }
+
+    /**
+     * Retorna quantos segmentos estão no WAL (incluindo o atual).
+     *
+     * @return Número de segmentos ativos
+     */
+    public synchronized int getSegmentCount() {
+        return segmentBases.size();
+    }
+
+    /**
+     * Retorna quantos segmentos aposentados aguardam reuso.
+     *
+     * @return Número de segmentos reciclados
+     * @throws IOException Se erro ao listar o diretório
+     */
+    public int getRecycledCount() throws IOException {
+        return WALSegment.listRecycled(walPath).size();
     }
 
     @Override
-    public synchronized void close() throws IOException {
-        if (writer != null) {
-            writer.flush();
-            writer.close();
-            writer = null;
-        }
-        if (fileOutputStream != null) {
-            fileOutputStream.close();
-            fileOutputStream = null;
+    public void close() throws IOException {
+        disableGroupCommit();
+
+        syncLock.lock();
+        try {
+            synchronized (this) {
+                if (channel != null) {
+                    writePending();
+                    closeRetired();
+                    if (syncOnWrite) {
+                        force(channel);
+                    }
+                    channel.close();
+                    channel = null;
+                }
+            }
+        } finally {
+            syncLock.unlock();
         }
     }
 
+    /**
+     * Retorna o número de fsyncs executados.
+     *
+     * @return Contagem de fsyncs
+     */
+    public long getSyncCount() {
+        return syncCount.sum();
+    }
+
     /**
      * Verifica se o writer está aberto.
      *
      * @return true se aberto
      */
-    public boolean isOpen() {
-        return writer != null && fileOutputStream != null;
+    public synchronized boolean isOpen() {
+        return channel != null;
     }
-}
\ No newline at end of file
+}
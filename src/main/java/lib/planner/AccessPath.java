@@ -0,0 +1,73 @@
+package lib.planner;
+
+import lib.Users;
+import lib.index.IndexManager;
+import lib.index.SlotBitmap;
+import lib.storage.TableView;
+
+import java.util.function.Predicate;
+
+/**
+ * Caminho de acesso (nó do plano de execução) de uma cláusula WHERE.
+ *
+ * Cada nó produz diretamente os slots dos registros que satisfazem
+ * sua condição, como um SlotBitmap (AND/OR viram operações de bitmap). Nós indexados (seek,
+ * range, intersect, union) nunca percorrem a tabela inteira; apenas
+ * FullScan visita todos os slots.
+ *
+ * Todo nó também expõe um Predicate equivalente, usado quando o
+ * planner precisa avaliar a condição como filtro residual.
+ *
+ * Os índices guardam todas as versões de um registro até a compactação,
+ * então nós indexados podem devolver slots que não são visíveis na
+ * leitura; quem executa o plano filtra o resultado por isLive.
+ *
+ * @author SQL Parser Team
+ * @version 1.1
+ */
+public abstract class AccessPath {
+
+    private final Predicate<Users> predicate;
+
+    protected AccessPath(Predicate<Users> predicate) {
+        this.predicate = predicate;
+    }
+
+    /**
+     * Executa o caminho de acesso.
+     *
+     * @param indexes Índices da tabela
+     * @param storage Leitura da tabela (armazenamento ou visão confirmada)
+     * @return Slots encontrados (pode ser um bitmap do próprio índice,
+     *         que não deve ser modificado)
+     */
+    public abstract SlotBitmap execute(IndexManager indexes, TableView storage);
+
+    /**
+     * Indica se o caminho é guiado por índice (não varre a tabela).
+     *
+     * @return true se usa índice
+     */
+    public abstract boolean usesIndex();
+
+    /**
+     * Retorna a descrição do plano (para diagnóstico).
+     *
+     * @return Descrição legível
+     */
+    public abstract String describe();
+
+    /**
+     * Retorna o predicado equivalente a este caminho.
+     *
+     * @return Predicado sobre Users
+     */
+    public Predicate<Users> predicate() {
+        return predicate;
+    }
+
+    @Override
+    public String toString() {
+        return describe();
+    }
+}
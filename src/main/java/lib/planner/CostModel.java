@@ -0,0 +1,143 @@
+package lib.planner;
+
+import lib.index.IndexManager;
+
+/**
+ * Modelo de custo do planner.
+ *
+ * Estima, a partir das estatísticas dos índices, quantos registros
+ * cada caminho de acesso produz e quanto trabalho custa executá-lo.
+ * As unidades são relativas: 1.0 equivale a carregar e testar um
+ * registro durante uma varredura completa.
+ *
+ * Custos:
+ * - Seek/Range: custo fixo de busca + custo por slot retornado
+ * - Intersect/Union: soma dos filhos + merge dos slots
+ * - Filter: custo do caminho guia + teste de cada candidato
+ * - FullScan: teste de todos os registros da tabela
+ *
+ * @author SQL Parser Team
+ * @version 1.0
+ */
+public class CostModel {
+
+    // Custo fixo de uma busca no índice
+    static final double LOOKUP_COST = 4.0;
+
+    // Custo por slot lido do índice (lista de boxing + ordenação)
+    static final double INDEX_ROW_COST = 2.0;
+
+    // Custo por slot no merge de Intersect/Union
+    static final double MERGE_ROW_COST = 0.2;
+
+    // Custo por registro carregado e testado
+    static final double SCAN_ROW_COST = 1.0;
+
+    // Seletividade assumida para condições sem índice (ex: LIKE)
+    static final double DEFAULT_SELECTIVITY = 0.25;
+
+    private final IndexManager indexes;
+
+    public CostModel(IndexManager indexes) {
+        this.indexes = indexes;
+    }
+
+    /**
+     * Retorna o número de registros vivos na tabela.
+     *
+     * @return Cardinalidade da tabela
+     */
+    public double tableRows() {
+        return indexes.getStatistics("id").getRowCount();
+    }
+
+    /**
+     * Estima quantos registros o caminho produz.
+     *
+     * @param path Caminho de acesso
+     * @return Número estimado de registros
+     */
+    public double estimateRows(AccessPath path) {
+        double rows = tableRows();
+
+        if (path instanceof IndexSeek seek) {
+            return indexes.getStatistics(seek.getColumn()).estimateEquality(seek.getKey());
+        }
+
+        if (path instanceof IndexRange range) {
+            return indexes.getStatistics(range.getColumn()).estimateRange(range.getMin(), range.getMax());
+        }
+
+        if (path instanceof IndexIntersect intersect) {
+            // Condições assumidas independentes
+            double estimate = rows;
+            for (AccessPath input : intersect.getInputs()) {
+                estimate *= selectivity(input, rows);
+            }
+            return estimate;
+        }
+
+        if (path instanceof IndexUnion union) {
+            double estimate = 0;
+            for (AccessPath input : union.getInputs()) {
+                estimate += estimateRows(input);
+            }
+            return Math.min(rows, estimate);
+        }
+
+        if (path instanceof Filter filter) {
+            double estimate = estimateRows(filter.getInput());
+            for (AccessPath residual : filter.getResiduals()) {
+                estimate *= selectivity(residual, rows);
+            }
+            return estimate;
+        }
+
+        return rows * DEFAULT_SELECTIVITY;
+    }
+
+    /**
+     * Estima o custo de executar o caminho.
+     *
+     * @param path Caminho de acesso
+     * @return Custo estimado
+     */
+    public double cost(AccessPath path) {
+        if (path instanceof IndexSeek || path instanceof IndexRange) {
+            return LOOKUP_COST + estimateRows(path) * INDEX_ROW_COST;
+        }
+
+        if (path instanceof IndexIntersect intersect) {
+            return mergeCost(intersect.getInputs());
+        }
+
+        if (path instanceof IndexUnion union) {
+            return mergeCost(union.getInputs());
+        }
+
+        if (path instanceof Filter filter) {
+            AccessPath input = filter.getInput();
+            return cost(input) + estimateRows(input) * SCAN_ROW_COST;
+        }
+
+        return tableRows() * SCAN_ROW_COST;
+    }
+
+    private double mergeCost(Iterable<AccessPath> inputs) {
+        double total = 0;
+
+        for (AccessPath input : inputs) {
+            total += cost(input) + estimateRows(input) * MERGE_ROW_COST;
+        }
+
+        return total;
+    }
+
+    private double selectivity(AccessPath path, double rows) {
+        if (!path.usesIndex() || rows == 0) {
+            return DEFAULT_SELECTIVITY;
+        }
+
+        return Math.min(1.0, estimateRows(path) / rows);
+    }
+}
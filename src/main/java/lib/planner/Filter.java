@@ -0,0 +1,90 @@
+package lib.planner;
+
+import lib.Users;
+import lib.index.IndexManager;
+import lib.index.SlotBitmap;
+import lib.storage.TableView;
+
+import java.util.List;
+import java.util.function.Predicate;
+
+/**
+ * Filtro residual sobre um caminho indexado.
+ *
+ * Usado em AND quando só parte das condições tem índice:
+ * o índice escolhe os candidatos e o predicado residual
+ * é avaliado apenas sobre eles.
+ *
+ * As condições residuais são mantidas como caminhos de acesso para
+ * que o planner possa reconsiderá-las ao escolher outro índice guia.
+ *
+ * @author SQL Parser Team
+ * @version 1.1
+ */
+public class Filter extends AccessPath {
+
+    private final AccessPath input;
+    private final List<AccessPath> residuals;
+    private final Predicate<Users> residual;
+
+    public Filter(AccessPath input, List<AccessPath> residuals) {
+        this(input, residuals, combine(residuals));
+    }
+
+    private Filter(AccessPath input, List<AccessPath> residuals, Predicate<Users> residual) {
+        super(input.predicate().and(residual));
+        this.input = input;
+        this.residuals = List.copyOf(residuals);
+        this.residual = residual;
+    }
+
+    @Override
+    public SlotBitmap execute(IndexManager indexes, TableView storage) {
+        SlotBitmap result = new SlotBitmap();
+        Users cursor = new Users(0, null, 0, null);
+
+        input.execute(indexes, storage).forEach(slot -> {
+            if (!storage.isLive(slot)) {
+                return;  // Versão que a leitura não enxerga
+            }
+
+            storage.load(slot, cursor);
+
+            if (residual.test(cursor)) {
+                result.add(slot);
+            }
+        });
+
+        return result;
+    }
+
+    @Override
+    public boolean usesIndex() {
+        return input.usesIndex();
+    }
+
+    @Override
+    public String describe() {
+        return "Filter(" + input.describe() + ")";
+    }
+
+    public AccessPath getInput() {
+        return input;
+    }
+
+    public List<AccessPath> getResiduals() {
+        return residuals;
+    }
+
+    public Predicate<Users> getResidual() {
+        return residual;
+    }
+
+    private static Predicate<Users> combine(List<AccessPath> paths) {
+        Predicate<Users> result = paths.get(0).predicate();
+        for (int i = 1; i < paths.size(); i++) {
+            result = result.and(paths.get(i).predicate());
+        }
+        return result;
+    }
+}
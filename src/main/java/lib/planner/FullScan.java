@@ -0,0 +1,57 @@
+package lib.planner;
+
+import lib.Users;
+import lib.index.IndexManager;
+import lib.index.SlotBitmap;
+import lib.storage.TableView;
+
+import java.util.function.Predicate;
+
+/**
+ * Varredura completa da tabela testando um predicado.
+ *
+ * Usado quando nenhuma condição pode ser respondida por índice
+ * (ex: LIKE, ou OR com um lado sem índice).
+ *
+ * @author SQL Parser Team
+ * @version 1.1
+ */
+public class FullScan extends AccessPath {
+
+    public FullScan(Predicate<Users> predicate) {
+        super(predicate);
+    }
+
+    @Override
+    public SlotBitmap execute(IndexManager indexes, TableView storage) {
+        Predicate<Users> condition = predicate();
+        SlotBitmap result = new SlotBitmap();
+
+        // Um único objeto é reutilizado para testar cada slot
+        Users cursor = new Users(0, null, 0, null);
+
+        for (int slot = 0; slot < storage.capacity(); slot++) {
+            if (!storage.isLive(slot)) {
+                continue;
+            }
+
+            storage.load(slot, cursor);
+
+            if (condition.test(cursor)) {
+                result.add(slot);
+            }
+        }
+
+        return result;
+    }
+
+    @Override
+    public boolean usesIndex() {
+        return false;
+    }
+
+    @Override
+    public String describe() {
+        return "FullScan";
+    }
+}
@@ -0,0 +1,61 @@
+package lib.planner;
+
+import lib.Users;
+import lib.index.IndexManager;
+import lib.index.SlotBitmap;
+import lib.storage.TableView;
+
+import java.util.function.Predicate;
+
+/**
+ * Busca por intervalo em um índice B-Tree: WHERE coluna BETWEEN min AND max.
+ *
+ * @author SQL Parser Team
+ * @version 1.1
+ */
+public class IndexRange extends AccessPath {
+
+    private final String column;
+    private final int min;
+    private final int max;
+
+    /**
+     * @param column Coluna indexada (ordenada)
+     * @param min Limite inferior (inclusivo)
+     * @param max Limite superior (inclusivo)
+     * @param predicate Predicado equivalente
+     */
+    public IndexRange(String column, int min, int max, Predicate<Users> predicate) {
+        super(predicate);
+        this.column = column;
+        this.min = min;
+        this.max = max;
+    }
+
+    @Override
+    public SlotBitmap execute(IndexManager indexes, TableView storage) {
+        return indexes.rangeSlots(column, min, max);
+    }
+
+    @Override
+    public boolean usesIndex() {
+        return true;
+    }
+
+    @Override
+    public String describe() {
+        return "IndexRange(" + column + " BETWEEN " + min + " AND " + max + ")";
+    }
+
+    public String getColumn() {
+        return column;
+    }
+
+    public int getMin() {
+        return min;
+    }
+
+    public int getMax() {
+        return max;
+    }
+}
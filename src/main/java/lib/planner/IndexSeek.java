@@ -0,0 +1,54 @@
+package lib.planner;
+
+import lib.Users;
+import lib.index.IndexManager;
+import lib.index.SlotBitmap;
+import lib.storage.TableView;
+
+import java.util.function.Predicate;
+
+/**
+ * Busca por igualdade em um índice: WHERE coluna = valor.
+ *
+ * @author SQL Parser Team
+ * @version 1.1
+ */
+public class IndexSeek extends AccessPath {
+
+    private final String column;
+    private final Object key;
+
+    /**
+     * @param column Coluna indexada
+     * @param key Valor buscado (Integer para id/age, String para name/city)
+     * @param predicate Predicado equivalente
+     */
+    public IndexSeek(String column, Object key, Predicate<Users> predicate) {
+        super(predicate);
+        this.column = column;
+        this.key = key;
+    }
+
+    @Override
+    public SlotBitmap execute(IndexManager indexes, TableView storage) {
+        return indexes.seekSlots(column, key);
+    }
+
+    @Override
+    public boolean usesIndex() {
+        return true;
+    }
+
+    @Override
+    public String describe() {
+        return "IndexSeek(" + column + " = " + key + ")";
+    }
+
+    public String getColumn() {
+        return column;
+    }
+
+    public Object getKey() {
+        return key;
+    }
+}
@@ -0,0 +1,61 @@
+package lib.planner;
+
+import lib.Users;
+import lib.index.IndexManager;
+import lib.index.SlotBitmap;
+import lib.storage.TableView;
+
+import java.util.List;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+/**
+ * União de caminhos indexados: cond1 OR cond2 OR ...
+ *
+ * @author SQL Parser Team
+ * @version 1.1
+ */
+public class IndexUnion extends AccessPath {
+
+    private final List<AccessPath> inputs;
+
+    public IndexUnion(List<AccessPath> inputs) {
+        super(combine(inputs));
+        this.inputs = List.copyOf(inputs);
+    }
+
+    @Override
+    public SlotBitmap execute(IndexManager indexes, TableView storage) {
+        SlotBitmap result = inputs.get(0).execute(indexes, storage);
+
+        for (int i = 1; i < inputs.size(); i++) {
+            result = result.or(inputs.get(i).execute(indexes, storage));
+        }
+
+        return result;
+    }
+
+    @Override
+    public boolean usesIndex() {
+        return true;
+    }
+
+    @Override
+    public String describe() {
+        return inputs.stream()
+                .map(AccessPath::describe)
+                .collect(Collectors.joining(", ", "Union(", ")"));
+    }
+
+    public List<AccessPath> getInputs() {
+        return inputs;
+    }
+
+    private static Predicate<Users> combine(List<AccessPath> inputs) {
+        Predicate<Users> result = inputs.get(0).predicate();
+        for (int i = 1; i < inputs.size(); i++) {
+            result = result.or(inputs.get(i).predicate());
+        }
+        return result;
+    }
+}
@@ -0,0 +1,275 @@
+package lib.planner;
+
+import lib.Users;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Predicate;
+
+/**
+ * Planner de consultas: converte as condições do WHERE em caminhos
+ * de acesso (AccessPath).
+ *
+ * Regras:
+ * - coluna = valor com índice          → IndexSeek
+ * - age BETWEEN a AND b                → IndexRange
+ * - AND com ao menos um lado indexado  → Intersect dos lados indexados
+ *                                        + Filter com os demais
+ * - OR com todos os lados indexados    → Union
+ * - demais casos (LIKE, OR misto)      → FullScan
+ *
+ * O SQLVisitor percorre a árvore do WHERE e chama os métodos
+ * do planner de baixo para cima, e então passa o plano resultante
+ * por optimize().
+ *
+ * Com um CostModel, optimize() escolhe o plano mais barato: em um AND,
+ * apenas a condição indexada mais seletiva guia a busca e as demais
+ * viram filtro residual (ou, se nenhum índice compensa, FullScan).
+ * Sem CostModel, as regras acima são aplicadas como estão.
+ *
+ * @author SQL Parser Team
+ * @version 1.1
+ */
+public class QueryPlanner {
+
+    private final CostModel costModel;
+
+    /**
+     * Planner baseado apenas em regras.
+     */
+    public QueryPlanner() {
+        this(null);
+    }
+
+    /**
+     * Planner baseado em custo.
+     *
+     * @param costModel Modelo de custo (null para usar apenas regras)
+     */
+    public QueryPlanner(CostModel costModel) {
+        this.costModel = costModel;
+    }
+
+    /**
+     * Plano para consultas sem WHERE.
+     *
+     * @return Varredura completa
+     */
+    public AccessPath scanAll() {
+        return new FullScan(user -> true);
+    }
+
+    /**
+     * Planeja uma condição de igualdade.
+     *
+     * @param column Nome da coluna
+     * @param value Valor literal (Integer, Double ou String)
+     * @param predicate Predicado equivalente
+     * @return Caminho de acesso
+     */
+    public AccessPath equality(String column, Object value, Predicate<Users> predicate) {
+        String col = column.toLowerCase();
+
+        switch (col) {
+            case "id", "age" -> {
+                Integer key = toInt(value);
+                if (key != null) {
+                    return new IndexSeek(col, key, predicate);
+                }
+            }
+            case "name", "city" -> {
+                if (value instanceof String) {
+                    return new IndexSeek(col, value, predicate);
+                }
+            }
+            default -> {
+            }
+        }
+
+        return new FullScan(predicate);
+    }
+
+    /**
+     * Planeja uma condição de intervalo.
+     *
+     * @param column Nome da coluna
+     * @param min Limite inferior (inclusivo)
+     * @param max Limite superior (inclusivo)
+     * @param predicate Predicado equivalente
+     * @return Caminho de acesso
+     */
+    public AccessPath range(String column, int min, int max, Predicate<Users> predicate) {
+        if (column.equalsIgnoreCase("age")) {
+            return new IndexRange("age", min, max, predicate);
+        }
+
+        return new FullScan(predicate);
+    }
+
+    /**
+     * Planeja uma condição sem suporte de índice (ex: LIKE).
+     *
+     * @param predicate Predicado da condição
+     * @return Varredura completa
+     */
+    public AccessPath scan(Predicate<Users> predicate) {
+        return new FullScan(predicate);
+    }
+
+    /**
+     * Combina dois caminhos com AND.
+     * Os lados indexados são intersectados; os demais viram filtro residual.
+     */
+    public AccessPath and(AccessPath left, AccessPath right) {
+        List<AccessPath> indexed = new ArrayList<>();
+        List<AccessPath> residuals = new ArrayList<>();
+
+        collectConjuncts(left, indexed, residuals);
+        collectConjuncts(right, indexed, residuals);
+
+        if (indexed.isEmpty()) {
+            return new FullScan(left.predicate().and(right.predicate()));
+        }
+
+        AccessPath driver = indexed.size() == 1
+                ? indexed.get(0)
+                : new IndexIntersect(indexed);
+
+        return residuals.isEmpty() ? driver : new Filter(driver, residuals);
+    }
+
+    /**
+     * Combina dois caminhos com OR.
+     * Só usa índice se ambos os lados forem indexados.
+     */
+    public AccessPath or(AccessPath left, AccessPath right) {
+        if (!left.usesIndex() || !right.usesIndex()) {
+            return new FullScan(left.predicate().or(right.predicate()));
+        }
+
+        List<AccessPath> inputs = new ArrayList<>();
+        collectDisjuncts(left, inputs);
+        collectDisjuncts(right, inputs);
+
+        return new IndexUnion(inputs);
+    }
+
+    // ================================================================
+    // OTIMIZAÇÃO POR CUSTO
+    // ================================================================
+
+    /**
+     * Escolhe o plano mais barato equivalente ao informado.
+     * Sem CostModel, retorna o próprio plano.
+     *
+     * @param path Plano montado por equality/range/and/or
+     * @return Plano a executar
+     */
+    public AccessPath optimize(AccessPath path) {
+        if (costModel == null || !path.usesIndex()) {
+            return path;
+        }
+
+        if (path instanceof IndexIntersect || path instanceof Filter) {
+            return optimizeConjunction(path);
+        }
+
+        if (path instanceof IndexUnion union) {
+            List<AccessPath> inputs = new ArrayList<>();
+            for (AccessPath input : union.getInputs()) {
+                AccessPath optimized = optimize(input);
+                if (!optimized.usesIndex()) {
+                    return new FullScan(path.predicate());
+                }
+                inputs.add(optimized);
+            }
+            return cheapest(new IndexUnion(inputs), new FullScan(path.predicate()));
+        }
+
+        return cheapest(path, new FullScan(path.predicate()));
+    }
+
+    /**
+     * Candidatos para um AND:
+     * - cada condição indexada guiando, com as demais como filtro residual
+     * - interseção de todas as condições indexadas
+     * - varredura completa
+     */
+    private AccessPath optimizeConjunction(AccessPath path) {
+        List<AccessPath> indexed = new ArrayList<>();
+        List<AccessPath> residuals = new ArrayList<>();
+        collectConjuncts(path, indexed, residuals);
+
+        List<AccessPath> all = new ArrayList<>(indexed);
+        all.addAll(residuals);
+
+        AccessPath best = new FullScan(path.predicate());
+
+        for (AccessPath conjunct : indexed) {
+            AccessPath driver = optimize(conjunct);
+            if (!driver.usesIndex()) {
+                continue;
+            }
+
+            List<AccessPath> rest = new ArrayList<>(all);
+            rest.remove(conjunct);
+
+            best = cheapest(best, rest.isEmpty() ? driver : new Filter(driver, rest));
+        }
+
+        if (indexed.size() > 1) {
+            AccessPath intersect = new IndexIntersect(indexed);
+            best = cheapest(best, residuals.isEmpty() ? intersect : new Filter(intersect, residuals));
+        }
+
+        return best;
+    }
+
+    private AccessPath cheapest(AccessPath a, AccessPath b) {
+        return costModel.cost(b) < costModel.cost(a) ? b : a;
+    }
+
+    // ================================================================
+    // AUXILIARES
+    // ================================================================
+
+    private void collectConjuncts(AccessPath path, List<AccessPath> indexed,
+                                  List<AccessPath> residuals) {
+        if (path instanceof IndexIntersect intersect) {
+            indexed.addAll(intersect.getInputs());
+        } else if (path instanceof Filter filter) {
+            collectConjuncts(filter.getInput(), indexed, residuals);
+            for (AccessPath residual : filter.getResiduals()) {
+                collectConjuncts(residual, indexed, residuals);
+            }
+        } else if (path.usesIndex()) {
+            indexed.add(path);
+        } else {
+            residuals.add(path);
+        }
+    }
+
+    private void collectDisjuncts(AccessPath path, List<AccessPath> inputs) {
+        if (path instanceof IndexUnion union) {
+            inputs.addAll(union.getInputs());
+        } else {
+            inputs.add(path);
+        }
+    }
+
+    private Integer toInt(Object value) {
+        if (value instanceof Integer) {
+            return (Integer) value;
+        }
+
+        if (value instanceof String) {
+            try {
+                return Integer.parseInt((String) value);
+            } catch (NumberFormatException e) {
+                return null;
+            }
+        }
+
+        return null;
+    }
+}
@@ -0,0 +1,634 @@
+package lib.storage;
+
+import lib.Users;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Armazenamento colunar da tabela users em arrays primitivos.
+ *
+ * Layout:
+ * - id   → int[]
+ * - age  → int[]
+ * - name → int[] de códigos (StringDictionary)
+ * - city → int[] de códigos (StringDictionary)
+ *
+ * Não existe um objeto por linha: uma varredura percorre arrays
+ * contíguos de int, e objetos Users só são criados para os
+ * registros que realmente serão devolvidos.
+ *
+ * Cada slot é uma versão de um registro, com o timestamp de confirmação
+ * em que passou a valer (begins) e em que deixou de valer (ends, ALIVE
+ * enquanto é a versão atual). DELETE só grava o fim da versão; UPDATE
+ * grava uma nova versão em um slot novo e encerra a anterior. Os slots
+ * continuam estáveis para os índices, e quando as versões encerradas
+ * passam de uma fração da tabela, compact() reorganiza as colunas.
+ * Para não parar as escritas durante a reorganização, o vacuum usa a
+ * compactação em duas fases (beginCompaction/finishCompaction, ver
+ * {@link Compaction}): as colunas novas são montadas sem lock a partir
+ * da visão publicada e, na instalação, só os slots alterados desde a
+ * captura são reaplicados.
+ *
+ * Um localizador id → slot (IntIntMap) aponta para a versão atual e
+ * torna DELETE/UPDATE por id O(1).
+ *
+ * commit() publica uma visão (StorageSnapshot) com o timestamp atual,
+ * lida sem lock por outras threads em readView(). A visão compartilha
+ * as colunas; a primeira alteração in-place de uma coluna compartilhada
+ * a copia antes (copy-on-write), e a compactação sempre monta arrays
+ * novos, então o custo da publicação não depende do tamanho e as
+ * versões antigas são liberadas pelo GC quando nenhuma visão as usa.
+ *
+ * Os ids alterados desde a última captura (inseridos, atualizados ou
+ * removidos) são registrados e entregues junto com o snapshot, para
+ * checkpoints incrementais gravarem só as linhas alteradas.
+ *
+ * Escritas ainda não confirmadas podem ser desfeitas: uma versão
+ * inserida é encerrada no próprio timestamp em que começou (nunca
+ * visível) e restore() reabre uma versão encerrada por elas.
+ *
+ * @author SQL Parser Team
+ * @version 2.2
+ */
+public class ColumnarStorage implements TableStorage {
+
+    private static final int INITIAL_CAPACITY = 64;
+
+    // Fim de uma versão ainda atual
+    static final long ALIVE = Long.MAX_VALUE;
+
+    // O fim de uma versão é gravado enquanto outras threads leem o array
+    private static final VarHandle ENDS = MethodHandles.arrayElementVarHandle(long[].class);
+
+    // Compactar quando ao menos 1/4 dos slots estiver removido
+    private static final int COMPACTION_MIN_DELETED = 32;
+    private static final int COMPACTION_RATIO = 4;
+
+    // Colunas compartilhadas com um snapshot (copy-on-write)
+    private static final int SHARED_IDS = 1;
+    private static final int SHARED_AGES = 2;
+    private static final int SHARED_NAMES = 4;
+    private static final int SHARED_CITIES = 8;
+    private static final int SHARED_ALL = SHARED_IDS | SHARED_AGES | SHARED_NAMES | SHARED_CITIES;
+
+    // Colunas
+    private int[] ids;
+    private int[] ages;
+    private int[] nameCodes;
+    private int[] cityCodes;
+
+    // Timestamps de confirmação de cada versão: [begin, end)
+    private long[] begins;
+    private long[] ends;
+
+    // Dicionários das colunas de texto
+    private StringDictionary names;
+    private StringDictionary cities;
+
+    // Localizador id → slot da versão atual
+    private IntIntMap locator;
+
+    // Estado
+    private int slotCount;   // Slots utilizados (inclui removidos)
+    private int liveCount;   // Registros válidos
+    private int sharedColumns;
+
+    // Versões
+    private long writeTs;                       // Timestamp das escritas ainda não confirmadas
+    private boolean dirty;                      // Há escritas desde a última publicação
+    private long generation;                    // Muda quando os slots são renumerados
+    private volatile StorageSnapshot published; // Última visão confirmada
+
+    // Compactação em duas fases em andamento (null se nenhuma)
+    private Compaction compacting;
+
+    // Ids alterados desde o último snapshot (valor não usado)
+    private IntIntMap changes;
+    private boolean changesComplete;
+
+    public ColumnarStorage() {
+        this(INITIAL_CAPACITY);
+    }
+
+    /**
+     * Construtor com capacidade inicial.
+     *
+     * @param initialCapacity Número de slots pré-alocados
+     */
+    public ColumnarStorage(int initialCapacity) {
+        int capacity = Math.max(initialCapacity, 1);
+        this.ids = new int[capacity];
+        this.ages = new int[capacity];
+        this.nameCodes = new int[capacity];
+        this.cityCodes = new int[capacity];
+        this.begins = new long[capacity];
+        this.ends = new long[capacity];
+        this.names = new StringDictionary();
+        this.cities = new StringDictionary();
+        this.locator = new IntIntMap(capacity);
+        this.slotCount = 0;
+        this.liveCount = 0;
+        this.changes = new IntIntMap();
+        this.changesComplete = true;
+        this.writeTs = 0;
+        publish();
+    }
+
+    @Override
+    public int insert(int id, String name, int age, String city) {
+        ensureCapacity(slotCount + 1);
+
+        int slot = slotCount++;
+        ids[slot] = id;
+        ages[slot] = age;
+        nameCodes[slot] = names.encode(name);
+        cityCodes[slot] = cities.encode(city);
+        begins[slot] = writeTs;
+        ends[slot] = ALIVE;
+        locator.put(id, slot);
+        changes.put(id, 0);
+
+        liveCount++;
+        dirty = true;
+        return slot;
+    }
+
+    @Override
+    public void delete(int slot) {
+        checkSlot(slot);
+
+        if (ends[slot] == ALIVE) {
+            ENDS.setOpaque(ends, slot, writeTs);
+            liveCount--;
+            changes.put(ids[slot], 0);
+            touch(slot);
+            dirty = true;
+
+            // Só remove do localizador se ainda aponta para este slot
+            if (locator.get(ids[slot]) == slot) {
+                locator.remove(ids[slot]);
+            }
+        }
+    }
+
+    @Override
+    public int update(int slot, String name, int age, String city) {
+        checkSlot(slot);
+
+        if (ends[slot] != ALIVE) {
+            throw new IllegalStateException("Invalid: versão já encerrada no slot " + slot);
+        }
+
+        int id = ids[slot];
+        int version = insert(id, name, age, city);
+
+        // A versão anterior continua visível para as leituras já abertas
+        ENDS.setOpaque(ends, slot, writeTs);
+        liveCount--;
+        touch(slot);
+        return version;
+    }
+
+    @Override
+    public void restore(int slot) {
+        checkSlot(slot);
+
+        // Só o fim gravado por uma escrita pendente pode ser desfeito:
+        // nenhuma visão publicada tem esse timestamp
+        if (ends[slot] != writeTs) {
+            throw new IllegalStateException("Invalid: versão do slot " + slot + " não foi encerrada pela escrita atual");
+        }
+
+        ENDS.setOpaque(ends, slot, ALIVE);
+        locator.put(ids[slot], slot);
+        liveCount++;
+        touch(slot);
+        dirty = true;
+    }
+
+    @Override
+    public boolean isLive(int slot) {
+        return slot >= 0 && slot < slotCount && ends[slot] == ALIVE;
+    }
+
+    @Override
+    public int findSlot(int id) {
+        return locator.get(id);
+    }
+
+    // ================================================================
+    // LEITURA
+    // ================================================================
+
+    @Override
+    public int getId(int slot) {
+        return ids[slot];
+    }
+
+    @Override
+    public String getName(int slot) {
+        return names.decode(nameCodes[slot]);
+    }
+
+    @Override
+    public int getAge(int slot) {
+        return ages[slot];
+    }
+
+    @Override
+    public String getCity(int slot) {
+        return cities.decode(cityCodes[slot]);
+    }
+
+    // ================================================================
+    // ESCRITA
+    // ================================================================
+
+    @Override
+    public void setName(int slot, String name) {
+        checkSlot(slot);
+        unshare(SHARED_NAMES);
+        nameCodes[slot] = names.encode(name);
+        changes.put(ids[slot], 0);
+        touch(slot);
+        dirty = true;
+    }
+
+    @Override
+    public void setAge(int slot, int age) {
+        checkSlot(slot);
+        unshare(SHARED_AGES);
+        ages[slot] = age;
+        changes.put(ids[slot], 0);
+        touch(slot);
+        dirty = true;
+    }
+
+    @Override
+    public void setCity(int slot, String city) {
+        checkSlot(slot);
+        unshare(SHARED_CITIES);
+        cityCodes[slot] = cities.encode(city);
+        changes.put(ids[slot], 0);
+        touch(slot);
+        dirty = true;
+    }
+
+    // ================================================================
+    // VERSÕES E SNAPSHOT
+    // ================================================================
+
+    @Override
+    public void commit() {
+        if (dirty) {
+            publish();
+        }
+    }
+
+    @Override
+    public StorageSnapshot readView() {
+        return published;
+    }
+
+    /**
+     * Publica as escritas feitas até aqui com o timestamp atual e passa
+     * para o próximo.
+     */
+    private void publish() {
+        published = new StorageSnapshot(ids, ages, nameCodes, cityCodes, names, cities,
+                begins, ends, slotCount, liveCount, writeTs, generation);
+
+        sharedColumns = SHARED_ALL;
+        dirty = false;
+        writeTs++;
+    }
+
+    @Override
+    public StorageSnapshot snapshot() {
+        commit();
+
+        // Estado final de cada id alterado: slot atual ou -1 se removido
+        int[] changedIds = changes.keys();
+        int[] changedSlots = new int[changedIds.length];
+        for (int i = 0; i < changedIds.length; i++) {
+            changedSlots[i] = locator.get(changedIds[i]);
+        }
+
+        StorageSnapshot snapshot = published.withChanges(changesComplete ? changedIds : null, changedSlots);
+
+        resetChanges();
+        return snapshot;
+    }
+
+    @Override
+    public void resetChanges() {
+        changes = new IntIntMap();
+        changesComplete = true;
+    }
+
+    /**
+     * Copia as colunas indicadas se ainda estão compartilhadas com um
+     * snapshot, antes de alterá-las in-place.
+     */
+    private void unshare(int columns) {
+        int shared = sharedColumns & columns;
+
+        if (shared == 0) {
+            return;
+        }
+
+        if ((shared & SHARED_IDS) != 0) {
+            ids = ids.clone();
+        }
+        if ((shared & SHARED_AGES) != 0) {
+            ages = ages.clone();
+        }
+        if ((shared & SHARED_NAMES) != 0) {
+            nameCodes = nameCodes.clone();
+        }
+        if ((shared & SHARED_CITIES) != 0) {
+            cityCodes = cityCodes.clone();
+        }
+        sharedColumns &= ~shared;
+    }
+
+    // ================================================================
+    // MATERIALIZAÇÃO
+    // ================================================================
+
+    @Override
+    public Users materialize(int slot) {
+        return new Users(ids[slot], getName(slot), ages[slot], getCity(slot));
+    }
+
+    @Override
+    public void load(int slot, Users target) {
+        target.setId(ids[slot]);
+        target.setName(getName(slot));
+        target.setAge(ages[slot]);
+        target.setCity(getCity(slot));
+    }
+
+    @Override
+    public List<Users> toList() {
+        List<Users> result = new ArrayList<>(liveCount);
+
+        for (int slot = 0; slot < slotCount; slot++) {
+            if (ends[slot] == ALIVE) {
+                result.add(materialize(slot));
+            }
+        }
+
+        return result;
+    }
+
+    // ================================================================
+    // COMPACTAÇÃO
+    // ================================================================
+
+    @Override
+    public int deletedCount() {
+        return slotCount - liveCount;
+    }
+
+    @Override
+    public boolean needsCompaction() {
+        int dead = deletedCount();
+        return dead >= COMPACTION_MIN_DELETED && dead * COMPACTION_RATIO >= slotCount;
+    }
+
+    @Override
+    public int compact() {
+        int freed = deletedCount();
+
+        if (freed == 0) {
+            commit();
+            return 0;
+        }
+
+        // Arrays novos: as visões abertas continuam com as versões antigas
+        int capacity = Math.max(liveCount, INITIAL_CAPACITY);
+        int[] newIds = new int[capacity];
+        int[] newAges = new int[capacity];
+        int[] newNameCodes = new int[capacity];
+        int[] newCityCodes = new int[capacity];
+        long[] newBegins = new long[capacity];
+        long[] newEnds = new long[capacity];
+
+        // Reconstruir dicionários para descartar strings sem uso
+        StringDictionary newNames = new StringDictionary();
+        StringDictionary newCities = new StringDictionary();
+        locator.clear();
+
+        int target = 0;
+        for (int slot = 0; slot < slotCount; slot++) {
+            if (ends[slot] != ALIVE) {
+                continue;
+            }
+
+            newIds[target] = ids[slot];
+            newAges[target] = ages[slot];
+            newNameCodes[target] = newNames.encode(names.decode(nameCodes[slot]));
+            newCityCodes[target] = newCities.encode(cities.decode(cityCodes[slot]));
+            newBegins[target] = begins[slot];
+            newEnds[target] = ALIVE;
+            locator.put(ids[slot], target);
+            target++;
+        }
+
+        ids = newIds;
+        ages = newAges;
+        nameCodes = newNameCodes;
+        cityCodes = newCityCodes;
+        begins = newBegins;
+        ends = newEnds;
+        names = newNames;
+        cities = newCities;
+        slotCount = target;
+
+        compacting = null;
+        generation++;
+        publish();
+        return freed;
+    }
+
+    @Override
+    public Compaction beginCompaction() {
+        commit();
+        compacting = new Compaction(published);
+        return compacting;
+    }
+
+    @Override
+    public boolean finishCompaction(Compaction compaction) {
+        if (compacting != compaction || generation != compaction.generation) {
+            return false;
+        }
+        compacting = null;
+
+        // Slots da base alterados durante a montagem: fim da versão e
+        // colunas atuais (DELETE, UPDATE, ROLLBACK ou carga)
+        for (int slot : compaction.touched.keys()) {
+            int target = compaction.remap[slot];
+
+            if (target < 0) {
+                continue;   // Já encerrada na captura, não volta a valer
+            }
+
+            compaction.ages[target] = ages[slot];
+            compaction.nameCodes[target] = compaction.names.encode(getName(slot));
+            compaction.cityCodes[target] = compaction.cities.encode(getCity(slot));
+            compaction.ends[target] = endOf(ends, slot);
+
+            if (compaction.ends[target] != ALIVE && compaction.locator.get(ids[slot]) == target) {
+                compaction.locator.remove(ids[slot]);
+            }
+        }
+
+        // Versões criadas depois da captura que ainda valem
+        int baseSlots = compaction.base.capacity();
+        int target = compaction.kept;
+        int[] appended = new int[Math.max(slotCount - baseSlots, 0)];
+        int count = 0;
+
+        for (int slot = baseSlots; slot < slotCount; slot++) {
+            if (ends[slot] != ALIVE) {
+                continue;
+            }
+
+            compaction.ensureCapacity(target + 1);
+            compaction.ids[target] = ids[slot];
+            compaction.ages[target] = ages[slot];
+            compaction.nameCodes[target] = compaction.names.encode(getName(slot));
+            compaction.cityCodes[target] = compaction.cities.encode(getCity(slot));
+            compaction.begins[target] = begins[slot];
+            compaction.ends[target] = ALIVE;
+            compaction.locator.put(ids[slot], target);
+            appended[count++] = target++;
+        }
+
+        compaction.appended = Arrays.copyOf(appended, count);
+        compaction.freed = slotCount - target;
+
+        ids = compaction.ids;
+        ages = compaction.ages;
+        nameCodes = compaction.nameCodes;
+        cityCodes = compaction.cityCodes;
+        begins = compaction.begins;
+        ends = compaction.ends;
+        names = compaction.names;
+        cities = compaction.cities;
+        locator = compaction.locator;
+        slotCount = target;
+        sharedColumns = 0;
+
+        generation++;
+        publish();
+        return true;
+    }
+
+    // ================================================================
+    // ESTADO
+    // ================================================================
+
+    @Override
+    public int capacity() {
+        return slotCount;
+    }
+
+    @Override
+    public int size() {
+        return liveCount;
+    }
+
+    @Override
+    public long generation() {
+        return generation;
+    }
+
+    @Override
+    public void clear() {
+        // Novas inserções reescreveriam slots ainda visíveis numa visão
+        ids = new int[INITIAL_CAPACITY];
+        ages = new int[INITIAL_CAPACITY];
+        nameCodes = new int[INITIAL_CAPACITY];
+        cityCodes = new int[INITIAL_CAPACITY];
+        begins = new long[INITIAL_CAPACITY];
+        ends = new long[INITIAL_CAPACITY];
+        names = new StringDictionary();
+        cities = new StringDictionary();
+        sharedColumns = 0;
+
+        changesComplete = false;
+        slotCount = 0;
+        liveCount = 0;
+        locator.clear();
+        compacting = null;
+        generation++;
+        dirty = true;
+    }
+
+    @Override
+    public String getStats() {
+        long columnBytes = (long) ids.length * (Integer.BYTES * 4 + Long.BYTES * 2);
+
+        return String.format("ColumnarStorage: %d registros, %d slots (%d removidos), " +
+                        "%d nomes distintos, %d cidades distintas, ~%d bytes em colunas",
+                liveCount, slotCount, slotCount - liveCount,
+                names.size(), cities.size(), columnBytes);
+    }
+
+    @Override
+    public String toString() {
+        return getStats();
+    }
+
+    // ================================================================
+    // AUXILIARES
+    // ================================================================
+
+    /**
+     * Garante espaço para o número de slots informado.
+     * Cresce 1.5x, como ArrayList.
+     */
+    private void ensureCapacity(int required) {
+        if (required <= ids.length) {
+            return;
+        }
+
+        int newCapacity = Math.max(required, ids.length + (ids.length >> 1));
+        ids = Arrays.copyOf(ids, newCapacity);
+        ages = Arrays.copyOf(ages, newCapacity);
+        nameCodes = Arrays.copyOf(nameCodes, newCapacity);
+        cityCodes = Arrays.copyOf(cityCodes, newCapacity);
+        begins = Arrays.copyOf(begins, newCapacity);
+        ends = Arrays.copyOf(ends, newCapacity);
+        sharedColumns = 0;
+    }
+
+    /**
+     * Lê o fim de uma versão em um array que pode estar sendo gravado
+     * por outra thread (leitura atômica do long).
+     */
+    static long endOf(long[] ends, int slot) {
+        return (long) ENDS.getOpaque(ends, slot);
+    }
+
+    /**
+     * Registra a alteração de um slot para a compactação em andamento.
+     */
+    private void touch(int slot) {
+        if (compacting != null) {
+            compacting.touch(slot);
+        }
+    }
+
+    private void checkSlot(int slot) {
+        if (slot < 0 || slot >= slotCount) {
+            throw new IndexOutOfBoundsException("Slot inválido: " + slot);
+        }
+    }
+}
@@ -0,0 +1,151 @@
+package lib.storage;
+
+import java.util.Arrays;
+
+/**
+ * Compactação do armazenamento em duas fases, para que as escritas só
+ * parem o tempo de aplicar o que mudou durante a montagem.
+ *
+ * Fluxo (ver {@link TableStorage#beginCompaction()}):
+ * 1. beginCompaction(), com o lock de escrita: captura a visão publicada
+ *    e passa a registrar os slots dela alterados dali em diante (O(1))
+ * 2. build(), sem lock: monta as colunas, dicionários e localizador só
+ *    com as versões vivas na visão; view() expõe o resultado para a
+ *    reconstrução dos índices
+ * 3. finishCompaction(), com o lock de escrita: reaplica os slots
+ *    registrados, acrescenta os registros inseridos depois da captura
+ *    (appendedSlots()) e publica a nova geração
+ *
+ * Um compact() ou clear() no meio do caminho invalida a compactação.
+ *
+ * @author SQL Parser Team
+ * @version 1.0
+ */
+public final class Compaction {
+
+    private static final int MIN_CAPACITY = 64;
+
+    // Captura (fase 1)
+    final StorageSnapshot base;
+    final long generation;
+    final IntIntMap touched = new IntIntMap();   // Slots da base alterados depois (valor não usado)
+
+    // Resultado da montagem (fase 2)
+    int[] ids;
+    int[] ages;
+    int[] nameCodes;
+    int[] cityCodes;
+    long[] begins;
+    long[] ends;
+    StringDictionary names;
+    StringDictionary cities;
+    IntIntMap locator;
+    int[] remap;                // Slot da base → slot novo (-1 se descartado)
+    int kept;
+    private StorageSnapshot view;
+
+    // Instalação (fase 3)
+    int[] appended = new int[0];
+    int freed;
+
+    Compaction(StorageSnapshot base) {
+        this.base = base;
+        this.generation = base.generation();
+    }
+
+    /**
+     * Registra que um slot da base mudou depois da captura.
+     */
+    void touch(int slot) {
+        if (slot < base.capacity()) {
+            touched.put(slot, 0);
+        }
+    }
+
+    /**
+     * Monta as colunas compactadas a partir da visão capturada. Roda
+     * sem lock: a visão é imutável para as versões que enxerga.
+     */
+    public void build() {
+        int slots = base.capacity();
+        int live = base.size();
+        int capacity = Math.max(live + (live >> 3), MIN_CAPACITY);   // Folga para as inserções do meio tempo
+
+        ids = new int[capacity];
+        ages = new int[capacity];
+        nameCodes = new int[capacity];
+        cityCodes = new int[capacity];
+        begins = new long[capacity];
+        ends = new long[capacity];
+        names = new StringDictionary();
+        cities = new StringDictionary();
+        locator = new IntIntMap(capacity);
+        remap = new int[slots];
+
+        int target = 0;
+        for (int slot = 0; slot < slots; slot++) {
+            if (!base.isLive(slot)) {
+                remap[slot] = -1;
+                continue;
+            }
+
+            ids[target] = base.getId(slot);
+            ages[target] = base.getAge(slot);
+            nameCodes[target] = names.encode(base.getName(slot));
+            cityCodes[target] = cities.encode(base.getCity(slot));
+            begins[target] = base.beginOf(slot);
+            ends[target] = ColumnarStorage.ALIVE;
+            locator.put(ids[target], target);
+            remap[slot] = target++;
+        }
+
+        kept = target;
+        view = new StorageSnapshot(ids, ages, nameCodes, cityCodes, names, cities,
+                begins, ends, kept, kept, base.timestamp(), generation + 1);
+    }
+
+    /**
+     * Visão das colunas compactadas, já na numeração de slots da nova
+     * geração. Só vale depois de build().
+     *
+     * @return Visão compactada
+     */
+    public TableView view() {
+        return view;
+    }
+
+    /**
+     * Slots (na nova geração) dos registros inseridos ou atualizados
+     * depois da captura, que os índices montados sobre view() ainda
+     * não têm. Só vale depois da instalação.
+     *
+     * @return Slots acrescentados
+     */
+    public int[] appendedSlots() {
+        return appended;
+    }
+
+    /**
+     * Número de slots liberados. Só vale depois da instalação.
+     */
+    public int freed() {
+        return freed;
+    }
+
+    /**
+     * Garante espaço nas colunas montadas para o slot informado.
+     */
+    void ensureCapacity(int required) {
+        if (required <= ids.length) {
+            return;
+        }
+
+        int capacity = Math.max(required, ids.length + (ids.length >> 1));
+        ids = Arrays.copyOf(ids, capacity);
+        ages = Arrays.copyOf(ages, capacity);
+        nameCodes = Arrays.copyOf(nameCodes, capacity);
+        cityCodes = Arrays.copyOf(cityCodes, capacity);
+        begins = Arrays.copyOf(begins, capacity);
+        ends = Arrays.copyOf(ends, capacity);
+    }
+}
@@ -0,0 +1,231 @@
+package lib.storage;
+
+import java.util.Arrays;
+
+/**
+ * Mapa int → int com endereçamento aberto (linear probing).
+ *
+ * Usado como localizador de registros (id → slot) sem boxing:
+ * chaves e valores ficam em arrays primitivos, sem um objeto
+ * Entry por registro como no HashMap.
+ *
+ * Remoções usam backward-shift, então a tabela nunca acumula
+ * marcadores de remoção e as buscas continuam curtas.
+ *
+ * @author SQL Parser Team
+ * @version 1.0
+ */
+public class IntIntMap {
+
+    private static final int DEFAULT_CAPACITY = 64;
+    private static final float LOAD_FACTOR = 0.6f;
+
+    /** Valor retornado por get() quando a chave não existe */
+    public static final int NOT_FOUND = -1;
+
+    private int[] keys;
+    private int[] values;
+    private boolean[] used;
+    private int mask;
+    private int size;
+    private int resizeAt;
+
+    public IntIntMap() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Construtor com capacidade esperada.
+     *
+     * @param expectedSize Número esperado de entradas
+     */
+    public IntIntMap(int expectedSize) {
+        allocate(tableSizeFor((int) (Math.max(expectedSize, 1) / LOAD_FACTOR) + 1));
+    }
+
+    /**
+     * Associa a chave ao valor (substitui se já existir).
+     *
+     * @param key Chave
+     * @param value Valor
+     */
+    public void put(int key, int value) {
+        int pos = hash(key) & mask;
+
+        while (used[pos]) {
+            if (keys[pos] == key) {
+                values[pos] = value;
+                return;
+            }
+            pos = (pos + 1) & mask;
+        }
+
+        used[pos] = true;
+        keys[pos] = key;
+        values[pos] = value;
+
+        if (++size >= resizeAt) {
+            rehash(keys.length << 1);
+        }
+    }
+
+    /**
+     * Retorna o valor associado à chave.
+     *
+     * @param key Chave
+     * @return Valor ou NOT_FOUND
+     */
+    public int get(int key) {
+        int pos = hash(key) & mask;
+
+        while (used[pos]) {
+            if (keys[pos] == key) {
+                return values[pos];
+            }
+            pos = (pos + 1) & mask;
+        }
+
+        return NOT_FOUND;
+    }
+
+    /**
+     * Verifica se a chave existe.
+     *
+     * @param key Chave
+     * @return true se existe
+     */
+    public boolean containsKey(int key) {
+        int pos = hash(key) & mask;
+
+        while (used[pos]) {
+            if (keys[pos] == key) {
+                return true;
+            }
+            pos = (pos + 1) & mask;
+        }
+
+        return false;
+    }
+
+    /**
+     * Remove a chave.
+     *
+     * @param key Chave
+     * @return Valor removido ou NOT_FOUND
+     */
+    public int remove(int key) {
+        int pos = hash(key) & mask;
+
+        while (used[pos]) {
+            if (keys[pos] == key) {
+                int removed = values[pos];
+                shiftBack(pos);
+                size--;
+                return removed;
+            }
+            pos = (pos + 1) & mask;
+        }
+
+        return NOT_FOUND;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public void clear() {
+        Arrays.fill(used, false);
+        size = 0;
+    }
+
+    /**
+     * Copia as chaves presentes (sem ordem definida).
+     *
+     * @return Array com as chaves
+     */
+    public int[] keys() {
+        int[] result = new int[size];
+        int count = 0;
+
+        for (int i = 0; i < keys.length; i++) {
+            if (used[i]) {
+                result[count++] = keys[i];
+            }
+        }
+
+        return result;
+    }
+
+    // ================================================================
+    // AUXILIARES
+    // ================================================================
+
+    /**
+     * Fecha o buraco deixado em pos, puxando para trás as entradas
+     * seguintes do mesmo cluster que estariam fora de posição.
+     */
+    private void shiftBack(int pos) {
+        int gap = pos;
+        int next = (gap + 1) & mask;
+
+        while (used[next]) {
+            int home = hash(keys[next]) & mask;
+
+            // A entrada pode ocupar o buraco se sua posição ideal
+            // não está entre o buraco (exclusivo) e a posição atual
+            boolean canMove = gap <= next
+                    ? (home <= gap || home > next)
+                    : (home <= gap && home > next);
+
+            if (canMove) {
+                keys[gap] = keys[next];
+                values[gap] = values[next];
+                gap = next;
+            }
+            next = (next + 1) & mask;
+        }
+
+        used[gap] = false;
+    }
+
+    private void rehash(int newCapacity) {
+        int[] oldKeys = keys;
+        int[] oldValues = values;
+        boolean[] oldUsed = used;
+
+        allocate(newCapacity);
+        size = 0;
+
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldUsed[i]) {
+                put(oldKeys[i], oldValues[i]);
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        keys = new int[capacity];
+        values = new int[capacity];
+        used = new boolean[capacity];
+        mask = capacity - 1;
+        resizeAt = (int) (capacity * LOAD_FACTOR);
+    }
+
+    /**
+     * Espalha os bits da chave (ids sequenciais cairiam em
+     * posições vizinhas e formariam clusters longos).
+     */
+    private static int hash(int key) {
+        int h = key * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    private static int tableSizeFor(int n) {
+        int size = Integer.highestOneBit(Math.max(n, 2) - 1) << 1;
+        return Math.max(size, 2);
+    }
+}
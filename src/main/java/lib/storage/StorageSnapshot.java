@@ -0,0 +1,231 @@
+package lib.storage;
+
+import lib.Users;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Visão imutável do armazenamento em um instante.
+ *
+ * Criada por {@link TableStorage#snapshot()} e {@link TableStorage#readView()}
+ * sem copiar as colunas: os arrays são compartilhados com o armazenamento,
+ * que passa a copiar uma coluna antes da primeira alteração in-place
+ * (copy-on-write). Inserções e novas versões só escrevem em slots além de
+ * {@link #capacity()} e não afetam a visão.
+ *
+ * A visibilidade vem dos timestamps de cada versão: o slot é visível se
+ * a versão foi confirmada até o timestamp da visão e só foi substituída
+ * ou removida depois dele. Um DELETE posterior grava o fim da versão no
+ * array compartilhado, mas com um timestamp maior que o da visão.
+ *
+ * Pode ser lida por outras threads (consultas e checkpoint em background)
+ * enquanto o armazenamento continua recebendo escritas.
+ *
+ * Também traz os ids alterados desde a captura anterior, com o slot
+ * de cada um nesta visão (-1 se foi removido), para checkpoints
+ * incrementais. Após um clear() esse registro não está disponível.
+ *
+ * @author SQL Parser Team
+ * @version 2.1
+ */
+public final class StorageSnapshot implements TableView {
+
+    private final int[] ids;
+    private final int[] ages;
+    private final int[] nameCodes;
+    private final int[] cityCodes;
+    private final String[] names;
+    private final int nameCount;
+    private final String[] cities;
+    private final int cityCount;
+    private final long[] begins;
+    private final long[] ends;
+    private final int slotCount;
+    private final int liveCount;
+    private final long timestamp;
+    private final long generation;
+    private final int[] changedIds;     // null se as alterações não são conhecidas
+    private final int[] changedSlots;
+
+    StorageSnapshot(int[] ids, int[] ages, int[] nameCodes, int[] cityCodes,
+                    StringDictionary names, StringDictionary cities,
+                    long[] begins, long[] ends, int slotCount, int liveCount,
+                    long timestamp, long generation) {
+        this(ids, ages, nameCodes, cityCodes, names.values(), names.size(), cities.values(), cities.size(),
+                begins, ends, slotCount, liveCount, timestamp, generation, null, null);
+    }
+
+    private StorageSnapshot(int[] ids, int[] ages, int[] nameCodes, int[] cityCodes,
+                            String[] names, int nameCount, String[] cities, int cityCount,
+                            long[] begins, long[] ends, int slotCount, int liveCount,
+                            long timestamp, long generation, int[] changedIds, int[] changedSlots) {
+        this.ids = ids;
+        this.ages = ages;
+        this.nameCodes = nameCodes;
+        this.cityCodes = cityCodes;
+        this.names = names;
+        this.nameCount = nameCount;
+        this.cities = cities;
+        this.cityCount = cityCount;
+        this.begins = begins;
+        this.ends = ends;
+        this.slotCount = slotCount;
+        this.liveCount = liveCount;
+        this.timestamp = timestamp;
+        this.generation = generation;
+        this.changedIds = changedIds;
+        this.changedSlots = changedSlots;
+    }
+
+    /**
+     * Cópia da visão com os ids alterados desde a captura anterior.
+     */
+    StorageSnapshot withChanges(int[] changedIds, int[] changedSlots) {
+        return new StorageSnapshot(ids, ages, nameCodes, cityCodes, names, nameCount, cities, cityCount,
+                begins, ends, slotCount, liveCount, timestamp, generation, changedIds, changedSlots);
+    }
+
+    /**
+     * Retorna o número de slots da visão (inclui removidos).
+     */
+    @Override
+    public int capacity() {
+        return slotCount;
+    }
+
+    /**
+     * Retorna o número de registros válidos.
+     */
+    @Override
+    public int size() {
+        return liveCount;
+    }
+
+    /**
+     * Timestamp de confirmação da visão.
+     */
+    public long timestamp() {
+        return timestamp;
+    }
+
+    @Override
+    public long generation() {
+        return generation;
+    }
+
+    /**
+     * Timestamp em que a versão do slot passou a valer.
+     */
+    long beginOf(int slot) {
+        return begins[slot];
+    }
+
+    @Override
+    public boolean isLive(int slot) {
+        return slot >= 0 && slot < slotCount
+                && begins[slot] <= timestamp
+                && timestamp < ColumnarStorage.endOf(ends, slot);
+    }
+
+    @Override
+    public int getId(int slot) {
+        return ids[slot];
+    }
+
+    @Override
+    public int getAge(int slot) {
+        return ages[slot];
+    }
+
+    @Override
+    public String getName(int slot) {
+        return names[nameCodes[slot]];
+    }
+
+    @Override
+    public String getCity(int slot) {
+        return cities[cityCodes[slot]];
+    }
+
+    /**
+     * Código da string do nome no dicionário capturado.
+     * Valores iguais têm o mesmo código.
+     */
+    public int getNameCode(int slot) {
+        return nameCodes[slot];
+    }
+
+    public int getCityCode(int slot) {
+        return cityCodes[slot];
+    }
+
+    /**
+     * Número de códigos distintos de nome (limite de getNameCode).
+     */
+    public int nameCount() {
+        return nameCount;
+    }
+
+    public int cityCount() {
+        return cityCount;
+    }
+
+    @Override
+    public Users materialize(int slot) {
+        return new Users(ids[slot], getName(slot), ages[slot], getCity(slot));
+    }
+
+    @Override
+    public void load(int slot, Users target) {
+        target.setId(ids[slot]);
+        target.setName(getName(slot));
+        target.setAge(ages[slot]);
+        target.setCity(getCity(slot));
+    }
+
+    // ================================================================
+    // ALTERAÇÕES DESDE A CAPTURA ANTERIOR
+    // ================================================================
+
+    /**
+     * Verifica se os ids alterados desde a captura anterior são conhecidos.
+     */
+    public boolean isChangeTracked() {
+        return changedIds != null;
+    }
+
+    public int changeCount() {
+        return changedIds == null ? 0 : changedIds.length;
+    }
+
+    public int getChangedId(int index) {
+        return changedIds[index];
+    }
+
+    /**
+     * Slot do id alterado nesta visão.
+     *
+     * @return Slot, ou -1 se o registro foi removido
+     */
+    public int getChangedSlot(int index) {
+        return changedSlots[index];
+    }
+
+    /**
+     * Materializa os registros válidos, na ordem dos slots.
+     *
+     * @return Lista de usuários
+     */
+    @Override
+    public List<Users> toList() {
+        List<Users> result = new ArrayList<>(liveCount);
+
+        for (int slot = 0; slot < slotCount; slot++) {
+            if (isLive(slot)) {
+                result.add(materialize(slot));
+            }
+        }
+
+        return result;
+    }
+}
@@ -0,0 +1,134 @@
+package lib.storage;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Dicionário de strings para codificação de colunas.
+ *
+ * Cada string distinta recebe um código inteiro sequencial.
+ * A coluna armazena apenas os códigos (int[]), e a string é
+ * recuperada pelo código quando o registro é materializado.
+ *
+ * Exemplo:
+ *   "São Paulo" → 0, "Recife" → 1, "São Paulo" → 0
+ *
+ * Os valores só são acrescentados: uma posição já preenchida do array
+ * nunca muda, então visões de leitura compartilham o array e guardam
+ * só quantos códigos existiam na captura.
+ *
+ * @author SQL Parser Team
+ * @version 1.1
+ */
+public class StringDictionary {
+
+    // string → código
+    private final Map<String, Integer> codes;
+
+    // código → string
+    private String[] values;
+    private int count;
+
+    public StringDictionary() {
+        this.codes = new HashMap<>();
+        this.values = new String[16];
+        this.count = 0;
+    }
+
+    /**
+     * Retorna o código da string, criando um novo se necessário.
+     *
+     * @param value String a codificar
+     * @return Código da string
+     */
+    public int encode(String value) {
+        Integer code = codes.get(value);
+
+        if (code != null) {
+            return code;
+        }
+
+        if (count == values.length) {
+            values = Arrays.copyOf(values, count * 2);
+        }
+
+        int newCode = count++;
+        values[newCode] = value;
+        codes.put(value, newCode);
+        return newCode;
+    }
+
+    /**
+     * Retorna o código de uma string já existente.
+     *
+     * @param value String a procurar
+     * @return Código ou -1 se a string não está no dicionário
+     */
+    public int lookup(String value) {
+        Integer code = codes.get(value);
+        return code == null ? -1 : code;
+    }
+
+    /**
+     * Retorna a string correspondente ao código.
+     *
+     * @param code Código
+     * @return String original
+     */
+    public String decode(int code) {
+        if (code < 0 || code >= count) {
+            throw new IndexOutOfBoundsException("Código inválido: " + code);
+        }
+        return values[code];
+    }
+
+    /**
+     * Retorna o número de strings distintas.
+     *
+     * @return Tamanho do dicionário
+     */
+    public int size() {
+        return count;
+    }
+
+    /**
+     * Cria uma cópia independente do dicionário.
+     *
+     * @return Novo dicionário com os mesmos códigos
+     */
+    public StringDictionary copy() {
+        StringDictionary copy = new StringDictionary();
+        copy.codes.putAll(codes);
+        copy.values = Arrays.copyOf(values, values.length);
+        copy.count = count;
+        return copy;
+    }
+
+    /**
+     * Copia os valores, indexados pelo código.
+     *
+     * @return Array com a string de cada código
+     */
+    public String[] toArray() {
+        return Arrays.copyOf(values, count);
+    }
+
+    /**
+     * Array interno, compartilhado com as visões de leitura (só as
+     * primeiras size() posições são válidas).
+     */
+    String[] values() {
+        return values;
+    }
+
+    /**
+     * Limpa o dicionário. O array anterior fica com as visões que o
+     * compartilham.
+     */
+    public void clear() {
+        codes.clear();
+        values = new String[16];
+        count = 0;
+    }
+}
@@ -0,0 +1,169 @@
+package lib.storage;
+
+/**
+ * Interface base para o armazenamento físico da tabela users.
+ *
+ * Cada registro ocupa um "slot" (posição física no armazenamento).
+ * Slots são estáveis: um DELETE apenas marca o slot como removido,
+ * então índices podem referenciar slots em vez de objetos Users.
+ *
+ * Objetos Users só são criados sob demanda (materialize), mantendo
+ * o armazenamento compacto e as varreduras amigáveis ao cache.
+ *
+ * As escritas não são thread-safe e devem vir de uma thread por vez.
+ * Leituras concorrentes usam {@link #readView()}: cada registro tem
+ * versões com o timestamp de confirmação em que passaram a valer e
+ * em que deixaram de valer, e a visão enxerga as versões confirmadas
+ * até o seu timestamp.
+ *
+ * @author SQL Parser Team
+ * @version 2.2
+ */
+public interface TableStorage extends TableView {
+
+    /**
+     * Insere um novo registro.
+     *
+     * @param id ID do usuário
+     * @param name Nome
+     * @param age Idade
+     * @param city Cidade
+     * @return Slot ocupado pelo registro
+     */
+    int insert(int id, String name, int age, String city);
+
+    /**
+     * Remove o registro de um slot.
+     *
+     * @param slot Slot a remover
+     */
+    void delete(int slot);
+
+    /**
+     * Atualiza um registro criando uma nova versão em outro slot.
+     * A versão antiga continua visível para leituras anteriores até
+     * ser descartada pela compactação.
+     *
+     * @param slot Slot da versão atual
+     * @param name Nome
+     * @param age Idade
+     * @param city Cidade
+     * @return Slot da nova versão
+     */
+    int update(int slot, String name, int age, String city);
+
+    /**
+     * Desfaz o fim de uma versão encerrada por uma escrita ainda não
+     * confirmada (DELETE ou a versão anterior de um UPDATE), que volta
+     * a ser a versão atual. Usado no ROLLBACK de uma transação.
+     *
+     * @param slot Slot da versão encerrada
+     * @throws IllegalStateException Se o fim já foi confirmado
+     */
+    void restore(int slot);
+
+    /**
+     * Localiza o slot de um registro pelo ID em O(1).
+     *
+     * @param id ID do usuário
+     * @return Slot ou -1 se não encontrado
+     */
+    int findSlot(int id);
+
+    // Escrita de colunas (in-place, sem nova versão; usada na carga)
+
+    void setName(int slot, String name);
+
+    void setAge(int slot, int age);
+
+    void setCity(int slot, String city);
+
+    /**
+     * Confirma as escritas feitas até aqui: a próxima visão de leitura
+     * passa a enxergá-las.
+     */
+    void commit();
+
+    /**
+     * Retorna a visão da última confirmação. Pode ser chamado por
+     * qualquer thread, sem lock, em paralelo com as escritas.
+     *
+     * @return Visão imutável do armazenamento
+     */
+    StorageSnapshot readView();
+
+    /**
+     * Retorna o número de slots removidos ainda não reaproveitados
+     * (inclui versões substituídas por UPDATE).
+     *
+     * @return Total de tombstones
+     */
+    int deletedCount();
+
+    /**
+     * Verifica se a proporção de slots removidos justifica compactar.
+     *
+     * @return true se compactação recomendada
+     */
+    boolean needsCompaction();
+
+    /**
+     * Compacta o armazenamento, descartando slots removidos.
+     * Os registros válidos mantêm a ordem relativa, mas mudam de slot:
+     * índices que referenciam slots devem ser reconstruídos.
+     * Confirma as escritas pendentes e inicia uma nova geração.
+     *
+     * @return Número de slots liberados
+     */
+    int compact();
+
+    /**
+     * Inicia uma compactação em duas fases (ver {@link Compaction}):
+     * confirma as escritas pendentes, captura a visão publicada e passa a
+     * registrar os slots dela alterados. Deve ser chamado pela thread
+     * que escreve; a montagem (build) roda em qualquer thread, sem lock.
+     *
+     * @return Compactação a montar
+     */
+    Compaction beginCompaction();
+
+    /**
+     * Instala uma compactação montada: reaplica os slots alterados desde
+     * a captura, acrescenta os registros criados depois dela, confirma
+     * as escritas e inicia uma nova geração. Deve ser chamado pela thread
+     * que escreve.
+     *
+     * @param compaction Compactação iniciada por beginCompaction() e montada
+     * @return false se um compact(), clear() ou outra compactação a invalidou
+     */
+    boolean finishCompaction(Compaction compaction);
+
+    /**
+     * Captura uma visão imutável do estado atual, para ser gravada por
+     * outra thread enquanto as escritas continuam. Confirma as escritas
+     * pendentes. Inclui os ids alterados desde a captura anterior e
+     * reinicia esse registro.
+     *
+     * @return Snapshot do armazenamento
+     */
+    StorageSnapshot snapshot();
+
+    /**
+     * Esquece os ids alterados registrados até agora, como se um
+     * snapshot tivesse sido capturado. Usado após carregar o estado
+     * já gravado em disco.
+     */
+    void resetChanges();
+
+    /**
+     * Remove todos os registros.
+     */
+    void clear();
+
+    /**
+     * Retorna estatísticas do armazenamento.
+     *
+     * @return String com estatísticas
+     */
+    String getStats();
+}
@@ -0,0 +1,82 @@
+package lib.storage;
+
+import lib.Users;
+import java.util.List;
+
+/**
+ * Leitura da tabela users por slot.
+ *
+ * Implementada pelo próprio armazenamento (estado atual, usado por quem
+ * escreve) e por {@link StorageSnapshot} (versão confirmada em um
+ * instante, lida sem locks por consultas concorrentes).
+ *
+ * @author SQL Parser Team
+ * @version 1.0
+ */
+public interface TableView {
+
+    /**
+     * Retorna o número de slots (inclui removidos e versões antigas).
+     * Slots válidos estão no intervalo [0, capacity()).
+     *
+     * @return Limite superior dos slots
+     */
+    int capacity();
+
+    /**
+     * Verifica se o slot contém um registro visível nesta leitura.
+     *
+     * @param slot Slot a verificar
+     * @return true se o registro existe
+     */
+    boolean isLive(int slot);
+
+    // Leitura de colunas
+
+    int getId(int slot);
+
+    String getName(int slot);
+
+    int getAge(int slot);
+
+    String getCity(int slot);
+
+    /**
+     * Cria um objeto Users com os valores do slot.
+     *
+     * @param slot Slot do registro
+     * @return Novo objeto Users
+     */
+    Users materialize(int slot);
+
+    /**
+     * Copia os valores do slot para um objeto Users existente.
+     * Permite reutilizar um único objeto durante varreduras.
+     *
+     * @param slot Slot do registro
+     * @param target Objeto a preencher
+     */
+    void load(int slot, Users target);
+
+    /**
+     * Retorna o número de registros visíveis.
+     *
+     * @return Total de registros
+     */
+    int size();
+
+    /**
+     * Materializa os registros visíveis, na ordem dos slots.
+     *
+     * @return Lista de usuários
+     */
+    List<Users> toList();
+
+    /**
+     * Geração da numeração dos slots. Muda a cada compactação: slots
+     * de gerações diferentes não se referem aos mesmos registros.
+     *
+     * @return Geração dos slots
+     */
+    long generation();
+}
@@ -19,6 +19,10 @@ sql_stmt
     | insert_stmt
     | update_stmt
     | delete_stmt
+    | transaction_stmt
+    | prepare_stmt
+    | execute_stmt
+    | deallocate_stmt
     ;
 
 // ============================================================
@@ -83,6 +87,40 @@ delete_stmt
       where_clause
     ;
 
+// ============================================================
+// TRANSACTIONS
+// ============================================================
+
+transaction_stmt
+    : K_BEGIN ( K_TRANSACTION )?                    # BeginStmt
+    | K_COMMIT ( K_TRANSACTION )?                   # CommitStmt
+    | K_ROLLBACK ( K_TRANSACTION )?                 # RollbackStmt
+    ;
+
+// ============================================================
+// PREPARED STATEMENTS
+// ============================================================
+
+prepare_stmt
+    : K_PREPARE statement_name K_AS prepared_body
+    ;
+
+prepared_body
+    : select_stmt
+    | insert_stmt
+    | update_stmt
+    | delete_stmt
+    ;
+
+execute_stmt
+    : K_EXECUTE statement_name
+      ( OPEN_PAR literal_value ( COMMA literal_value )* CLOSE_PAR )?
+    ;
+
+deallocate_stmt
+    : K_DEALLOCATE ( K_PREPARE )? statement_name
+    ;
+
 // ============================================================
 // EXPRESSIONS
 // ============================================================
@@ -103,6 +141,7 @@ expr
 literal_value
     : NUMERIC_LITERAL
     | STRING_LITERAL
+    | PARAM
     ;
 
 table_name
@@ -113,6 +152,10 @@ column_name
     : IDENTIFIER
     ;
 
+statement_name
+    : IDENTIFIER
+    ;
+
 // ============================================================
 // LEXER RULES - KEYWORDS (Case Insensitive)
 // ============================================================
@@ -136,6 +179,14 @@ K_OR        : O R ;
 K_LIKE      : L I K E ;
 K_BETWEEN   : B E T W E E N ;
 K_COUNT     : C O U N T ;
+K_BEGIN     : B E G I N ;
+K_COMMIT    : C O M M I T ;
+K_ROLLBACK  : R O L L B A C K ;
+K_TRANSACTION : T R A N S A C T I O N ;
+K_PREPARE   : P R E P A R E ;
+K_EXECUTE   : E X E C U T E ;
+K_DEALLOCATE : D E A L L O C A T E ;
+K_AS        : A S ;
 
 // ============================================================
 // LEXER RULES - IDENTIFIERS AND LITERALS
@@ -162,6 +213,7 @@ OPEN_PAR    : '(' ;
 CLOSE_PAR   : ')' ;
 STAR        : '*' ;
 EQ          : '=' ;
+PARAM       : '?' ;
 
 // ============================================================
 // LEXER RULES - WHITESPACE
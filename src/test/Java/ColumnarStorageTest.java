@@ -0,0 +1,264 @@
+import lib.Users;
+import lib.storage.ColumnarStorage;
+import lib.storage.Compaction;
+import lib.storage.IntIntMap;
+import lib.storage.StorageSnapshot;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("ColumnarStorage - Testes do Armazenamento Colunar")
+class ColumnarStorageTest {
+
+    private ColumnarStorage storage;
+
+    @BeforeEach
+    void setUp() {
+        storage = new ColumnarStorage(4);
+    }
+
+    // ==================== TESTES INSERT ====================
+
+    @Test
+    @DisplayName("INSERT - Deve materializar os valores inseridos")
+    void testInsertMaterialize() {
+        int slot = storage.insert(1, "Ana", 22, "São Paulo");
+
+        Users user = storage.materialize(slot);
+
+        assertEquals(1, user.getId());
+        assertEquals("Ana", user.getName());
+        assertEquals(22, user.getAge());
+        assertEquals("São Paulo", user.getCity());
+    }
+
+    @Test
+    @DisplayName("INSERT - Deve crescer além da capacidade inicial")
+    void testInsertCrescimento() {
+        for (int i = 1; i <= 100; i++) {
+            storage.insert(i, "User" + i, 20 + (i % 50), "Cidade" + (i % 3));
+        }
+
+        assertEquals(100, storage.size());
+        assertEquals(100, storage.toList().size());
+        assertEquals("User57", storage.getName(storage.findSlot(57)));
+    }
+
+    // ==================== TESTES LOCALIZADOR ====================
+
+    @Test
+    @DisplayName("LOCALIZADOR - Deve encontrar slot pelo id")
+    void testFindSlot() {
+        storage.insert(10, "Ana", 22, "Recife");
+        int slot = storage.insert(20, "João", 35, "Recife");
+
+        assertEquals(slot, storage.findSlot(20));
+        assertEquals(-1, storage.findSlot(99));
+    }
+
+    @Test
+    @DisplayName("LOCALIZADOR - Não deve encontrar registro removido")
+    void testFindSlotAposDelete() {
+        int slot = storage.insert(10, "Ana", 22, "Recife");
+
+        storage.delete(slot);
+
+        assertEquals(-1, storage.findSlot(10));
+        assertFalse(storage.isLive(slot));
+        assertEquals(0, storage.size());
+    }
+
+    @Test
+    @DisplayName("LOCALIZADOR - IntIntMap deve manter chaves após remoções")
+    void testIntIntMapRemocoes() {
+        IntIntMap map = new IntIntMap(4);
+
+        for (int i = 0; i < 1000; i++) {
+            map.put(i, i * 2);
+        }
+        for (int i = 0; i < 1000; i += 2) {
+            assertEquals(i * 2, map.remove(i));
+        }
+
+        assertEquals(500, map.size());
+        for (int i = 0; i < 1000; i++) {
+            assertEquals(i % 2 == 0 ? IntIntMap.NOT_FOUND : i * 2, map.get(i));
+        }
+    }
+
+    // ==================== TESTES COMPACTAÇÃO ====================
+
+    @Test
+    @DisplayName("COMPACTAÇÃO - Deve liberar slots e manter a ordem")
+    void testCompact() {
+        for (int i = 1; i <= 10; i++) {
+            storage.insert(i, "User" + i, 20 + i, "Cidade");
+        }
+        for (int i = 1; i <= 10; i += 2) {
+            storage.delete(storage.findSlot(i));
+        }
+
+        int freed = storage.compact();
+
+        assertEquals(5, freed);
+        assertEquals(5, storage.capacity());
+        assertEquals(0, storage.deletedCount());
+
+        List<Users> users = storage.toList();
+        assertEquals(List.of(2, 4, 6, 8, 10), users.stream().map(Users::getId).toList());
+        assertEquals(3, storage.findSlot(8));
+    }
+
+    @Test
+    @DisplayName("COMPACTAÇÃO - Duas fases devem reaplicar as escritas feitas durante a montagem")
+    void testCompactacaoEmDuasFases() {
+        for (int i = 1; i <= 10; i++) {
+            storage.insert(i, "User" + i, 20 + i, "Cidade");
+        }
+        for (int i = 1; i <= 10; i += 2) {
+            storage.delete(storage.findSlot(i));
+        }
+        long generation = storage.generation();
+
+        Compaction compaction = storage.beginCompaction();
+
+        // Escritas entre a captura e a instalação
+        storage.delete(storage.findSlot(2));
+        storage.update(storage.findSlot(4), "User4", 99, "Cidade");
+        storage.insert(11, "User11", 31, "Recife");
+        storage.delete(storage.insert(12, "User12", 32, "Recife"));
+        storage.commit();
+
+        compaction.build();
+        assertEquals(5, compaction.view().capacity());
+        assertEquals(generation + 1, compaction.view().generation());
+
+        assertTrue(storage.finishCompaction(compaction));
+
+        assertEquals(List.of(6, 8, 10, 4, 11), storage.toList().stream().map(Users::getId).toList());
+        assertArrayEquals(new int[] {5, 6}, compaction.appendedSlots());
+        assertEquals(6, compaction.freed());
+        assertEquals(2, storage.deletedCount());
+        assertEquals(generation + 1, storage.generation());
+        assertEquals(-1, storage.findSlot(2));
+        assertEquals(5, storage.findSlot(4));
+        assertEquals(99, storage.getAge(5));
+        assertEquals("Recife", storage.getCity(storage.findSlot(11)));
+    }
+
+    @Test
+    @DisplayName("COMPACTAÇÃO - compact() no meio deve invalidar a compactação em duas fases")
+    void testCompactacaoInvalidada() {
+        for (int i = 1; i <= 10; i++) {
+            storage.insert(i, "User" + i, 20 + i, "Cidade");
+        }
+        storage.delete(storage.findSlot(1));
+
+        Compaction compaction = storage.beginCompaction();
+        compaction.build();
+        storage.compact();
+
+        assertFalse(storage.finishCompaction(compaction));
+        assertEquals(9, storage.capacity());
+        assertEquals(0, storage.findSlot(2));
+    }
+
+    // ==================== TESTES SNAPSHOT ====================
+
+    @Test
+    @DisplayName("SNAPSHOT - Escritas após a captura não devem alterar a visão")
+    void testSnapshotCopyOnWrite() {
+        for (int i = 1; i <= 100; i++) {
+            storage.insert(i, "User" + i, 20 + i % 30, "Cidade" + i % 3);
+        }
+        storage.delete(storage.findSlot(50));
+
+        StorageSnapshot snapshot = storage.snapshot();
+
+        storage.setAge(storage.findSlot(1), 99);
+        storage.setName(storage.findSlot(2), "Alterado");
+        storage.setCity(storage.findSlot(3), "Nova");
+        storage.delete(storage.findSlot(4));
+        storage.insert(101, "User101", 40, "Cidade0");
+        storage.compact();
+
+        assertEquals(99, snapshot.size());
+        assertEquals(100, snapshot.capacity());
+        assertEquals(21, snapshot.getAge(0));
+        assertEquals("User2", snapshot.getName(1));
+        assertEquals("Cidade0", snapshot.getCity(2));
+        assertTrue(snapshot.isLive(3));
+        assertFalse(snapshot.isLive(49));
+
+        // O armazenamento segue com os novos valores
+        assertEquals(99, storage.getAge(storage.findSlot(1)));
+        assertEquals(99, storage.size());
+    }
+
+    // ==================== TESTES VERSÕES ====================
+
+    @Test
+    @DisplayName("VERSÕES - Visão de leitura só deve enxergar escritas confirmadas")
+    void testReadViewVersoes() {
+        for (int i = 1; i <= 10; i++) {
+            storage.insert(i, "User" + i, 20 + i, "Cidade");
+        }
+        storage.commit();
+
+        StorageSnapshot antes = storage.readView();
+
+        int slot = storage.findSlot(3);
+        int nova = storage.update(slot, "Alterado", 99, "Nova");
+        storage.delete(storage.findSlot(4));
+        storage.insert(11, "User11", 40, "Cidade");
+
+        // Antes do commit, a visão publicada é a mesma
+        assertSame(antes, storage.readView());
+        assertNotEquals(slot, nova);
+        assertEquals(nova, storage.findSlot(3));
+
+        storage.commit();
+        StorageSnapshot depois = storage.readView();
+
+        assertTrue(antes.isLive(slot));
+        assertFalse(antes.isLive(nova));
+        assertEquals(10, antes.size());
+        assertEquals("User3", antes.getName(slot));
+        assertTrue(antes.toList().stream().anyMatch(u -> u.getId() == 4));
+
+        assertFalse(depois.isLive(slot));
+        assertTrue(depois.isLive(nova));
+        assertEquals(10, depois.size());
+        assertEquals("Alterado", depois.getName(nova));
+        assertTrue(depois.timestamp() > antes.timestamp());
+        assertEquals(2, storage.deletedCount());
+    }
+
+    @Test
+    @DisplayName("VERSÕES - Compactação não deve alterar visões abertas")
+    void testCompactVisaoAberta() {
+        for (int i = 1; i <= 50; i++) {
+            storage.insert(i, "User" + i, 20 + i, "Cidade" + i % 3);
+        }
+        for (int i = 1; i <= 50; i += 2) {
+            storage.update(storage.findSlot(i), "Novo" + i, 1, "Outra");
+        }
+        storage.commit();
+
+        StorageSnapshot visao = storage.readView();
+        List<Users> antes = visao.toList();
+
+        storage.compact();
+        storage.update(storage.findSlot(2), "Depois", 2, "Outra");
+        storage.commit();
+
+        assertNotEquals(visao.generation(), storage.readView().generation());
+        assertEquals(antes.toString(), visao.toList().toString());
+        assertEquals(1, storage.deletedCount());
+        assertEquals("Depois", storage.readView().getName(storage.findSlot(2)));
+    }
+}
@@ -0,0 +1,213 @@
+import lib.Users;
+import lib.index.ConcurrentBitmapIndex;
+import lib.index.ConcurrentHashIndex;
+import lib.index.IndexManager;
+import lib.index.SlotBitmap;
+import lib.storage.ColumnarStorage;
+import lib.storage.Compaction;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Índices Concorrentes - Testes de Hash, B+Tree e Bitmap")
+class ConcurrentIndexTest {
+
+    private static final int ROWS = 5000;
+    private static final int THREADS = 4;
+
+    private int[] ages;
+    private String[] cities;
+
+    @BeforeEach
+    void setUp() {
+        ages = new int[ROWS];
+        cities = new String[ROWS];
+        Random random = new Random(42);
+        for (int slot = 0; slot < ROWS; slot++) {
+            ages[slot] = 18 + random.nextInt(60);
+            cities[slot] = "Cidade" + random.nextInt(10);
+        }
+    }
+
+    private List<Integer> allSlots() {
+        List<Integer> slots = new ArrayList<>();
+        for (int slot = 0; slot < ROWS; slot++) {
+            slots.add(slot);
+        }
+        return slots;
+    }
+
+    /**
+     * Executa a tarefa em várias threads, cada uma com os slots
+     * congruentes ao seu número, e propaga a primeira falha.
+     */
+    private void inParallel(SlotTask task) throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Future<?>> results = new ArrayList<>();
+            for (int t = 0; t < THREADS; t++) {
+                int first = t;
+                results.add(pool.submit(() -> {
+                    for (int slot = first; slot < ROWS; slot += THREADS) {
+                        task.run(slot);
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> result : results) {
+                result.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @FunctionalInterface
+    private interface SlotTask {
+        void run(int slot);
+    }
+
+    // ==================== TESTES B+TREE ====================
+
+    @Test
+    @DisplayName("B+TREE - Inserções paralelas pelo IndexManager não devem se perder")
+    void testBTreeParalelaNoManager() throws Exception {
+        ColumnarStorage storage = new ColumnarStorage(ROWS);
+        for (int slot = 0; slot < ROWS / 2; slot++) {
+            storage.insert(slot + 1, "User" + slot, ages[slot], cities[slot]);
+        }
+        IndexManager manager = new IndexManager(storage);
+        manager.initialize();
+
+        for (int slot = ROWS / 2; slot < ROWS; slot++) {
+            storage.insert(slot + 1, "User" + slot, ages[slot], cities[slot]);
+        }
+
+        // Metade das threads insere, as buscas de intervalo correm junto
+        inParallel(slot -> {
+            if (slot >= ROWS / 2) {
+                manager.insertRow(slot, storage.materialize(slot));
+            } else {
+                assertTrue(manager.rangeSlots("age", 18, 77).cardinality() >= ROWS / 2);
+            }
+        });
+
+        assertEquals(ROWS, manager.rangeSlots("age", 18, 77).cardinality());
+        int[] ordered = manager.orderedAgeSlots(true);
+        assertEquals(ROWS, ordered.length);
+        for (int i = 1; i < ordered.length; i++) {
+            assertTrue(ages[ordered[i - 1]] <= ages[ordered[i]]);
+        }
+    }
+
+    @Test
+    @DisplayName("B+TREE - Conjunto montado pelo vacuum deve incluir as escritas feitas durante a montagem")
+    void testTrocaDeConjunto() throws Exception {
+        ColumnarStorage storage = new ColumnarStorage(ROWS);
+        for (int slot = 0; slot < ROWS; slot++) {
+            storage.insert(slot + 1, "User" + slot, ages[slot], cities[slot]);
+        }
+        for (int id = 1; id <= ROWS; id += 2) {
+            storage.delete(storage.findSlot(id));
+        }
+        IndexManager manager = new IndexManager(storage);
+        manager.initialize();
+
+        Compaction compaction = storage.beginCompaction();
+        compaction.build();
+        IndexManager.IndexSet next = manager.build(compaction.view());
+
+        // Escritas no conjunto atual enquanto o novo é montado
+        int inserted = storage.insert(ROWS + 1, "Novo", 200, "Cidade0");
+        manager.insertRow(inserted, storage.materialize(inserted));
+        int version = storage.update(storage.findSlot(2), "User1", 201, "Cidade0");
+        manager.insertRow(version, storage.materialize(version));
+        storage.commit();
+
+        assertTrue(storage.finishCompaction(compaction));
+        manager.install(next, compaction.appendedSlots());
+
+        assertEquals(storage.generation(), manager.generation());
+        assertEquals(ROWS + 1, manager.searchById(ROWS + 1).get(0).getId());
+        assertEquals(List.of(2), manager.searchByAge(201).stream().map(Users::getId).toList());
+
+        // Sem contar as versões encerradas, os índices cobrem o storage
+        SlotBitmap all = manager.rangeSlots("age", 0, 1000);
+        int live = 0;
+        for (int slot : all.toArray()) {
+            live += storage.isLive(slot) ? 1 : 0;
+        }
+        assertEquals(storage.size(), live);
+        assertEquals(storage.size(), manager.orderedAgeSlots(true).length - storage.deletedCount());
+    }
+
+    // ==================== TESTES HASH ====================
+
+    @Test
+    @DisplayName("HASH - Inserções paralelas na mesma chave não devem se perder")
+    void testHashParalelo() throws Exception {
+        ConcurrentHashIndex<String> index = new ConcurrentHashIndex<>(slot -> cities[slot], "CityIndex");
+
+        inParallel(slot -> index.insert(cities[slot], slot));
+
+        int total = 0;
+        for (String city : index.keys()) {
+            for (int slot : index.search(city)) {
+                assertEquals(city, cities[slot]);
+                total++;
+            }
+        }
+        assertEquals(ROWS, total);
+
+        inParallel(slot -> assertTrue(index.remove(cities[slot], slot)));
+        assertTrue(index.isEmpty());
+    }
+
+    @Test
+    @DisplayName("HASH - Reconstrução deve manter a ordem de inserção dos slots")
+    void testHashRebuild() {
+        ConcurrentHashIndex<String> index = new ConcurrentHashIndex<>(slot -> cities[slot], "CityIndex");
+        index.rebuild(allSlots());
+
+        List<Integer> expected = new ArrayList<>();
+        for (int slot = 0; slot < ROWS; slot++) {
+            if (cities[slot].equals("Cidade3")) {
+                expected.add(slot);
+            }
+        }
+
+        assertEquals(10, index.size());
+        assertEquals(expected, index.search("Cidade3"));
+        assertTrue(index.search("Inexistente").isEmpty());
+        assertFalse(index.remove("Inexistente", 0));
+    }
+
+    // ==================== TESTES BITMAP ====================
+
+    @Test
+    @DisplayName("BITMAP - Busca deve devolver cópia isolada de escritas posteriores")
+    void testBitmapCopia() throws Exception {
+        ConcurrentBitmapIndex<String> index = new ConcurrentBitmapIndex<>(slot -> cities[slot], "CityIndex");
+
+        inParallel(slot -> index.insert(cities[slot], slot));
+
+        int before = index.bitmap("Cidade1").cardinality();
+        var copy = index.bitmap("Cidade1");
+        index.insert("Cidade1", ROWS + 1);
+
+        assertEquals(before, copy.cardinality());
+        assertEquals(before + 1, index.bitmap("Cidade1").cardinality());
+        assertTrue(index.bitmap("Inexistente").isEmpty());
+
+        inParallel(slot -> assertTrue(index.remove(cities[slot], slot)));
+        assertEquals(Set.of("Cidade1"), index.keys());
+    }
+}
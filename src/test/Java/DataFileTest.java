@@ -0,0 +1,205 @@
+import lib.Users;
+import lib.persistence.DataFile;
+import lib.persistence.MappedSnapshot;
+import lib.storage.ColumnarStorage;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("DataFile - Testes do Snapshot Mapeado em Memória")
+class DataFileTest {
+
+    @TempDir
+    Path dir;
+
+    private static final int DELTAS_ATE_MERGE = 8;
+
+    private DataFile dataFile;
+    private List<Users> users;
+
+    @BeforeEach
+    void setUp() {
+        dataFile = new DataFile(dir.resolve("users.db"));
+        users = new ArrayList<>();
+        for (int i = 1; i <= 500; i++) {
+            users.add(new Users(i, "Usuário " + i, 18 + i % 50, i % 2 == 0 ? "São Paulo" : "Recife"));
+        }
+    }
+
+    private void assertSameUsers(List<Users> expected, List<Users> actual) {
+        assertEquals(expected.size(), actual.size());
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals(expected.get(i).getId(), actual.get(i).getId());
+            assertEquals(expected.get(i).getName(), actual.get(i).getName());
+            assertEquals(expected.get(i).getAge(), actual.get(i).getAge());
+            assertEquals(expected.get(i).getCity(), actual.get(i).getCity());
+        }
+    }
+
+    @Test
+    @DisplayName("V3 - Salvar e carregar deve preservar os registros")
+    void testRoundTrip() throws IOException {
+        dataFile.save(users);
+
+        assertEquals(3, dataFile.readVersion());
+        assertSameUsers(users, dataFile.load());
+        assertTrue(dataFile.validate());
+    }
+
+    @Test
+    @DisplayName("V3 - LSN do checkpoint deve ser gravado no cabeçalho")
+    void testCheckpointLsn() throws IOException {
+        assertEquals(0, dataFile.readCheckpointLsn());
+
+        dataFile.save(users, 1234);
+        assertEquals(1234, dataFile.readCheckpointLsn());
+        assertEquals(1234, dataFile.map().getCheckpointLsn());
+        assertSameUsers(users, dataFile.load());
+    }
+
+    @Test
+    @DisplayName("V2 - Linhas devem ser decodificadas sob demanda")
+    void testAcessoLazy() throws IOException {
+        dataFile.save(users);
+
+        MappedSnapshot snapshot = dataFile.map();
+        assertEquals(500, snapshot.rowCount());
+        assertEquals(250, snapshot.getId(249));
+        assertEquals("Usuário 250", snapshot.getName(249));
+        assertEquals("São Paulo", snapshot.getCity(249));
+        assertThrows(IndexOutOfBoundsException.class, () -> snapshot.getId(500));
+    }
+
+    @Test
+    @DisplayName("V2 - loadInto deve preencher o armazenamento")
+    void testLoadInto() throws IOException {
+        dataFile.save(users);
+
+        ColumnarStorage storage = new ColumnarStorage();
+        assertEquals(500, dataFile.loadInto(storage));
+        assertSameUsers(users, storage.toList());
+    }
+
+    @Test
+    @DisplayName("V2 - Snapshot corrompido deve ser rejeitado")
+    void testChecksum() throws IOException {
+        dataFile.save(users);
+
+        Path path = dir.resolve("users.db");
+        byte[] bytes = Files.readAllBytes(path);
+        bytes[bytes.length - 3] ^= 0x5A;
+        Files.write(path, bytes);
+
+        assertThrows(IOException.class, () -> dataFile.load());
+        assertFalse(dataFile.validate());
+    }
+
+    @Test
+    @DisplayName("V1 - Snapshot antigo deve continuar legível")
+    void testVersao1() throws IOException {
+        try (ObjectOutputStream oos = new ObjectOutputStream(
+                Files.newOutputStream(dir.resolve("users.db")))) {
+            oos.writeInt(1);
+            oos.writeInt(users.size());
+            for (Users user : users) {
+                oos.writeInt(user.getId());
+                oos.writeUTF(user.getName());
+                oos.writeInt(user.getAge());
+                oos.writeUTF(user.getCity());
+            }
+        }
+
+        assertEquals(1, dataFile.readVersion());
+        assertSameUsers(users, dataFile.load());
+
+        ColumnarStorage storage = new ColumnarStorage();
+        assertEquals(500, dataFile.loadInto(storage));
+
+        // O próximo checkpoint grava na versão atual
+        dataFile.save(dataFile.load());
+        assertEquals(3, dataFile.readVersion());
+        assertSameUsers(users, dataFile.load());
+    }
+
+    @Test
+    @DisplayName("DELTA - Checkpoint incremental deve gravar só as linhas alteradas")
+    void testDelta() throws IOException {
+        ColumnarStorage storage = new ColumnarStorage();
+        for (Users user : users) {
+            storage.insert(user.getId(), user.getName(), user.getAge(), user.getCity());
+        }
+
+        // Primeiro checkpoint: base completa
+        assertTrue(dataFile.checkpoint(storage.snapshot(), 10));
+        long baseSize = dataFile.getSize();
+
+        storage.setAge(storage.findSlot(1), 99);
+        storage.delete(storage.findSlot(2));
+        storage.insert(501, "Novo", 40, "Natal");
+
+        assertFalse(dataFile.checkpoint(storage.snapshot(), 20));
+        assertEquals(1, dataFile.getDeltaCount());
+        assertEquals(baseSize, dataFile.getSize());
+        assertTrue(Files.size(dir.resolve("users.db.delta.000001")) < baseSize / 10);
+        assertEquals(20, dataFile.readCheckpointLsn());
+
+        ColumnarStorage loaded = new ColumnarStorage();
+        assertEquals(500, dataFile.loadInto(loaded));
+        assertSameUsers(storage.toList(), loaded.toList());
+        assertSameUsers(storage.toList(), dataFile.load());
+        assertTrue(dataFile.validate());
+    }
+
+    @Test
+    @DisplayName("DELTA - Cadeia longa deve ser consolidada numa base completa")
+    void testMergeDeltas() throws IOException {
+        ColumnarStorage storage = new ColumnarStorage();
+        for (Users user : users) {
+            storage.insert(user.getId(), user.getName(), user.getAge(), user.getCity());
+        }
+        assertTrue(dataFile.checkpoint(storage.snapshot(), 1));
+
+        for (int i = 0; i < DELTAS_ATE_MERGE; i++) {
+            storage.setCity(storage.findSlot(i + 1), "Cidade " + i);
+            assertFalse(dataFile.checkpoint(storage.snapshot(), 2 + i));
+        }
+
+        storage.setCity(storage.findSlot(100), "Última");
+        assertTrue(dataFile.checkpoint(storage.snapshot(), 100));
+        assertEquals(0, dataFile.getDeltaCount());
+        assertFalse(Files.exists(dir.resolve("users.db.delta.000001")));
+        assertEquals(100, dataFile.readCheckpointLsn());
+        assertSameUsers(storage.toList(), dataFile.load());
+    }
+
+    @Test
+    @DisplayName("DELTA - Delta de uma base anterior deve ser ignorado")
+    void testDeltaObsoleto() throws IOException {
+        ColumnarStorage storage = new ColumnarStorage();
+        for (Users user : users) {
+            storage.insert(user.getId(), user.getName(), user.getAge(), user.getCity());
+        }
+        dataFile.checkpoint(storage.snapshot(), 1);
+        storage.setAge(storage.findSlot(1), 70);
+        dataFile.checkpoint(storage.snapshot(), 2);
+
+        // Simula crash após gravar a base nova, antes de apagar os deltas
+        Path delta = dir.resolve("users.db.delta.000001");
+        byte[] saved = Files.readAllBytes(delta);
+        storage.setAge(storage.findSlot(1), 71);
+        dataFile.save(storage.snapshot(), 5);
+        Files.write(delta, saved);
+
+        assertEquals(0, dataFile.getDeltaCount());
+        assertEquals(5, dataFile.readCheckpointLsn());
+        assertEquals(71, dataFile.load().get(0).getAge());
+    }
+}
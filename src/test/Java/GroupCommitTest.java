@@ -0,0 +1,128 @@
+import lib.UserQuery;
+import lib.persistence.LogEntry;
+import lib.persistence.WALReader;
+import lib.persistence.WALWriter;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("WAL - Testes de Group Commit")
+class GroupCommitTest {
+
+    private static final int THREADS = 8;
+    private static final int WRITES_PER_THREAD = 100;
+
+    @TempDir
+    Path dir;
+
+    @Test
+    @DisplayName("GROUP COMMIT - Escritas concorrentes devem compartilhar fsyncs")
+    void testEscritasConcorrentes() throws Exception {
+        Path walPath = dir.resolve("users.wal");
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+
+        try (WALWriter writer = new WALWriter(walPath, true)) {
+            writer.enableGroupCommit(64, 2000);
+
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < THREADS; t++) {
+                int base = t * WRITES_PER_THREAD;
+                futures.add(pool.submit(() -> {
+                    for (int i = 0; i < WRITES_PER_THREAD; i++) {
+                        writer.write(LogEntry.createDelete(base + i));
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get(30, TimeUnit.SECONDS);
+            }
+
+            assertTrue(writer.getSyncCount() < THREADS * WRITES_PER_THREAD);
+        } finally {
+            pool.shutdownNow();
+        }
+
+        List<LogEntry> entries = new WALReader(walPath).readAll();
+        assertEquals(THREADS * WRITES_PER_THREAD, entries.size());
+
+        Set<Integer> ids = new HashSet<>();
+        for (int i = 0; i < entries.size(); i++) {
+            assertEquals(i + 1, entries.get(i).getLsn());
+            ids.add((Integer) entries.get(i).getData().get("id"));
+        }
+        assertEquals(THREADS * WRITES_PER_THREAD, ids.size());
+    }
+
+    @Test
+    @DisplayName("GROUP COMMIT - Entrada deve estar no arquivo quando write() retorna")
+    void testDurabilidade() throws Exception {
+        Path walPath = dir.resolve("users.wal");
+
+        try (WALWriter writer = new WALWriter(walPath, true)) {
+            writer.enableGroupCommit(1000, 500);
+            writer.write(LogEntry.createDelete(42));
+
+            // Lido sem flush/close: o flusher já gravou o lote
+            List<LogEntry> entries = new WALReader(walPath).readAll();
+            assertEquals(1, entries.size());
+            assertEquals(42, entries.get(0).getData().get("id"));
+        }
+    }
+
+    @Test
+    @DisplayName("GROUP COMMIT - Requer syncOnWrite")
+    void testRequerSync() throws Exception {
+        try (WALWriter writer = new WALWriter(dir.resolve("users.wal"), false)) {
+            assertThrows(IllegalStateException.class, () -> writer.enableGroupCommit(16, 100));
+        }
+    }
+
+    @Test
+    @DisplayName("GROUP COMMIT - Commits concorrentes na engine devem dividir fsyncs")
+    void testEngineCompartilhaFsync() throws Exception {
+        String dataDir = dir.resolve("data").toString();
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+
+        UserQuery engine = new UserQuery(true, dataDir);
+        try {
+            engine.enableGroupCommit(64, 2000);
+            long before = engine.getWalSyncCount();
+
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < THREADS; t++) {
+                int thread = t;
+                futures.add(pool.submit(() -> {
+                    for (int i = 0; i < WRITES_PER_THREAD / 2; i++) {
+                        engine.insert("Grupo " + thread + "-" + i, 20 + i % 50, "Recife");
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get(60, TimeUnit.SECONDS);
+            }
+
+            int commits = THREADS * WRITES_PER_THREAD / 2;
+            long syncs = engine.getWalSyncCount() - before;
+            assertTrue(syncs < commits, syncs + " fsyncs para " + commits + " commits");
+        } finally {
+            pool.shutdownNow();
+            engine.shutdown();
+        }
+
+        // Tudo o que insert() confirmou sobrevive ao restart
+        UserQuery reopened = new UserQuery(true, dataDir);
+        try {
+            assertEquals(THREADS * WRITES_PER_THREAD / 2, reopened.size());
+        } finally {
+            reopened.shutdown();
+        }
+    }
+}
@@ -0,0 +1,89 @@
+import lib.index.BTreeIndex;
+import lib.index.HashIndex;
+import lib.index.IndexCursor;
+import lib.index.SlotBitmap;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ConcurrentModificationException;
+import java.util.List;
+import java.util.PrimitiveIterator;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("IndexCursor - Testes dos Cursores de Índice")
+class IndexCursorTest {
+
+    private final int[] ages = {22, 35, 28, 41, 33, 25, 35};
+    private BTreeIndex<Integer, Integer> ageIndex;
+
+    @BeforeEach
+    void setUp() {
+        ageIndex = new BTreeIndex<>(slot -> ages[slot], "AgeIndex");
+        ageIndex.rebuild(List.of(0, 1, 2, 3, 4, 5, 6));
+    }
+
+    // ==================== TESTES CURSOR ====================
+
+    @Test
+    @DisplayName("CURSOR - Intervalo deve seguir a ordem das chaves")
+    void testRangeCursor() {
+        IndexCursor<Integer> cursor = ageIndex.rangeCursor(28, 35);
+
+        assertEquals(List.of(2, 4, 1, 6), cursor.toList());
+        assertFalse(cursor.hasNext());
+        assertEquals(ageIndex.searchRange(28, 35), ageIndex.rangeCursor(28, 35).toList());
+    }
+
+    @Test
+    @DisplayName("CURSOR - Intervalo invertido deve ser vazio")
+    void testRangeCursorInvertido() {
+        assertFalse(ageIndex.rangeCursor(40, 30).hasNext());
+    }
+
+    @Test
+    @DisplayName("CURSOR - Deve ser somente leitura")
+    void testCursorSomenteLeitura() {
+        IndexCursor<Integer> cursor = ageIndex.cursor(35);
+        cursor.next();
+
+        assertThrows(UnsupportedOperationException.class, cursor::remove);
+        assertEquals(2, ageIndex.search(35).size());
+    }
+
+    @Test
+    @DisplayName("CURSOR - Modificar o índice deve invalidar o cursor")
+    void testCursorInvalidado() {
+        HashIndex<String, Integer> index = new HashIndex<>(slot -> "Recife", "CityIndex");
+        index.rebuild(List.of(0, 1, 2));
+
+        IndexCursor<Integer> cursor = index.cursor("Recife");
+        cursor.next();
+        index.insert("Recife", 3);
+
+        assertThrows(ConcurrentModificationException.class, cursor::next);
+    }
+
+    @Test
+    @DisplayName("CURSOR - Iterador do bitmap deve cruzar containers")
+    void testBitmapIterator() {
+        SlotBitmap bitmap = new SlotBitmap();
+        for (int slot = 0; slot < 5000; slot++) {
+            bitmap.add(slot);
+        }
+        bitmap.add(70000);
+
+        PrimitiveIterator.OfInt it = bitmap.iterator();
+        int count = 0;
+        int last = -1;
+
+        while (it.hasNext()) {
+            last = it.nextInt();
+            count++;
+        }
+
+        assertEquals(5001, count);
+        assertEquals(70000, last);
+    }
+}
@@ -0,0 +1,136 @@
+import lib.index.IntBTreeIndex;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("IntBTreeIndex - Testes da B+Tree de Chaves Inteiras")
+class IntBTreeIndexTest {
+
+    private static final int ROWS = 5000;
+
+    private int[] ages;
+    private IntBTreeIndex index;
+
+    @BeforeEach
+    void setUp() {
+        ages = new int[ROWS];
+        Random random = new Random(42);
+        for (int slot = 0; slot < ROWS; slot++) {
+            ages[slot] = 18 + random.nextInt(60);
+        }
+        index = new IntBTreeIndex(slot -> ages[slot], "AgeIndex");
+    }
+
+    private List<Integer> expectedRange(Set<Integer> live, int min, int max) {
+        List<Integer> expected = new ArrayList<>();
+        for (int age = min; age <= max; age++) {
+            for (int slot = 0; slot < ROWS; slot++) {
+                if (ages[slot] == age && live.contains(slot)) {
+                    expected.add(slot);
+                }
+            }
+        }
+        return expected;
+    }
+
+    // ==================== TESTES INSERT ====================
+
+    @Test
+    @DisplayName("INSERT - Inserções avulsas devem manter a ordem")
+    void testInsertOrdenado() {
+        Set<Integer> live = new HashSet<>();
+        for (int slot = ROWS - 1; slot >= 0; slot--) {
+            index.insert(ages[slot], slot);
+            live.add(slot);
+        }
+
+        assertEquals(ROWS, index.entryCount());
+        assertEquals(60, index.size());
+        assertTrue(index.height() > 2);
+        assertEquals(expectedRange(live, 0, 100), index.getAllOrdered());
+        assertEquals(expectedRange(live, 30, 35), index.searchRange(30, 35));
+    }
+
+    @Test
+    @DisplayName("INSERT - Carga em lote deve equivaler a inserções avulsas")
+    void testRebuild() {
+        List<Integer> slots = new ArrayList<>();
+        for (int slot = 0; slot < ROWS; slot++) {
+            slots.add(slot);
+        }
+
+        index.rebuild(slots);
+
+        assertEquals(ROWS, index.entryCount());
+        assertEquals(expectedRange(new HashSet<>(slots), 25, 40), index.searchRange(25, 40));
+
+        List<Integer> desc = index.getAllOrderedDesc();
+        Collections.reverse(desc);
+        assertEquals(index.getAllOrdered(), desc);
+    }
+
+    // ==================== TESTES REMOVE ====================
+
+    @Test
+    @DisplayName("REMOVE - Remoções devem rebalancear sem perder registros")
+    void testRemoveRebalanceia() {
+        List<Integer> slots = new ArrayList<>();
+        for (int slot = 0; slot < ROWS; slot++) {
+            slots.add(slot);
+        }
+        index.rebuild(slots);
+
+        Set<Integer> live = new HashSet<>(slots);
+        Collections.shuffle(slots, new Random(7));
+
+        for (int i = 0; i < ROWS - 10; i++) {
+            int slot = slots.get(i);
+            assertTrue(index.remove(ages[slot], slot));
+            live.remove(slot);
+
+            if (i % 500 == 0) {
+                assertEquals(expectedRange(live, 0, 100), index.getAllOrdered());
+            }
+        }
+
+        assertEquals(10, index.entryCount());
+        assertEquals(expectedRange(live, 0, 100), index.getAllOrdered());
+        int removed = slots.get(0);
+        assertFalse(index.remove(ages[removed], removed));
+    }
+
+    @Test
+    @DisplayName("REMOVE - Chave sem registros deve sair da contagem")
+    void testRemoveChave() {
+        index.insert(30, 1);
+        index.insert(30, 2);
+        index.insert(31, 3);
+
+        index.remove(30, 1);
+        assertEquals(2, index.size());
+
+        index.remove(30, 2);
+        assertEquals(1, index.size());
+        assertTrue(index.search(30).isEmpty());
+        assertEquals(31, index.getMinKey());
+    }
+
+    // ==================== TESTES ESTATÍSTICAS ====================
+
+    @Test
+    @DisplayName("CHAVES - forEachKey deve contar registros por chave")
+    void testForEachKey() {
+        index.insert(20, 1);
+        index.insert(20, 2);
+        index.insert(25, 3);
+
+        Map<Integer, Integer> counts = new LinkedHashMap<>();
+        index.forEachKey(counts::put);
+
+        assertEquals(Map.of(20, 2, 25, 1), counts);
+    }
+}
@@ -0,0 +1,186 @@
+import lib.index.IndexCursor;
+import lib.index.IndexManager;
+import lib.index.PagedBTreeIndex;
+import lib.storage.ColumnarStorage;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Path;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("PagedBTreeIndex - Testes da B+Tree Paginada em Disco")
+class PagedBTreeIndexTest {
+
+    private static final int ROWS = 5000;
+
+    @TempDir
+    Path dir;
+
+    private int[] ages;
+    private PagedBTreeIndex index;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        ages = new int[ROWS];
+        Random random = new Random(42);
+        for (int slot = 0; slot < ROWS; slot++) {
+            ages[slot] = 18 + random.nextInt(60);
+        }
+        index = open();
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        index.close();
+    }
+
+    private PagedBTreeIndex open() throws IOException {
+        return new PagedBTreeIndex(dir.resolve("users.age.idx"), slot -> ages[slot], "AgeIndex", 32);
+    }
+
+    private List<Integer> allSlots() {
+        List<Integer> slots = new ArrayList<>();
+        for (int slot = 0; slot < ROWS; slot++) {
+            slots.add(slot);
+        }
+        return slots;
+    }
+
+    private List<Integer> expectedRange(Set<Integer> live, int min, int max) {
+        List<Integer> expected = new ArrayList<>();
+        for (int age = min; age <= max; age++) {
+            for (int slot = 0; slot < ROWS; slot++) {
+                if (ages[slot] == age && live.contains(slot)) {
+                    expected.add(slot);
+                }
+            }
+        }
+        return expected;
+    }
+
+    // ==================== TESTES INSERT/DELETE ====================
+
+    @Test
+    @DisplayName("INSERT - Inserções avulsas devem equivaler à carga em lote")
+    void testInsertIgualRebuild() {
+        Set<Integer> live = new HashSet<>();
+        for (int slot = ROWS - 1; slot >= 0; slot--) {
+            index.insert(ages[slot], slot);
+            live.add(slot);
+        }
+
+        assertEquals(ROWS, index.entryCount());
+        assertEquals(60, index.size());
+        assertEquals(expectedRange(live, 30, 35), index.rangeCursor(30, 35).toList());
+
+        index.rebuild(allSlots());
+
+        assertEquals(ROWS, index.entryCount());
+        assertEquals(60, index.size());
+        assertEquals(expectedRange(live, 0, 100), index.orderedCursor(true).toList());
+    }
+
+    @Test
+    @DisplayName("INSERT - Muitas chaves devem dividir páginas internas")
+    void testSplitInterno() {
+        int rows = 100_000;
+        for (int key = 0; key < rows; key++) {
+            index.insert(key, key);
+        }
+
+        assertEquals(rows, index.entryCount());
+        assertEquals(List.of(49_999, 50_000, 50_001), index.rangeCursor(49_999, 50_001).toList());
+
+        IndexCursor<Integer> desc = index.orderedCursor(false);
+        for (int key = rows - 1; key >= 0; key--) {
+            assertEquals(key, desc.next());
+        }
+        assertFalse(desc.hasNext());
+    }
+
+    @Test
+    @DisplayName("DELETE - Remoções devem refletir nas buscas")
+    void testRemove() {
+        index.rebuild(allSlots());
+        Set<Integer> live = new HashSet<>(allSlots());
+
+        for (int slot = 0; slot < ROWS; slot += 3) {
+            assertTrue(index.remove(ages[slot], slot));
+            live.remove(slot);
+        }
+        assertFalse(index.remove(ages[0], 0));
+
+        assertEquals(live.size(), index.entryCount());
+        assertEquals(expectedRange(live, 0, 100), index.orderedCursor(true).toList());
+        assertEquals(expectedRange(live, 40, 40), index.search(40));
+    }
+
+    // ==================== TESTES PERSISTÊNCIA ====================
+
+    @Test
+    @DisplayName("OPEN - Arquivo sincronizado deve ser reaproveitado com o mesmo stamp")
+    void testReopen() throws IOException {
+        index.rebuild(allSlots());
+        index.insert(99, 0);
+        index.sync(1234L);
+        index.close();
+
+        index = open();
+        assertFalse(index.open(999L));
+        assertTrue(index.open(1234L));
+
+        assertEquals(ROWS + 1, index.entryCount());
+        assertEquals(List.of(0), index.search(99));
+        assertEquals(expectedRange(new HashSet<>(allSlots()), 20, 25), index.rangeCursor(20, 25).toList());
+    }
+
+    @Test
+    @DisplayName("OPEN - Alterações após o sync devem invalidar o arquivo")
+    void testArquivoSujo() throws IOException {
+        index.rebuild(allSlots());
+        index.sync(7L);
+        index.remove(ages[10], 10);
+        index.close();
+
+        index = open();
+        assertFalse(index.open(7L));
+    }
+
+    @Test
+    @DisplayName("OPEN - Página corrompida deve ser detectada pelo checksum")
+    void testChecksum() throws IOException {
+        index.rebuild(allSlots());
+        index.sync(7L);
+        index.close();
+
+        try (RandomAccessFile file = new RandomAccessFile(dir.resolve("users.age.idx").toFile(), "rw")) {
+            file.seek(100);
+            file.write(file.read() ^ 0xFF);
+        }
+
+        index = open();
+        assertFalse(index.open(7L));
+
+        index.rebuild(allSlots());
+        assertEquals(ROWS, index.entryCount());
+    }
+
+    @Test
+    @DisplayName("STAMP - Trocas de id e age que se compensam devem mudar o stamp")
+    void testLayoutStamp() {
+        ColumnarStorage a = new ColumnarStorage(4);
+        ColumnarStorage b = new ColumnarStorage(4);
+        a.insert(1, "Ana", 40, "Recife");
+        b.insert(2, "Ana", 9, "Recife");    // 31 * 1 + 40 == 31 * 2 + 9
+
+        assertNotEquals(IndexManager.layoutStamp(a), IndexManager.layoutStamp(b));
+        assertEquals(IndexManager.layoutStamp(a), IndexManager.layoutStamp(a.snapshot()));
+    }
+}
@@ -0,0 +1,171 @@
+import lib.UserQuery;
+import lib.Users;
+import lib.index.Histogram;
+import lib.planner.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("QueryPlanner - Testes de Caminhos de Acesso")
+class QueryPlannerTest {
+
+    private UserQuery userQuery;
+    private QueryPlanner planner;
+
+    @BeforeEach
+    void setUp() {
+        userQuery = new UserQuery(false);
+        planner = new QueryPlanner();
+    }
+
+    private AccessPath cityEquals(String city) {
+        return planner.equality("city", city, userQuery.equals("city", city));
+    }
+
+    private AccessPath ageBetween(int min, int max) {
+        return planner.range("age", min, max, userQuery.between("age", min, max));
+    }
+
+    // ==================== TESTES SEEK / RANGE ====================
+
+    @Test
+    @DisplayName("SEEK - Igualdade por id deve usar índice")
+    void testSeekId() {
+        AccessPath path = planner.equality("id", 5, userQuery.equals("id", 5));
+
+        assertInstanceOf(IndexSeek.class, path);
+
+        List<Users> result = userQuery.fetch(path);
+        assertEquals(1, result.size());
+        assertEquals("Carla", result.get(0).getName());
+    }
+
+    @Test
+    @DisplayName("SEEK - Valor de tipo incompatível deve cair em FullScan")
+    void testSeekTipoIncompativel() {
+        AccessPath path = planner.equality("name", 5, userQuery.equals("name", 5));
+
+        assertInstanceOf(FullScan.class, path);
+        assertTrue(userQuery.fetch(path).isEmpty());
+    }
+
+    @Test
+    @DisplayName("RANGE - BETWEEN em age deve usar índice")
+    void testRangeAge() {
+        AccessPath path = ageBetween(30, 35);
+
+        assertInstanceOf(IndexRange.class, path);
+        assertEquals(userQuery.from(userQuery.between("age", 30, 35)), userQuery.fetch(path));
+    }
+
+    // ==================== TESTES AND / OR ====================
+
+    @Test
+    @DisplayName("AND - Dois lados indexados devem gerar Intersect")
+    void testAndIndexado() {
+        AccessPath path = planner.and(cityEquals("Recife"), ageBetween(20, 30));
+
+        assertInstanceOf(IndexIntersect.class, path);
+
+        List<Users> result = userQuery.fetch(path);
+        assertEquals(2, result.size());
+        assertTrue(result.stream().allMatch(u -> u.getCity().equals("Recife") && u.getAge() <= 30));
+    }
+
+    @Test
+    @DisplayName("AND - Lado sem índice deve virar filtro residual")
+    void testAndComLike() {
+        AccessPath like = planner.scan(userQuery.like("name", "a"));
+        AccessPath path = planner.and(cityEquals("São Paulo"), like);
+
+        assertInstanceOf(Filter.class, path);
+        assertTrue(path.usesIndex());
+        assertEquals(userQuery.from(path.predicate()), userQuery.fetch(path));
+    }
+
+    @Test
+    @DisplayName("OR - Dois lados indexados devem gerar Union")
+    void testOrIndexado() {
+        AccessPath path = planner.or(cityEquals("Recife"), cityEquals("Manaus"));
+
+        assertInstanceOf(IndexUnion.class, path);
+        assertEquals(6, userQuery.fetch(path).size());
+    }
+
+    @Test
+    @DisplayName("OR - Lado sem índice deve forçar FullScan")
+    void testOrComLike() {
+        AccessPath like = planner.scan(userQuery.like("city", "Rio"));
+        AccessPath path = planner.or(cityEquals("Recife"), like);
+
+        assertInstanceOf(FullScan.class, path);
+        assertEquals(6, userQuery.fetch(path).size());
+    }
+
+    @Test
+    @DisplayName("DELETE - Deve remover pelos slots do plano")
+    void testDeletePorPlano() {
+        int removed = userQuery.delete(planner.equality("id", 1, userQuery.equals("id", 1)));
+
+        assertEquals(1, removed);
+        assertEquals(29, userQuery.size());
+        assertTrue(userQuery.from(userQuery.equals("id", 1)).isEmpty());
+    }
+
+    // ==================== TESTES CUSTO ====================
+
+    @Test
+    @DisplayName("CUSTO - Cidade seletiva deve guiar e age virar filtro")
+    void testCustoCidadeGuia() {
+        QueryPlanner costPlanner = new QueryPlanner(userQuery.getCostModel());
+        AccessPath path = costPlanner.optimize(planner.and(cityEquals("Recife"), ageBetween(20, 50)));
+
+        assertInstanceOf(Filter.class, path);
+        AccessPath driver = ((Filter) path).getInput();
+        assertInstanceOf(IndexSeek.class, driver);
+        assertEquals("city", ((IndexSeek) driver).getColumn());
+        assertEquals(3, userQuery.fetch(path).size());
+    }
+
+    @Test
+    @DisplayName("CUSTO - Intervalo estreito de age deve guiar")
+    void testCustoIdadeGuia() {
+        QueryPlanner costPlanner = new QueryPlanner(userQuery.getCostModel());
+        AccessPath path = costPlanner.optimize(planner.and(cityEquals("São Paulo"), ageBetween(22, 22)));
+
+        assertInstanceOf(Filter.class, path);
+        assertInstanceOf(IndexRange.class, ((Filter) path).getInput());
+
+        List<Users> result = userQuery.fetch(path);
+        assertEquals(1, result.size());
+        assertEquals("Ana", result.get(0).getName());
+    }
+
+    @Test
+    @DisplayName("CUSTO - Intervalo que cobre a tabela deve virar FullScan")
+    void testCustoIntervaloAmplo() {
+        QueryPlanner costPlanner = new QueryPlanner(userQuery.getCostModel());
+        AccessPath path = costPlanner.optimize(ageBetween(0, 200));
+
+        assertInstanceOf(FullScan.class, path);
+        assertEquals(30, userQuery.fetch(path).size());
+    }
+
+    @Test
+    @DisplayName("HISTOGRAMA - Estimativas devem respeitar a distribuição")
+    void testHistograma() {
+        int[] keys = {10, 20, 30, 40};
+        int[] counts = {1, 1, 1, 97};
+
+        Histogram histogram = Histogram.build(keys, counts, keys.length, 4);
+
+        assertEquals(100, histogram.estimateRange(0, 100), 0.001);
+        assertEquals(97, histogram.estimateEquality(40), 0.001);
+        assertEquals(0, histogram.estimateEquality(50), 0.001);
+        assertTrue(histogram.estimateRange(10, 30) < 5);
+    }
+}
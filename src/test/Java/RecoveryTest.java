@@ -1,6 +1,8 @@
 
 
 import lib.*;
+import lib.persistence.LogEntry;
+import lib.persistence.WALWriter;
 
 import java.io.IOException;
 import java.nio.file.*;
@@ -12,7 +14,7 @@ import java.util.*;
  * Simula diversos cenários de crash e verifica recuperação.
  *
  * @author SQL Parser Team
- * @version 3.0
+ * @version 3.1
  */
 public class RecoveryTest {
 
@@ -32,6 +34,7 @@ public class RecoveryTest {
             testCheckpointBehavior();
             testCrashDuringOperations();
             testMultipleRecoveries();
+            testTransactionRecovery();
 
             System.out.println("\n╔════════════════════════════════════════════════╗");
             System.out.println("║         TODOS OS TESTES PASSARAM! ✓            ║");
@@ -386,6 +389,78 @@ public class RecoveryTest {
         }
     }
 
+    /**
+     * Teste 7: Transações no recovery
+     * Só transações com COMMIT voltam; uma transação aberta no fim do
+     * WAL é descartada e não absorve as escritas seguintes.
+     */
+    private static void testTransactionRecovery() throws Exception {
+        System.out.println("╔════════════════════════════════════════════════╗");
+        System.out.println("║   TESTE 7: Transações no Recovery              ║");
+        System.out.println("╚════════════════════════════════════════════════╝");
+
+        cleanupTestData();
+
+        // Sessão 1: uma transação confirmada, uma desfeita
+        {
+            UserQuery query = new UserQuery(true, DATA_DIR);
+
+            query.begin();
+            for (int i = 1; i <= 3; i++) {
+                query.insert("Commit" + i, 20 + i, "SP");
+            }
+            query.commit();
+
+            query.begin();
+            query.insert("Rollback1", 40, "RJ");
+            query.rollback();
+
+            query.insert("Solo", 50, "MG");
+            System.out.println("Sessão 1: COMMIT de 3, ROLLBACK de 1, 1 avulso");
+            // Crash
+        }
+
+        // Crash no meio de uma transação: BEGIN e INSERT no disco, sem COMMIT
+        try (WALWriter writer = new WALWriter(Paths.get(DATA_DIR, "users.wal"), true)) {
+            writer.write(LogEntry.createBegin());
+            writer.write(LogEntry.createInsert(new Users(999, "Aberta", 60, "BA")));
+        }
+
+        // Sessão 2: recovery + escrita após a transação aberta
+        {
+            UserQuery query = new UserQuery(true, DATA_DIR);
+            checkCount(query, "Commit", 3);
+            checkCount(query, "Rollback", 0);
+            checkCount(query, "Aberta", 0);
+
+            query.insert("Depois", 30, "PE");
+            System.out.println("Sessão 2: recovery + 1 inserção");
+            // Crash
+        }
+
+        // Verificação final
+        {
+            UserQuery query = new UserQuery(true, DATA_DIR);
+            checkCount(query, "Commit", 3);
+            checkCount(query, "Solo", 1);
+            checkCount(query, "Depois", 1);
+            checkCount(query, "Aberta", 0);
+
+            query.shutdown();
+            System.out.println("✓ TESTE 7 PASSOU!\n");
+        }
+    }
+
+    private static void checkCount(UserQuery query, String prefix, long expected) {
+        long found = query.getAllUsers().stream()
+                .filter(u -> u.getName().startsWith(prefix))
+                .count();
+
+        if (found != expected) {
+            throw new AssertionError("Esperado " + expected + " registros '" + prefix + "', encontrado: " + found);
+        }
+    }
+
     /**
      * Limpa dados de teste.
      */
@@ -0,0 +1,443 @@
+import lib.QueryResult;
+import lib.UserQuery;
+import lib.network.Protocol;
+import lib.network.ResultFormatter;
+import lib.network.SQLClient;
+import lib.network.SQLServer;
+import lib.network.ServerCursor;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.*;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("SQLServer - Testes de Conexões sobre a Engine Compartilhada")
+class SQLServerTest {
+
+    private UserQuery engine;
+    private SQLServer server;
+    private Thread serverThread;
+
+    @BeforeEach
+    void setUp() throws InterruptedException {
+        engine = new UserQuery(false);
+        server = new SQLServer(0, engine);
+        serverThread = new Thread(server::start);
+        serverThread.start();
+
+        for (int i = 0; i < 500 && server.getPort() == 0; i++) {
+            Thread.sleep(10);
+        }
+        assertTrue(server.getPort() > 0);
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        server.stop();
+        serverThread.join(5000);
+    }
+
+    /**
+     * Conexão crua com o protocolo binário, para fechar o socket sem
+     * DISCONNECT.
+     */
+    private class Connection implements Closeable {
+        private final Socket socket;
+        private final DataInputStream in;
+        private final OutputStream out;
+
+        Connection() throws IOException {
+            socket = new Socket("localhost", server.getPort());
+            socket.setSoTimeout(10000);
+            in = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+            out = socket.getOutputStream();
+            assertEquals("Connected to SQL Server", Protocol.read(in).text());
+        }
+
+        /**
+         * Envia a query e devolve o tipo do último frame da resposta.
+         */
+        byte query(String sql) throws IOException {
+            ByteBuffer frame = Protocol.frame(Protocol.QUERY, sql);
+            out.write(frame.array(), 0, frame.limit());
+
+            byte type = Protocol.read(in).type();
+            while (type == Protocol.ROW_DESCRIPTION || type == Protocol.ROW_BATCH) {
+                type = Protocol.read(in).type();
+            }
+            return type;
+        }
+
+        @Override
+        public void close() throws IOException {
+            socket.close();
+        }
+    }
+
+    /**
+     * Insere registros direto na engine, numa transação.
+     */
+    private void insertRows(int count) {
+        engine.begin();
+        for (int i = 0; i < count; i++) {
+            engine.insert("Registro " + i, i % 90, "Cidade " + i % 7);
+        }
+        engine.commit();
+    }
+
+    private SQLClient client() throws IOException {
+        SQLClient client = new SQLClient("localhost", server.getPort());
+        client.connect();
+        return client;
+    }
+
+    private static int count(SQLClient client) throws IOException {
+        QueryResult result = (QueryResult) client.query("SELECT count FROM users");
+        return (Integer) result.rows().get(0)[0];
+    }
+
+    // ==================== TESTES ENGINE ====================
+
+    @Test
+    @DisplayName("ENGINE - Conexões devem ver as escritas umas das outras")
+    void testEngineCompartilhada() throws IOException {
+        SQLClient a = client();
+        SQLClient b = client();
+        try {
+            assertEquals("Inserted id=31", a.query("INSERT INTO users VALUES ('Rede', 30, 'Recife')"));
+            assertEquals(31, count(b));
+
+            QueryResult result = (QueryResult) b.query("SELECT * FROM users WHERE name = 'Rede'");
+            assertEquals(1, result.rowCount());
+            assertArrayEquals(new Object[] {31, "Rede", 30, "Recife"}, result.rows().get(0));
+        } finally {
+            a.disconnect();
+            b.disconnect();
+        }
+    }
+
+    @Test
+    @DisplayName("TRANSAÇÃO - Queda do cliente no meio da transação deve desfazê-la")
+    void testQuedaNaTransacao() throws IOException {
+        SQLClient b = client();
+        try {
+            Connection a = new Connection();
+            assertEquals(Protocol.RESULT, a.query("BEGIN"));
+            assertEquals(Protocol.RESULT, a.query("INSERT INTO users VALUES ('Perdido', 30, 'Recife')"));
+
+            // Leitura de outra conexão não espera a transação
+            assertEquals(30, count(b));
+            a.close();
+
+            // A escrita espera o ROLLBACK liberar o lock
+            b.query("INSERT INTO users VALUES ('Depois', 30, 'Recife')");
+            assertEquals(31, count(b));
+            assertEquals(0, ((QueryResult) b.query("SELECT * FROM users WHERE name = 'Perdido'")).rowCount());
+        } finally {
+            b.disconnect();
+        }
+    }
+
+    @Test
+    @DisplayName("TRANSAÇÃO - Transação parada deve ser desfeita após o timeout")
+    void testTimeoutDaTransacao() throws IOException {
+        server.setTransactionTimeout(300);
+        SQLClient b = client();
+        try (Connection a = new Connection()) {
+            assertEquals(Protocol.RESULT, a.query("BEGIN"));
+            assertEquals(Protocol.RESULT, a.query("INSERT INTO users VALUES ('Parado', 30, 'Recife')"));
+
+            // A escrita de outra conexão só espera até o timeout
+            long start = System.nanoTime();
+            b.query("INSERT INTO users VALUES ('Depois', 30, 'Recife')");
+            assertTrue(System.nanoTime() - start < 5_000_000_000L);
+
+            assertEquals(31, count(b));
+            assertEquals(0, ((QueryResult) b.query("SELECT * FROM users WHERE name = 'Parado'")).rowCount());
+
+            // A conexão parada recebe o erro e é encerrada
+            Protocol.Frame error = Protocol.read(a.in);
+            assertEquals(Protocol.ERROR, error.type());
+            assertTrue(error.text().contains("rolled back"));
+            assertThrows(EOFException.class, () -> Protocol.read(a.in));
+        } finally {
+            b.disconnect();
+        }
+    }
+
+    @Test
+    @DisplayName("CONEXÕES - Conexões ociosas não devem prender threads")
+    void testConexoesOciosas() throws IOException {
+        List<Connection> connections = new ArrayList<>();
+        try {
+            for (int i = 0; i < 200; i++) {
+                connections.add(new Connection());
+            }
+
+            assertEquals(200, server.getClientCount());
+            assertEquals(Protocol.ROWS_END, connections.get(199).query("SELECT count FROM users"));
+
+            long workers = Thread.getAllStackTraces().keySet().stream()
+                    .filter(thread -> thread.getName().startsWith("sql-"))
+                    .count();
+            assertTrue(workers < 10, workers + " threads para 200 conexões");
+        } finally {
+            for (Connection connection : connections) {
+                connection.close();
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("CONEXÕES - SELECT não deve esperar escritores parados no lock de escrita")
+    void testLeituraComEscritoresParados() throws IOException {
+        int writers = Math.max(16, 4 * Runtime.getRuntime().availableProcessors()) + 4;
+        List<Connection> connections = new ArrayList<>();
+        SQLClient reader = client();
+        try (Connection a = new Connection()) {
+            assertEquals(Protocol.RESULT, a.query("BEGIN"));
+            assertEquals(Protocol.RESULT, a.query("INSERT INTO users VALUES ('Longa', 30, 'Recife')"));
+
+            // Mais escritores que threads no pool, todos parados no lock
+            for (int i = 0; i < writers; i++) {
+                Connection writer = new Connection();
+                ByteBuffer frame = Protocol.frame(Protocol.QUERY,
+                        "INSERT INTO users VALUES ('Parado " + i + "', 30, 'Recife')");
+                writer.out.write(frame.array(), 0, frame.limit());
+                connections.add(writer);
+            }
+
+            long start = System.nanoTime();
+            assertEquals(30, count(reader));
+            assertTrue(System.nanoTime() - start < 3_000_000_000L);
+
+            // O COMMIT libera os escritores, que terminam todos
+            assertEquals(Protocol.RESULT, a.query("COMMIT"));
+            for (Connection writer : connections) {
+                assertEquals(Protocol.RESULT, Protocol.read(writer.in).type());
+            }
+            assertEquals(31 + writers, count(reader));
+        } finally {
+            reader.disconnect();
+            for (Connection connection : connections) {
+                connection.close();
+            }
+        }
+    }
+
+    // ==================== TESTES PROTOCOLO ====================
+
+    @Test
+    @DisplayName("PROTOCOLO - Resultado em vários lotes deve chegar inteiro e tipado")
+    void testLinhasTipadas() throws IOException {
+        SQLClient client = client();
+        try {
+            client.query("BEGIN");
+            for (int i = 0; i < 2000; i++) {
+                client.query("INSERT INTO users VALUES ('Lote " + i + " ção', " + (i % 90) + ", 'Cidade')");
+            }
+            client.query("COMMIT");
+
+            QueryResult result = (QueryResult) client.query("SELECT id, name, age FROM users ORDER BY id ASC");
+            assertEquals(2030, result.rowCount());
+            assertEquals("name", result.columnName(1));
+            assertEquals(QueryResult.ColumnType.INT, result.columnType(2));
+
+            Object[] last = result.rows().get(2029);
+            assertArrayEquals(new Object[] {2030, "Lote 1999 ção", 1999 % 90}, last);
+
+            assertTrue(ResultFormatter.formatAsTable(result).endsWith("(2030 rows)"));
+            assertTrue(client.execute("SELECT count FROM users").contains("2030"));
+        } finally {
+            client.disconnect();
+        }
+    }
+
+    @Test
+    @DisplayName("PROTOCOLO - Erros e comandos sem linhas devem vir como texto")
+    void testRespostasDeTexto() throws IOException {
+        SQLClient client = client();
+        try {
+            assertTrue(client.query("COMMIT").toString().startsWith("ERROR: Invalid"));
+            assertTrue(client.query("SELEC * FROM users").toString().startsWith("ERROR: "));
+            assertEquals("No results", client.execute("SELECT * FROM users WHERE id = 999"));
+            assertTrue(client.ping());
+        } finally {
+            client.disconnect();
+        }
+    }
+
+    // ==================== TESTES CURSOR ====================
+
+    @Test
+    @DisplayName("CURSOR - Cada FETCH deve trazer no máximo o fetch size")
+    void testCursorFetchSize() throws IOException {
+        insertRows(500);
+        SQLClient client = client();
+        try (ServerCursor cursor = client.openCursor("SELECT id, city FROM users ORDER BY id ASC", 100)) {
+            assertEquals(100, cursor.received());
+            assertEquals("city", cursor.columnName(1));
+
+            int expected = 1;
+            while (cursor.hasNext()) {
+                Object[] row = cursor.next();
+                assertEquals(expected++, row[0]);
+                assertTrue(cursor.received() <= ((expected + 98) / 100) * 100);
+            }
+            assertEquals(531, expected);
+            assertEquals(530, cursor.received());
+        } finally {
+            client.disconnect();
+        }
+    }
+
+    @Test
+    @DisplayName("CURSOR - CLOSE e nova query devem descartar o cursor")
+    void testCursorFechado() throws IOException {
+        SQLClient client = client();
+        try {
+            ServerCursor fechado = client.openCursor("SELECT * FROM users", 10);
+            fechado.next();
+            fechado.close();
+            assertFalse(fechado.hasNext());
+            assertEquals(30, count(client));
+
+            // Outra query na conexão fecha o cursor no servidor
+            ServerCursor substituido = client.openCursor("SELECT * FROM users", 10);
+            assertEquals(30, count(client));
+            for (int i = 0; i < 10; i++) {
+                substituido.next();
+            }
+            IllegalStateException erro = assertThrows(IllegalStateException.class, substituido::hasNext);
+            assertTrue(erro.getMessage().startsWith("Invalid"));
+
+            assertThrows(IllegalStateException.class, () -> client.openCursor("DELETE FROM users WHERE id=1", 10));
+            assertThrows(IllegalStateException.class, () -> client.openCursor("SELEC * FROM users", 10));
+        } finally {
+            client.disconnect();
+        }
+    }
+
+    @Test
+    @DisplayName("CURSOR - Cliente lento deve receber o resultado inteiro sem travar os outros")
+    void testClienteLento() throws Exception {
+        insertRows(20000);
+
+        try (Socket socket = new Socket()) {
+            socket.setReceiveBufferSize(4096);
+            socket.connect(new InetSocketAddress("localhost", server.getPort()));
+            socket.setSoTimeout(10000);
+            DataInputStream in = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+            Protocol.read(in);
+
+            ByteBuffer query = Protocol.frame(Protocol.QUERY, "SELECT * FROM users");
+            socket.getOutputStream().write(query.array(), 0, query.limit());
+
+            // Enquanto o cliente lento não lê, outras conexões seguem respondendo
+            Thread.sleep(200);
+            SQLClient other = client();
+            assertEquals(20030, count(other));
+            other.disconnect();
+
+            assertEquals(Protocol.ROW_DESCRIPTION, Protocol.read(in).type());
+            int rows = 0;
+            Protocol.Frame frame;
+            while ((frame = Protocol.read(in)).type() == Protocol.ROW_BATCH) {
+                rows += frame.payload().getInt();
+            }
+            assertEquals(Protocol.ROWS_END, frame.type());
+            assertEquals(20030, frame.payload().getInt());
+            assertEquals(20030, rows);
+        }
+    }
+
+    // ==================== TESTES PIPELINE ====================
+
+    @Test
+    @DisplayName("PIPELINE - Respostas devem chegar em ordem e casar com os ids")
+    void testPipeline() throws IOException {
+        SQLClient client = client();
+        try {
+            List<Integer> ids = new ArrayList<>();
+            for (int i = 0; i < 100; i++) {
+                ids.add(client.submit("INSERT INTO users VALUES ('Pipe " + i + "', 20, 'Recife')"));
+            }
+            int erro = client.submit("SELEC * FROM users");
+            int total = client.submit("SELECT count FROM users");
+
+            // Ler o último primeiro guarda as respostas anteriores
+            assertEquals(130, ((QueryResult) client.receive(total)).rows().get(0)[0]);
+            assertTrue(client.receive(erro).toString().startsWith("ERROR: "));
+            for (int i = 0; i < ids.size(); i++) {
+                assertEquals("Inserted id=" + (31 + i), client.receive(ids.get(i)));
+            }
+            assertThrows(IllegalArgumentException.class, () -> client.receive(total));
+
+            // Pedido sem receive não atrapalha a próxima query síncrona
+            client.submit("INSERT INTO users VALUES ('Solto', 20, 'Recife')");
+            assertEquals(131, count(client));
+        } finally {
+            client.disconnect();
+        }
+    }
+
+    @Test
+    @DisplayName("BATCH - Lote de INSERTs deve ser gravado inteiro ou nada")
+    void testBatch() throws IOException {
+        SQLClient client = client();
+        try {
+            List<String> inserts = new ArrayList<>();
+            for (int i = 0; i < 500; i++) {
+                inserts.add("INSERT INTO users VALUES ('Lote " + i + "', " + (i % 90) + ", 'Natal')");
+            }
+            assertEquals("Inserted 500 rows", client.executeBatch(inserts));
+            assertEquals(530, count(client));
+
+            inserts.set(250, "INSERT INTO users VALUES ('Incompleto', 20)");
+            assertTrue(client.executeBatch(inserts).toString().startsWith("ERROR: Invalid: batch statement 251"));
+            assertEquals(530, count(client));
+
+            assertTrue(client.executeBatch(List.of("DELETE FROM users")).toString().startsWith("ERROR: Invalid"));
+            assertEquals(530, count(client));
+
+            // EXECUTE de um INSERT preparado na conexão
+            assertEquals("Prepared ins (3 parameters)", client.query("PREPARE ins AS INSERT INTO users VALUES (?, ?, ?)"));
+            assertEquals("Inserted 2 rows", client.executeBatch(List.of(
+                    "EXECUTE ins ('Preparado', 20, 'Natal')",
+                    "EXECUTE ins ('Preparado', 21, 'Natal')")));
+            assertEquals(532, count(client));
+
+            // EXECUTE de outro comando preparado recusa o lote antes de executar
+            client.query("PREPARE del AS DELETE FROM users WHERE age = ?");
+            assertTrue(client.executeBatch(List.of(
+                    "EXECUTE del (20)",
+                    "EXECUTE ins ('Preparado', 22, 'Natal')")).toString()
+                    .startsWith("ERROR: Invalid: batch statement 1 is not an INSERT"));
+            assertEquals(532, count(client));
+
+            // Dentro de uma transação aberta, o lote entra nela
+            client.query("BEGIN");
+            assertEquals("Inserted 1 rows", client.executeBatch(List.of("INSERT INTO users VALUES ('Tx', 20, 'Natal')")));
+
+            // Com erro, os INSERTs anteriores do lote ficam na transação
+            String error = client.executeBatch(List.of(
+                    "INSERT INTO users VALUES ('Tx', 21, 'Natal')",
+                    "INSERT INTO users VALUES ('Tx', 22)")).toString();
+            assertTrue(error.startsWith("ERROR: Invalid: batch statement 2"));
+            assertTrue(error.contains("statements 1-1 remain applied"));
+            assertEquals(2, ((QueryResult) client.query("SELECT * FROM users WHERE name = 'Tx'")).rowCount());
+            client.query("ROLLBACK");
+            assertEquals(532, count(client));
+        } finally {
+            client.disconnect();
+        }
+    }
+}
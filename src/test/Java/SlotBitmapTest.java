@@ -0,0 +1,103 @@
+import lib.index.ConcurrentBitmapIndex;
+import lib.index.SlotBitmap;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("SlotBitmap - Testes do Bitmap de Slots")
+class SlotBitmapTest {
+
+    private SlotBitmap range(int from, int to, int step) {
+        SlotBitmap bitmap = new SlotBitmap();
+        for (int slot = from; slot < to; slot += step) {
+            bitmap.add(slot);
+        }
+        return bitmap;
+    }
+
+    // ==================== TESTES ADD / REMOVE ====================
+
+    @Test
+    @DisplayName("ADD - Deve manter slots ordenados e sem repetição")
+    void testAddOrdenado() {
+        SlotBitmap bitmap = new SlotBitmap();
+        bitmap.add(70000);
+        bitmap.add(5);
+        bitmap.add(3);
+        bitmap.add(5);
+
+        assertArrayEquals(new int[]{3, 5, 70000}, bitmap.toArray());
+        assertEquals(3, bitmap.cardinality());
+        assertTrue(bitmap.contains(70000));
+        assertFalse(bitmap.contains(4));
+    }
+
+    @Test
+    @DisplayName("ADD/REMOVE - Container denso deve voltar a esparso")
+    void testConversaoContainer() {
+        SlotBitmap bitmap = range(0, 10000, 1);
+        assertEquals(10000, bitmap.cardinality());
+
+        for (int slot = 0; slot < 10000; slot += 2) {
+            assertTrue(bitmap.remove(slot));
+        }
+
+        assertEquals(5000, bitmap.cardinality());
+        assertFalse(bitmap.contains(0));
+        assertTrue(bitmap.contains(9999));
+
+        for (int slot = 1; slot < 10000; slot += 2) {
+            bitmap.remove(slot);
+        }
+
+        assertTrue(bitmap.isEmpty());
+    }
+
+    // ==================== TESTES AND / OR ====================
+
+    @Test
+    @DisplayName("AND - Deve intersectar containers esparsos e densos")
+    void testAnd() {
+        SlotBitmap pares = range(0, 200000, 2);
+        SlotBitmap multiplos3 = range(0, 200000, 3);
+
+        SlotBitmap result = pares.and(multiplos3);
+
+        assertEquals(33334, result.cardinality());
+        assertTrue(result.contains(199998));
+        assertFalse(result.contains(3));
+        assertEquals(100000, pares.cardinality());
+    }
+
+    @Test
+    @DisplayName("OR - Deve unir bitmaps com containers distintos")
+    void testOr() {
+        SlotBitmap a = range(0, 10, 1);
+        SlotBitmap b = range(5, 70000, 5000);
+
+        int[] result = a.or(b).toArray();
+
+        assertArrayEquals(new int[]{0, 1, 2, 3, 4, 5, 6, 7, 8, 9,
+                5005, 10005, 15005, 20005, 25005, 30005, 35005,
+                40005, 45005, 50005, 55005, 60005, 65005}, result);
+    }
+
+    // ==================== TESTES ÍNDICE ====================
+
+    @Test
+    @DisplayName("ÍNDICE - ConcurrentBitmapIndex deve remover chave vazia")
+    void testBitmapIndex() {
+        String[] cities = {"Recife", "Manaus", "Recife"};
+        ConcurrentBitmapIndex<String> index = new ConcurrentBitmapIndex<>(slot -> cities[slot], "CityIndex");
+
+        index.rebuild(List.of(0, 1, 2));
+
+        assertEquals(List.of(0, 2), index.search("Recife"));
+        assertTrue(index.remove("Manaus", 1));
+        assertEquals(1, index.size());
+        assertTrue(index.bitmap("Manaus").isEmpty());
+    }
+}
@@ -1,5 +1,6 @@
 
 
+import lib.PreparedQuery;
 import lib.UserQueryParser;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -485,6 +486,86 @@ class UserQueryParserTest {
         assertTrue(result.contains("inválido") || result.contains("Comando"));
     }
 
+    // ==================== TESTES TRANSAÇÃO ====================
+
+    @Test
+    @DisplayName("TRANSACTION - ROLLBACK must undo the INSERTs.")
+    void testRollbackInserts() {
+        assertEquals("Transaction started", parser.execute("BEGIN"));
+        parser.execute("INSERT INTO users VALUES ('Tx1', 25, 'City1')");
+        parser.execute("INSERT INTO users VALUES ('Tx2', 26, 'City2')");
+        assertTrue(parser.execute("SELECT count FROM users").contains("32"));
+
+        assertEquals("Rolled back", parser.execute("ROLLBACK TRANSACTION"));
+        assertTrue(parser.execute("SELECT count FROM users").contains("30"));
+    }
+
+    @Test
+    @DisplayName("TRANSACTION - COMMIT must keep the UPDATE.")
+    void testCommitUpdate() {
+        parser.execute("BEGIN TRANSACTION");
+        parser.execute("UPDATE users SET age=77 WHERE id=1");
+        assertEquals("Committed", parser.execute("COMMIT"));
+
+        String result = parser.execute("SELECT * FROM users WHERE id=1");
+        assertTrue(result.contains("77"));
+    }
+
+    @Test
+    @DisplayName("TRANSACTION - COMMIT without BEGIN must be invalid.")
+    void testCommitSemBegin() {
+        String result = parser.execute("COMMIT");
+
+        assertTrue(result.startsWith("Invalid"));
+    }
+
+    // ==================== TESTES PREPARED ====================
+
+    @Test
+    @DisplayName("PREPARED - Comando preparado deve executar com novos valores")
+    void testPrepareExecute() {
+        PreparedQuery insert = parser.prepare("INSERT INTO users VALUES (?, ?, ?)");
+        assertEquals(3, insert.parameterCount());
+        assertTrue(insert.isInsert());
+
+        assertEquals("Inserted id=31", parser.execute(insert, "Ana ''Maria''", 30, "Recife"));
+        assertEquals("Inserted id=32", parser.execute(insert, "Bia", 41, "Natal"));
+
+        PreparedQuery byId = parser.prepare("SELECT name, age FROM users WHERE id = ?");
+        assertFalse(byId.isInsert());
+        assertEquals("[{name=Ana ''Maria'', age=30}]", parser.execute(byId, 31));
+        assertEquals("[{name=Bia, age=41}]", parser.execute(byId, 32));
+
+        PreparedQuery range = parser.prepare("SELECT count FROM users WHERE age BETWEEN ? AND ? AND city LIKE ?");
+        assertEquals("[{count=1}]", parser.execute(range, 40, 45, "Natal"));
+    }
+
+    @Test
+    @DisplayName("PREPARED - PREPARE, EXECUTE e DEALLOCATE em SQL")
+    void testPrepareSql() {
+        assertEquals("Prepared upd (2 parameters)",
+                parser.execute("PREPARE upd AS UPDATE users SET age = ? WHERE id = ?"));
+        assertEquals("1 updated", parser.execute("EXECUTE upd (77, 1)"));
+        assertTrue(parser.execute("SELECT * FROM users WHERE id = 1").contains("age=77"));
+
+        assertTrue(parser.execute("EXECUTE upd (77)").startsWith("Invalid"));
+        assertEquals("Deallocated upd", parser.execute("DEALLOCATE PREPARE upd"));
+        assertTrue(parser.execute("EXECUTE upd (77, 1)").startsWith("Invalid"));
+    }
+
+    @Test
+    @DisplayName("PREPARED - Parâmetros fora de PREPARE e comandos inválidos")
+    void testPreparedInvalido() {
+        assertTrue(parser.execute("SELECT * FROM users WHERE id = ?").startsWith("Invalid"));
+        assertThrows(IllegalArgumentException.class, () -> parser.prepare("BEGIN"));
+        assertThrows(IllegalArgumentException.class, () -> parser.prepare("SELEC * FROM users"));
+        assertThrows(IllegalArgumentException.class, () -> parser.prepare("SELECT * FROM users WHERE id = ? users"));
+
+        PreparedQuery byId = parser.prepare("SELECT * FROM users WHERE id = ?");
+        assertTrue(parser.execute(byId, "um").startsWith("Invalid"));
+        assertTrue(parser.execute(byId, 1L).startsWith("Invalid"));
+    }
+
     // ==================== TESTES DE INTEGRAÇÃO ====================
 
     @Test
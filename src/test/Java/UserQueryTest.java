@@ -2,11 +2,16 @@
 
 import lib.UserQuery;
 import lib.Users;
+import lib.planner.AccessPath;
+import lib.planner.QueryPlanner;
+import lib.storage.TableView;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.DisplayName;
 
 import java.util.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Predicate;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -592,4 +597,135 @@ class UserQueryTest {
         
         assertEquals(0, result.size());
     }
+
+    // ==================== TESTES CONCORRÊNCIA ====================
+
+    @Test
+    @DisplayName("MVCC - Visão aberta não deve enxergar escritas posteriores")
+    void testVisaoAberta() {
+        UserQuery query = new UserQuery(false);
+        QueryPlanner planner = new QueryPlanner();
+        AccessPath idade22 = planner.equality("age", 22, query.equals("age", 22));
+
+        TableView visao = query.readView();
+        int antes = query.fetch(idade22, visao).size();
+
+        query.update(Map.of("age", 99), query.equals("age", 22));
+        query.delete(query.equals("id", 1));
+
+        // A visão antiga segue usando o índice, que ainda tem as versões antigas
+        assertEquals(antes, query.fetch(idade22, visao).size());
+        assertEquals(30, visao.size());
+        assertTrue(query.fetch(idade22).isEmpty());
+        assertEquals(29, query.size());
+    }
+
+    @Test
+    @DisplayName("MVCC - Leituras concorrentes devem ver cada UPDATE inteiro")
+    void testLeiturasConcorrentes() throws Exception {
+        UserQuery query = new UserQuery(false);
+        QueryPlanner planner = new QueryPlanner();
+        AccessPath todos = planner.range("age", 0, 1000, query.between("age", 0, 1000));
+        AtomicReference<String> erro = new AtomicReference<>();
+        AtomicBoolean fim = new AtomicBoolean(false);
+
+        List<Thread> leitores = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            boolean indice = t % 2 == 0;
+            Thread leitor = new Thread(() -> {
+                while (!fim.get() && erro.get() == null) {
+                    List<Users> users = indice ? query.fetch(todos) : query.from();
+
+                    if (users.size() != 30) {
+                        erro.set(users.size() + " registros");
+                    } else if (users.stream().anyMatch(u -> u.getAge() != users.get(0).getAge())) {
+                        erro.set("UPDATE visto pela metade");
+                    }
+                }
+            });
+            leitores.add(leitor);
+        }
+
+        // Alinha as idades antes de começar
+        query.update(Map.of("age", 0), u -> true);
+        leitores.forEach(Thread::start);
+
+        for (int i = 1; i <= 300 && erro.get() == null; i++) {
+            query.update(Map.of("age", i), u -> true);
+        }
+
+        fim.set(true);
+        for (Thread leitor : leitores) {
+            leitor.join();
+        }
+
+        assertNull(erro.get());
+        assertEquals(30, query.from(query.equals("age", 300)).size());
+    }
+
+    // ==================== TESTES TRANSAÇÃO ====================
+
+    @Test
+    @DisplayName("TRANSAÇÃO - ROLLBACK deve desfazer INSERT, UPDATE e DELETE")
+    void testRollback() {
+        UserQuery query = new UserQuery(false);
+        List<Users> antes = query.from();
+
+        query.begin();
+        int id = query.insert("Temporário", 40, "Natal");
+        query.update(Map.of("age", 99), query.equals("age", 22));
+        query.deleteById(1);
+        query.delete(query.equals("id", id));
+
+        assertEquals(29, query.size());
+        assertTrue(query.from(query.equals("age", 22)).isEmpty());
+        query.rollback();
+
+        assertFalse(query.inTransaction());
+        assertEquals(antes.toString(), query.from().toString());
+        assertEquals(antes.stream().filter(u -> u.getAge() == 22).count(),
+                query.from(query.equals("age", 22)).size());
+
+        // O id usado na transação desfeita não volta
+        assertEquals(id + 1, query.insert("Novo", 20, "Recife"));
+    }
+
+    @Test
+    @DisplayName("TRANSAÇÃO - Outras threads só devem ver as escritas após o COMMIT")
+    void testIsolamento() throws Exception {
+        UserQuery query = new UserQuery(false);
+        AtomicReference<Integer> visto = new AtomicReference<>();
+
+        query.begin();
+        query.insert("A", 30, "Recife");
+        query.insert("B", 31, "Recife");
+        assertEquals(32, query.size());
+
+        Thread leitor = new Thread(() -> visto.set(query.size()));
+        leitor.start();
+        leitor.join();
+        assertEquals(30, visto.get());
+
+        query.commit();
+
+        leitor = new Thread(() -> visto.set(query.size()));
+        leitor.start();
+        leitor.join();
+        assertEquals(32, visto.get());
+    }
+
+    @Test
+    @DisplayName("TRANSAÇÃO - COMMIT sem BEGIN e BEGIN duplo devem falhar")
+    void testTransacaoInvalida() {
+        UserQuery query = new UserQuery(false);
+
+        assertThrows(IllegalStateException.class, query::commit);
+        assertThrows(IllegalStateException.class, query::rollback);
+
+        query.begin();
+        assertThrows(IllegalStateException.class, query::begin);
+        assertTrue(query.inTransaction());
+        query.commit();
+        assertFalse(query.inTransaction());
+    }
 }
@@ -0,0 +1,451 @@
+import lib.Users;
+import lib.persistence.LogEntry;
+import lib.persistence.WALCursor;
+import lib.persistence.WALReader;
+import lib.persistence.WALWriter;
+import lib.storage.ColumnarStorage;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("WAL - Testes do Formato Binário")
+class WALFormatTest {
+
+    @TempDir
+    Path dir;
+
+    private Path walPath;
+    private Path segmentPath;
+
+    @BeforeEach
+    void setUp() {
+        walPath = dir.resolve("users.wal");
+        segmentPath = dir.resolve("users.wal.000001");
+    }
+
+    private static int lastNonZero(byte[] bytes) {
+        int i = bytes.length - 1;
+        while (bytes[i] == 0) {
+            i--;
+        }
+        return i;
+    }
+
+    private void writeSample(WALWriter writer) throws IOException {
+        writer.write(LogEntry.createInsert(new Users(1, "Ana | Silva", 30, "São Paulo")));
+        writer.write(LogEntry.createInsert(new Users(2, "Bruno", 25, "Recife")));
+
+        Map<String, Object> changes = new HashMap<>();
+        changes.put("age", 31);
+        changes.put("city", "123");  // String numérica deve continuar String
+        writer.write(LogEntry.createUpdate(1, changes));
+
+        writer.write(LogEntry.createDelete(2));
+    }
+
+    @Test
+    @DisplayName("BINÁRIO - Entradas devem ser lidas com os mesmos valores e LSNs crescentes")
+    void testRoundTrip() throws IOException {
+        try (WALWriter writer = new WALWriter(walPath, false)) {
+            writeSample(writer);
+        }
+
+        // Segmento pré-alocado com o tamanho final
+        assertEquals(4 * 1024 * 1024, Files.size(segmentPath));
+
+        List<LogEntry> entries = new WALReader(walPath).readAll();
+        assertEquals(4, entries.size());
+
+        assertEquals("Ana | Silva", entries.get(0).getData().get("name"));
+        assertEquals("São Paulo", entries.get(0).getData().get("city"));
+
+        Map<?, ?> changes = (Map<?, ?>) entries.get(2).getData().get("changes");
+        assertEquals(31, changes.get("age"));
+        assertEquals("123", changes.get("city"));
+
+        for (int i = 0; i < entries.size(); i++) {
+            assertEquals(i + 1, entries.get(i).getLsn());
+        }
+        assertTrue(new WALReader(walPath).validate());
+    }
+
+    @Test
+    @DisplayName("BINÁRIO - Replay deve reconstruir o armazenamento")
+    void testReplay() throws IOException {
+        try (WALWriter writer = new WALWriter(walPath, false)) {
+            writeSample(writer);
+        }
+
+        ColumnarStorage storage = new ColumnarStorage();
+        assertEquals(4, new WALReader(walPath).replay(storage));
+
+        assertEquals(1, storage.size());
+        int slot = storage.findSlot(1);
+        assertEquals(31, storage.getAge(slot));
+        assertEquals("123", storage.getCity(slot));
+    }
+
+    @Test
+    @DisplayName("REPLAY PARALELO - Deve chegar ao mesmo estado, na mesma ordem, da aplicação direta")
+    void testReplayParalelo() throws IOException {
+        ColumnarStorage expected = new ColumnarStorage();
+        Random random = new Random(42);
+
+        try (WALWriter writer = new WALWriter(walPath, false)) {
+            for (int i = 0; i < 20000; i++) {
+                int id = random.nextInt(2000);
+                int slot = expected.findSlot(id);
+
+                if (slot < 0) {
+                    Users user = new Users(id, "Usuário " + id, random.nextInt(80), "Cidade " + i % 7);
+                    writer.write(LogEntry.createInsert(user));
+                    expected.insert(id, user.getName(), user.getAge(), user.getCity());
+                } else if (random.nextInt(3) == 0) {
+                    writer.write(LogEntry.createDelete(id));
+                    expected.delete(slot);
+                } else {
+                    int age = random.nextInt(80);
+                    writer.write(LogEntry.createUpdate(id, Map.<String, Object>of("age", age, "city", "Nova " + i % 5)));
+                    expected.setAge(slot, age);
+                    expected.setCity(slot, "Nova " + i % 5);
+                }
+            }
+
+            // Marcador e update de um id que não existe
+            writer.write(LogEntry.createCheckpoint(0));
+            writer.write(LogEntry.createUpdate(99999, Map.<String, Object>of("age", 1)));
+        }
+
+        for (int workers : new int[] {1, 4}) {
+            ColumnarStorage storage = new ColumnarStorage();
+            assertEquals(20002, new WALReader(walPath).replay(storage, 0, workers));
+            // Users.equals compara só o id
+            assertEquals(expected.toList().toString(), storage.toList().toString());
+        }
+    }
+
+    @Test
+    @DisplayName("REPLAY PARALELO - Operações sobre registros do snapshot e LSNs já aplicados")
+    void testReplaySobreSnapshot() throws IOException {
+        try (WALWriter writer = new WALWriter(walPath, false)) {
+            writer.write(LogEntry.createInsert(new Users(9, "Antigo", 50, "Natal")));   // LSN 1: no snapshot
+            writer.write(LogEntry.createUpdate(1, Map.<String, Object>of("AGE", 41)));
+            writer.write(LogEntry.createDelete(2));
+            writer.write(LogEntry.createUpdate(2, Map.<String, Object>of("age", 99)));   // Após o DELETE
+            writer.write(LogEntry.createDelete(3));
+            writer.write(LogEntry.createInsert(new Users(3, "Carla", 22, "Belém")));
+        }
+
+        ColumnarStorage storage = new ColumnarStorage();
+        storage.insert(1, "Ana", 40, "Recife");
+        storage.insert(2, "Bruno", 30, "Olinda");
+        storage.insert(3, "Caio", 20, "Natal");
+
+        assertEquals(5, new WALReader(walPath).replay(storage, 1, 2));
+
+        assertEquals(List.of(
+                new Users(1, "Ana", 41, "Recife"),
+                new Users(3, "Carla", 22, "Belém")).toString(), storage.toList().toString());
+        assertEquals(-1, storage.findSlot(9));
+    }
+
+    @Test
+    @DisplayName("BINÁRIO - Registro incompleto no fim deve ser descartado")
+    void testRegistroIncompleto() throws IOException {
+        try (WALWriter writer = new WALWriter(walPath, false)) {
+            writeSample(writer);
+        }
+
+        // Simula crash no meio da escrita do último registro
+        byte[] bytes = Files.readAllBytes(segmentPath);
+        int end = lastNonZero(bytes);
+        Arrays.fill(bytes, end - 2, end + 1, (byte) 0);
+        Files.write(segmentPath, bytes);
+
+        assertEquals(3, new WALReader(walPath).readAll().size());
+        assertFalse(new WALReader(walPath).validate());
+
+        // O writer trunca o lixo e continua a sequência de LSNs
+        try (WALWriter writer = new WALWriter(walPath, false)) {
+            assertEquals(4, writer.getNextLsn());
+            writer.write(LogEntry.createDelete(1));
+        }
+
+        List<LogEntry> entries = new WALReader(walPath).readAll();
+        assertEquals(4, entries.size());
+        assertEquals(4, entries.get(3).getLsn());
+        assertTrue(new WALReader(walPath).validate());
+    }
+
+    @Test
+    @DisplayName("BINÁRIO - CRC inválido deve interromper a leitura")
+    void testCrc() throws IOException {
+        try (WALWriter writer = new WALWriter(walPath, false)) {
+            writeSample(writer);
+        }
+
+        byte[] bytes = Files.readAllBytes(segmentPath);
+        bytes[lastNonZero(bytes) - 5] ^= 0x40;
+        Files.write(segmentPath, bytes);
+
+        assertEquals(3, new WALReader(walPath).readAll().size());
+    }
+
+    @Test
+    @DisplayName("SEGMENTOS - Registros devem continuar no próximo segmento")
+    void testTrocaDeSegmento() throws IOException {
+        try (WALWriter writer = new WALWriter(walPath, false, 64 * 1024)) {
+            for (int i = 0; i < 5000; i++) {
+                writer.write(LogEntry.createInsert(new Users(i, "Usuário " + i, 20 + i % 40, "Recife")));
+            }
+            assertTrue(writer.getSegmentNumber() > 1);
+        }
+
+        assertTrue(Files.exists(dir.resolve("users.wal.000002")));
+        assertEquals(64 * 1024, Files.size(dir.resolve("users.wal.000002")));
+
+        List<LogEntry> entries = new WALReader(walPath).readAll();
+        assertEquals(5000, entries.size());
+        for (int i = 0; i < entries.size(); i++) {
+            assertEquals(i + 1, entries.get(i).getLsn());
+        }
+        assertTrue(new WALReader(walPath).validate());
+    }
+
+    @Test
+    @DisplayName("CURSOR - Seek por LSN deve começar no registro pedido, em qualquer segmento")
+    void testCursorSeek() throws IOException {
+        try (WALWriter writer = new WALWriter(walPath, false, 64 * 1024)) {
+            for (int i = 1; i <= 5000; i++) {
+                writer.write(i % 1000 == 0
+                        ? LogEntry.createCheckpoint(i)
+                        : LogEntry.createInsert(new Users(i, "Usuário " + i, 30, "Recife")));
+            }
+        }
+
+        for (long lsn : new long[] {1, 2000, 2001, 3777, 5000}) {
+            try (WALCursor cursor = new WALReader(walPath).cursor()) {
+                cursor.seek(lsn);
+
+                long expected = lsn;
+                while (cursor.hasNext()) {
+                    assertEquals(expected++, cursor.next().getLsn());
+                }
+                assertEquals(5001, expected);
+            }
+        }
+
+        // Além do fim: nada a ler
+        try (WALCursor cursor = new WALReader(walPath).cursor()) {
+            cursor.seek(9999);
+            assertFalse(cursor.hasNext());
+        }
+    }
+
+    @Test
+    @DisplayName("CURSOR - Último checkpoint deve vir do índice, com varredura se o índice faltar")
+    void testUltimoCheckpoint() throws IOException {
+        Path index = dir.resolve("users.wal.ckpt");
+
+        try (WALWriter writer = new WALWriter(walPath, false, 64 * 1024)) {
+            for (int i = 1; i <= 5000; i++) {
+                writer.write(i % 1000 == 0
+                        ? LogEntry.createCheckpoint(i)
+                        : LogEntry.createInsert(new Users(i, "Usuário " + i, 30, "Recife")));
+            }
+            writer.write(LogEntry.createDelete(1));
+        }
+
+        assertEquals(5 * 28, Files.size(index));
+        assertEquals(5000, new WALReader(walPath).getLastCheckpoint().getLsn());
+
+        Map<String, Integer> stats = new WALReader(walPath).getStats();
+        assertEquals(5001, stats.get("total"));
+        assertEquals(5, stats.get("checkpoint"));
+
+        // Sem índice: mesma resposta pela varredura
+        Files.delete(index);
+        assertEquals(5000, new WALReader(walPath).getLastCheckpoint().getLsn());
+
+        // Checkpoint aposenta segmentos e descarta os marcadores deles
+        try (WALWriter writer = new WALWriter(walPath, false, 64 * 1024)) {
+            writer.write(LogEntry.createCheckpoint(5002));
+            writer.checkpoint(5002);
+            writer.write(LogEntry.createCheckpoint(5003));
+        }
+
+        assertEquals(2 * 28, Files.size(index));
+        assertEquals(5003, new WALReader(walPath).getLastCheckpoint().getLsn());
+    }
+
+    @Test
+    @DisplayName("TEXTO - WAL antigo deve ser lido antes dos segmentos e descartado no checkpoint")
+    void testFormatoTexto() throws IOException {
+        Files.write(walPath, List.of(
+                LogEntry.createInsert(new Users(1, "Ana", 30, "Recife")).serialize(),
+                LogEntry.createDelete(7).serialize()));
+
+        try (WALWriter writer = new WALWriter(walPath, false)) {
+            writer.write(LogEntry.createDelete(1));
+            writer.flush();
+
+            List<LogEntry> entries = new WALReader(walPath).readAll();
+            assertEquals(3, entries.size());
+            assertEquals(LogEntry.Operation.INSERT, entries.get(0).getOperation());
+            assertEquals(1, entries.get(2).getLsn());
+
+            writer.checkpoint(1);
+            writer.write(LogEntry.createCheckpoint(0));
+        }
+
+        assertFalse(Files.exists(walPath));
+
+        // O segmento atual continua; o replay pula o que está no snapshot
+        List<LogEntry> entries = new WALReader(walPath).readAll();
+        assertEquals(2, entries.size());
+        assertEquals(LogEntry.Operation.CHECKPOINT, entries.get(1).getOperation());
+        assertEquals(1, new WALReader(walPath).replay(new ColumnarStorage(), 1));
+    }
+
+    @Test
+    @DisplayName("RECICLAGEM - Checkpoint deve aposentar segmentos e o próximo deve reaproveitá-los")
+    void testReciclagem() throws IOException {
+        long checkpointLsn;
+
+        try (WALWriter writer = new WALWriter(walPath, false, 64 * 1024)) {
+            for (int i = 0; i < 5000; i++) {
+                writer.write(LogEntry.createInsert(new Users(i, "Usuário " + i, 20 + i % 40, "Recife")));
+            }
+            long current = writer.getSegmentNumber();
+            checkpointLsn = writer.getNextLsn() - 1;
+
+            assertEquals(current - 1, writer.checkpoint(checkpointLsn));
+            assertEquals(1, writer.getSegmentCount());
+            assertEquals(0, writer.getOperationCount());
+            assertTrue(writer.getRecycledCount() > 0);
+            assertTrue(Files.exists(dir.resolve("users.wal.recycled.000001")));
+
+            // Encher o segmento atual: o próximo vem da reciclagem
+            int recycled = writer.getRecycledCount();
+            for (int i = 0; writer.getSegmentNumber() == current; i++) {
+                writer.write(LogEntry.createDelete(i));
+            }
+            assertEquals(recycled - 1, writer.getRecycledCount());
+            writer.write(LogEntry.createDelete(-1));
+        }
+
+        // Restos antigos do segmento reaproveitado não são lidos
+        List<LogEntry> entries = new WALReader(walPath).readAll();
+        for (int i = 1; i < entries.size(); i++) {
+            assertEquals(entries.get(i - 1).getLsn() + 1, entries.get(i).getLsn());
+        }
+        assertEquals(-1, entries.get(entries.size() - 1).getData().get("id"));
+        assertTrue(new WALReader(walPath).validate());
+
+        // Reabrir continua a sequência após o último registro
+        long expected = entries.get(entries.size() - 1).getLsn() + 1;
+        try (WALWriter writer = new WALWriter(walPath, false, 64 * 1024)) {
+            assertEquals(expected, writer.getNextLsn());
+        }
+    }
+
+    @Test
+    @DisplayName("RECICLAGEM - Snapshot mais novo que o WAL deve continuar a numeração")
+    void testSnapshotMaisNovo() throws IOException {
+        try (WALWriter writer = new WALWriter(walPath, false)) {
+            writeSample(writer);
+            writer.startAfter(100);
+            assertEquals(101, writer.getNextLsn());
+            writer.write(LogEntry.createDelete(1));
+        }
+
+        List<LogEntry> entries = new WALReader(walPath).readAll();
+        assertEquals(1, entries.size());
+        assertEquals(101, entries.get(0).getLsn());
+    }
+
+    @Test
+    @DisplayName("TRANSAÇÃO - Replay deve aplicar só transações com COMMIT")
+    void testReplayTransacoes() throws IOException {
+        try (WALWriter writer = new WALWriter(walPath, false)) {
+            writer.write(LogEntry.createInsert(new Users(1, "Ana", 30, "Recife")));
+
+            writer.write(LogEntry.createBegin());
+            writer.write(LogEntry.createInsert(new Users(2, "Bruno", 25, "Olinda")), false);
+            writer.write(LogEntry.createUpdate(1, Map.<String, Object>of("age", 31)), false);
+            writer.write(LogEntry.createCommit());
+
+            writer.write(LogEntry.createBegin());
+            writer.write(LogEntry.createInsert(new Users(3, "Caio", 20, "Natal")), false);
+            writer.write(LogEntry.createRollback());
+
+            // Transação interrompida por outro BEGIN (queda antes do ROLLBACK)
+            writer.write(LogEntry.createBegin());
+            writer.write(LogEntry.createDelete(1), false);
+            writer.write(LogEntry.createBegin());
+            writer.write(LogEntry.createInsert(new Users(4, "Dora", 40, "Belém")), false);
+            writer.write(LogEntry.createCommit());
+
+            // Sem COMMIT no fim do log
+            writer.write(LogEntry.createBegin());
+            writer.write(LogEntry.createInsert(new Users(5, "Edu", 50, "Natal")), false);
+        }
+
+        ColumnarStorage storage = new ColumnarStorage();
+        // 8 marcadores + 4 operações confirmadas
+        assertEquals(12, new WALReader(walPath).replay(storage, 0, 2));
+
+        assertEquals(List.of(
+                new Users(1, "Ana", 31, "Recife"),
+                new Users(2, "Bruno", 25, "Olinda"),
+                new Users(4, "Dora", 40, "Belém")).toString(), storage.toList().toString());
+    }
+
+    @Test
+    @DisplayName("TRANSAÇÃO - Só o COMMIT deve esperar o fsync")
+    void testCommitUnicoSync() throws IOException {
+        try (WALWriter writer = new WALWriter(walPath, true)) {
+            long before = writer.getSyncCount();
+
+            writer.write(LogEntry.createBegin(), false);
+            for (int id = 1; id <= 100; id++) {
+                writer.write(LogEntry.createInsert(new Users(id, "Usuário " + id, id, "Recife")), false);
+            }
+            assertEquals(before, writer.getSyncCount());
+
+            writer.write(LogEntry.createCommit());
+            assertEquals(before + 1, writer.getSyncCount());
+        }
+
+        assertEquals(102, new WALReader(walPath).readAll().size());
+    }
+
+    @Test
+    @DisplayName("TRANSAÇÃO - COMMIT deve sincronizar os segmentos trocados no meio da transação")
+    void testCommitAtravessaSegmentos() throws IOException {
+        try (WALWriter writer = new WALWriter(walPath, true, 64 * 1024)) {
+            long before = writer.getSyncCount();
+
+            writer.write(LogEntry.createBegin(), false);
+            for (int id = 1; id <= 3000; id++) {
+                writer.write(LogEntry.createInsert(new Users(id, "Usuário " + id, id % 90, "Recife")), false);
+            }
+            assertTrue(writer.getSegmentCount() > 1);
+            assertEquals(before, writer.getSyncCount());
+
+            // Um fsync por segmento: os cheios antes de fechar e o atual
+            writer.write(LogEntry.createCommit());
+            assertEquals(before + writer.getSegmentCount(), writer.getSyncCount());
+        }
+
+        assertEquals(3002, new WALReader(walPath).readAll().size());
+    }
+}